@@ -17,334 +17,512 @@
  */
 package com.ledmington.svg2gdx;
 
+import java.io.Serial;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 
+import com.ledmington.svg.AffineTransform;
+import com.ledmington.svg.Color;
 import com.ledmington.svg.Element;
+import com.ledmington.svg.FillRule;
+import com.ledmington.svg.Group;
 import com.ledmington.svg.Image;
 import com.ledmington.svg.Polyline;
 import com.ledmington.svg.Rectangle;
-import com.ledmington.svg.path.CubicBezier;
-import com.ledmington.svg.path.CubicBezierElement;
-import com.ledmington.svg.path.HorizontalLineTo;
-import com.ledmington.svg.path.LineTo;
-import com.ledmington.svg.path.MoveTo;
 import com.ledmington.svg.path.Path;
-import com.ledmington.svg.path.PathElement;
+import com.ledmington.svg.path.PathFlattener;
 import com.ledmington.svg.path.Point;
-import com.ledmington.svg.path.SubPath;
+import com.ledmington.svg.path.Tessellator;
+import com.ledmington.svg.path.Triangulation;
 import com.ledmington.util.ParseUtils;
 
 public final class Drawer {
 
-    // TODO: make this modifiable by the user
-    // Used also for arcs
-    private static final int DEFAULT_CURVE_SEGMENTS = 50;
+    /**
+     * The estimated cost, in coordinates, below which a range of elements is converted by a single thread, since
+     * splitting it would cost more than it saves.
+     */
+    private static final long MIN_PARALLEL_COST = 4096L;
+
+    /**
+     * An image converted into libGDX screen coordinates, with all its curves flattened and its areas tessellated.
+     * Drawing it only replays the cached primitives, without any coordinate arithmetic.
+     */
+    public static final class Drawing {
+
+        private final List<Shape> shapes;
+        private final int numTriangles;
+        private final int numSegments;
+        private final long sizeInBytes;
+
+        private Drawing(final List<Shape> shapes) {
+            this.shapes = List.copyOf(shapes);
+            int triangles = 0;
+            int segments = 0;
+            long bytes = 0L;
+            for (final Shape shape : shapes) {
+                switch (shape) {
+                    case Fill f -> {
+                        triangles += f.indices().length / 3;
+                        bytes += INDICES_OVERHEAD
+                                + (long) Float.BYTES * f.vertices().length
+                                + (long) Integer.BYTES * f.indices().length;
+                    }
+                    case Outline o -> {
+                        segments += o.segments().length / 4;
+                        bytes += (long) Float.BYTES * o.segments().length;
+                    }
+                }
+            }
+            this.numTriangles = triangles;
+            this.numSegments = segments;
+            this.sizeInBytes = (long) shapes.size() * SHAPE_OVERHEAD + bytes;
+        }
+
+        /**
+         * Returns the number of filled triangles in this drawing.
+         *
+         * @return The number of triangles.
+         */
+        public int getNumTriangles() {
+            return numTriangles;
+        }
+
+        /**
+         * Returns the number of stroked segments in this drawing.
+         *
+         * @return The number of segments.
+         */
+        public int getNumSegments() {
+            return numSegments;
+        }
+
+        /**
+         * Returns an estimate of the memory occupied by this drawing, assuming 16-byte object headers and references of
+         * 4 bytes.
+         *
+         * @return The estimated size in bytes.
+         */
+        public long getSizeInBytes() {
+            return sizeInBytes;
+        }
+
+        /** Passes all the primitives of this drawing to the given visitor, in the order they are drawn. */
+        void accept(final PrimitiveVisitor visitor) {
+            for (final Shape shape : shapes) {
+                switch (shape) {
+                    case Fill f -> visitor.fill(f.color(), f.vertices(), f.indices());
+                    case Outline o -> visitor.outline(o.color(), o.segments());
+                }
+            }
+        }
+    }
+
+    /** Receives the primitives of a {@link Drawing}. The arrays must not be modified. */
+    interface PrimitiveVisitor {
+
+        /**
+         * Receives a filled area.
+         *
+         * @param color The RGBA components of the color, between 0 and 1.
+         * @param vertices The (x, y) coordinates of the vertices, which may be shared by more triangles.
+         * @param indices The indices of the three vertices of each triangle.
+         */
+        void fill(float[] color, float[] vertices, int[] indices);
+
+        /**
+         * Receives a stroke.
+         *
+         * @param color The RGBA components of the color, between 0 and 1.
+         * @param segments The (x, y) coordinates of the two ends of each segment.
+         */
+        void outline(float[] color, float[] segments);
+    }
+
+    /**
+     * The bytes occupied by each shape besides its coordinates: the record with its two references, the color array
+     * and the header of the coordinates array, plus the reference in the list of shapes.
+     */
+    private static final long SHAPE_OVERHEAD = 24L + (16L + 4L * Float.BYTES) + 16L + 4L;
+
+    /** The bytes occupied by the indices of a fill besides their values: the reference and the array header. */
+    private static final long INDICES_OVERHEAD = 4L + 16L;
+
+    private sealed interface Shape permits Fill, Outline {}
+
+    /** An area, as the (x, y) coordinates of its vertices and the indices of the three vertices of each triangle. */
+    private record Fill(float[] color, float[] vertices, int[] indices) implements Shape {}
+
+    /** A stroke, as the (x, y) coordinates of the two ends of each segment. */
+    private record Outline(float[] color, float[] segments) implements Shape {}
 
     private Drawer() {}
 
-    /** Renders this image on the screen by using the given ShapeRenderer. */
-    public static void draw(final ShapeRenderer sr, final Image image, final double viewportHeight) {
-        Objects.requireNonNull(sr);
+    /**
+     * Converts the given image into a drawing which fills a viewport of the given size, flattening its curves with the
+     * {@link PathFlattener#DEFAULT_TOLERANCE default tolerance}.
+     *
+     * @param image The image to be converted.
+     * @param viewportWidth The width in pixels of the area where the image is drawn.
+     * @param viewportHeight The height in pixels of the area where the image is drawn.
+     * @return A new Drawing.
+     */
+    public static Drawing prepare(final Image image, final double viewportWidth, final double viewportHeight) {
+        return prepare(image, viewportWidth, viewportHeight, PathFlattener.DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Converts the given image into a drawing which fills a viewport of the given size. The view box of the image is
+     * fitted into the viewport honoring its 'preserveAspectRatio', then the y axis is flipped to point upwards.
+     *
+     * @param image The image to be converted.
+     * @param viewportWidth The width in pixels of the area where the image is drawn.
+     * @param viewportHeight The height in pixels of the area where the image is drawn.
+     * @param tolerance The maximum distance in pixels between the flattened curves and the true ones.
+     * @return A new Drawing.
+     */
+    public static Drawing prepare(
+            final Image image, final double viewportWidth, final double viewportHeight, final double tolerance) {
         Objects.requireNonNull(image);
 
-        sr.setAutoShapeType(true);
-        sr.begin();
-        for (int i = 0; i < image.getNumElements(); i++) {
-            final Element elem = image.getElement(i);
-            Objects.requireNonNull(elem);
-            switch (elem) {
-                case Rectangle rect -> draw(sr, rect, viewportHeight);
-                case Path path -> draw(sr, path, viewportHeight);
-                case Polyline poly -> draw(sr, poly, viewportHeight);
-                default -> throw new IllegalArgumentException(elem.toString());
+        final AffineTransform transform = transform(image, viewportWidth, viewportHeight);
+        final List<Leaf> leaves = leaves(image);
+        final List<Shape> shapes = new ArrayList<>();
+        prepare(shapes, leaves, 0, leaves.size(), new PathFlattener(tolerance, transform));
+        return new Drawing(shapes);
+    }
+
+    /**
+     * Converts the given image into a drawing like {@link #prepare(Image, double, double, double)}, but splits the work
+     * among the threads of the given pool. The elements, including the ones nested in groups, are split into ranges
+     * with about the same number of coordinates, and the shapes of all the ranges are then joined in document order.
+     * The resulting drawing is the same one returned by the sequential version, and a {@link MeshRenderer} merges it
+     * into contiguous vertex and index buffers.
+     *
+     * @param image The image to be converted.
+     * @param viewportWidth The width in pixels of the area where the image is drawn.
+     * @param viewportHeight The height in pixels of the area where the image is drawn.
+     * @param tolerance The maximum distance in pixels between the flattened curves and the true ones.
+     * @param pool The pool running the conversion.
+     * @return A new Drawing.
+     */
+    public static Drawing prepareParallel(
+            final Image image,
+            final double viewportWidth,
+            final double viewportHeight,
+            final double tolerance,
+            final ForkJoinPool pool) {
+        Objects.requireNonNull(image);
+        Objects.requireNonNull(pool);
+
+        final PathFlattener flattener = new PathFlattener(tolerance, transform(image, viewportWidth, viewportHeight));
+        final List<Leaf> leaves = leaves(image);
+        final int n = leaves.size();
+        // prefix sums of the estimated cost, so that a range can be split in half in logarithmic time
+        final long[] cost = new long[n + 1];
+        for (int i = 0; i < n; i++) {
+            cost[i + 1] = cost[i] + estimateCost(leaves.get(i).element());
+        }
+        // a few ranges per thread, so that the threads which finish early can steal the remaining ones
+        final long grain = Math.max(MIN_PARALLEL_COST, cost[n] / (8L * pool.getParallelism()));
+
+        // the shapes of each range are stored at the index of its first element
+        final List<List<Shape>> results = new ArrayList<>(Collections.nCopies(n, null));
+        pool.invoke(new PrepareTask(leaves, cost, grain, flattener, results, 0, n));
+
+        final List<Shape> shapes = new ArrayList<>();
+        for (final List<Shape> r : results) {
+            if (r != null) {
+                shapes.addAll(r);
             }
         }
-        sr.end();
+        return new Drawing(shapes);
     }
 
-    private static void draw(final ShapeRenderer sr, final Polyline poly, final double viewportHeight) {
-        Objects.requireNonNull(sr);
-        Objects.requireNonNull(poly);
+    /**
+     * Converts the given image into a drawing like {@link #prepare(Image, double, double, double)}, using the {@link
+     * ForkJoinPool#commonPool() common pool}.
+     *
+     * @param image The image to be converted.
+     * @param viewportWidth The width in pixels of the area where the image is drawn.
+     * @param viewportHeight The height in pixels of the area where the image is drawn.
+     * @param tolerance The maximum distance in pixels between the flattened curves and the true ones.
+     * @return A new Drawing.
+     */
+    public static Drawing prepareParallel(
+            final Image image, final double viewportWidth, final double viewportHeight, final double tolerance) {
+        return prepareParallel(image, viewportWidth, viewportHeight, tolerance, ForkJoinPool.commonPool());
+    }
 
-        Point current = new Point(0.0, 0.0);
-        for (int i = 0; i < poly.getNumPoints(); i++) {
-            final Point p = poly.getPoint(i);
-            sr.line((float) current.x(), (float) (viewportHeight - current.y()), (float) p.x(), (float) p.y());
-            current = p;
+    /** Converts a range of elements, splitting it in two halves of about the same cost while it is too big. */
+    @edu.umd.cs.findbugs.annotations.SuppressFBWarnings(
+            value = {"SE_TRANSIENT_FIELD_NOT_RESTORED", "EI_EXPOSE_REP2"},
+            justification = "Tasks are never serialized and share the arrays of the conversion on purpose")
+    private static final class PrepareTask extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Leaf> leaves;
+        private final long[] cost;
+        private final long grain;
+        private final transient PathFlattener flattener;
+        private final transient List<List<Shape>> results;
+        private final int from;
+        private final int to;
+
+        PrepareTask(
+                final List<Leaf> leaves,
+                final long[] cost,
+                final long grain,
+                final PathFlattener flattener,
+                final List<List<Shape>> results,
+                final int from,
+                final int to) {
+            this.leaves = leaves;
+            this.cost = cost;
+            this.grain = grain;
+            this.flattener = flattener;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1 || cost[to] - cost[from] <= grain) {
+                final List<Shape> shapes = new ArrayList<>();
+                prepare(shapes, leaves, from, to, flattener);
+                // each task writes a different index, and invoke() makes the writes visible to the caller
+                results.set(from, shapes);
+                return;
+            }
+            // the first element whose prefix cost reaches half of the range, leaving at least one element on each side
+            final long half = cost[from] + (cost[to] - cost[from]) / 2L;
+            int mid = Arrays.binarySearch(cost, from + 1, to, half);
+            if (mid < 0) {
+                mid = -mid - 1;
+            }
+            mid = Math.max(from + 1, Math.min(to - 1, mid));
+            invokeAll(
+                    new PrepareTask(leaves, cost, grain, flattener, results, from, mid),
+                    new PrepareTask(leaves, cost, grain, flattener, results, mid, to));
         }
     }
 
-    private static void draw(final ShapeRenderer sr, final Rectangle rect, final double viewportHeight) {
-        Objects.requireNonNull(sr);
-        Objects.requireNonNull(rect);
-
-        sr.set(ShapeRenderer.ShapeType.Filled);
-        sr.setColor(
-                ParseUtils.byteToFloat(rect.fill().red()),
-                ParseUtils.byteToFloat(rect.fill().green()),
-                ParseUtils.byteToFloat(rect.fill().blue()),
-                ParseUtils.byteToFloat(rect.fill().alpha()));
-        sr.rect((float) rect.x(), (float) (viewportHeight - rect.height() - rect.y()), (float) rect.width(), (float)
-                rect.height());
-
-        sr.set(ShapeRenderer.ShapeType.Line);
-        sr.setColor(
-                ParseUtils.byteToFloat(rect.stroke().red()),
-                ParseUtils.byteToFloat(rect.stroke().green()),
-                ParseUtils.byteToFloat(rect.stroke().blue()),
-                ParseUtils.byteToFloat(rect.stroke().alpha()));
-        sr.rect((float) rect.x(), (float) (viewportHeight - rect.height() - rect.y()), (float) rect.width(), (float)
-                rect.height());
+    private static AffineTransform transform(
+            final Image image, final double viewportWidth, final double viewportHeight) {
+        return image.getViewBox()
+                .toViewport(viewportWidth, viewportHeight)
+                .then(AffineTransform.flipY(viewportHeight));
     }
 
-    private static void draw(final ShapeRenderer sr, final Path path, final double viewportHeight) {
-        Objects.requireNonNull(sr);
-        Objects.requireNonNull(path);
+    /**
+     * An element which is not a group, with the colors it inherits from the groups containing it.
+     *
+     * @param element The element.
+     * @param fill The fill color of the innermost group setting one, or transparent if none does.
+     * @param stroke The stroke color of the innermost group setting one, or transparent if none does.
+     */
+    private record Leaf(Element element, Color fill, Color stroke) {}
+
+    /** Returns all the elements of the given image which are not groups, in document order. */
+    private static List<Leaf> leaves(final Image image) {
+        final List<Leaf> leaves = new ArrayList<>();
+        for (int i = 0; i < image.getNumElements(); i++) {
+            collect(image.getElement(i), Color.TRANSPARENT, Color.TRANSPARENT, leaves);
+        }
+        return leaves;
+    }
 
-        drawFilledPath(sr, path, viewportHeight);
-        drawOutlinePath(sr, path, viewportHeight);
+    private static void collect(final Element element, final Color fill, final Color stroke, final List<Leaf> leaves) {
+        Objects.requireNonNull(element);
+        if (element instanceof Group g) {
+            final Color groupFill = inherit(g.getStyle().fill(), fill);
+            final Color groupStroke = inherit(g.getStyle().stroke(), stroke);
+            for (int i = 0; i < g.getNumElements(); i++) {
+                collect(g.getElement(i), groupFill, groupStroke, leaves);
+            }
+        } else {
+            leaves.add(new Leaf(element, fill, stroke));
+        }
     }
 
-    private static void drawFilledPath(final ShapeRenderer sr, final Path path, final double viewportHeight) {
-        sr.set(ShapeRenderer.ShapeType.Filled);
-        sr.setColor(
-                ParseUtils.byteToFloat(path.getFill().red()),
-                ParseUtils.byteToFloat(path.getFill().green()),
-                ParseUtils.byteToFloat(path.getFill().blue()),
-                ParseUtils.byteToFloat(path.getFill().alpha()));
-
-        // Gather points for the filled polygon
-        for (int i = 0; i < path.getNumSubpaths(); i++) {
-            final SubPath subpath = path.getSubpath(i);
-            final List<Float> vertices = new ArrayList<>();
-
-            final Point initial = ((MoveTo) subpath.getElement(0)).getPoint(0);
-            Point current = new Point(0.0, 0.0);
-            for (int j = 0; j < subpath.getNumElements(); j++) {
-                final PathElement e = subpath.getElement(j);
-                switch (e) {
-                    case MoveTo m -> {
-                        if (m.isRelative()) {
-                            current = current.add(initial);
-                        } else {
-                            current = initial;
-                        }
-
-                        for (int k = 0; k < m.getNumPoints(); k++) {
-                            final Point next = m.getPoint(k);
-                            if (m.isRelative()) {
-                                current = current.add(next);
-                            } else {
-                                current = next;
-                            }
-                            vertices.add((float) current.x());
-                            vertices.add((float) (viewportHeight - current.y()));
-                        }
-                    }
-                    case LineTo l -> {
-                        for (int k = 0; k < l.getNumPoints(); k++) {
-                            final Point p = l.getPoint(k);
-                            if (l.isRelative()) {
-                                current = current.add(p);
-                            } else {
-                                current = p;
-                            }
-                            vertices.add((float) current.x());
-                            vertices.add((float) (viewportHeight - current.y()));
-                        }
-                    }
-                    case HorizontalLineTo h -> {
-                        for (int k = 0; k < h.getNumCoordinates(); k++) {
-                            final double px = h.getCoordinate(k);
-                            if (h.isRelative()) {
-                                current = current.add(new Point(px, 0.0));
-                            } else {
-                                current = new Point(px, 0.0);
-                            }
-                            vertices.add((float) current.x());
-                            vertices.add((float) (viewportHeight - current.y()));
-                        }
-                    }
-                    case CubicBezier cb -> {
-                        for (int k = 0; k < cb.getNumElements(); k++) {
-                            final CubicBezierElement be = cb.getElement(k);
-
-                            // Resolve control points & end point depending on relativeness
-                            final Point p0 = current;
-                            final Point p1 =
-                                    cb.isRelative() ? current.add(be.firstControlPoint()) : be.firstControlPoint();
-                            final Point p2 =
-                                    cb.isRelative() ? current.add(be.secondControlPoint()) : be.secondControlPoint();
-                            final Point p3 = cb.isRelative() ? current.add(be.endPoint()) : be.endPoint();
-
-                            // Sample the cubic curve
-                            for (int s = 1; s <= DEFAULT_CURVE_SEGMENTS; s++) {
-                                final double t = (double) s / DEFAULT_CURVE_SEGMENTS;
-
-                                final double mt = 1.0 - t;
-                                final double x = mt * mt * mt * p0.x()
-                                        + 3 * mt * mt * t * p1.x()
-                                        + 3 * mt * t * t * p2.x()
-                                        + t * t * t * p3.x();
-                                final double y = mt * mt * mt * p0.y()
-                                        + 3 * mt * mt * t * p1.y()
-                                        + 3 * mt * t * t * p2.y()
-                                        + t * t * t * p3.y();
-
-                                vertices.add((float) x);
-                                vertices.add((float) (viewportHeight - y));
-                            }
-
-                            current = p3; // Move current point to end of the curve
-                        }
-                    }
+    /**
+     * Returns the color of an element, taking the inherited one when the element does not set its own. The model does
+     * not tell an absent attribute from an explicit 'none', since both are parsed as transparent, so a transparent
+     * element inside a colored group takes the color of the group.
+     */
+    private static Color inherit(final Color own, final Color inherited) {
+        return Color.TRANSPARENT.equals(own) ? inherited : own;
+    }
+
+    /** Returns an estimate of the work needed to convert the given element, proportional to its vertices. */
+    private static long estimateCost(final Element element) {
+        return switch (element) {
+            case Rectangle ignored -> 4L;
+            case Path path -> Math.max(1L, path.estimateNumCoordinates());
+            case Polyline poly -> 2L * poly.getNumPoints();
+            default -> 1L;
+        };
+    }
 
-                    default -> throw new IllegalArgumentException(String.format("Unknown path element '%s'", e));
+    /** Converts the elements in the given range, which are not groups. */
+    private static void prepare(
+            final List<Shape> shapes,
+            final List<Leaf> leaves,
+            final int from,
+            final int to,
+            final PathFlattener flattener) {
+        final AffineTransform transform = flattener.getTransform();
+        final Tessellator tessellator = new Tessellator();
+        for (int i = from; i < to; i++) {
+            final Leaf leaf = leaves.get(i);
+            switch (leaf.element()) {
+                case Rectangle rect -> {
+                    final Color fill = inherit(rect.fill(), leaf.fill());
+                    final Color stroke = inherit(rect.stroke(), leaf.stroke());
+                    prepare(shapes, rect, fill, stroke, transform);
+                }
+                case Path path -> {
+                    final Color fill = inherit(path.getFill(), leaf.fill());
+                    final Color stroke = inherit(path.getStroke(), leaf.stroke());
+                    prepare(shapes, path, fill, stroke, flattener, tessellator);
                 }
+                // polylines have no style of their own, and are drawn with the default stroke outside of groups
+                case Polyline poly -> prepare(shapes, poly, inherit(leaf.stroke(), Color.BLACK), transform);
+                default -> throw new IllegalArgumentException(leaf.element().toString());
             }
+        }
+    }
 
-            if (vertices.size() < 6 /*|| (vertices.size() - 2) % 4 != 0*/) {
-                throw new IllegalArgumentException(
-                        String.format("Wrong number of triangle vertices: %,d", vertices.size()));
-            }
+    private static float[] color(final Color c) {
+        return new float[] {
+            ParseUtils.byteToFloat(c.red()),
+            ParseUtils.byteToFloat(c.green()),
+            ParseUtils.byteToFloat(c.blue()),
+            ParseUtils.byteToFloat(c.alpha())
+        };
+    }
 
-            final float[] polygonVertices = convertToNative(vertices);
-            // This mode of drawing is also called "triangle fan"
-            for (int j = 2; j + 3 < polygonVertices.length; j += 4) {
-                sr.triangle(
-                        polygonVertices[0],
-                        polygonVertices[1],
-                        polygonVertices[j],
-                        polygonVertices[j + 1],
-                        polygonVertices[j + 2],
-                        polygonVertices[j + 3]);
-            }
+    private static void prepare(
+            final List<Shape> shapes, final Polyline poly, final Color stroke, final AffineTransform transform) {
+        final double[] points = new double[2 * poly.getNumPoints()];
+        for (int i = 0; i < poly.getNumPoints(); i++) {
+            final Point p = poly.getPoint(i);
+            points[2 * i] = p.x();
+            points[2 * i + 1] = p.y();
         }
+        final float[] vertices = new float[points.length];
+        transform.transform(points, 0, vertices, 0, poly.getNumPoints());
+        // polylines have no fill
+        addOutline(shapes, color(stroke), vertices, false);
     }
 
-    private static void drawOutlinePath(final ShapeRenderer sr, final Path path, final double viewportHeight) {
-        sr.set(ShapeRenderer.ShapeType.Line);
-        sr.setColor(
-                ParseUtils.byteToFloat(path.getStroke().red()),
-                ParseUtils.byteToFloat(path.getStroke().green()),
-                ParseUtils.byteToFloat(path.getStroke().blue()),
-                ParseUtils.byteToFloat(path.getStroke().alpha()));
-
-        for (int i = 0; i < path.getNumSubpaths(); i++) {
-            final SubPath subpath = path.getSubpath(i);
-            draw(sr, subpath, ((MoveTo) subpath.getElement(0)).getPoint(0), viewportHeight);
+    private static void prepare(
+            final List<Shape> shapes,
+            final Rectangle rect,
+            final Color fill,
+            final Color stroke,
+            final AffineTransform transform) {
+        final double[] corners = {
+            rect.x(),
+            rect.y(),
+            rect.x() + rect.width(),
+            rect.y(),
+            rect.x() + rect.width(),
+            rect.y() + rect.height(),
+            rect.x(),
+            rect.y() + rect.height()
+        };
+        final float[] vertices = new float[corners.length];
+        transform.transform(corners, 0, vertices, 0, 4);
+        shapes.add(new Fill(color(fill), vertices, new int[] {0, 1, 2, 0, 2, 3}));
+        addOutline(shapes, color(stroke), vertices, true);
+    }
+
+    private static void prepare(
+            final List<Shape> shapes,
+            final Path path,
+            final Color fillColor,
+            final Color strokeColor,
+            final PathFlattener flattener,
+            final Tessellator tessellator) {
+        final float[] stroke = color(strokeColor);
+
+        // all the subpaths are filled together, so that they can make holes in each other
+        final List<Shape> outlines = new ArrayList<>();
+        tessellator.clear();
+        flattener.flatten(path.getPacked(), (points, closed) -> {
+            tessellator.addContour(points);
+            addOutline(outlines, stroke, points.toArray(), closed);
+        });
+        // the fill rule is not part of the model yet, so the SVG default is used
+        final Triangulation fill = tessellator.tessellate(FillRule.NONZERO);
+        if (!fill.isEmpty()) {
+            shapes.add(new Fill(color(fillColor), fill.vertices(), fill.indices()));
         }
+        // the outlines are drawn over the fill
+        shapes.addAll(outlines);
     }
 
-    private static float[] convertToNative(final List<Float> v) {
-        final float[] w = new float[v.size()];
-        for (int i = 0; i < v.size(); i++) {
-            w[i] = v.get(i);
+    private static void addOutline(
+            final List<Shape> shapes, final float[] color, final float[] vertices, final boolean closed) {
+        final int n = vertices.length / 2;
+        if (n < 2) {
+            return;
+        }
+        // a closed outline of two points would draw the same segment twice
+        final int numSegments = closed && n >= 3 ? n : n - 1;
+        final float[] segments = new float[4 * numSegments];
+        for (int i = 0; i < numSegments; i++) {
+            final int j = i + 1 < n ? i + 1 : 0;
+            segments[4 * i] = vertices[2 * i];
+            segments[4 * i + 1] = vertices[2 * i + 1];
+            segments[4 * i + 2] = vertices[2 * j];
+            segments[4 * i + 3] = vertices[2 * j + 1];
         }
-        return w;
+        shapes.add(new Outline(color, segments));
     }
 
-    private static void draw(
-            final ShapeRenderer sr, final SubPath subpath, final Point initial, final double viewportHeight) {
+    /** Renders the given drawing on the screen by using the given ShapeRenderer. */
+    public static void draw(final ShapeRenderer sr, final Drawing drawing) {
         Objects.requireNonNull(sr);
-        Objects.requireNonNull(subpath);
-        Objects.requireNonNull(initial);
-
-        Point current = new Point(0.0, 0.0);
-        for (int i = 0; i < subpath.getNumElements(); i++) {
-            final PathElement e = subpath.getElement(i);
-            switch (e) {
-                case MoveTo m -> {
-                    if (m.isRelative()) {
-                        current = current.add(initial);
-                    } else {
-                        current = initial;
-                    }
+        Objects.requireNonNull(drawing);
 
-                    for (int j = 0; j < m.getNumPoints(); j++) {
-                        final Point next = m.getPoint(j);
-                        if (m.isRelative()) {
-                            sr.line(
-                                    (float) current.x(),
-                                    (float) (viewportHeight - current.y()),
-                                    (float) (current.x() + next.x()),
-                                    (float) (viewportHeight - current.y() + next.y()));
-                            current = current.add(next);
-                        } else {
-                            sr.line(
-                                    (float) current.x(),
-                                    (float) (viewportHeight - current.y()),
-                                    (float) next.x(),
-                                    (float) (viewportHeight - next.y()));
-                            current = next;
-                        }
-                    }
-                }
-                case LineTo l -> {
-                    for (int j = 0; j < l.getNumPoints(); j++) {
-                        final Point p = l.getPoint(j);
-                        if (l.isRelative()) {
-                            sr.line(
-                                    (float) current.x(),
-                                    (float) (viewportHeight - current.y()),
-                                    (float) (current.x() + p.x()),
-                                    (float) (viewportHeight - current.y() + p.y()));
-                            current = current.add(p);
-                        } else {
-                            sr.line((float) current.x(), (float) (viewportHeight - current.y()), (float) p.x(), (float)
-                                    (viewportHeight - p.y()));
-                            current = p;
-                        }
+        sr.setAutoShapeType(true);
+        sr.begin();
+        for (final Shape shape : drawing.shapes) {
+            switch (shape) {
+                case Fill f -> {
+                    sr.set(ShapeRenderer.ShapeType.Filled);
+                    sr.setColor(f.color()[0], f.color()[1], f.color()[2], f.color()[3]);
+                    final float[] v = f.vertices();
+                    final int[] idx = f.indices();
+                    for (int j = 0; j < idx.length; j += 3) {
+                        final int a = 2 * idx[j];
+                        final int b = 2 * idx[j + 1];
+                        final int c = 2 * idx[j + 2];
+                        sr.triangle(v[a], v[a + 1], v[b], v[b + 1], v[c], v[c + 1]);
                     }
                 }
-                case CubicBezier cb -> {
-                    for (int j = 0; j < cb.getNumElements(); j++) {
-                        final CubicBezierElement be = cb.getElement(j);
-                        if (cb.isRelative()) {
-                            sr.curve(
-                                    (float) current.x(),
-                                    (float) (viewportHeight - current.y()),
-                                    (float) (current.x()
-                                            + be.firstControlPoint().x()),
-                                    (float) (viewportHeight
-                                            - current.y()
-                                            + be.firstControlPoint().y()),
-                                    (float) (current.x()
-                                            + be.secondControlPoint().x()),
-                                    (float) (viewportHeight
-                                            - current.y()
-                                            + be.secondControlPoint().y()),
-                                    (float) (current.x() + be.endPoint().x()),
-                                    (float) (current.y() + be.endPoint().y()),
-                                    DEFAULT_CURVE_SEGMENTS);
-                            current = current.add(be.endPoint());
-                        } else {
-                            sr.curve(
-                                    (float) current.x(),
-                                    (float) (viewportHeight - current.y()),
-                                    (float) be.firstControlPoint().x(),
-                                    (float) (viewportHeight
-                                            - be.firstControlPoint().y()),
-                                    (float) be.secondControlPoint().x(),
-                                    (float) (viewportHeight
-                                            - be.secondControlPoint().y()),
-                                    (float) be.endPoint().x(),
-                                    (float) (viewportHeight - be.endPoint().y()),
-                                    DEFAULT_CURVE_SEGMENTS);
-                            current = be.endPoint();
-                        }
+                case Outline o -> {
+                    sr.set(ShapeRenderer.ShapeType.Line);
+                    sr.setColor(o.color()[0], o.color()[1], o.color()[2], o.color()[3]);
+                    final float[] s = o.segments();
+                    for (int j = 0; j < s.length; j += 4) {
+                        sr.line(s[j], s[j + 1], s[j + 2], s[j + 3]);
                     }
                 }
-                default -> throw new IllegalArgumentException(String.format("Unknown SVG path element type '%s'", e));
             }
         }
-
-        // close the path
-        sr.line((float) current.x(), (float) (viewportHeight - current.y()), (float) initial.x(), (float)
-                (viewportHeight - initial.y()));
+        sr.end();
     }
 }
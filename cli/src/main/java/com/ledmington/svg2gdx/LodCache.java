@@ -0,0 +1,180 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg2gdx;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+
+import com.ledmington.svg.Image;
+
+/**
+ * Keeps the drawings of an image at several levels of detail, so that zooming in does not show the facets of the
+ * curves and zooming out does not waste vertices.
+ *
+ * <p>The drawings are always in the coordinates of the viewport at scale 1, and the camera magnifies them. A drawing
+ * shown magnified by a factor s must be flattened with a tolerance s times smaller to keep the same error in pixels, so
+ * the scales are rounded up to a power of two and each power of two, called a level, has its own drawing. A level is
+ * used for all the scales between half of it and itself, so the error on the screen is never above the tolerance and
+ * never below half of it.
+ *
+ * <p>The levels are kept until their estimated size exceeds the memory budget, then the least recently used ones are
+ * evicted. The level being drawn is never evicted, even if alone it is bigger than the budget. This class is not
+ * thread-safe and is meant to be used from the render thread.
+ */
+public final class LodCache {
+
+    /** The most zoomed out level, at a scale of 2^MIN_LEVEL. */
+    public static final int MIN_LEVEL = -10;
+
+    /** The most zoomed in level, at a scale of 2^MAX_LEVEL. */
+    public static final int MAX_LEVEL = 10;
+
+    private final Image image;
+    private final double viewportWidth;
+    private final double viewportHeight;
+    private final double tolerance;
+    private final long budget;
+
+    /** The drawings of each level, from the least recently used to the most recently used. */
+    private final Map<Integer, Drawer.Drawing> levels = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long sizeInBytes = 0L;
+
+    /**
+     * Creates a new cache without drawings.
+     *
+     * @param image The image to be drawn.
+     * @param viewportWidth The width in pixels of the area where the image is drawn at scale 1.
+     * @param viewportHeight The height in pixels of the area where the image is drawn at scale 1.
+     * @param tolerance The maximum distance in pixels on the screen between the flattened curves and the true ones.
+     * @param budget The maximum number of bytes occupied by the drawings of all the levels.
+     */
+    public LodCache(
+            final Image image,
+            final double viewportWidth,
+            final double viewportHeight,
+            final double tolerance,
+            final long budget) {
+        this.image = Objects.requireNonNull(image);
+        if (!(tolerance > 0.0) || !Double.isFinite(tolerance)) {
+            throw new IllegalArgumentException(String.format("Invalid tolerance: %f", tolerance));
+        }
+        if (budget < 0L) {
+            throw new IllegalArgumentException(String.format("Invalid memory budget: %,d", budget));
+        }
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+        this.tolerance = tolerance;
+        this.budget = budget;
+    }
+
+    /**
+     * Returns the level which draws the image at the given scale: the exponent of the smallest power of two not below
+     * it, clamped between {@link #MIN_LEVEL} and {@link #MAX_LEVEL}.
+     *
+     * @param scale The magnification of the image on the screen.
+     * @return The level for the given scale.
+     */
+    public static int levelOf(final double scale) {
+        if (!(scale > 0.0) || !Double.isFinite(scale)) {
+            throw new IllegalArgumentException(String.format("Invalid scale: %f", scale));
+        }
+        final int exponent = Math.getExponent(scale);
+        // exact powers of two are their own level
+        final int level = scale == Math.scalb(1.0, exponent) ? exponent : exponent + 1;
+        return Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level));
+    }
+
+    /**
+     * Returns the drawing to be used with the given camera. Zooming an OrthographicCamera in reduces its zoom, so the
+     * image is magnified by the inverse of it.
+     *
+     * @param camera The camera which shows the image.
+     * @return The drawing at the level for the zoom of the camera.
+     */
+    public Drawer.Drawing get(final OrthographicCamera camera) {
+        Objects.requireNonNull(camera);
+        return get(1.0 / camera.zoom);
+    }
+
+    /**
+     * Returns the drawing to be used at the given scale, preparing it if needed and evicting the least recently used
+     * levels if the memory budget is exceeded.
+     *
+     * @param scale The magnification of the image on the screen.
+     * @return The drawing at the level for the given scale.
+     */
+    public Drawer.Drawing get(final double scale) {
+        final int level = levelOf(scale);
+        final Drawer.Drawing cached = levels.get(level);
+        if (cached != null) {
+            return cached;
+        }
+        final Drawer.Drawing drawing =
+                Drawer.prepare(image, viewportWidth, viewportHeight, Math.scalb(tolerance, -level));
+        levels.put(level, drawing);
+        sizeInBytes += drawing.getSizeInBytes();
+
+        // the new level is the most recently used, so it is the last one to be evicted
+        final Iterator<Map.Entry<Integer, Drawer.Drawing>> it = levels.entrySet().iterator();
+        while (sizeInBytes > budget && levels.size() > 1) {
+            final Map.Entry<Integer, Drawer.Drawing> eldest = it.next();
+            sizeInBytes -= eldest.getValue().getSizeInBytes();
+            it.remove();
+        }
+        return drawing;
+    }
+
+    /**
+     * Returns true if the drawing of the given level is in this cache.
+     *
+     * @param level The level.
+     * @return True if the level has a drawing, false otherwise.
+     */
+    public boolean contains(final int level) {
+        return levels.containsKey(level);
+    }
+
+    /**
+     * Returns the number of levels with a drawing.
+     *
+     * @return The number of cached levels.
+     */
+    public int size() {
+        return levels.size();
+    }
+
+    /**
+     * Returns the estimated number of bytes occupied by the drawings of all the levels.
+     *
+     * @return The size of the cache in bytes.
+     */
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /** Removes the drawings of all the levels. */
+    public void clear() {
+        levels.clear();
+        sizeInBytes = 0L;
+    }
+}
@@ -22,9 +22,13 @@ import java.util.function.Consumer;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Disposable;
 
+import com.ledmington.svg.BinaryImageWriter;
 import com.ledmington.svg.Image;
 import com.ledmington.svg.Parser;
+import com.ledmington.svg.ParserOptions;
+import com.ledmington.svg.path.PathFlattener;
 import com.ledmington.util.ParseUtils;
 
 import org.openjdk.jol.info.GraphLayout;
@@ -35,7 +39,12 @@ public class Main {
         boolean showcase = false;
         int width = 1280;
         int height = 720;
+        double tolerance = PathFlattener.DEFAULT_TOLERANCE;
         Color background = Color.WHITE;
+        String binaryOutput = null;
+        boolean memoryReport = false;
+        boolean jsonReport = false;
+        boolean useMesh = false;
 
         for (final String arg : args) {
             if (arg.equals("-h") || arg.equals("--help")) {
@@ -51,7 +60,11 @@ public class Main {
                         " --test              Launches a sample libGDX app to see the converted image.",
                         " --width=W           Width in pixels of the sample app screen. Only available in combination with '--test'. Default: 1280.",
                         " --height=H          Height in pixels of the sample app screen. Only available in combination with '--test'. Default: 720.",
+                        " --tolerance=T       Maximum distance in pixels between the drawn curves and the true ones. Only available in combination with '--test'. Default: 0.25.",
+                        " --mesh              Draws the image as a single mesh uploaded to the GPU, instead of with a ShapeRenderer. Only available in combination with '--test'.",
                         " --background=COLOR  Selects the color of the background when displaying the image. Only available in combination with '--test'. Can be 'black', 'white' or an hexadecimal RGBA value. Default: 'white'.",
+                        " --memory-report     Prints the memory footprint of the parsed image broken down by class, then exits. Use '--memory-report=json' to print it as JSON.",
+                        " --svgb=OUT          Also writes the parsed image in the binary .svgb format to the file OUT, to be loaded with BinaryImageReader.",
                         "",
                         " FILE        The name of the .svg file to convert.",
                         ""));
@@ -78,6 +91,41 @@ public class Main {
                     System.exit(-1);
                 }
                 height = Integer.parseInt(value);
+            } else if (arg.startsWith("--tolerance=")) {
+                if (!showcase) {
+                    System.err.println("WARNING: Argument '--tolerance' needs '--test' to work.");
+                }
+                final String value = arg.substring(arg.indexOf('=') + 1);
+                try {
+                    tolerance = Double.parseDouble(value);
+                } catch (final NumberFormatException e) {
+                    tolerance = Double.NaN;
+                }
+                if (!(tolerance > 0.0) || !Double.isFinite(tolerance)) {
+                    System.err.printf("Expected a positive number after '--tolerance=' but was '%s'%n", value);
+                    System.exit(-1);
+                }
+            } else if (arg.equals("--mesh")) {
+                if (!showcase) {
+                    System.err.println("WARNING: Argument '--mesh' needs '--test' to work.");
+                }
+                useMesh = true;
+            } else if (arg.equals("--memory-report")) {
+                memoryReport = true;
+            } else if (arg.startsWith("--memory-report=")) {
+                final String value = arg.substring(arg.indexOf('=') + 1);
+                if (!value.equals("json")) {
+                    System.err.printf("Expected 'json' after '--memory-report=' but was '%s'%n", value);
+                    System.exit(-1);
+                }
+                memoryReport = true;
+                jsonReport = true;
+            } else if (arg.startsWith("--svgb=")) {
+                binaryOutput = arg.substring(arg.indexOf('=') + 1);
+                if (binaryOutput.isEmpty()) {
+                    System.err.println("Expected a filename after '--svgb='");
+                    System.exit(-1);
+                }
             } else if (arg.startsWith("--background=")) {
                 if (!showcase) {
                     System.err.println("WARNING: Argument '--background' needs '--test' to work.");
@@ -122,29 +170,68 @@ public class Main {
         // Needed to make jol's GraphLayout work
         System.setProperty("jol.magicFieldOffset", "true");
 
+        if (memoryReport) {
+            final MemoryReport report = MemoryReport.of(Parser.parseImage(new File(filename)));
+            System.out.print(jsonReport ? report.toJson(filename) + System.lineSeparator() : report.toText(filename));
+            return;
+        }
+
         final long start = System.nanoTime();
         final Image parsed = Parser.parseImage(new File(filename));
         final long end = System.nanoTime();
         System.out.printf(
                 "Parsed '%s' in %,d ns (%.3f ms)%n", filename, end - start, (double) (end - start) / 1_000_000.0);
+        if (binaryOutput != null) {
+            BinaryImageWriter.write(parsed, java.nio.file.Path.of(binaryOutput));
+            System.out.printf("Written binary image to '%s'.%n", binaryOutput);
+        }
+
+        final long size = GraphLayout.parseInstance(parsed).totalSize();
+        System.out.printf("One runtime instance of this image occupies %,d bytes.%n", size);
+
+        // identical elements are shared only within the deduplicated instance, so the sizes can be compared
+        final Image deduplicated =
+                new Parser(ParserOptions.defaults().withDeduplication(true)).parse(new File(filename));
+        final long deduplicatedSize = GraphLayout.parseInstance(deduplicated).totalSize();
         System.out.printf(
-                "One runtime instance of this image occupies %,d bytes.%n",
-                GraphLayout.parseInstance(parsed).totalSize());
+                "With deduplication it occupies %,d bytes (%,d bytes saved).%n",
+                deduplicatedSize, size - deduplicatedSize);
 
         if (showcase) {
-            final double viewportHeight = height;
-            Showcase.run(width, height, background, new Consumer<>() {
+            // the geometry is converted into screen coordinates once, then every frame replays the cached primitives
+            final RenderCache cache = new RenderCache();
+            final int viewportWidth = width;
+            final int viewportHeight = height;
+            final double flatness = tolerance;
+            final Drawer.Drawing drawing = cache.get(parsed, viewportWidth, viewportHeight, flatness);
+            System.out.printf(
+                    "Prepared %,d triangles and %,d segments.%n", drawing.getNumTriangles(), drawing.getNumSegments());
+            final boolean drawMesh = useMesh;
+            // the showcase disposes the benchmark together with its own resources
+            final class Benchmark implements Consumer<ShapeRenderer>, Disposable {
 
                 private static final int MAX_ITERATIONS = 100;
                 private static final int TARGET_FPS = 60;
                 private int it = 0;
                 private long totalTime = 0L;
 
+                // the mesh can be uploaded only once the GL context exists
+                private MeshRenderer mesh = null;
+
                 @Override
                 public void accept(final ShapeRenderer sr) {
                     it++;
                     final long start = System.nanoTime();
-                    Drawer.draw(sr, parsed, viewportHeight);
+                    if (drawMesh) {
+                        if (mesh == null) {
+                            mesh = new MeshRenderer(drawing);
+                            System.out.printf("Uploaded the image in %,d draw calls.%n", mesh.getNumDrawCalls());
+                        }
+                        mesh.setProjectionMatrix(sr.getProjectionMatrix());
+                        mesh.draw();
+                    } else {
+                        cache.draw(sr, parsed, viewportWidth, viewportHeight, flatness);
+                    }
                     final long end = System.nanoTime();
                     totalTime += (end - start);
 
@@ -160,7 +247,17 @@ public class Main {
                         totalTime = 0L;
                     }
                 }
-            });
+
+                @Override
+                public void dispose() {
+                    if (mesh != null) {
+                        mesh.dispose();
+                        mesh = null;
+                    }
+                }
+            }
+
+            Showcase.run(width, height, background, new Benchmark());
         } else {
             System.out.println(Serializer.serialize(parsed));
         }
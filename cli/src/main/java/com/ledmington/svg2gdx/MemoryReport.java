@@ -0,0 +1,234 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg2gdx;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.FieldLayout;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.info.GraphPathRecord;
+
+/**
+ * A breakdown by class of the memory occupied by all the objects reachable from a root, as measured by JOL.
+ *
+ * <p>The payload of an object is the space taken by its fields, or by its elements for arrays. Everything else is
+ * overhead: object headers, array lengths, alignment padding and the gaps between fields.
+ */
+public final class MemoryReport {
+
+    /**
+     * The memory occupied by all the instances of a single class.
+     *
+     * @param type The class of the instances.
+     * @param count The number of instances.
+     * @param bytes The total size of the instances in bytes.
+     * @param payload The bytes taken by the fields or by the elements of the instances.
+     */
+    public record Entry(Class<?> type, long count, long bytes, long payload) {
+
+        public long overhead() {
+            return bytes - payload;
+        }
+    }
+
+    private final List<Entry> entries;
+    private final long totalCount;
+    private final long totalBytes;
+    private final long totalPayload;
+
+    /** Creates a report of the given entries, which must already be sorted. */
+    MemoryReport(final List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+        this.totalCount = entries.stream().mapToLong(Entry::count).sum();
+        this.totalBytes = entries.stream().mapToLong(Entry::bytes).sum();
+        this.totalPayload = entries.stream().mapToLong(Entry::payload).sum();
+    }
+
+    /**
+     * Measures all the objects reachable from the given root.
+     *
+     * @param root The root of the object graph.
+     * @return A new report, with the classes sorted by decreasing total size.
+     */
+    public static MemoryReport of(final Object root) {
+        Objects.requireNonNull(root);
+        final GraphLayout layout = GraphLayout.parseInstance(root);
+        final long referenceSize = fieldsSize(AtomicReference.class);
+        final Map<Class<?>, long[]> stats = new HashMap<>();
+        final Map<Class<?>, Long> fieldsSizes = new HashMap<>();
+        for (final long address : layout.addresses()) {
+            final GraphPathRecord record = layout.record(address);
+            final Object obj = record.obj();
+            final Class<?> type = obj.getClass();
+            final long payload;
+            if (type.isArray()) {
+                final Class<?> component = type.getComponentType();
+                payload = (long) Array.getLength(obj)
+                        * (component.isPrimitive() ? primitiveSize(component) : referenceSize);
+            } else {
+                payload = fieldsSizes.computeIfAbsent(type, MemoryReport::fieldsSize);
+            }
+            final long[] s = stats.computeIfAbsent(type, k -> new long[3]);
+            s[0]++;
+            s[1] += record.size();
+            s[2] += payload;
+        }
+
+        final List<Entry> entries = new ArrayList<>(stats.size());
+        for (final Map.Entry<Class<?>, long[]> e : stats.entrySet()) {
+            final long[] s = e.getValue();
+            entries.add(new Entry(e.getKey(), s[0], s[1], s[2]));
+        }
+        entries.sort(Comparator.comparingLong(Entry::bytes)
+                .reversed()
+                .thenComparing(e -> e.type().getTypeName()));
+        return new MemoryReport(entries);
+    }
+
+    /** Returns the total size of the instance fields of the given class, including the inherited ones. */
+    private static long fieldsSize(final Class<?> type) {
+        long size = 0L;
+        for (final FieldLayout f : ClassLayout.parseClass(type).fields()) {
+            size += f.size();
+        }
+        return size;
+    }
+
+    private static long primitiveSize(final Class<?> type) {
+        if (type == boolean.class || type == byte.class) {
+            return 1L;
+        }
+        if (type == char.class || type == short.class) {
+            return 2L;
+        }
+        if (type == int.class || type == float.class) {
+            return 4L;
+        }
+        return 8L;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getTotalPayload() {
+        return totalPayload;
+    }
+
+    private static double percentage(final long part, final long total) {
+        return total == 0L ? 0.0 : 100.0 * (double) part / (double) total;
+    }
+
+    /**
+     * Formats this report as a human-readable table.
+     *
+     * @param title The name of what has been measured.
+     * @return The table, one class per line.
+     */
+    public String toText(final String title) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format(
+                "Memory footprint of '%s': %,d objects, %,d bytes (%,d bytes of payload, %.1f%% overhead)%n%n",
+                title, totalCount, totalBytes, totalPayload, percentage(totalBytes - totalPayload, totalBytes)));
+        sb.append(String.format(
+                "%12s %14s %7s %14s %9s  %s%n", "COUNT", "BYTES", "SHARE", "PAYLOAD", "OVERHEAD", "CLASS"));
+        for (final Entry e : entries) {
+            sb.append(String.format(
+                    "%,12d %,14d %6.1f%% %,14d %8.1f%%  %s%n",
+                    e.count(),
+                    e.bytes(),
+                    percentage(e.bytes(), totalBytes),
+                    e.payload(),
+                    percentage(e.overhead(), e.bytes()),
+                    e.type().getTypeName()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats this report as a JSON object.
+     *
+     * @param title The name of what has been measured.
+     * @return The JSON object.
+     */
+    public String toJson(final String title) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"file\": ")
+                .append(quote(title))
+                .append(",\n  \"count\": ")
+                .append(totalCount)
+                .append(",\n  \"bytes\": ")
+                .append(totalBytes)
+                .append(",\n  \"payloadBytes\": ")
+                .append(totalPayload)
+                .append(",\n  \"overheadBytes\": ")
+                .append(totalBytes - totalPayload)
+                .append(",\n  \"classes\": [");
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry e = entries.get(i);
+            sb.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"class\": ")
+                    .append(quote(e.type().getTypeName()))
+                    .append(", \"count\": ")
+                    .append(e.count())
+                    .append(", \"bytes\": ")
+                    .append(e.bytes())
+                    .append(", \"payloadBytes\": ")
+                    .append(e.payload())
+                    .append(", \"overheadBytes\": ")
+                    .append(e.overhead())
+                    .append('}');
+        }
+        return sb.append("\n  ]\n}").toString();
+    }
+
+    private static String quote(final String s) {
+        final StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg2gdx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import com.ledmington.util.FloatArray;
+import com.ledmington.util.IntArray;
+
+/**
+ * Draws a {@link Drawer.Drawing} with a single draw call, instead of submitting each vertex to a {@link
+ * com.badlogic.gdx.graphics.glutils.ShapeRenderer} at every frame.
+ *
+ * <p>The drawing is compiled once into a static {@link Mesh} holding the position and the packed color of each
+ * vertex, together with an index buffer. Fills keep the vertices shared by their triangles, while strokes become thin
+ * quads, so that the whole image is a single list of triangles drawn in document order. Since indices are 16-bit, an
+ * image with more than {@value #MAX_VERTICES} vertices is split into more meshes, each drawn with its own call.
+ *
+ * <p>Only OpenGL ES 2.0 features are used, so this renderer also works on software implementations like Mesa's
+ * llvmpipe. It must be created, used and disposed on the thread owning the GL context.
+ */
+public final class MeshRenderer implements Disposable {
+
+    /** The maximum number of vertices of a single mesh, which is the number of distinct 16-bit indices. */
+    static final int MAX_VERTICES = 1 << 16;
+
+    /** The width in pixels of the strokes, which is the width of the lines of a ShapeRenderer. */
+    static final float LINE_WIDTH = 1.0f;
+
+    /** The number of floats of each vertex: x, y and the packed color. */
+    static final int VERTEX_SIZE = 3;
+
+    private static final String VERTEX_SHADER = String.join(
+            "\n",
+            "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";",
+            "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";",
+            "uniform mat4 u_projTrans;",
+            "varying vec4 v_color;",
+            "void main() {",
+            "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";",
+            "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";",
+            "}");
+
+    private static final String FRAGMENT_SHADER = String.join(
+            "\n",
+            "#ifdef GL_ES",
+            "precision mediump float;",
+            "#endif",
+            "varying vec4 v_color;",
+            "void main() {",
+            "    gl_FragColor = v_color;",
+            "}");
+
+    /**
+     * The geometry of a single mesh.
+     *
+     * @param vertices The vertices, {@value #VERTEX_SIZE} floats each.
+     * @param indices The indices of the vertices of each triangle, as unsigned 16-bit values.
+     */
+    record Chunk(float[] vertices, short[] indices) {
+
+        Chunk {
+            Objects.requireNonNull(vertices);
+            Objects.requireNonNull(indices);
+        }
+
+        int getNumVertices() {
+            return vertices.length / VERTEX_SIZE;
+        }
+
+        @Override
+        public String toString() {
+            return "Chunk(vertices=" + getNumVertices() + ";indices=" + indices.length + ")";
+        }
+
+        @Override
+        public int hashCode() {
+            int h = 17;
+            h = 31 * h + Arrays.hashCode(vertices);
+            h = 31 * h + Arrays.hashCode(indices);
+            return h;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (other == null) {
+                return false;
+            }
+            if (this == other) {
+                return true;
+            }
+            if (!this.getClass().equals(other.getClass())) {
+                return false;
+            }
+            final Chunk c = (Chunk) other;
+            return Arrays.equals(this.vertices, c.vertices) && Arrays.equals(this.indices, c.indices);
+        }
+    }
+
+    private final List<Mesh> meshes = new ArrayList<>();
+    private final ShaderProgram shader;
+    private final boolean ownsShader;
+    private final Matrix4 projection = new Matrix4();
+    private final Matrix4 transform = new Matrix4();
+    private final Matrix4 combined = new Matrix4();
+
+    /**
+     * Compiles and uploads the given drawing, with a projection which maps one unit to one pixel of the current
+     * window, like the default one of a ShapeRenderer.
+     *
+     * @param drawing The drawing to be uploaded.
+     */
+    public MeshRenderer(final Drawer.Drawing drawing) {
+        this(drawing, null);
+    }
+
+    /**
+     * Compiles and uploads the given drawing, to be drawn with the given shader. The shader must read the {@link
+     * ShaderProgram#POSITION_ATTRIBUTE position} and {@link ShaderProgram#COLOR_ATTRIBUTE color} attributes and the
+     * 'u_projTrans' matrix. It is not disposed by this renderer.
+     *
+     * @param drawing The drawing to be uploaded.
+     * @param shader The shader to draw with, or null to use the default one.
+     */
+    public MeshRenderer(final Drawer.Drawing drawing, final ShaderProgram shader) {
+        Objects.requireNonNull(drawing);
+        if (shader == null) {
+            this.shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+            if (!this.shader.isCompiled()) {
+                final String log = this.shader.getLog();
+                this.shader.dispose();
+                throw new GdxRuntimeException("Could not compile the mesh shader: " + log);
+            }
+            this.ownsShader = true;
+        } else {
+            this.shader = shader;
+            this.ownsShader = false;
+        }
+
+        for (final Chunk chunk : compile(drawing, LINE_WIDTH, MAX_VERTICES)) {
+            final Mesh mesh = new Mesh(
+                    true,
+                    chunk.getNumVertices(),
+                    chunk.indices().length,
+                    new VertexAttributes(
+                            new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                            VertexAttribute.ColorPacked()));
+            mesh.setVertices(chunk.vertices());
+            mesh.setIndices(chunk.indices());
+            meshes.add(mesh);
+        }
+
+        projection.setToOrtho2D(0.0f, 0.0f, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+    }
+
+    /**
+     * Sets the matrix which maps the coordinates of the drawing, after the transform, into clip space. It is usually
+     * the combined matrix of a camera.
+     *
+     * @param matrix The new projection matrix, which is copied.
+     */
+    public void setProjectionMatrix(final Matrix4 matrix) {
+        projection.set(matrix);
+    }
+
+    /**
+     * Sets the matrix applied to the coordinates of the drawing before the projection, which moves, scales or rotates
+     * the whole drawing without compiling it again.
+     *
+     * @param matrix The new transform matrix, which is copied.
+     */
+    public void setTransformMatrix(final Matrix4 matrix) {
+        transform.set(matrix);
+    }
+
+    /**
+     * Returns the number of draw calls issued by {@link #draw()}.
+     *
+     * @return The number of meshes.
+     */
+    public int getNumDrawCalls() {
+        return meshes.size();
+    }
+
+    /**
+     * Draws the whole drawing. Semi-transparent colors are blended with what is already on the screen. Blending is
+     * enabled only during the call and left as it was, but the blend function stays set to (GL_SRC_ALPHA,
+     * GL_ONE_MINUS_SRC_ALPHA), the one used by a SpriteBatch.
+     */
+    public void draw() {
+        combined.set(projection).mul(transform);
+        final boolean blending = Gdx.gl.glIsEnabled(GL20.GL_BLEND);
+        if (!blending) {
+            Gdx.gl.glEnable(GL20.GL_BLEND);
+        }
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", combined);
+        for (final Mesh mesh : meshes) {
+            mesh.render(shader, GL20.GL_TRIANGLES);
+        }
+        if (!blending) {
+            Gdx.gl.glDisable(GL20.GL_BLEND);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        for (final Mesh mesh : meshes) {
+            mesh.dispose();
+        }
+        meshes.clear();
+        if (ownsShader) {
+            shader.dispose();
+        }
+    }
+
+    /**
+     * Converts the given drawing into lists of indexed triangles, without touching OpenGL.
+     *
+     * @param drawing The drawing to be converted.
+     * @param lineWidth The width of the strokes.
+     * @param maxVertices The maximum number of vertices of each chunk, at most {@value #MAX_VERTICES}.
+     * @return The chunks of the drawing, in drawing order.
+     */
+    static List<Chunk> compile(final Drawer.Drawing drawing, final float lineWidth, final int maxVertices) {
+        Objects.requireNonNull(drawing);
+        if (maxVertices < 4 || maxVertices > MAX_VERTICES) {
+            throw new IllegalArgumentException(String.format("Invalid maximum number of vertices: %,d", maxVertices));
+        }
+        final Compiler compiler = new Compiler(lineWidth / 2.0f, maxVertices);
+        drawing.accept(compiler);
+        compiler.flush();
+        return compiler.chunks;
+    }
+
+    /** Appends the primitives of a drawing to the current chunk, starting a new one when it is full. */
+    private static final class Compiler implements Drawer.PrimitiveVisitor {
+
+        private final float halfWidth;
+        private final int maxVertices;
+        private final List<Chunk> chunks = new ArrayList<>();
+        private final FloatArray vertices = new FloatArray();
+        private final IntArray indices = new IntArray();
+
+        // the index in the current chunk of each vertex of the current fill, valid only if its stamp is current
+        private int[] remap = new int[16];
+        private int[] stamps = new int[16];
+        private int stamp = 0;
+
+        Compiler(final float halfWidth, final int maxVertices) {
+            this.halfWidth = halfWidth;
+            this.maxVertices = maxVertices;
+        }
+
+        private int numVertices() {
+            return vertices.size() / VERTEX_SIZE;
+        }
+
+        private int addVertex(final float x, final float y, final float color) {
+            final int idx = numVertices();
+            vertices.add(x, y);
+            vertices.add(color);
+            return idx;
+        }
+
+        private void flush() {
+            if (indices.isEmpty()) {
+                return;
+            }
+            final short[] shorts = new short[indices.size()];
+            for (int i = 0; i < shorts.length; i++) {
+                // indices up to 65535 wrap around to negative shorts, which GL reads back as unsigned
+                shorts[i] = (short) indices.get(i);
+            }
+            chunks.add(new Chunk(vertices.toArray(), shorts));
+            vertices.clear();
+            indices.clear();
+            // the vertices of the previous chunk cannot be referred to anymore
+            stamp++;
+        }
+
+        /** Returns the number of the given vertices of the current fill which are not in the current chunk yet. */
+        private int countMissing(final int a, final int b, final int c) {
+            int missing = 0;
+            if (stamps[a] != stamp) {
+                missing++;
+            }
+            if (stamps[b] != stamp && b != a) {
+                missing++;
+            }
+            if (stamps[c] != stamp && c != a && c != b) {
+                missing++;
+            }
+            return missing;
+        }
+
+        /** Returns the index in the current chunk of the given vertex of the current fill, copying it if needed. */
+        private int map(final float[] fillVertices, final int v, final float color) {
+            if (stamps[v] != stamp) {
+                stamps[v] = stamp;
+                remap[v] = addVertex(fillVertices[2 * v], fillVertices[2 * v + 1], color);
+            }
+            return remap[v];
+        }
+
+        @Override
+        public void fill(final float[] color, final float[] fillVertices, final int[] fillIndices) {
+            final float packed = Color.toFloatBits(color[0], color[1], color[2], color[3]);
+            final int n = fillVertices.length / 2;
+            if (n > remap.length) {
+                remap = new int[Math.max(n, 2 * remap.length)];
+                stamps = new int[remap.length];
+                stamp = 0;
+            }
+            // a new stamp forgets the vertices of the previous fill, so that the arrays are never cleared
+            stamp++;
+            for (int i = 0; i < fillIndices.length; i += 3) {
+                final int a = fillIndices[i];
+                final int b = fillIndices[i + 1];
+                final int c = fillIndices[i + 2];
+                if (numVertices() + countMissing(a, b, c) > maxVertices) {
+                    flush();
+                }
+                indices.add(map(fillVertices, a, packed), map(fillVertices, b, packed), map(fillVertices, c, packed));
+            }
+        }
+
+        @Override
+        public void outline(final float[] color, final float[] segments) {
+            final float packed = Color.toFloatBits(color[0], color[1], color[2], color[3]);
+            for (int i = 0; i < segments.length; i += 4) {
+                final float x0 = segments[i];
+                final float y0 = segments[i + 1];
+                final float x1 = segments[i + 2];
+                final float y1 = segments[i + 3];
+                final float length = (float) Math.hypot(x1 - x0, y1 - y0);
+                if (length == 0.0f) {
+                    continue;
+                }
+                if (numVertices() + 4 > maxVertices) {
+                    flush();
+                }
+                // the segment is widened along its normal by half the width on each side
+                final float nx = -(y1 - y0) / length * halfWidth;
+                final float ny = (x1 - x0) / length * halfWidth;
+                final int a = addVertex(x0 + nx, y0 + ny, packed);
+                final int b = addVertex(x1 + nx, y1 + ny, packed);
+                final int c = addVertex(x1 - nx, y1 - ny, packed);
+                final int d = addVertex(x0 - nx, y0 - ny, packed);
+                indices.add(a, b, c);
+                indices.add(a, c, d);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg2gdx;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+
+import com.ledmington.svg.Image;
+import com.ledmington.svg.path.PathFlattener;
+
+/**
+ * Keeps the {@link Drawer.Drawing} of each image, so that its curves are flattened and its areas tessellated only once
+ * instead of at every frame. Images are immutable, so a drawing stays valid until the viewport or the tolerance change:
+ * asking for a different one replaces it. Drawings are never evicted on their own, they must be removed with
+ * {@link #invalidate(Image)} or {@link #clear()} when their image is not drawn anymore.
+ *
+ * <p>Images are compared by identity, so that looking up a drawing never walks the elements of the image. This class
+ * is not thread-safe and is meant to be used from the render thread.
+ */
+public final class RenderCache {
+
+    private record Entry(double viewportWidth, double viewportHeight, double tolerance, Drawer.Drawing drawing) {
+
+        boolean matches(final double viewportWidth, final double viewportHeight, final double tolerance) {
+            return this.viewportWidth == viewportWidth
+                    && this.viewportHeight == viewportHeight
+                    && this.tolerance == tolerance;
+        }
+    }
+
+    private final Map<Image, Entry> entries = new IdentityHashMap<>();
+
+    /** Creates a new empty cache. */
+    public RenderCache() {}
+
+    /**
+     * Returns the drawing of the given image in a viewport of the given size, with the
+     * {@link PathFlattener#DEFAULT_TOLERANCE default tolerance}.
+     *
+     * @param image The image to be drawn.
+     * @param viewportWidth The width in pixels of the area where the image is drawn.
+     * @param viewportHeight The height in pixels of the area where the image is drawn.
+     * @return The cached Drawing, or a new one if there was none for these parameters.
+     */
+    public Drawer.Drawing get(final Image image, final double viewportWidth, final double viewportHeight) {
+        return get(image, viewportWidth, viewportHeight, PathFlattener.DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Returns the drawing of the given image in a viewport of the given size.
+     *
+     * @param image The image to be drawn.
+     * @param viewportWidth The width in pixels of the area where the image is drawn.
+     * @param viewportHeight The height in pixels of the area where the image is drawn.
+     * @param tolerance The maximum distance in pixels between the flattened curves and the true ones.
+     * @return The cached Drawing, or a new one if there was none for these parameters.
+     */
+    public Drawer.Drawing get(
+            final Image image, final double viewportWidth, final double viewportHeight, final double tolerance) {
+        Objects.requireNonNull(image);
+        final Entry entry = entries.get(image);
+        if (entry != null && entry.matches(viewportWidth, viewportHeight, tolerance)) {
+            return entry.drawing();
+        }
+        final Drawer.Drawing drawing = Drawer.prepare(image, viewportWidth, viewportHeight, tolerance);
+        entries.put(image, new Entry(viewportWidth, viewportHeight, tolerance, drawing));
+        return drawing;
+    }
+
+    /**
+     * Draws the given image by replaying its cached drawing, preparing it first if needed.
+     *
+     * @param sr The ShapeRenderer to draw with.
+     * @param image The image to be drawn.
+     * @param viewportWidth The width in pixels of the area where the image is drawn.
+     * @param viewportHeight The height in pixels of the area where the image is drawn.
+     * @param tolerance The maximum distance in pixels between the flattened curves and the true ones.
+     */
+    public void draw(
+            final ShapeRenderer sr,
+            final Image image,
+            final double viewportWidth,
+            final double viewportHeight,
+            final double tolerance) {
+        Drawer.draw(sr, get(image, viewportWidth, viewportHeight, tolerance));
+    }
+
+    /**
+     * Removes the drawing of the given image, if any.
+     *
+     * @param image The image whose drawing is removed.
+     * @return True if there was a drawing for the image, false otherwise.
+     */
+    public boolean invalidate(final Image image) {
+        Objects.requireNonNull(image);
+        return entries.remove(image) != null;
+    }
+
+    /** Removes all the drawings. */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of images with a cached drawing.
+     *
+     * @return The number of cached drawings.
+     */
+    public int size() {
+        return entries.size();
+    }
+}
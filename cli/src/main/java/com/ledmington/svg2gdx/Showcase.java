@@ -26,6 +26,7 @@ import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Disposable;
 
 public final class Showcase extends Game {
 
@@ -70,5 +71,9 @@ public final class Showcase extends Game {
     public void dispose() {
         super.dispose();
         this.shapeRenderer.dispose();
+        // GL resources of the drawing code can be released only here, while the context still exists
+        if (this.drawImage instanceof Disposable d) {
+            d.dispose();
+        }
     }
 }
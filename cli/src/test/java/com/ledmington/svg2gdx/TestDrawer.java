@@ -0,0 +1,166 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg2gdx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.ledmington.svg.Image;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public final class TestDrawer {
+
+    private static final float[] RED = {1.0f, 0.0f, 0.0f, 1.0f};
+    private static final float[] LIME = {0.0f, 1.0f, 0.0f, 1.0f};
+    private static final float[] BLUE = {0.0f, 0.0f, 1.0f, 1.0f};
+    private static final float[] YELLOW = {1.0f, 1.0f, 0.0f, 1.0f};
+    private static final float[] BLACK = {0.0f, 0.0f, 0.0f, 1.0f};
+    private static final float[] TRANSPARENT = {0.0f, 0.0f, 0.0f, 0.0f};
+
+    /** Records every primitive of a drawing as a string, since drawings do not implement equals. */
+    private static final class Recorder implements Drawer.PrimitiveVisitor {
+
+        private final List<String> primitives = new ArrayList<>();
+
+        @Override
+        public void fill(final float[] color, final float[] vertices, final int[] indices) {
+            primitives.add("fill " + Arrays.toString(color) + " " + Arrays.toString(vertices) + " "
+                    + Arrays.toString(indices));
+        }
+
+        @Override
+        public void outline(final float[] color, final float[] segments) {
+            primitives.add("outline " + Arrays.toString(color) + " " + Arrays.toString(segments));
+        }
+    }
+
+    /** Records only the colors of the primitives of a drawing. */
+    private static final class ColorRecorder implements Drawer.PrimitiveVisitor {
+
+        private final List<String> fills = new ArrayList<>();
+        private final List<String> outlines = new ArrayList<>();
+
+        @Override
+        public void fill(final float[] color, final float[] vertices, final int[] indices) {
+            fills.add(Arrays.toString(color));
+        }
+
+        @Override
+        public void outline(final float[] color, final float[] segments) {
+            outlines.add(Arrays.toString(color));
+        }
+    }
+
+    private static List<String> primitives(final Drawer.Drawing drawing) {
+        final Recorder r = new Recorder();
+        drawing.accept(r);
+        return r.primitives;
+    }
+
+    private static ColorRecorder colors(final String elements) {
+        final ColorRecorder r = new ColorRecorder();
+        Drawer.prepare(TestImages.image(elements), 100.0, 100.0).accept(r);
+        return r;
+    }
+
+    private static List<String> colors(final float[]... colors) {
+        return Arrays.stream(colors).map(Arrays::toString).toList();
+    }
+
+    /** Returns paths of random cubic curves, nested in groups up to the given depth. */
+    private static String nestedPaths(final Random rng, final int depth, final int numPaths) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numPaths; i++) {
+            if (depth > 0 && rng.nextInt(4) == 0) {
+                sb.append(rng.nextBoolean() ? "<g fill=\"blue\">" : "<g stroke=\"red\">")
+                        .append(nestedPaths(rng, depth - 1, 1 + rng.nextInt(10)))
+                        .append("</g>");
+                continue;
+            }
+            sb.append("<path d=\"M")
+                    .append(rng.nextInt(100))
+                    .append(' ')
+                    .append(rng.nextInt(100));
+            for (int j = rng.nextInt(20); j >= 0; j--) {
+                sb.append(String.format(
+                        Locale.US,
+                        " C%d %d %d %d %d %d",
+                        rng.nextInt(100),
+                        rng.nextInt(100),
+                        rng.nextInt(100),
+                        rng.nextInt(100),
+                        rng.nextInt(100),
+                        rng.nextInt(100)));
+            }
+            sb.append(rng.nextBoolean() ? " Z\"" : "\"")
+                    .append(rng.nextBoolean() ? " fill=\"lime\"" : "")
+                    .append("/>");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void groupStyleIsInherited() {
+        final ColorRecorder r = colors("<g fill=\"red\" stroke=\"blue\"><path d=\"M0 0 L10 0 L10 10 Z\"/></g>");
+        assertEquals(colors(RED), r.fills);
+        assertEquals(colors(BLUE), r.outlines);
+    }
+
+    @Test
+    void innermostGroupStyleWins() {
+        final ColorRecorder r = colors("<g fill=\"red\" stroke=\"blue\">"
+                + "<g fill=\"lime\">"
+                + "<rect x=\"0\" y=\"0\" width=\"10\" height=\"10\"/>"
+                + "<rect x=\"0\" y=\"0\" width=\"10\" height=\"10\" fill=\"yellow\"/>"
+                + "<polyline points=\"0,0 10,10\"/>"
+                + "</g>"
+                + "<rect x=\"0\" y=\"0\" width=\"10\" height=\"10\"/>"
+                + "</g>"
+                + "<rect x=\"0\" y=\"0\" width=\"10\" height=\"10\"/>"
+                + "<polyline points=\"0,0 10,10\"/>");
+        assertEquals(colors(LIME, YELLOW, RED, TRANSPARENT), r.fills);
+        assertEquals(colors(BLUE, BLUE, BLUE, BLUE, TRANSPARENT, BLACK), r.outlines);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void parallelDrawingIsTheSequentialOne(final int parallelism) {
+        // about 90,000 coordinates, which are split in several ranges even with a single thread
+        final Image image = TestImages.image(nestedPaths(new Random(42L), 3, 300));
+        final Drawer.Drawing sequential = Drawer.prepare(image, 400.0, 400.0, 0.1);
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final Drawer.Drawing parallel = Drawer.prepareParallel(image, 400.0, 400.0, 0.1, pool);
+            assertEquals(sequential.getNumTriangles(), parallel.getNumTriangles());
+            assertEquals(sequential.getNumSegments(), parallel.getNumSegments());
+            assertEquals(sequential.getSizeInBytes(), parallel.getSizeInBytes());
+            assertEquals(primitives(sequential), primitives(parallel));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
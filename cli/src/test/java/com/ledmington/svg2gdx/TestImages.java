@@ -0,0 +1,41 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg2gdx;
+
+import java.nio.charset.StandardCharsets;
+
+import com.ledmington.svg.Image;
+import com.ledmington.svg.Parser;
+
+/** The images shared by the tests of the drawing code. */
+final class TestImages {
+
+    private TestImages() {}
+
+    /**
+     * Returns a 100x100 image, with a view box of the same size, which contains the given elements.
+     *
+     * @param elements The SVG elements of the image.
+     * @return The parsed image.
+     */
+    static Image image(final String elements) {
+        final String svg = "<svg width=\"100\" height=\"100\" viewBox=\"0 0 100 100\" "
+                + "xmlns=\"http://www.w3.org/2000/svg\">" + elements + "</svg>";
+        return Parser.parseImage(svg.getBytes(StandardCharsets.UTF_8));
+    }
+}
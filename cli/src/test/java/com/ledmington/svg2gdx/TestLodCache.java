@@ -0,0 +1,197 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg2gdx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.Stream;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+
+import com.ledmington.svg.Image;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public final class TestLodCache {
+
+    private static final double TOLERANCE = 0.5;
+
+    /** An image without curves, whose drawings have the same size at all levels. */
+    private static final Image RECTANGLES =
+            TestImages.image("<rect x=\"10\" y=\"10\" width=\"30\" height=\"40\" fill=\"red\"/>"
+                    + "<rect x=\"50\" y=\"20\" width=\"20\" height=\"20\" fill=\"blue\" stroke=\"black\"/>");
+
+    /** The size of any drawing of {@link #RECTANGLES}. */
+    private static final long LEVEL_SIZE = Drawer.prepare(RECTANGLES, 100.0, 100.0, TOLERANCE).getSizeInBytes();
+
+    private static LodCache cache(final long budget) {
+        return new LodCache(RECTANGLES, 100.0, 100.0, TOLERANCE, budget);
+    }
+
+    private static Stream<Arguments> levels() {
+        return Stream.of(
+                Arguments.of(1.0, 0),
+                Arguments.of(2.0, 1),
+                Arguments.of(0.5, -1),
+                Arguments.of(1024.0, 10),
+                Arguments.of(0x1.0p-10, -10),
+                Arguments.of(Math.nextUp(1.0), 1),
+                Arguments.of(Math.nextDown(1.0), 0),
+                Arguments.of(1.5, 1),
+                Arguments.of(3.0, 2),
+                Arguments.of(0.75, 0),
+                Arguments.of(0.3, -1),
+                // beyond the extreme levels
+                Arguments.of(Math.nextUp(1024.0), 10),
+                Arguments.of(1e9, 10),
+                Arguments.of(Double.MAX_VALUE, 10),
+                Arguments.of(Math.nextDown(0x1.0p-10), -10),
+                Arguments.of(1e-9, -10),
+                Arguments.of(Double.MIN_VALUE, -10));
+    }
+
+    @ParameterizedTest
+    @MethodSource("levels")
+    void levelOf(final double scale, final int expected) {
+        assertEquals(expected, LodCache.levelOf(scale), () -> "Wrong level for scale " + scale);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.0, -0.0, -1.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY})
+    void invalidScales(final double scale) {
+        assertThrows(IllegalArgumentException.class, () -> LodCache.levelOf(scale));
+        final LodCache cache = cache(Long.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> cache.get(scale));
+    }
+
+    @Test
+    void invalidParameters() {
+        assertThrows(NullPointerException.class, () -> new LodCache(null, 100.0, 100.0, TOLERANCE, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new LodCache(RECTANGLES, 100.0, 100.0, 0.0, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new LodCache(RECTANGLES, 100.0, 100.0, Double.NaN, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new LodCache(RECTANGLES, 100.0, 100.0, TOLERANCE, -1L));
+    }
+
+    @Test
+    void scalesOfTheSameLevelShareTheDrawing() {
+        final LodCache cache = cache(Long.MAX_VALUE);
+        final Drawer.Drawing drawing = cache.get(3.0);
+        assertSame(drawing, cache.get(4.0));
+        assertSame(drawing, cache.get(2.5));
+        assertNotSame(drawing, cache.get(2.0));
+        assertEquals(2, cache.size());
+        assertTrue(cache.contains(2));
+        assertTrue(cache.contains(1));
+    }
+
+    @Test
+    void cameraZoomIsTheInverseOfTheScale() {
+        final LodCache cache = cache(Long.MAX_VALUE);
+        final OrthographicCamera camera = new OrthographicCamera();
+        camera.zoom = 0.25f;
+        assertSame(cache.get(4.0), cache.get(camera));
+        camera.zoom = 4.0f;
+        assertSame(cache.get(0.25), cache.get(camera));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void finerLevelsHaveMoreSegments() {
+        final Image circle =
+                TestImages.image("<path d=\"M10 50 A40 40 0 1 1 90 50 A40 40 0 1 1 10 50 Z\" fill=\"red\"/>");
+        final LodCache cache = new LodCache(circle, 100.0, 100.0, TOLERANCE, Long.MAX_VALUE);
+        int previous = 0;
+        for (int level = -2; level <= 4; level++) {
+            final int segments = cache.get(Math.scalb(1.0, level)).getNumSegments();
+            assertTrue(segments >= previous, () -> "Fewer segments than the previous level: " + segments);
+            previous = segments;
+        }
+        assertTrue(previous > cache.get(0.25).getNumSegments());
+    }
+
+    @Test
+    void sizeIsTheSumOfTheLevels() {
+        final LodCache cache = cache(Long.MAX_VALUE);
+        assertEquals(0L, cache.getSizeInBytes());
+        for (int i = 1; i <= 6; i++) {
+            cache.get(Math.scalb(1.0, i - 3));
+            assertEquals(i * LEVEL_SIZE, cache.getSizeInBytes());
+        }
+        // a hit does not count the drawing again
+        cache.get(1.0);
+        assertEquals(6L * LEVEL_SIZE, cache.getSizeInBytes());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getSizeInBytes());
+    }
+
+    @Test
+    void leastRecentlyUsedLevelsAreEvicted() {
+        final LodCache cache = cache(3L * LEVEL_SIZE);
+        cache.get(1.0);
+        cache.get(2.0);
+        cache.get(4.0);
+        assertEquals(3, cache.size());
+        // using level 0 again makes level 1 the least recently used one
+        cache.get(1.0);
+        cache.get(8.0);
+        assertEquals(3, cache.size());
+        assertTrue(cache.contains(0));
+        assertFalse(cache.contains(1));
+        assertTrue(cache.contains(2));
+        assertTrue(cache.contains(3));
+        assertEquals(3L * LEVEL_SIZE, cache.getSizeInBytes());
+        // checking whether a level is cached does not count as a use
+        assertTrue(cache.contains(2));
+        cache.get(16.0);
+        assertFalse(cache.contains(2));
+        assertTrue(cache.contains(0));
+    }
+
+    @Test
+    void theReturnedLevelIsNeverEvicted() {
+        final LodCache cache = cache(0L);
+        for (int level = LodCache.MIN_LEVEL; level <= LodCache.MAX_LEVEL; level++) {
+            final Drawer.Drawing drawing = cache.get(Math.scalb(1.0, level));
+            assertEquals(1, cache.size());
+            assertTrue(cache.contains(level));
+            assertEquals(drawing.getSizeInBytes(), cache.getSizeInBytes());
+        }
+    }
+
+    @Test
+    void budgetOfOneLevelAndAHalf() {
+        final LodCache cache = cache(LEVEL_SIZE + LEVEL_SIZE / 2L);
+        final Drawer.Drawing first = cache.get(1.0);
+        assertSame(first, cache.get(1.0));
+        cache.get(2.0);
+        assertEquals(1, cache.size());
+        assertTrue(cache.contains(1));
+        assertTrue(cache.getSizeInBytes() <= LEVEL_SIZE + LEVEL_SIZE / 2L);
+        assertNotSame(first, cache.get(1.0));
+    }
+}
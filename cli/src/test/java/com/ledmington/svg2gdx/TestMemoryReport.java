@@ -0,0 +1,88 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg2gdx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import com.ledmington.svg.path.Point;
+
+import org.junit.jupiter.api.Test;
+
+public final class TestMemoryReport {
+
+    private static MemoryReport.Entry entry(final MemoryReport report, final Class<?> type) {
+        return report.getEntries().stream()
+                .filter(e -> e.type() == type)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void objectsAreGroupedByClass() {
+        final Point p = new Point(1.0, 2.0);
+        final MemoryReport report = MemoryReport.of(new Object[] {new int[3], new int[5], p, p});
+
+        assertEquals(3, report.getEntries().size());
+        assertEquals(4L, report.getTotalCount());
+        assertEquals(1L, entry(report, Object[].class).count());
+        final MemoryReport.Entry ints = entry(report, int[].class);
+        assertEquals(2L, ints.count());
+        assertEquals(8L * Integer.BYTES, ints.payload());
+        // the same point is reachable twice, but it is counted once
+        final MemoryReport.Entry points = entry(report, Point.class);
+        assertEquals(1L, points.count());
+        assertEquals(2L * Double.BYTES, points.payload());
+
+        long bytes = 0L;
+        long payload = 0L;
+        long previous = Long.MAX_VALUE;
+        for (final MemoryReport.Entry e : report.getEntries()) {
+            assertTrue(e.payload() <= e.bytes());
+            assertTrue(e.bytes() <= previous);
+            previous = e.bytes();
+            bytes += e.bytes();
+            payload += e.payload();
+        }
+        assertEquals(bytes, report.getTotalBytes());
+        assertEquals(payload, report.getTotalPayload());
+    }
+
+    @Test
+    void emptyTotalsHaveNoOverhead() {
+        final MemoryReport empty = new MemoryReport(List.of());
+        assertEquals(0L, empty.getTotalBytes());
+        assertFalse(empty.toText("empty").contains("NaN"));
+        assertEquals(
+                "{\n  \"file\": \"empty\",\n  \"count\": 0,\n  \"bytes\": 0,\n  \"payloadBytes\": 0,\n"
+                        + "  \"overheadBytes\": 0,\n  \"classes\": [\n  ]\n}",
+                empty.toJson("empty"));
+
+        final MemoryReport zero = new MemoryReport(List.of(new MemoryReport.Entry(Object.class, 0L, 0L, 0L)));
+        assertFalse(zero.toText("zero").contains("NaN"));
+    }
+
+    @Test
+    void titlesAreEscapedInJson() {
+        final String json = MemoryReport.of(new int[0]).toJson("a\"b\\c\nd\u0001e");
+        assertTrue(json.startsWith("{\n  \"file\": \"a\\\"b\\\\c\\u000ad\\u0001e\",\n"), json);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg2gdx;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public final class TestMeshRenderer {
+
+    /** Returns the drawing of the given elements in a 100x100 image, drawn at its own size. */
+    private static Drawer.Drawing drawing(final String elements) {
+        return Drawer.prepare(TestImages.image(elements), 100.0, 100.0);
+    }
+
+    /** Returns the given number of rectangles, each with 4 vertices and 2 triangles of fill and 4 stroked sides. */
+    private static String rectangles(final int n) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            sb.append("<rect x=\"")
+                    .append(i % 90)
+                    .append("\" y=\"")
+                    .append(i / 90 % 90)
+                    .append("\" width=\"5\" height=\"5\" fill=\"red\" stroke=\"black\"/>");
+        }
+        return sb.toString();
+    }
+
+    private static int numTriangles(final List<MeshRenderer.Chunk> chunks) {
+        int n = 0;
+        for (final MeshRenderer.Chunk c : chunks) {
+            n += c.indices().length / 3;
+        }
+        return n;
+    }
+
+    private static void assertValidIndices(final MeshRenderer.Chunk chunk) {
+        for (final short s : chunk.indices()) {
+            final int idx = Short.toUnsignedInt(s);
+            assertTrue(idx < chunk.getNumVertices(), () -> "Index " + idx + " out of " + chunk);
+        }
+    }
+
+    @Test
+    void fillsKeepTheirSharedVertices() {
+        final Drawer.Drawing drawing = drawing("<rect x=\"10\" y=\"10\" width=\"20\" height=\"30\" fill=\"red\"/>");
+        final List<MeshRenderer.Chunk> chunks = MeshRenderer.compile(drawing, 1.0f, MeshRenderer.MAX_VERTICES);
+        assertEquals(1, chunks.size());
+        final MeshRenderer.Chunk chunk = chunks.get(0);
+        // 4 corners shared by the 2 triangles of the fill, then 4 quads of 4 vertices for the stroke
+        assertEquals(4 + 4 * 4, chunk.getNumVertices());
+        assertArrayEquals(new short[] {0, 1, 2, 0, 2, 3}, Arrays.copyOf(chunk.indices(), 6));
+        assertValidIndices(chunk);
+    }
+
+    @Test
+    void strokesBecomeQuads() {
+        // the zero-length segment is skipped, the other one is widened by one unit on each side
+        final Drawer.Drawing drawing = drawing("<polyline points=\"10,50 10,50 30,50\"/>");
+        final List<MeshRenderer.Chunk> chunks = MeshRenderer.compile(drawing, 2.0f, MeshRenderer.MAX_VERTICES);
+        assertEquals(1, chunks.size());
+        final MeshRenderer.Chunk chunk = chunks.get(0);
+        assertEquals(4, chunk.getNumVertices());
+        assertArrayEquals(new short[] {0, 1, 2, 0, 2, 3}, chunk.indices());
+        final float[] v = chunk.vertices();
+        final float[] positions = new float[2 * chunk.getNumVertices()];
+        for (int i = 0; i < chunk.getNumVertices(); i++) {
+            positions[2 * i] = v[MeshRenderer.VERTEX_SIZE * i];
+            positions[2 * i + 1] = v[MeshRenderer.VERTEX_SIZE * i + 1];
+        }
+        // the y axis is flipped, but the segment lies on the middle line
+        assertArrayEquals(new float[] {10, 51, 30, 51, 30, 49, 10, 49}, positions, 1e-5f);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 5, 7, 16, 20, 64, 1000})
+    void chunksAreSplitAtTheMaximumNumberOfVertices(final int maxVertices) {
+        final Drawer.Drawing drawing = drawing(rectangles(50));
+        final List<MeshRenderer.Chunk> chunks = MeshRenderer.compile(drawing, 1.0f, maxVertices);
+        for (final MeshRenderer.Chunk chunk : chunks) {
+            assertTrue(chunk.getNumVertices() <= maxVertices, () -> chunk + " is larger than " + maxVertices);
+            assertTrue(chunk.indices().length > 0);
+            assertValidIndices(chunk);
+        }
+        // no triangle is lost nor duplicated across chunks, each segment being a quad of 2 triangles
+        assertEquals(drawing.getNumTriangles() + 2 * drawing.getNumSegments(), numTriangles(chunks));
+        if (maxVertices < 4 + 4 * 4) {
+            assertTrue(chunks.size() >= 50);
+        }
+    }
+
+    @Test
+    void indicesAboveShortRangeWrapAround() {
+        // 20 vertices for each rectangle, for a total which does not fit in a signed short
+        final Drawer.Drawing drawing = drawing(rectangles(2000));
+        final List<MeshRenderer.Chunk> chunks = MeshRenderer.compile(drawing, 1.0f, MeshRenderer.MAX_VERTICES);
+        assertEquals(1, chunks.size());
+        final MeshRenderer.Chunk chunk = chunks.get(0);
+        assertEquals(2000 * 20, chunk.getNumVertices());
+        boolean wrapped = false;
+        int max = 0;
+        for (final short s : chunk.indices()) {
+            wrapped |= s < 0;
+            max = Math.max(max, Short.toUnsignedInt(s));
+        }
+        assertTrue(wrapped);
+        assertEquals(chunk.getNumVertices() - 1, max);
+        assertValidIndices(chunk);
+    }
+
+    @Test
+    void fullChunksAreSplit() {
+        // 4000 rectangles take 80,000 vertices, more than 16-bit indices can address
+        final Drawer.Drawing drawing = drawing(rectangles(4000));
+        final List<MeshRenderer.Chunk> chunks = MeshRenderer.compile(drawing, 1.0f, MeshRenderer.MAX_VERTICES);
+        assertEquals(2, chunks.size());
+        assertEquals(MeshRenderer.MAX_VERTICES, chunks.get(0).getNumVertices());
+        assertEquals(4000 * 20 - MeshRenderer.MAX_VERTICES, chunks.get(1).getNumVertices());
+        assertEquals(drawing.getNumTriangles() + 2 * drawing.getNumSegments(), numTriangles(chunks));
+    }
+
+    @Test
+    void invalidMaximumNumberOfVertices() {
+        final Drawer.Drawing drawing = drawing(rectangles(1));
+        assertThrows(IllegalArgumentException.class, () -> MeshRenderer.compile(drawing, 1.0f, 3));
+        final int tooMany = MeshRenderer.MAX_VERTICES + 1;
+        assertThrows(IllegalArgumentException.class, () -> MeshRenderer.compile(drawing, 1.0f, tooMany));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg2gdx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import com.ledmington.svg.Image;
+import com.ledmington.svg.Parser;
+import com.ledmington.svg.path.PathFlattener;
+
+import org.junit.jupiter.api.Test;
+
+public final class TestRenderCache {
+
+    private static final byte[] DOCUMENT = ("<svg width=\"100\" height=\"100\" viewBox=\"0 0 100 100\" "
+                    + "xmlns=\"http://www.w3.org/2000/svg\">"
+                    + "<rect x=\"10\" y=\"10\" width=\"30\" height=\"40\" fill=\"red\" stroke=\"black\"/>"
+                    + "<path d=\"M50 50 C60 40 80 40 90 50 L70 90 Z\" fill=\"blue\"/>"
+                    + "</svg>")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final RenderCache cache = new RenderCache();
+
+    @Test
+    void sameParametersHit() {
+        final Image image = Parser.parseImage(DOCUMENT);
+        final Drawer.Drawing drawing = cache.get(image, 200.0, 100.0, 0.5);
+        assertSame(drawing, cache.get(image, 200.0, 100.0, 0.5));
+        assertEquals(1, cache.size());
+        // the default tolerance is a tolerance like any other
+        assertSame(cache.get(image, 200.0, 100.0), cache.get(image, 200.0, 100.0, PathFlattener.DEFAULT_TOLERANCE));
+    }
+
+    @Test
+    void differentParametersMissAndReplace() {
+        final Image image = Parser.parseImage(DOCUMENT);
+        final Drawer.Drawing drawing = cache.get(image, 200.0, 100.0, 0.5);
+        final Drawer.Drawing wider = cache.get(image, 300.0, 100.0, 0.5);
+        assertNotSame(drawing, wider);
+        final Drawer.Drawing taller = cache.get(image, 300.0, 200.0, 0.5);
+        assertNotSame(wider, taller);
+        final Drawer.Drawing finer = cache.get(image, 300.0, 200.0, 0.25);
+        assertNotSame(taller, finer);
+        // each image keeps only the drawing for its latest parameters
+        assertEquals(1, cache.size());
+        assertNotSame(drawing, cache.get(image, 200.0, 100.0, 0.5));
+    }
+
+    @Test
+    void imagesAreComparedByIdentity() {
+        final Image first = Parser.parseImage(DOCUMENT);
+        final Image second = Parser.parseImage(DOCUMENT);
+        final Drawer.Drawing drawing = cache.get(first, 200.0, 100.0, 0.5);
+        assertNotSame(drawing, cache.get(second, 200.0, 100.0, 0.5));
+        assertEquals(2, cache.size());
+        assertSame(drawing, cache.get(first, 200.0, 100.0, 0.5));
+    }
+
+    @Test
+    void invalidate() {
+        final Image image = Parser.parseImage(DOCUMENT);
+        final Image other = Parser.parseImage(DOCUMENT);
+        final Drawer.Drawing drawing = cache.get(image, 200.0, 100.0, 0.5);
+        final Drawer.Drawing otherDrawing = cache.get(other, 200.0, 100.0, 0.5);
+
+        assertTrue(cache.invalidate(image));
+        assertFalse(cache.invalidate(image));
+        assertEquals(1, cache.size());
+        assertSame(otherDrawing, cache.get(other, 200.0, 100.0, 0.5));
+        assertNotSame(drawing, cache.get(image, 200.0, 100.0, 0.5));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNotSame(otherDrawing, cache.get(other, 200.0, 100.0, 0.5));
+    }
+}
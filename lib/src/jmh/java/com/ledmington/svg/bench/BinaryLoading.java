@@ -0,0 +1,109 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.ledmington.svg.BinaryImageReader;
+import com.ledmington.svg.BinaryImageWriter;
+import com.ledmington.svg.Element;
+import com.ledmington.svg.Group;
+import com.ledmington.svg.Image;
+import com.ledmington.svg.Parser;
+import com.ledmington.svg.ParserOptions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares parsing the SVG asset with loading its binary encoding, both without touching the paths and when all the
+ * paths are decoded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Timeout(time = 5)
+public class BinaryLoading {
+
+    // the asset has attributes which are not supported yet
+    private final Parser parser = new Parser(ParserOptions.defaults().withStrict(false));
+    private Path svg;
+    private Path svgb;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        try (final Stream<Path> s = Files.find(
+                Path.of("src", "jmh", "resources").normalize().toAbsolutePath(),
+                999,
+                (p, bfa) -> bfa.isRegularFile() && p.toFile().getName().endsWith(".svg"))) {
+            svg = s.findFirst().orElseThrow();
+        }
+        svgb = Files.createTempFile("bench", ".svgb");
+        BinaryImageWriter.write(parser.parse(svg), svgb);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.delete(svgb);
+    }
+
+    @Benchmark
+    public void parseSvg(final Blackhole bh) {
+        bh.consume(parser.parse(svg));
+    }
+
+    @Benchmark
+    public void loadSvgb(final Blackhole bh) {
+        bh.consume(BinaryImageReader.read(svgb));
+    }
+
+    @Benchmark
+    public void loadSvgbAndDecodePaths(final Blackhole bh) {
+        final Image image = BinaryImageReader.read(svgb);
+        for (int i = 0; i < image.getNumElements(); i++) {
+            decode(image.getElement(i), bh);
+        }
+    }
+
+    private static void decode(final Element element, final Blackhole bh) {
+        if (element instanceof com.ledmington.svg.path.Path p) {
+            bh.consume(p.getPacked());
+        } else if (element instanceof Group g) {
+            for (int i = 0; i < g.getNumElements(); i++) {
+                decode(g.getElement(i), bh);
+            }
+        }
+    }
+}
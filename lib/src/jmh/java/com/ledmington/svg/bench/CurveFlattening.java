@@ -0,0 +1,163 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.ledmington.svg.AffineTransform;
+import com.ledmington.svg.Element;
+import com.ledmington.svg.Group;
+import com.ledmington.svg.Image;
+import com.ledmington.svg.Parser;
+import com.ledmington.svg.ParserOptions;
+import com.ledmington.svg.path.PackedPath;
+import com.ledmington.svg.path.PathFlattener;
+import com.ledmington.util.FloatArray;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares flattening all the paths of the SVG asset with 50 segments per curve, as the viewer used to do, with the
+ * adaptive {@link PathFlattener}, at several zoom levels. The number of vertices produced by each operation is
+ * reported as a secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Timeout(time = 5)
+public class CurveFlattening {
+
+    private static final int FIXED_SEGMENTS = 50;
+
+    /** The number of pixels on screen for each unit of the view box. */
+    @Param({"0.25", "1", "4"})
+    private double zoom;
+
+    private final List<PackedPath> paths = new ArrayList<>();
+    private final List<PackedPath> normalized = new ArrayList<>();
+    private final FloatArray out = new FloatArray();
+    private PathFlattener flattener;
+
+    /** The vertices produced by each operation. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Vertices {
+        public long vertices;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final Path svg;
+        try (final Stream<Path> s = Files.find(
+                Path.of("src", "jmh", "resources").normalize().toAbsolutePath(),
+                999,
+                (p, bfa) -> bfa.isRegularFile() && p.toFile().getName().endsWith(".svg"))) {
+            svg = s.findFirst().orElseThrow();
+        }
+        // the asset has attributes which are not supported yet
+        final Image image = new Parser(ParserOptions.defaults().withStrict(false)).parse(svg);
+        for (int i = 0; i < image.getNumElements(); i++) {
+            collect(image.getElement(i));
+        }
+        for (final PackedPath p : paths) {
+            normalized.add(p.normalize());
+        }
+        flattener = new PathFlattener(PathFlattener.DEFAULT_TOLERANCE, AffineTransform.scaling(zoom, zoom));
+    }
+
+    private void collect(final Element e) {
+        if (e instanceof com.ledmington.svg.path.Path p) {
+            paths.add(p.getPacked());
+        } else if (e instanceof Group g) {
+            for (int i = 0; i < g.getNumElements(); i++) {
+                collect(g.getElement(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public void fixedSegments(final Blackhole bh, final Vertices v) {
+        final AffineTransform t = flattener.getTransform();
+        for (final PackedPath p : normalized) {
+            out.clear();
+            double x = 0.0;
+            double y = 0.0;
+            int j = 0;
+            for (int i = 0; i < p.getNumSegments(); i++) {
+                final char command = p.getCommand(i);
+                if (command == 'M' || command == 'L') {
+                    x = p.getCoordinate(j);
+                    y = p.getCoordinate(j + 1);
+                    flattener.line(x, y, out);
+                } else if (command == 'C') {
+                    final double x1 = p.getCoordinate(j);
+                    final double y1 = p.getCoordinate(j + 1);
+                    final double x2 = p.getCoordinate(j + 2);
+                    final double y2 = p.getCoordinate(j + 3);
+                    final double x3 = p.getCoordinate(j + 4);
+                    final double y3 = p.getCoordinate(j + 5);
+                    for (int s = 1; s <= FIXED_SEGMENTS; s++) {
+                        final double u = (double) s / FIXED_SEGMENTS;
+                        final double mu = 1.0 - u;
+                        final double px =
+                                mu * mu * mu * x + 3 * mu * mu * u * x1 + 3 * mu * u * u * x2 + u * u * u * x3;
+                        final double py =
+                                mu * mu * mu * y + 3 * mu * mu * u * y1 + 3 * mu * u * u * y2 + u * u * u * y3;
+                        out.add((float) t.transformX(px, py), (float) t.transformY(px, py));
+                    }
+                    x = x3;
+                    y = y3;
+                }
+                j += PackedPath.getArity(command);
+            }
+            v.vertices += out.size() / 2;
+            bh.consume(out);
+        }
+    }
+
+    @Benchmark
+    public void adaptive(final Blackhole bh, final Vertices v) {
+        for (final PackedPath p : paths) {
+            flattener.flatten(p, (points, closed) -> {
+                v.vertices += points.size() / 2;
+                bh.consume(points);
+            });
+        }
+    }
+}
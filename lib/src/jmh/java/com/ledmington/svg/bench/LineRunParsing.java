@@ -0,0 +1,111 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.ledmington.svg.Image;
+import com.ledmington.svg.Parser;
+import com.ledmington.svg.path.HorizontalLineTo;
+import com.ledmington.svg.path.Path;
+import com.ledmington.svg.path.PathElement;
+import com.ledmington.svg.path.SubPath;
+import com.ledmington.svg.path.VerticalLineTo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Parses and walks a document made of long 'h' and 'v' runs, like the ones produced by CAD exporters. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Timeout(time = 5)
+public class LineRunParsing {
+
+    private static final int NUM_PATHS = 200;
+    private static final int NUM_RUNS_PER_PATH = 10;
+    private static final int RUN_LENGTH = 50;
+
+    private byte[] document;
+    private Image image;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random rng = new Random(42L);
+        final StringBuilder sb =
+                new StringBuilder("<svg width=\"1000\" height=\"1000\" xmlns=\"http://www.w3.org/2000/svg\">\n");
+        for (int i = 0; i < NUM_PATHS; i++) {
+            sb.append(String.format(
+                    Locale.US, "<path d=\"M%.2f %.2f", rng.nextDouble() * 1000.0, rng.nextDouble() * 1000.0));
+            for (int j = 0; j < NUM_RUNS_PER_PATH; j++) {
+                sb.append(j % 2 == 0 ? 'h' : 'v');
+                for (int k = 0; k < RUN_LENGTH; k++) {
+                    sb.append(String.format(Locale.US, "%.2f ", rng.nextDouble() * 20.0 - 10.0));
+                }
+            }
+            sb.append("z\"/>\n");
+        }
+        sb.append("</svg>\n");
+        this.document = sb.toString().getBytes(StandardCharsets.UTF_8);
+        this.image = Parser.parseImage(document);
+    }
+
+    @Benchmark
+    public void parse(final Blackhole bh) {
+        bh.consume(Parser.parseImage(document));
+    }
+
+    @Benchmark
+    public void iterate(final Blackhole bh) {
+        double sum = 0.0;
+        for (int i = 0; i < image.getNumElements(); i++) {
+            final Path p = (Path) image.getElement(i);
+            for (int j = 0; j < p.getNumSubpaths(); j++) {
+                final SubPath sp = p.getSubpath(j);
+                for (int k = 0; k < sp.getNumElements(); k++) {
+                    final PathElement pe = sp.getElement(k);
+                    if (pe instanceof HorizontalLineTo h) {
+                        for (int w = 0; w < h.getNumCoordinates(); w++) {
+                            sum += h.getCoordinate(w);
+                        }
+                    } else if (pe instanceof VerticalLineTo v) {
+                        for (int w = 0; w < v.getNumCoordinates(); w++) {
+                            sum += v.getCoordinate(w);
+                        }
+                    }
+                }
+            }
+        }
+        bh.consume(sum);
+    }
+}
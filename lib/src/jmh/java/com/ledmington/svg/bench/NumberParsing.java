@@ -0,0 +1,123 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.ledmington.svg.Parser;
+import com.ledmington.svg.ParserOptions;
+import com.ledmington.util.DoubleParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Compares the number scanner with the previous StringBuilder + Double.parseDouble approach. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Timeout(time = 5)
+public class NumberParsing {
+
+    private static final int NUM_PATHS = 1_000;
+    private static final int NUM_CURVES_PER_PATH = 20;
+    private static final Parser LAZY_PARSER = new Parser(ParserOptions.defaults().withLazyPaths(true));
+
+    /** Space-separated numbers, as they appear in path data. */
+    private String numbers;
+
+    /** The same numbers as ASCII bytes. */
+    private byte[] numberBytes;
+
+    /** A document made only of paths full of cubic Bezier curves. */
+    private byte[] pathHeavyDocument;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random rng = new Random(42L);
+        final StringBuilder doc = new StringBuilder(
+                "<svg width=\"1000\" height=\"1000\" xmlns=\"http://www.w3.org/2000/svg\">\n");
+        final StringBuilder all = new StringBuilder();
+        for (int i = 0; i < NUM_PATHS; i++) {
+            final StringBuilder curves = new StringBuilder();
+            for (int j = 0; j < NUM_CURVES_PER_PATH * 6; j++) {
+                curves.append(String.format(Locale.US, "%.2f ", (rng.nextDouble() - 0.5) * 200.0));
+            }
+            doc.append(String.format(
+                    Locale.US,
+                    "<path d=\"M%.2f,%.2f c %sz\"/>%n",
+                    rng.nextDouble() * 1000.0,
+                    rng.nextDouble() * 1000.0,
+                    curves));
+            all.append(curves);
+        }
+        doc.append("</svg>\n");
+        this.pathHeavyDocument = doc.toString().getBytes(StandardCharsets.UTF_8);
+        this.numbers = all.toString();
+        this.numberBytes = numbers.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public void stringBuilderAndParseDouble(final Blackhole bh) {
+        final String s = numbers;
+        int i = 0;
+        while (i < s.length()) {
+            final StringBuilder sb = new StringBuilder();
+            for (; i < s.length() && s.charAt(i) != ' '; i++) {
+                sb.append(s.charAt(i));
+            }
+            bh.consume(Double.parseDouble(sb.toString()));
+            i++;
+        }
+    }
+
+    @Benchmark
+    public void doubleParser(final Blackhole bh) {
+        final byte[] s = numberBytes;
+        int i = 0;
+        while (i < s.length) {
+            final int end = DoubleParser.scan(s, i, s.length);
+            bh.consume(DoubleParser.parse(s, i, end));
+            i = end + 1;
+        }
+    }
+
+    @Benchmark
+    public void parsePathHeavyDocument(final Blackhole bh) {
+        bh.consume(Parser.parseImage(pathHeavyDocument));
+    }
+
+    @Benchmark
+    public void parsePathHeavyDocumentLazily(final Blackhole bh) {
+        bh.consume(LAZY_PARSER.parse(pathHeavyDocument));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.ledmington.svg.OffHeapImage;
+import com.ledmington.svg.Parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares parsing a large document into the heap representation and into an {@link OffHeapImage}. Run with the gc
+ * profiler to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Timeout(time = 5)
+public class OffHeapParsing {
+
+    private static final int NUM_PATHS = 2_000;
+
+    private final Parser parser = new Parser();
+    private byte[] document;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random rng = new Random(42L);
+        final StringBuilder sb =
+                new StringBuilder("<svg width=\"1000\" height=\"1000\" xmlns=\"http://www.w3.org/2000/svg\">\n");
+        for (int i = 0; i < NUM_PATHS; i++) {
+            sb.append(String.format(
+                    Locale.US,
+                    "<path d=\"M%.2f %.2f l%.2f %.2f c%.2f %.2f %.2f %.2f %.2f %.2f z\"/>\n",
+                    rng.nextDouble() * 1000.0,
+                    rng.nextDouble() * 1000.0,
+                    rng.nextDouble() * 100.0,
+                    rng.nextDouble() * 100.0,
+                    rng.nextDouble() * 100.0,
+                    rng.nextDouble() * 100.0,
+                    rng.nextDouble() * 100.0,
+                    rng.nextDouble() * 100.0,
+                    rng.nextDouble() * 100.0,
+                    rng.nextDouble() * 100.0));
+        }
+        sb.append("</svg>\n");
+        this.document = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void parseHeap(final Blackhole bh) {
+        bh.consume(parser.parse(document));
+    }
+
+    @Benchmark
+    public void parseOffHeap(final Blackhole bh) {
+        try (OffHeapImage image = parser.parseOffHeap(document)) {
+            bh.consume(image.getNumElements());
+        }
+    }
+}
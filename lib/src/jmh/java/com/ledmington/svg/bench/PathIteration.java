@@ -0,0 +1,127 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.ledmington.svg.path.CubicBezier;
+import com.ledmington.svg.path.CubicBezierElement;
+import com.ledmington.svg.path.LineTo;
+import com.ledmington.svg.path.MoveTo;
+import com.ledmington.svg.path.PackedPath;
+import com.ledmington.svg.path.PathElement;
+import com.ledmington.svg.path.PathParser;
+import com.ledmington.svg.path.SubPath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Compares a full walk over the coordinates of a large path through the subpath view and through the packed form. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Timeout(time = 5)
+public class PathIteration {
+
+    private static final int NUM_SUBPATHS = 1_000;
+    private static final int NUM_SEGMENTS_PER_SUBPATH = 20;
+
+    private List<SubPath> subpaths;
+    private PackedPath packed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random rng = new Random(42L);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < NUM_SUBPATHS; i++) {
+            sb.append(String.format(Locale.US, "M%.3f %.3f", rng.nextDouble() * 1000.0, rng.nextDouble() * 1000.0));
+            for (int j = 0; j < NUM_SEGMENTS_PER_SUBPATH; j++) {
+                if (j % 2 == 0) {
+                    sb.append(String.format(
+                            Locale.US, "L%.3f %.3f", rng.nextDouble() * 1000.0, rng.nextDouble() * 1000.0));
+                } else {
+                    sb.append('C');
+                    for (int k = 0; k < 6; k++) {
+                        sb.append(String.format(Locale.US, "%.3f ", rng.nextDouble() * 1000.0));
+                    }
+                }
+            }
+            sb.append('z');
+        }
+        final byte[] data = sb.toString().getBytes(StandardCharsets.US_ASCII);
+        this.subpaths = PathParser.parse(data, 0, data.length);
+        this.packed = PathParser.parsePacked(data, 0, data.length);
+    }
+
+    @Benchmark
+    public void iterateSubPaths(final Blackhole bh) {
+        double sum = 0.0;
+        for (final SubPath sp : subpaths) {
+            for (int i = 0; i < sp.getNumElements(); i++) {
+                final PathElement pe = sp.getElement(i);
+                if (pe instanceof MoveTo m) {
+                    for (int j = 0; j < m.getNumPoints(); j++) {
+                        sum += m.getPoint(j).x() + m.getPoint(j).y();
+                    }
+                } else if (pe instanceof LineTo l) {
+                    for (int j = 0; j < l.getNumPoints(); j++) {
+                        sum += l.getPoint(j).x() + l.getPoint(j).y();
+                    }
+                } else if (pe instanceof CubicBezier c) {
+                    for (int j = 0; j < c.getNumElements(); j++) {
+                        final CubicBezierElement e = c.getElement(j);
+                        sum += e.firstControlPoint().x() + e.firstControlPoint().y();
+                        sum += e.secondControlPoint().x() + e.secondControlPoint().y();
+                        sum += e.endPoint().x() + e.endPoint().y();
+                    }
+                }
+            }
+        }
+        bh.consume(sum);
+    }
+
+    @Benchmark
+    public void iteratePacked(final Blackhole bh) {
+        double sum = 0.0;
+        int j = 0;
+        for (int i = 0; i < packed.getNumSegments(); i++) {
+            final int arity = PackedPath.getArity(packed.getCommand(i));
+            for (int k = 0; k < arity; k++) {
+                sum += packed.getCoordinate(j + k);
+            }
+            j += arity;
+        }
+        bh.consume(sum);
+    }
+}
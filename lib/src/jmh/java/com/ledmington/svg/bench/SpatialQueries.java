@@ -0,0 +1,90 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.ledmington.svg.BoundingBox;
+import com.ledmington.svg.Circle;
+import com.ledmington.svg.Element;
+import com.ledmington.svg.Image;
+import com.ledmington.svg.SpatialIndex;
+import com.ledmington.svg.ViewBox;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Compares viewport culling and hit testing through a {@link SpatialIndex} with a linear scan of the elements. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Timeout(time = 5)
+public class SpatialQueries {
+
+    private static final int NUM_ELEMENTS = 100_000;
+    private static final BoundingBox VIEWPORT = new BoundingBox(4_000.0, 4_000.0, 4_500.0, 4_300.0);
+
+    private Image image;
+    private SpatialIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random rng = new Random(42L);
+        final List<Element> elements = new ArrayList<>(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            elements.add(new Circle(rng.nextDouble() * 10_000.0, rng.nextDouble() * 10_000.0, rng.nextDouble() * 10.0));
+        }
+        image = new Image(new ViewBox(0.0, 0.0, 10_000.0, 10_000.0), 10_000.0, 10_000.0, elements);
+        index = SpatialIndex.of(image);
+    }
+
+    @Benchmark
+    public void cullLinear(final Blackhole bh) {
+        for (int i = 0; i < image.getNumElements(); i++) {
+            final Element e = image.getElement(i);
+            if (BoundingBox.of(e).intersects(VIEWPORT)) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void cullIndexed(final Blackhole bh) {
+        index.search(VIEWPORT, bh::consume);
+    }
+
+    @Benchmark
+    public void nearestIndexed(final Blackhole bh) {
+        bh.consume(index.nearest(5_000.0, 5_000.0));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import com.ledmington.svg.FillRule;
+import com.ledmington.svg.path.Tessellator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the {@link Tessellator} on glyph-like outlines of growing size: a single wavy ring, like the letter 'O' of a
+ * decorative font, with a hole and many concave vertices, and a page of text made of many small rings. The time per
+ * vertex should stay almost constant as the outlines grow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Timeout(time = 5)
+public class Tessellation {
+
+    /** The number of vertices of each outline. */
+    @Param({"1000", "10000", "100000"})
+    private int numVertices;
+
+    private float[] outer;
+    private float[] inner;
+    private float[][] page;
+    private final Tessellator tessellator = new Tessellator();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        outer = new float[2 * numVertices];
+        inner = new float[2 * numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            final double angle = 2.0 * Math.PI * i / numVertices;
+            // 50 waves along the outline
+            final double wave = 20.0 * Math.sin(50.0 * angle);
+            outer[2 * i] = (float) (500.0 + (400.0 + wave) * Math.cos(angle));
+            outer[2 * i + 1] = (float) (500.0 + (400.0 + wave) * Math.sin(angle));
+            // the hole goes in the opposite direction
+            inner[2 * i] = (float) (500.0 + (200.0 + wave) * Math.cos(-angle));
+            inner[2 * i + 1] = (float) (500.0 + (200.0 + wave) * Math.sin(-angle));
+        }
+
+        // rows of glyphs with 100 vertices each, 50 on the outline and 50 on the hole
+        final int numGlyphs = numVertices / 100;
+        final int perRow = (int) Math.ceil(Math.sqrt(numGlyphs));
+        page = new float[2 * numGlyphs][];
+        for (int g = 0; g < numGlyphs; g++) {
+            final double cx = 20.0 * (g % perRow);
+            final double cy = 30.0 * (g / perRow);
+            page[2 * g] = ring(cx, cy, 8.0, 12.0, 1.0);
+            page[2 * g + 1] = ring(cx, cy, 4.0, 6.0, -1.0);
+        }
+    }
+
+    private static float[] ring(
+            final double cx, final double cy, final double rx, final double ry, final double direction) {
+        final float[] points = new float[100];
+        for (int i = 0; i < 50; i++) {
+            final double angle = direction * 2.0 * Math.PI * i / 50;
+            points[2 * i] = (float) (cx + rx * Math.cos(angle));
+            points[2 * i + 1] = (float) (cy + ry * Math.sin(angle));
+        }
+        return points;
+    }
+
+    @Benchmark
+    public void ringNonZero(final Blackhole bh) {
+        tessellator.clear();
+        tessellator.addContour(outer, 0, outer.length);
+        tessellator.addContour(inner, 0, inner.length);
+        bh.consume(tessellator.tessellate(FillRule.NONZERO));
+    }
+
+    @Benchmark
+    public void ringEvenOdd(final Blackhole bh) {
+        tessellator.clear();
+        tessellator.addContour(outer, 0, outer.length);
+        tessellator.addContour(inner, 0, inner.length);
+        bh.consume(tessellator.tessellate(FillRule.EVENODD));
+    }
+
+    @Benchmark
+    public void page(final Blackhole bh) {
+        tessellator.clear();
+        for (final float[] contour : page) {
+            tessellator.addContour(contour, 0, contour.length);
+        }
+        bh.consume(tessellator.tessellate(FillRule.NONZERO));
+    }
+}
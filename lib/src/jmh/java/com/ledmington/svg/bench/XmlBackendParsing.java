@@ -0,0 +1,124 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.ledmington.svg.Parser;
+import com.ledmington.svg.ParserOptions;
+import com.ledmington.svg.XmlBackend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Compares the JAXP backend with the XmlTokenizer on a real-world image and on a large generated one. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Timeout(time = 5)
+public class XmlBackendParsing {
+
+    private static final int NUM_GROUPS = 500;
+    private static final int NUM_PATHS_PER_GROUP = 20;
+
+    @Param({"JAXP", "TOKENIZER"})
+    private XmlBackend backend;
+
+    private Parser parser;
+
+    /** The smartphone-messaging-vector.svg image. */
+    private byte[] smartphone;
+
+    /** A document with many groups, rectangles and paths, comments and entity references. */
+    private byte[] large;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // the real-world image contains attributes which are not supported yet
+        this.parser = new Parser(ParserOptions.defaults().withStrict(false).withXmlBackend(backend));
+        try {
+            this.smartphone = Files.readAllBytes(Path.of("src", "jmh", "resources", "smartphone-messaging-vector.svg"));
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        final Random rng = new Random(42L);
+        final StringBuilder sb = new StringBuilder(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<svg width=\"1000\" height=\"1000\" "
+                        + "xmlns=\"http://www.w3.org/2000/svg\">\n");
+        for (int i = 0; i < NUM_GROUPS; i++) {
+            sb.append(String.format(Locale.US, "  <!-- group %d -->%n  <g fill=\"#%06x\">%n", i, rng.nextInt(1 << 24)));
+            sb.append(String.format(
+                    Locale.US,
+                    "    <rect x=\"%.2f\" y=\"%.2f\" width=\"%.2f\" height=\"%.2f\"/>%n",
+                    rng.nextDouble() * 1000.0,
+                    rng.nextDouble() * 1000.0,
+                    1.0 + rng.nextDouble() * 100.0,
+                    1.0 + rng.nextDouble() * 100.0));
+            for (int j = 0; j < NUM_PATHS_PER_GROUP; j++) {
+                sb.append(String.format(
+                        Locale.US,
+                        "    <path id=\"p%d_%d\" d=\"M%.2f,%.2f&#10;l%.2f,%.2f c%.2f,%.2f %.2f,%.2f %.2f,%.2f z\"/>%n",
+                        i,
+                        j,
+                        rng.nextDouble() * 1000.0,
+                        rng.nextDouble() * 1000.0,
+                        rng.nextDouble() * 100.0,
+                        rng.nextDouble() * 100.0,
+                        rng.nextDouble() * 100.0,
+                        rng.nextDouble() * 100.0,
+                        rng.nextDouble() * 100.0,
+                        rng.nextDouble() * 100.0,
+                        rng.nextDouble() * 100.0,
+                        rng.nextDouble() * 100.0));
+            }
+            sb.append("  </g>\n");
+        }
+        sb.append("</svg>\n");
+        this.large = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void parseSmartphone(final Blackhole bh) {
+        bh.consume(parser.parse(smartphone));
+    }
+
+    @Benchmark
+    public void parseLarge(final Blackhole bh) {
+        bh.consume(parser.parse(large));
+    }
+}
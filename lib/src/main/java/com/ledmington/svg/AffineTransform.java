@@ -0,0 +1,169 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.util.Objects;
+
+/**
+ * A 2D affine transformation, with the same layout as the SVG 'matrix(a, b, c, d, e, f)' transform. A point (x, y) is
+ * mapped to (a * x + c * y + e, b * x + d * y + f).
+ *
+ * @param a The x scale.
+ * @param b The y shear.
+ * @param c The x shear.
+ * @param d The y scale.
+ * @param e The x translation.
+ * @param f The y translation.
+ */
+public record AffineTransform(double a, double b, double c, double d, double e, double f) {
+
+    /** The transformation which leaves every point where it is. */
+    public static final AffineTransform IDENTITY = new AffineTransform(1.0, 0.0, 0.0, 1.0, 0.0, 0.0);
+
+    /**
+     * Returns a translation.
+     *
+     * @param tx The horizontal offset.
+     * @param ty The vertical offset.
+     * @return A new AffineTransform.
+     */
+    public static AffineTransform translation(final double tx, final double ty) {
+        return new AffineTransform(1.0, 0.0, 0.0, 1.0, tx, ty);
+    }
+
+    /**
+     * Returns a scaling around the origin.
+     *
+     * @param sx The horizontal factor.
+     * @param sy The vertical factor.
+     * @return A new AffineTransform.
+     */
+    public static AffineTransform scaling(final double sx, final double sy) {
+        return new AffineTransform(sx, 0.0, 0.0, sy, 0.0, 0.0);
+    }
+
+    /**
+     * Returns the transformation from SVG coordinates, where y grows downwards, to the coordinates of libGDX and
+     * OpenGL, where y grows upwards. The origin moves from the top-left corner to the bottom-left corner of the
+     * viewport.
+     *
+     * @param viewportHeight The height of the viewport.
+     * @return A new AffineTransform.
+     */
+    public static AffineTransform flipY(final double viewportHeight) {
+        return new AffineTransform(1.0, 0.0, 0.0, -1.0, 0.0, viewportHeight);
+    }
+
+    /**
+     * Returns the transformation which applies this one first and then the given one.
+     *
+     * @param next The transformation to be applied after this one.
+     * @return A new AffineTransform.
+     */
+    public AffineTransform then(final AffineTransform next) {
+        Objects.requireNonNull(next);
+        return new AffineTransform(
+                next.a * a + next.c * b,
+                next.b * a + next.d * b,
+                next.a * c + next.c * d,
+                next.b * c + next.d * d,
+                next.a * e + next.c * f + next.e,
+                next.b * e + next.d * f + next.f);
+    }
+
+    /**
+     * Returns the x coordinate of the transformed point.
+     *
+     * @param x The x coordinate of the point.
+     * @param y The y coordinate of the point.
+     * @return The new x coordinate.
+     */
+    public double transformX(final double x, final double y) {
+        return a * x + c * y + e;
+    }
+
+    /**
+     * Returns the y coordinate of the transformed point.
+     *
+     * @param x The x coordinate of the point.
+     * @param y The y coordinate of the point.
+     * @return The new y coordinate.
+     */
+    public double transformY(final double x, final double y) {
+        return b * x + d * y + f;
+    }
+
+    /**
+     * Returns the largest factor by which this transformation stretches a length, which is the largest singular value
+     * of its linear part. Two points at distance D are mapped to points at distance at most D times this factor.
+     *
+     * @return The maximum scale factor.
+     */
+    public double getMaxScale() {
+        final double s = (a * a + b * b + c * c + d * d) / 2.0;
+        final double det = a * d - b * c;
+        return Math.sqrt(s + Math.sqrt(Math.max(0.0, s * s - det * det)));
+    }
+
+    /**
+     * Transforms consecutive (x, y) pairs. The source and the destination may be the same array.
+     *
+     * @param src The array containing the points.
+     * @param srcOffset The index of the x coordinate of the first point.
+     * @param dst The array where the transformed points are stored.
+     * @param dstOffset The index where the x coordinate of the first transformed point is stored.
+     * @param numPoints The number of points.
+     */
+    public void transform(
+            final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int numPoints) {
+        Objects.checkFromIndexSize(srcOffset, 2 * numPoints, src.length);
+        Objects.checkFromIndexSize(dstOffset, 2 * numPoints, dst.length);
+        for (int i = 0; i < 2 * numPoints; i += 2) {
+            final double x = src[srcOffset + i];
+            final double y = src[srcOffset + i + 1];
+            dst[dstOffset + i] = a * x + c * y + e;
+            dst[dstOffset + i + 1] = b * x + d * y + f;
+        }
+    }
+
+    /**
+     * Transforms consecutive (x, y) pairs, rounding the results to floats.
+     *
+     * @param src The array containing the points.
+     * @param srcOffset The index of the x coordinate of the first point.
+     * @param dst The array where the transformed points are stored.
+     * @param dstOffset The index where the x coordinate of the first transformed point is stored.
+     * @param numPoints The number of points.
+     */
+    public void transform(
+            final double[] src, final int srcOffset, final float[] dst, final int dstOffset, final int numPoints) {
+        Objects.checkFromIndexSize(srcOffset, 2 * numPoints, src.length);
+        Objects.checkFromIndexSize(dstOffset, 2 * numPoints, dst.length);
+        for (int i = 0; i < 2 * numPoints; i += 2) {
+            final double x = src[srcOffset + i];
+            final double y = src[srcOffset + i + 1];
+            dst[dstOffset + i] = (float) (a * x + c * y + e);
+            dst[dstOffset + i + 1] = (float) (b * x + d * y + f);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "matrix(" + a + ", " + b + ", " + c + ", " + d + ", " + e + ", " + f + ")";
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.ledmington.svg.path.Path;
+import com.ledmington.svg.path.Point;
+import com.ledmington.util.BinaryReader;
+
+/**
+ * A reader of the binary image format written by {@link BinaryImageWriter}.
+ *
+ * <p>Large files are memory-mapped and never copied onto the heap. The data of each path is not copied either: it stays
+ * in the mapping and is decoded only when the path is first accessed, so loading an image costs little more than
+ * creating its elements. Since paths keep referring to the mapping, the file must not be modified while the image is in
+ * use.
+ *
+ * <p>Malformed data and unsupported versions of the format are rejected with an {@link IllegalArgumentException}.
+ * Malformed path data is detected only when the path is first accessed.
+ */
+public final class BinaryImageReader {
+
+    /** The minimum size in bytes of a file to be memory-mapped instead of being read. */
+    public static final long MAPPING_THRESHOLD = 64L * 1024L;
+
+    private final BinaryReader in;
+    private Color[] colors;
+
+    private BinaryImageReader(final ByteBuffer input) {
+        this.in = new BinaryReader(input);
+    }
+
+    /**
+     * Loads the image in the given file. Files of at least {@value #MAPPING_THRESHOLD} bytes are memory-mapped, while
+     * smaller ones are read into a single array, since mapping them costs more than reading them.
+     *
+     * @param inputFile The file to be loaded.
+     * @return A new Image.
+     */
+    public static Image read(final java.nio.file.Path inputFile) {
+        try (FileChannel ch = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+            final long size = ch.size();
+            if (size >= MAPPING_THRESHOLD) {
+                // the mapping stays valid after the channel is closed
+                return read(ch.map(FileChannel.MapMode.READ_ONLY, 0L, size));
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (ch.read(buffer) < 0) {
+                    throw new IllegalArgumentException(
+                            String.format("File '%s' was truncated while reading", inputFile));
+                }
+            }
+            return read(buffer.flip());
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Loads the image encoded in the given array. The array is not copied, so it must not be modified afterwards.
+     *
+     * @param input The encoded image.
+     * @return A new Image.
+     */
+    public static Image read(final byte[] input) {
+        return read(ByteBuffer.wrap(input));
+    }
+
+    /**
+     * Loads the image encoded in the bytes between the position and the limit of the given buffer. The buffer is not
+     * modified nor copied, so its content must not be modified afterwards.
+     *
+     * @param input The encoded image.
+     * @return A new Image.
+     */
+    public static Image read(final ByteBuffer input) {
+        Objects.requireNonNull(input);
+        return new BinaryImageReader(input).image();
+    }
+
+    private Image image() {
+        final int magic = in.readInt();
+        if (magic != BinaryImageWriter.MAGIC) {
+            throw new IllegalArgumentException(String.format("Invalid magic number: 0x%08x", magic));
+        }
+        final int version = in.readByte() & 0xff;
+        if (version < 1 || version > BinaryImageWriter.VERSION) {
+            throw new IllegalArgumentException(String.format("Unsupported version: %d", version));
+        }
+        final double[] header = new double[6];
+        in.readCoordinates(header, 0, 6);
+        // version 1 had no 'preserveAspectRatio'
+        final PreserveAspectRatio par = version >= 2 ? preserveAspectRatio() : PreserveAspectRatio.DEFAULT;
+        final ViewBox viewBox = new ViewBox(header[0], header[1], header[2], header[3], par);
+
+        final int numColors = in.readVarInt();
+        // each color takes 4 bytes, which bounds the allocation for corrupted counts
+        if (numColors > in.remaining() / Integer.BYTES) {
+            throw new IllegalArgumentException(String.format("Too many colors: %,d", numColors));
+        }
+        colors = new Color[numColors];
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = ElementCursor.decodeColor(in.readInt());
+        }
+
+        final List<Element> elements = elements();
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException(
+                    String.format("Unexpected data after the end of the image at offset %,d", in.position()));
+        }
+        return new Image(viewBox, header[4], header[5], elements);
+    }
+
+    private PreserveAspectRatio preserveAspectRatio() {
+        final int b = in.readByte() & 0xff;
+        final int align = b & ~BinaryImageWriter.SLICE;
+        if (align >= PreserveAspectRatio.Alignment.values().length) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid preserveAspectRatio at offset %,d: 0x%02x", in.position() - 1, b));
+        }
+        return new PreserveAspectRatio(
+                PreserveAspectRatio.Alignment.values()[align], (b & BinaryImageWriter.SLICE) != 0);
+    }
+
+    private List<Element> elements() {
+        final int n = in.readVarInt();
+        // each element takes more than one byte, which bounds the allocation for corrupted counts
+        if (n > in.remaining()) {
+            throw new IllegalArgumentException(String.format("Too many elements: %,d", n));
+        }
+        final List<Element> elements = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            elements.add(element());
+        }
+        return elements;
+    }
+
+    private Element element() {
+        final int code = in.readByte();
+        if (code < 0 || code >= ElementKind.values().length) {
+            throw new IllegalArgumentException(
+                    String.format("Unknown element kind at offset %,d: %d", in.position() - 1, code));
+        }
+        return switch (ElementKind.fromCode((byte) code)) {
+            case RECTANGLE -> {
+                final double[] c = new double[5];
+                in.readCoordinates(c, 0, 5);
+                yield new Rectangle(c[0], c[1], c[2], c[3], color(), color(), c[4]);
+            }
+            case CIRCLE -> {
+                final double[] c = new double[3];
+                in.readCoordinates(c, 0, 3);
+                yield new Circle(c[0], c[1], c[2]);
+            }
+            case POLYLINE -> {
+                final int numPoints = in.readVarInt();
+                // each coordinate takes at least one byte
+                if (2L * numPoints > in.remaining()) {
+                    throw new IllegalArgumentException(String.format("Too many points: %,d", numPoints));
+                }
+                final double[] c = new double[2 * numPoints];
+                in.readCoordinates(c, 0, c.length);
+                final List<Point> points = new ArrayList<>(numPoints);
+                for (int i = 0; i < numPoints; i++) {
+                    points.add(new Point(c[2 * i], c[2 * i + 1]));
+                }
+                yield new Polyline(points);
+            }
+            case PATH -> {
+                final Color fill = color();
+                final Color stroke = color();
+                final double strokeWidth = in.readDouble();
+                yield new Path(in.slice(in.readVarInt()), fill, stroke, strokeWidth);
+            }
+            case GROUP -> {
+                final Style style = new Style(color(), color(), in.readDouble());
+                yield new Group(style, elements());
+            }
+        };
+    }
+
+    private Color color() {
+        final int idx = in.readVarInt();
+        if (idx >= colors.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid color index at offset %,d: %,d of %,d", in.position(), idx, colors.length));
+        }
+        return colors[idx];
+    }
+}
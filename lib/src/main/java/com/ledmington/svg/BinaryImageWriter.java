@@ -0,0 +1,191 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ledmington.svg.path.Path;
+import com.ledmington.svg.path.Point;
+import com.ledmington.util.BinaryWriter;
+
+/**
+ * A writer of the binary image format (.svgb), which can be loaded with {@link BinaryImageReader} much faster than the
+ * original document can be parsed.
+ *
+ * <p>A file starts with the {@value #MAGIC} magic number, the version of the format, a block with the view box, the
+ * width and the height of the image and a byte with the 'preserveAspectRatio' of the view box. Then comes the
+ * dictionary of all the colors used in the image, as 0xRRGGBBAA integers, which elements refer to by index. The rest of
+ * the file is the number of elements of the image followed by the elements themselves, in document order. Each element
+ * starts with the byte of its {@link ElementKind}:
+ *
+ * <ul>
+ *   <li>a rectangle has a block with its x, y, width, height and stroke width, followed by its fill and stroke;
+ *   <li>a circle has a block with its cx, cy and r;
+ *   <li>a polyline has its number of points and a block with their coordinates;
+ *   <li>a path has its style and the length in bytes of its {@link com.ledmington.svg.path.PackedPath packed data},
+ *       followed by the data itself, so that it can be skipped and decoded only when needed;
+ *   <li>a group has its style, its number of children and the children themselves.
+ * </ul>
+ *
+ * A style is made of the fill, the stroke and the stroke width as an 8-byte double. Counts, lengths and color indices
+ * are varints. Blocks of coordinates are encoded as described in {@link BinaryWriter}.
+ */
+public final class BinaryImageWriter {
+
+    /** The first 4 bytes of each file: "SVGB" in ASCII. */
+    public static final int MAGIC = 0x53564742;
+
+    /** The version of the format written by this class. */
+    public static final int VERSION = 2;
+
+    /** The bit of the 'preserveAspectRatio' byte which is set for 'slice'. The other bits are the alignment. */
+    static final int SLICE = 0x80;
+
+    private final BinaryWriter body = new BinaryWriter();
+    private final Map<Color, Integer> colorIndices = new HashMap<>();
+    private final List<Color> colors = new ArrayList<>();
+
+    private BinaryImageWriter() {}
+
+    /**
+     * Encodes the given image.
+     *
+     * @param image The image to be encoded.
+     * @return A new array with the encoded image.
+     */
+    public static byte[] toBytes(final Image image) {
+        return encode(image).toByteArray();
+    }
+
+    /**
+     * Writes the encoding of the given image to the given stream. The stream is not closed.
+     *
+     * @param image The image to be encoded.
+     * @param out The stream to be written.
+     * @throws IOException If the stream cannot be written.
+     */
+    public static void write(final Image image, final OutputStream out) throws IOException {
+        encode(image).writeTo(out);
+    }
+
+    /**
+     * Writes the encoding of the given image to the given file, replacing it if it already exists.
+     *
+     * @param image The image to be encoded.
+     * @param outputFile The file to be written.
+     */
+    public static void write(final Image image, final java.nio.file.Path outputFile) {
+        final BinaryWriter encoded = encode(image);
+        try (OutputStream out = Files.newOutputStream(outputFile)) {
+            encoded.writeTo(out);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static BinaryWriter encode(final Image image) {
+        final BinaryImageWriter w = new BinaryImageWriter();
+        w.body.writeVarInt(image.getNumElements());
+        for (int i = 0; i < image.getNumElements(); i++) {
+            w.element(image.getElement(i));
+        }
+
+        final BinaryWriter out = new BinaryWriter();
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        final ViewBox vb = image.getViewBox();
+        out.writeCoordinates(
+                new double[] {vb.x(), vb.y(), vb.width(), vb.height(), image.getWidth(), image.getHeight()}, 0, 6);
+        final PreserveAspectRatio par = vb.preserveAspectRatio();
+        out.writeByte(par.align().ordinal() | (par.slice() ? SLICE : 0));
+        out.writeVarInt(w.colors.size());
+        for (final Color c : w.colors) {
+            out.writeInt(ElementCursor.encodeColor(c));
+        }
+        final byte[] b = w.body.toByteArray();
+        out.writeBytes(b, 0, b.length);
+        return out;
+    }
+
+    private void element(final Element element) {
+        switch (element) {
+            case Rectangle r -> {
+                body.writeByte(ElementKind.RECTANGLE.code());
+                body.writeCoordinates(new double[] {r.x(), r.y(), r.width(), r.height(), r.strokeWidth()}, 0, 5);
+                color(r.fill());
+                color(r.stroke());
+            }
+            case Circle c -> {
+                body.writeByte(ElementKind.CIRCLE.code());
+                body.writeCoordinates(new double[] {c.cx(), c.cy(), c.r()}, 0, 3);
+            }
+            case Polyline p -> {
+                body.writeByte(ElementKind.POLYLINE.code());
+                final double[] coordinates = new double[2 * p.getNumPoints()];
+                for (int i = 0; i < p.getNumPoints(); i++) {
+                    final Point point = p.getPoint(i);
+                    coordinates[2 * i] = point.x();
+                    coordinates[2 * i + 1] = point.y();
+                }
+                body.writeVarInt(p.getNumPoints());
+                body.writeCoordinates(coordinates, 0, coordinates.length);
+            }
+            case Path p -> {
+                body.writeByte(ElementKind.PATH.code());
+                style(p.getFill(), p.getStroke(), p.getStrokeWidth());
+                final BinaryWriter data = new BinaryWriter();
+                p.getPacked().write(data);
+                final byte[] b = data.toByteArray();
+                body.writeVarInt(b.length);
+                body.writeBytes(b, 0, b.length);
+            }
+            case Group g -> {
+                body.writeByte(ElementKind.GROUP.code());
+                final Style s = g.getStyle();
+                style(s.fill(), s.stroke(), s.strokeWidth());
+                body.writeVarInt(g.getNumElements());
+                for (int i = 0; i < g.getNumElements(); i++) {
+                    element(g.getElement(i));
+                }
+            }
+            default -> throw new IllegalArgumentException(String.format("Unknown element '%s'", element));
+        }
+    }
+
+    private void style(final Color fill, final Color stroke, final double strokeWidth) {
+        color(fill);
+        color(stroke);
+        body.writeDouble(strokeWidth);
+    }
+
+    private void color(final Color c) {
+        Integer idx = colorIndices.get(c);
+        if (idx == null) {
+            idx = colors.size();
+            colorIndices.put(c, idx);
+            colors.add(c);
+        }
+        body.writeVarInt(idx);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import com.ledmington.svg.path.Path;
+
+/**
+ * An axis-aligned rectangle in user units, with inclusive bounds. The bounding box of an element encloses its geometry
+ * only: strokes are not taken into account.
+ *
+ * @param minX The minimum x coordinate.
+ * @param minY The minimum y coordinate.
+ * @param maxX The maximum x coordinate.
+ * @param maxY The maximum y coordinate.
+ */
+public record BoundingBox(double minX, double minY, double maxX, double maxY) {
+
+    public BoundingBox {
+        if (!(minX <= maxX) || !(minY <= maxY)) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid bounding box: [%f; %f] x [%f; %f]", minX, maxX, minY, maxY));
+        }
+    }
+
+    /**
+     * Returns the bounding box of the given element.
+     *
+     * @param element The element, which must be a rectangle, a circle, a polyline, a path or a group.
+     * @return The smallest box enclosing the element.
+     */
+    public static BoundingBox of(final Element element) {
+        return switch (element) {
+            case Rectangle r -> new BoundingBox(r.x(), r.y(), r.x() + r.width(), r.y() + r.height());
+            case Circle c -> new BoundingBox(c.cx() - c.r(), c.cy() - c.r(), c.cx() + c.r(), c.cy() + c.r());
+            case Polyline p -> p.getBoundingBox();
+            case Path p -> p.getBoundingBox();
+            case Group g -> g.getBoundingBox();
+            default -> throw new IllegalArgumentException(String.format("Element '%s' has no bounding box", element));
+        };
+    }
+
+    public double getWidth() {
+        return maxX - minX;
+    }
+
+    public double getHeight() {
+        return maxY - minY;
+    }
+
+    /**
+     * Returns the smallest box enclosing both this box and the given one.
+     *
+     * @param other The other box.
+     * @return A new BoundingBox.
+     */
+    public BoundingBox union(final BoundingBox other) {
+        return new BoundingBox(
+                Math.min(minX, other.minX),
+                Math.min(minY, other.minY),
+                Math.max(maxX, other.maxX),
+                Math.max(maxY, other.maxY));
+    }
+
+    /**
+     * Checks whether this box and the given one have at least one point in common.
+     *
+     * @param other The other box.
+     * @return True if the boxes intersect or touch, false otherwise.
+     */
+    public boolean intersects(final BoundingBox other) {
+        return minX <= other.maxX && other.minX <= maxX && minY <= other.maxY && other.minY <= maxY;
+    }
+
+    /**
+     * Checks whether the given point lies inside this box or on its border.
+     *
+     * @param x The x coordinate of the point.
+     * @param y The y coordinate of the point.
+     * @return True if the point is inside, false otherwise.
+     */
+    public boolean contains(final double x, final double y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    /**
+     * Returns the squared Euclidean distance between the given point and the closest point of this box, which is 0 for
+     * points inside the box.
+     *
+     * @param x The x coordinate of the point.
+     * @param y The y coordinate of the point.
+     * @return The squared distance.
+     */
+    public double distanceSquared(final double x, final double y) {
+        final double dx = Math.max(Math.max(minX - x, x - maxX), 0.0);
+        final double dy = Math.max(Math.max(minY - y, y - maxY), 0.0);
+        return dx * dx + dy * dy;
+    }
+}
@@ -17,8 +17,14 @@
  */
 package com.ledmington.svg;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * An RGBA color.
+ * An RGBA color. The named colors and the constants of this class are canonical: equal colors are the same instance.
+ * Other colors obtained through {@link #of(byte, byte, byte, byte)} are shared through a small cache of recently used
+ * ones, so images reusing a handful of colors across many shapes keep only one copy of each, while images with
+ * millions of distinct colors do not fill a global table.
  *
  * @param red The red component.
  * @param green The green component.
@@ -27,11 +33,258 @@ package com.ledmington.svg;
  */
 public record Color(byte red, byte green, byte blue, byte alpha) implements Element {
 
+    /**
+     * The canonical instances of the named colors and of the constants, indexed by their packed RGBA value. They are
+     * all added when this class is initialized, so it never holds more than a few hundred entries.
+     */
+    private static final Map<Integer, Color> CANONICAL = new ConcurrentHashMap<>();
+
+    /**
+     * A direct-mapped cache of the recently used colors, so that looking one up does not box its RGBA value. Races are
+     * harmless: Color instances are immutable and any entry is checked before being used.
+     */
+    private static final Color[] RECENT = new Color[256];
+
+    /** Transparent black, which is also the color of 'none'. */
+    public static final Color TRANSPARENT = intern(0x00000000);
+
+    /** Opaque black. */
+    public static final Color BLACK = intern(0x000000ff);
+
+    /**
+     * The canonical instances of the 147 named colors, indexed by their lowercase name. They are all created eagerly,
+     * so that a named color is shared even when its value is first seen in another notation, like '#ff0000'.
+     */
+    private static final Map<String, Color> NAMED = Map.ofEntries(
+            namedColor("aliceblue", 0xF0F8FF),
+            namedColor("antiquewhite", 0xFAEBD7),
+            namedColor("aqua", 0x00FFFF),
+            namedColor("aquamarine", 0x7FFFD4),
+            namedColor("azure", 0xF0FFFF),
+            namedColor("beige", 0xF5F5DC),
+            namedColor("bisque", 0xFFE4C4),
+            namedColor("black", 0x000000),
+            namedColor("blanchedalmond", 0xFFEBCD),
+            namedColor("blue", 0x0000FF),
+            namedColor("blueviolet", 0x8A2BE2),
+            namedColor("brown", 0xA52A2A),
+            namedColor("burlywood", 0xDEB887),
+            namedColor("cadetblue", 0x5F9EA0),
+            namedColor("chartreuse", 0x7FFF00),
+            namedColor("chocolate", 0xD2691E),
+            namedColor("coral", 0xFF7F50),
+            namedColor("cornflowerblue", 0x6495ED),
+            namedColor("cornsilk", 0xFFF8DC),
+            namedColor("crimson", 0xDC143C),
+            namedColor("cyan", 0x00FFFF),
+            namedColor("darkblue", 0x00008B),
+            namedColor("darkcyan", 0x008B8B),
+            namedColor("darkgoldenrod", 0xB8860B),
+            namedColor("darkgray", 0xA9A9A9),
+            namedColor("darkgreen", 0x006400),
+            namedColor("darkgrey", 0xA9A9A9),
+            namedColor("darkkhaki", 0xBDB76B),
+            namedColor("darkmagenta", 0x8B008B),
+            namedColor("darkolivegreen", 0x556B2F),
+            namedColor("darkorange", 0xFF8C00),
+            namedColor("darkorchid", 0x9932CC),
+            namedColor("darkred", 0x8B0000),
+            namedColor("darksalmon", 0xE9967A),
+            namedColor("darkseagreen", 0x8FBC8F),
+            namedColor("darkslateblue", 0x483D8B),
+            namedColor("darkslategray", 0x2F4F4F),
+            namedColor("darkslategrey", 0x2F4F4F),
+            namedColor("darkturquoise", 0x00CED1),
+            namedColor("darkviolet", 0x9400D3),
+            namedColor("deeppink", 0xFF1493),
+            namedColor("deepskyblue", 0x00BFFF),
+            namedColor("dimgray", 0x696969),
+            namedColor("dimgrey", 0x696969),
+            namedColor("dodgerblue", 0x1E90FF),
+            namedColor("firebrick", 0xB22222),
+            namedColor("floralwhite", 0xFFFAF0),
+            namedColor("forestgreen", 0x228B22),
+            namedColor("fuchsia", 0xFF00FF),
+            namedColor("gainsboro", 0xDCDCDC),
+            namedColor("ghostwhite", 0xF8F8FF),
+            namedColor("gold", 0xFFD700),
+            namedColor("goldenrod", 0xDAA520),
+            namedColor("gray", 0x808080),
+            namedColor("grey", 0x808080),
+            namedColor("green", 0x008000),
+            namedColor("greenyellow", 0xADFF2F),
+            namedColor("honeydew", 0xF0FFF0),
+            namedColor("hotpink", 0xFF69B4),
+            namedColor("indianred", 0xCD5C5C),
+            namedColor("indigo", 0x4B0082),
+            namedColor("ivory", 0xFFFFF0),
+            namedColor("khaki", 0xF0E68C),
+            namedColor("lavender", 0xE6E6FA),
+            namedColor("lavenderblush", 0xFFF0F5),
+            namedColor("lawngreen", 0x7CFC00),
+            namedColor("lemonchiffon", 0xFFFACD),
+            namedColor("lightblue", 0xADD8E6),
+            namedColor("lightcoral", 0xF08080),
+            namedColor("lightcyan", 0xE0FFFF),
+            namedColor("lightgoldenrodyellow", 0xFAFAD2),
+            namedColor("lightgray", 0xD3D3D3),
+            namedColor("lightgreen", 0x90EE90),
+            namedColor("lightgrey", 0xD3D3D3),
+            namedColor("lightpink", 0xFFB6C1),
+            namedColor("lightsalmon", 0xFFA07A),
+            namedColor("lightseagreen", 0x20B2AA),
+            namedColor("lightskyblue", 0x87CEFA),
+            namedColor("lightslategray", 0x778899),
+            namedColor("lightslategrey", 0x778899),
+            namedColor("lightsteelblue", 0xB0C4DE),
+            namedColor("lightyellow", 0xFFFFE0),
+            namedColor("lime", 0x00FF00),
+            namedColor("limegreen", 0x32CD32),
+            namedColor("linen", 0xFAF0E6),
+            namedColor("magenta", 0xFF00FF),
+            namedColor("maroon", 0x800000),
+            namedColor("mediumaquamarine", 0x66CDAA),
+            namedColor("mediumblue", 0x0000CD),
+            namedColor("mediumorchid", 0xBA55D3),
+            namedColor("mediumpurple", 0x9370DB),
+            namedColor("mediumseagreen", 0x3CB371),
+            namedColor("mediumslateblue", 0x7B68EE),
+            namedColor("mediumspringgreen", 0x00FA9A),
+            namedColor("mediumturquoise", 0x48D1CC),
+            namedColor("mediumvioletred", 0xC71585),
+            namedColor("midnightblue", 0x191970),
+            namedColor("mintcream", 0xF5FFFA),
+            namedColor("mistyrose", 0xFFE4E1),
+            namedColor("moccasin", 0xFFE4B5),
+            namedColor("navajowhite", 0xFFDEAD),
+            namedColor("navy", 0x000080),
+            namedColor("oldlace", 0xFDF5E6),
+            namedColor("olive", 0x808000),
+            namedColor("olivedrab", 0x6B8E23),
+            namedColor("orange", 0xFFA500),
+            namedColor("orangered", 0xFF4500),
+            namedColor("orchid", 0xDA70D6),
+            namedColor("palegoldenrod", 0xEEE8AA),
+            namedColor("palegreen", 0x98FB98),
+            namedColor("paleturquoise", 0xAFEEEE),
+            namedColor("palevioletred", 0xDB7093),
+            namedColor("papayawhip", 0xFFEFD5),
+            namedColor("peachpuff", 0xFFDAB9),
+            namedColor("peru", 0xCD853F),
+            namedColor("pink", 0xFFC0CB),
+            namedColor("plum", 0xDDA0DD),
+            namedColor("powderblue", 0xB0E0E6),
+            namedColor("purple", 0x800080),
+            namedColor("red", 0xFF0000),
+            namedColor("rosybrown", 0xBC8F8F),
+            namedColor("royalblue", 0x4169E1),
+            namedColor("saddlebrown", 0x8B4513),
+            namedColor("salmon", 0xFA8072),
+            namedColor("sandybrown", 0xF4A460),
+            namedColor("seagreen", 0x2E8B57),
+            namedColor("seashell", 0xFFF5EE),
+            namedColor("sienna", 0xA0522D),
+            namedColor("silver", 0xC0C0C0),
+            namedColor("skyblue", 0x87CEEB),
+            namedColor("slateblue", 0x6A5ACD),
+            namedColor("slategray", 0x708090),
+            namedColor("slategrey", 0x708090),
+            namedColor("snow", 0xFFFAFA),
+            namedColor("springgreen", 0x00FF7F),
+            namedColor("steelblue", 0x4682B4),
+            namedColor("tan", 0xD2B48C),
+            namedColor("teal", 0x008080),
+            namedColor("thistle", 0xD8BFD8),
+            namedColor("tomato", 0xFF6347),
+            namedColor("turquoise", 0x40E0D0),
+            namedColor("violet", 0xEE82EE),
+            namedColor("wheat", 0xF5DEB3),
+            namedColor("white", 0xFFFFFF),
+            namedColor("whitesmoke", 0xF5F5F5),
+            namedColor("yellow", 0xFFFF00),
+            namedColor("yellowgreen", 0x9ACD32));
+
     /** Creates a default RGBA color with all components set to 0 (transparent black). */
     public Color() {
         this((byte) 0, (byte) 0, (byte) 0, (byte) 0);
     }
 
+    private static int recentIndex(final int rgba) {
+        return (rgba ^ (rgba >>> 8) ^ (rgba >>> 16) ^ (rgba >>> 24)) & (RECENT.length - 1);
+    }
+
+    /**
+     * Returns the shared instance of the given color: the canonical one if it is a named color or a constant,
+     * otherwise the recently used one if it is still cached.
+     *
+     * @param red The red component.
+     * @param green The green component.
+     * @param blue The blue component.
+     * @param alpha The alpha component.
+     * @return The shared instance, or a new one.
+     */
+    public static Color of(final byte red, final byte green, final byte blue, final byte alpha) {
+        final int rgba = ((red & 0xff) << 24) | ((green & 0xff) << 16) | ((blue & 0xff) << 8) | (alpha & 0xff);
+        final int idx = recentIndex(rgba);
+        final Color recent = RECENT[idx];
+        if (recent != null
+                && recent.red == red
+                && recent.green == green
+                && recent.blue == blue
+                && recent.alpha == alpha) {
+            return recent;
+        }
+        Color c = CANONICAL.get(rgba);
+        if (c == null) {
+            c = new Color(red, green, blue, alpha);
+        }
+        RECENT[idx] = c;
+        return c;
+    }
+
+    /**
+     * Returns the shared instance of the given opaque color.
+     *
+     * @param rgb The color as 0xRRGGBB.
+     * @return The shared instance, or a new one.
+     * @see #of(byte, byte, byte, byte)
+     */
+    public static Color ofRGB(final int rgb) {
+        return of((byte) (rgb >>> 16), (byte) (rgb >>> 8), (byte) rgb, (byte) 0xff);
+    }
+
+    private static Map.Entry<String, Color> namedColor(final String name, final int rgb) {
+        return Map.entry(name, intern((rgb << 8) | 0xff));
+    }
+
+    /**
+     * Returns the canonical instance of the named color with the given lowercase name.
+     *
+     * @param name The lowercase name of the color.
+     * @return The canonical instance, or null if there is no such named color.
+     */
+    static Color named(final String name) {
+        return NAMED.get(name);
+    }
+
+    private static Color intern(final int rgba) {
+        final Color c = CANONICAL.computeIfAbsent(
+                rgba, k -> new Color((byte) (k >>> 24), (byte) (k >>> 16), (byte) (k >>> 8), k.byteValue()));
+        // replaces a non-canonical instance of the same color, so that the following lookups share this one
+        RECENT[recentIndex(rgba)] = c;
+        return c;
+    }
+
+    /**
+     * Returns the shared instance of this color.
+     *
+     * @return The shared instance, which may be this one.
+     * @see #of(byte, byte, byte, byte)
+     */
+    public Color canonical() {
+        return of(red, green, blue, alpha);
+    }
+
     @Override
     public String toString() {
         return String.format("SVGColor[red=0x%02x, green=0x%02x, blue=0x%02x, alpha=0x%02x]", red, green, blue, alpha);
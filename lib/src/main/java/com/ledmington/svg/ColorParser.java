@@ -0,0 +1,245 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.util.Locale;
+
+import com.ledmington.util.ParseUtils;
+
+/**
+ * A parser of SVG color values. Official reference available <a
+ * href="https://www.w3.org/TR/css-color-3/#colorunits">here</a>.
+ *
+ * <p>It supports 'none', 'transparent', 'currentColor', the 147 named colors, the hexadecimal notations #rgb, #rgba,
+ * #rrggbb and #rrggbbaa and the functional notations rgb() and rgba(), with both comma-separated and space-separated
+ * arguments. Values are read in place, without creating intermediate strings. The named colors are canonical, the other
+ * ones are shared as described in {@link Color}.
+ *
+ * <p>Since the 'color' property is not supported, 'currentColor' always refers to its initial value, which is black.
+ */
+public final class ColorParser {
+
+    private ColorParser() {}
+
+    /**
+     * Parses the given color value.
+     *
+     * @param input The color value, as it appears in an attribute.
+     * @return The shared instance of the color.
+     * @throws IllegalArgumentException If the color is not valid.
+     */
+    public static Color parse(final String input) {
+        // strip() does not allocate when there is nothing to strip
+        final String v = input.strip();
+        if (v.isEmpty()) {
+            throw unknownColor(input);
+        }
+        if (v.charAt(0) == '#') {
+            return parseHex(v, input);
+        }
+        if (v.regionMatches(true, 0, "rgb", 0, 3)) {
+            return parseFunction(v, input);
+        }
+        if (v.equalsIgnoreCase("none") || v.equalsIgnoreCase("transparent")) {
+            return Color.TRANSPARENT;
+        }
+        if (v.equalsIgnoreCase("currentColor")) {
+            return Color.BLACK;
+        }
+
+        Color named = Color.named(v);
+        if (named == null) {
+            // named colors are case-insensitive, but almost always written in lowercase
+            named = Color.named(v.toLowerCase(Locale.ROOT));
+        }
+        if (named == null) {
+            throw unknownColor(input);
+        }
+        return named;
+    }
+
+    private static Color parseHex(final String v, final String input) {
+        for (int i = 1; i < v.length(); i++) {
+            if (!isHexDigit(v.charAt(i))) {
+                throw unknownColor(input);
+            }
+        }
+        return switch (v.length()) {
+            case 4 -> Color.of(shortHex(v, 1), shortHex(v, 2), shortHex(v, 3), (byte) 0xff);
+            case 5 -> Color.of(shortHex(v, 1), shortHex(v, 2), shortHex(v, 3), shortHex(v, 4));
+            case 7 -> Color.of(hex(v, 1), hex(v, 3), hex(v, 5), (byte) 0xff);
+            case 9 -> Color.of(hex(v, 1), hex(v, 3), hex(v, 5), hex(v, 7));
+            default -> throw unknownColor(input);
+        };
+    }
+
+    /** Parses a single hexadecimal digit, duplicating it as in '#fa0' being '#ffaa00'. */
+    private static byte shortHex(final String v, final int idx) {
+        final byte d = ParseUtils.parseByteHex(v.charAt(idx));
+        return ParseUtils.or(ParseUtils.shl(d, 4), d);
+    }
+
+    private static byte hex(final String v, final int idx) {
+        return ParseUtils.or(
+                ParseUtils.shl(ParseUtils.parseByteHex(v.charAt(idx)), 4), ParseUtils.parseByteHex(v.charAt(idx + 1)));
+    }
+
+    private static boolean isHexDigit(final char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    /** Parses 'rgb(r, g, b)', 'rgba(r, g, b, a)' or their space-separated form 'rgb(r g b / a)'. */
+    private static Color parseFunction(final String v, final String input) {
+        int i = 3;
+        if (i < v.length() && (v.charAt(i) == 'a' || v.charAt(i) == 'A')) {
+            i++;
+        }
+        i = skipSpaces(v, i);
+        if (i >= v.length() || v.charAt(i) != '(' || v.charAt(v.length() - 1) != ')') {
+            throw unknownColor(input);
+        }
+        final int end = v.length() - 1;
+
+        final byte red;
+        final byte green;
+        final byte blue;
+        byte alpha = (byte) 0xff;
+
+        i = skipSpaces(v, i + 1);
+        int numberEnd = scanNumber(v, i, end);
+        red = component(v, i, numberEnd, input);
+        final int afterRed = skipSpaces(v, numberEnd);
+        final boolean commas = afterRed < end && v.charAt(afterRed) == ',';
+
+        i = skipSeparator(v, numberEnd, end, commas, input);
+        numberEnd = scanNumber(v, i, end);
+        green = component(v, i, numberEnd, input);
+
+        i = skipSeparator(v, numberEnd, end, commas, input);
+        numberEnd = scanNumber(v, i, end);
+        blue = component(v, i, numberEnd, input);
+
+        i = skipSpaces(v, numberEnd);
+        if (i < end) {
+            if (v.charAt(i) != (commas ? ',' : '/')) {
+                throw unknownColor(input);
+            }
+            i = skipSpaces(v, i + 1);
+            numberEnd = scanNumber(v, i, end);
+            alpha = alpha(v, i, numberEnd, input);
+            i = skipSpaces(v, numberEnd);
+        }
+        if (i != end) {
+            throw unknownColor(input);
+        }
+
+        return Color.of(red, green, blue, alpha);
+    }
+
+    private static int skipSpaces(final String v, final int from) {
+        int i = from;
+        while (i < v.length()) {
+            final char c = v.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipSeparator(
+            final String v, final int from, final int end, final boolean commas, final String input) {
+        int i = skipSpaces(v, from);
+        if (commas) {
+            if (i >= end || v.charAt(i) != ',') {
+                throw unknownColor(input);
+            }
+            i = skipSpaces(v, i + 1);
+        } else if (i == from) {
+            throw unknownColor(input);
+        }
+        return i;
+    }
+
+    /** Returns the index right after the number starting at the given index, including a trailing '%'. */
+    private static int scanNumber(final String v, final int from, final int end) {
+        int i = from;
+        if (i < end && (v.charAt(i) == '+' || v.charAt(i) == '-')) {
+            i++;
+        }
+        while (i < end && ((v.charAt(i) >= '0' && v.charAt(i) <= '9') || v.charAt(i) == '.')) {
+            i++;
+        }
+        if (i < end && v.charAt(i) == '%') {
+            i++;
+        }
+        return i;
+    }
+
+    /** Parses a color component, either a number in [0; 255] or a percentage, clamping it. */
+    private static byte component(final String v, final int start, final int end, final String input) {
+        final boolean percentage = end > start && v.charAt(end - 1) == '%';
+        final double x = decimal(v, start, percentage ? end - 1 : end, input);
+        return clamp(percentage ? x * 255.0 / 100.0 : x);
+    }
+
+    /** Parses an alpha value, either a number in [0; 1] or a percentage, clamping it. */
+    private static byte alpha(final String v, final int start, final int end, final String input) {
+        final boolean percentage = end > start && v.charAt(end - 1) == '%';
+        final double x = decimal(v, start, percentage ? end - 1 : end, input);
+        return clamp((percentage ? x / 100.0 : x) * 255.0);
+    }
+
+    private static byte clamp(final double x) {
+        return ParseUtils.asByte((int) Math.round(Math.max(0.0, Math.min(255.0, x))));
+    }
+
+    /** Parses a decimal number without exponent. */
+    private static double decimal(final String v, final int start, final int end, final String input) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (v.charAt(i) == '+' || v.charAt(i) == '-')) {
+            negative = v.charAt(i) == '-';
+            i++;
+        }
+        double x = 0.0;
+        boolean hasDigits = false;
+        for (; i < end && v.charAt(i) >= '0' && v.charAt(i) <= '9'; i++) {
+            x = x * 10.0 + (v.charAt(i) - '0');
+            hasDigits = true;
+        }
+        if (i < end && v.charAt(i) == '.') {
+            i++;
+            double scale = 0.1;
+            for (; i < end && v.charAt(i) >= '0' && v.charAt(i) <= '9'; i++) {
+                x += (v.charAt(i) - '0') * scale;
+                scale /= 10.0;
+                hasDigits = true;
+            }
+        }
+        if (!hasDigits || i != end) {
+            throw unknownColor(input);
+        }
+        return negative ? -x : x;
+    }
+
+    private static IllegalArgumentException unknownColor(final String v) {
+        return new IllegalArgumentException(String.format("Unknown color '%s'", v));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.io.ByteArrayInputStream;
+import java.util.Set;
+
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * An offline catalog of the SVG DTDs, so that documents declaring them are parsed without any network access.
+ *
+ * <p>The SVG DTDs only describe the structure of the document: they do not declare any entity needed to read it. Since
+ * the parser does not validate, each of them is replaced with an empty external subset. Entities declared in the
+ * internal subset of the document keep working. Any other external entity is rejected in strict mode and replaced
+ * with an empty one otherwise. In no case is it loaded.
+ */
+final class DtdCatalog implements XMLResolver {
+
+    private static final Set<String> SVG_PUBLIC_IDS = Set.of(
+            "-//W3C//DTD SVG 1.0//EN",
+            "-//W3C//DTD SVG 20010904//EN",
+            "-//W3C//DTD SVG 1.1//EN",
+            "-//W3C//DTD SVG 1.1 Full//EN",
+            "-//W3C//DTD SVG 1.1 Basic//EN",
+            "-//W3C//DTD SVG 1.1 Tiny//EN",
+            "-//W3C//DTD SVG 1.2 Tiny//EN");
+
+    private static final Set<String> SVG_SYSTEM_IDS = Set.of(
+            "http://www.w3.org/TR/2001/REC-SVG-20010904/DTD/svg10.dtd",
+            "http://www.w3.org/Graphics/SVG/1.1/DTD/svg11.dtd",
+            "http://www.w3.org/Graphics/SVG/1.1/DTD/svg11-basic.dtd",
+            "http://www.w3.org/Graphics/SVG/1.1/DTD/svg11-tiny.dtd",
+            "http://www.w3.org/Graphics/SVG/1.2/DTD/svg12-tiny.dtd");
+
+    private final boolean strict;
+
+    /**
+     * Creates a new catalog.
+     *
+     * @param strict When true, external entities which are not SVG DTDs are rejected.
+     */
+    DtdCatalog(final boolean strict) {
+        this.strict = strict;
+    }
+
+    @Override
+    public Object resolveEntity(
+            final String publicID, final String systemID, final String baseURI, final String namespace)
+            throws XMLStreamException {
+        // the sets built by Set.of() reject null lookups
+        final boolean isSvgDtd = (publicID != null && SVG_PUBLIC_IDS.contains(publicID))
+                || (systemID != null && SVG_SYSTEM_IDS.contains(systemID));
+        if (isSvgDtd || !strict) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        throw new XMLStreamException(String.format(
+                "External entity with public id '%s' and system id '%s' cannot be loaded: only the SVG DTDs are"
+                        + " supported offline",
+                publicID, systemID));
+    }
+}
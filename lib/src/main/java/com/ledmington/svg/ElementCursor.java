@@ -0,0 +1,375 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.ledmington.svg.path.PackedPath;
+import com.ledmington.svg.path.PackedPathBuilder;
+import com.ledmington.svg.path.Path;
+import com.ledmington.svg.path.PathListener;
+import com.ledmington.svg.path.Point;
+
+/**
+ * A flyweight view over a single element of an {@link OffHeapImage}. A cursor holds no data itself: it can be moved to
+ * any element of its image and reused, so that visiting all the elements of an image needs only one cursor per level
+ * of nesting.
+ *
+ * <p>The accessors of each kind of element throw an {@link IllegalStateException} when the cursor is positioned on an
+ * element of a different kind.
+ */
+public final class ElementCursor {
+
+    // offsets of the fields of each record, relative to its start
+    static final int KIND = 0;
+
+    static final int RECTANGLE_X = 1;
+    static final int RECTANGLE_Y = 9;
+    static final int RECTANGLE_WIDTH = 17;
+    static final int RECTANGLE_HEIGHT = 25;
+    static final int RECTANGLE_FILL = 33;
+    static final int RECTANGLE_STROKE = 37;
+    static final int RECTANGLE_STROKE_WIDTH = 41;
+    static final int RECTANGLE_SIZE = 49;
+
+    static final int CIRCLE_CX = 1;
+    static final int CIRCLE_CY = 9;
+    static final int CIRCLE_R = 17;
+    static final int CIRCLE_SIZE = 25;
+
+    static final int POLYLINE_NUM_COORDINATES = 1;
+    static final int POLYLINE_COORDINATES = 5;
+
+    // paths and groups start with their fill, stroke and stroke width, laid out like the ones of rectangles
+    static final int STYLE_FILL = 1;
+
+    static final int PATH_NUM_SEGMENTS = 17;
+    static final int PATH_NUM_COORDINATES = 21;
+    static final int PATH_COMMANDS = 25;
+
+    static final int GROUP_NUM_ELEMENTS = 17;
+    static final int GROUP_ELEMENTS = 21;
+
+    private static final int EXPLICIT = 0x80;
+    private static final int COMMAND_MASK = 0x7f;
+
+    private final OffHeapImage image;
+    private int offset = -1;
+
+    ElementCursor(final OffHeapImage image) {
+        this.image = Objects.requireNonNull(image);
+    }
+
+    ElementCursor moveTo(final OffHeapImage image, final int offset) {
+        if (image != this.image) {
+            throw new IllegalArgumentException("The cursor belongs to a different image");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    private ByteBuffer buffer() {
+        if (offset < 0) {
+            throw new IllegalStateException("The cursor is not positioned on any element");
+        }
+        return image.buffer();
+    }
+
+    private ByteBuffer buffer(final ElementKind expected) {
+        final ByteBuffer b = buffer();
+        if (b.get(offset + KIND) != expected.code()) {
+            throw new IllegalStateException(
+                    String.format("Expected a %s but the element is a %s", expected, getKind()));
+        }
+        return b;
+    }
+
+    /**
+     * Returns the kind of the current element.
+     *
+     * @return The kind of the current element.
+     */
+    public ElementKind getKind() {
+        return ElementKind.fromCode(buffer().get(offset + KIND));
+    }
+
+    public double getX() {
+        return buffer(ElementKind.RECTANGLE).getDouble(offset + RECTANGLE_X);
+    }
+
+    public double getY() {
+        return buffer(ElementKind.RECTANGLE).getDouble(offset + RECTANGLE_Y);
+    }
+
+    public double getWidth() {
+        return buffer(ElementKind.RECTANGLE).getDouble(offset + RECTANGLE_WIDTH);
+    }
+
+    public double getHeight() {
+        return buffer(ElementKind.RECTANGLE).getDouble(offset + RECTANGLE_HEIGHT);
+    }
+
+    public double getCx() {
+        return buffer(ElementKind.CIRCLE).getDouble(offset + CIRCLE_CX);
+    }
+
+    public double getCy() {
+        return buffer(ElementKind.CIRCLE).getDouble(offset + CIRCLE_CY);
+    }
+
+    public double getR() {
+        return buffer(ElementKind.CIRCLE).getDouble(offset + CIRCLE_R);
+    }
+
+    /**
+     * Returns the fill color of the current rectangle, path or group.
+     *
+     * @return The fill color.
+     */
+    public Color getFill() {
+        return decodeColor(buffer().getInt(offset + styleOffset()));
+    }
+
+    /**
+     * Returns the stroke color of the current rectangle, path or group.
+     *
+     * @return The stroke color.
+     */
+    public Color getStroke() {
+        return decodeColor(buffer().getInt(offset + styleOffset() + 4));
+    }
+
+    /**
+     * Returns the stroke width of the current rectangle, path or group.
+     *
+     * @return The stroke width.
+     */
+    public double getStrokeWidth() {
+        return buffer().getDouble(offset + styleOffset() + 8);
+    }
+
+    /** Returns the offset of the fill, stroke and stroke width fields of the current element. */
+    private int styleOffset() {
+        return switch (getKind()) {
+            case RECTANGLE -> RECTANGLE_FILL;
+            case PATH, GROUP -> STYLE_FILL;
+            default -> throw new IllegalStateException(String.format("A %s has no style", getKind()));
+        };
+    }
+
+    public int getNumPoints() {
+        return buffer(ElementKind.POLYLINE).getInt(offset + POLYLINE_NUM_COORDINATES) / 2;
+    }
+
+    public double getPointX(final int idx) {
+        Objects.checkIndex(idx, getNumPoints());
+        return buffer().getDouble(offset + POLYLINE_COORDINATES + 16 * idx);
+    }
+
+    public double getPointY(final int idx) {
+        Objects.checkIndex(idx, getNumPoints());
+        return buffer().getDouble(offset + POLYLINE_COORDINATES + 16 * idx + 8);
+    }
+
+    /**
+     * Returns the number of segments of the current path.
+     *
+     * @return The number of segments.
+     * @see PackedPath#getNumSegments()
+     */
+    public int getNumSegments() {
+        return buffer(ElementKind.PATH).getInt(offset + PATH_NUM_SEGMENTS);
+    }
+
+    /**
+     * Returns the letter of the command of the given segment of the current path.
+     *
+     * @param idx The index of the segment.
+     * @return The letter of the command, lowercase if relative.
+     * @see PackedPath#getCommand(int)
+     */
+    public char getCommand(final int idx) {
+        Objects.checkIndex(idx, getNumSegments());
+        return (char) (buffer().get(offset + PATH_COMMANDS + idx) & COMMAND_MASK);
+    }
+
+    /**
+     * Returns true if the given segment of the current path starts a new command.
+     *
+     * @param idx The index of the segment.
+     * @return True if the command letter was written explicitly before this segment.
+     * @see PackedPath#startsCommand(int)
+     */
+    public boolean startsCommand(final int idx) {
+        Objects.checkIndex(idx, getNumSegments());
+        return (buffer().get(offset + PATH_COMMANDS + idx) & EXPLICIT) != 0;
+    }
+
+    /**
+     * Returns the number of coordinates of the current path.
+     *
+     * @return The number of coordinates.
+     */
+    public int getNumCoordinates() {
+        return buffer(ElementKind.PATH).getInt(offset + PATH_NUM_COORDINATES);
+    }
+
+    /**
+     * Returns the given coordinate of the current path.
+     *
+     * @param idx The index of the coordinate.
+     * @return The coordinate.
+     * @see PackedPath#getCoordinate(int)
+     */
+    public double getCoordinate(final int idx) {
+        Objects.checkIndex(idx, getNumCoordinates());
+        return buffer().getDouble(offset + PATH_COMMANDS + getNumSegments() + 8 * idx);
+    }
+
+    /**
+     * Reports all the segments of the current path to the given listener, as they were parsed.
+     *
+     * @param listener The receiver of the commands.
+     * @see PackedPath#replay(PathListener)
+     */
+    public void replay(final PathListener listener) {
+        Objects.requireNonNull(listener);
+        final ByteBuffer b = buffer(ElementKind.PATH);
+        final int numSegments = b.getInt(offset + PATH_NUM_SEGMENTS);
+        int j = offset + PATH_COMMANDS + numSegments;
+        for (int i = 0; i < numSegments; i++) {
+            final byte op = b.get(offset + PATH_COMMANDS + i);
+            final char command = (char) (op & COMMAND_MASK);
+            final boolean explicit = (op & EXPLICIT) != 0;
+            final boolean isRelative = Character.isLowerCase(command);
+            if (explicit) {
+                listener.command(command);
+            }
+            switch (command) {
+                case 'm', 'M' -> {
+                    if (explicit) {
+                        listener.moveTo(b.getDouble(j), b.getDouble(j + 8), isRelative);
+                    } else {
+                        listener.lineTo(b.getDouble(j), b.getDouble(j + 8), isRelative);
+                    }
+                }
+                case 'l', 'L' -> listener.lineTo(b.getDouble(j), b.getDouble(j + 8), isRelative);
+                case 'h', 'H' -> listener.horizontalLineTo(b.getDouble(j), isRelative);
+                case 'v', 'V' -> listener.verticalLineTo(b.getDouble(j), isRelative);
+                case 'c', 'C' ->
+                    listener.cubicTo(
+                            b.getDouble(j),
+                            b.getDouble(j + 8),
+                            b.getDouble(j + 16),
+                            b.getDouble(j + 24),
+                            b.getDouble(j + 32),
+                            b.getDouble(j + 40),
+                            isRelative);
+                case 's', 'S' ->
+                    listener.smoothCubicTo(
+                            b.getDouble(j), b.getDouble(j + 8), b.getDouble(j + 16), b.getDouble(j + 24), isRelative);
+                case 'q', 'Q' ->
+                    listener.quadraticTo(
+                            b.getDouble(j), b.getDouble(j + 8), b.getDouble(j + 16), b.getDouble(j + 24), isRelative);
+                case 't', 'T' -> listener.smoothQuadraticTo(b.getDouble(j), b.getDouble(j + 8), isRelative);
+                case 'a', 'A' ->
+                    listener.arcTo(
+                            b.getDouble(j),
+                            b.getDouble(j + 8),
+                            b.getDouble(j + 16),
+                            b.getDouble(j + 24) != 0.0,
+                            b.getDouble(j + 32) != 0.0,
+                            b.getDouble(j + 40),
+                            b.getDouble(j + 48),
+                            isRelative);
+                default -> listener.closePath();
+            }
+            j += 8 * PackedPath.getArity(command);
+        }
+    }
+
+    /**
+     * Returns the number of elements of the current group.
+     *
+     * @return The number of elements.
+     */
+    public int getNumElements() {
+        return buffer(ElementKind.GROUP).getInt(offset + GROUP_NUM_ELEMENTS);
+    }
+
+    /**
+     * Moves the given cursor to the element of the current group at the given index.
+     *
+     * @param idx The index of the element.
+     * @param cursor The cursor to be moved, which can be this one.
+     * @return The given cursor.
+     */
+    public ElementCursor getElement(final int idx, final ElementCursor cursor) {
+        Objects.checkIndex(idx, getNumElements());
+        return cursor.moveTo(image, buffer().getInt(offset + GROUP_ELEMENTS + 4 * idx));
+    }
+
+    /**
+     * Copies the current element onto the heap.
+     *
+     * @return A new Element with the same content.
+     */
+    public Element toElement() {
+        return switch (getKind()) {
+            case RECTANGLE ->
+                new Rectangle(getX(), getY(), getWidth(), getHeight(), getFill(), getStroke(), getStrokeWidth());
+            case CIRCLE -> new Circle(getCx(), getCy(), getR());
+            case POLYLINE -> {
+                final List<Point> points = new ArrayList<>(getNumPoints());
+                for (int i = 0; i < getNumPoints(); i++) {
+                    points.add(new Point(getPointX(i), getPointY(i)));
+                }
+                yield new Polyline(points);
+            }
+            case PATH -> {
+                final PackedPathBuilder builder = new PackedPathBuilder();
+                replay(builder);
+                yield new Path(builder.build(), getFill(), getStroke(), getStrokeWidth());
+            }
+            case GROUP -> {
+                final ElementCursor child = new ElementCursor(image);
+                final List<Element> elements = new ArrayList<>(getNumElements());
+                for (int i = 0; i < getNumElements(); i++) {
+                    elements.add(getElement(i, child).toElement());
+                }
+                yield new Group(new Style(getFill(), getStroke(), getStrokeWidth()), elements);
+            }
+        };
+    }
+
+    static int encodeColor(final Color c) {
+        return ((c.red() & 0xff) << 24) | ((c.green() & 0xff) << 16) | ((c.blue() & 0xff) << 8) | (c.alpha() & 0xff);
+    }
+
+    static Color decodeColor(final int rgba) {
+        return Color.of((byte) (rgba >>> 24), (byte) (rgba >>> 16), (byte) (rgba >>> 8), (byte) rgba);
+    }
+
+    @Override
+    public String toString() {
+        return offset < 0 ? "ElementCursor(unpositioned)" : "ElementCursor(offset=" + offset + ")";
+    }
+}
@@ -15,40 +15,33 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package com.ledmington.util;
+package com.ledmington.svg;
 
-import java.util.Objects;
+/** The kinds of elements stored in an {@link OffHeapImage} or in a binary image file. */
+public enum ElementKind {
 
-public final class CharacterIterator {
+    /** A rectangle. */
+    RECTANGLE,
 
-    private final String s;
-    private int i = 0;
+    /** A circle. */
+    CIRCLE,
 
-    public CharacterIterator(final String s) {
-        this.s = Objects.requireNonNull(s);
-    }
+    /** A polyline. */
+    POLYLINE,
 
-    public boolean hasNext() {
-        return i < s.length();
-    }
+    /** A path. */
+    PATH,
 
-    public char current() {
-        return s.charAt(i);
-    }
+    /** A group of elements. */
+    GROUP;
 
-    public void move() {
-        i++;
-    }
+    private static final ElementKind[] VALUES = values();
 
-    public void skipSpaces() {
-        while (hasNext() && current() == ' ') {
-            move();
-        }
+    static ElementKind fromCode(final byte code) {
+        return VALUES[code];
     }
 
-    public void skipSpacesAndCommas() {
-        while (hasNext() && (current() == ' ' || current() == ',')) {
-            move();
-        }
+    byte code() {
+        return (byte) ordinal();
     }
 }
@@ -0,0 +1,126 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import com.ledmington.svg.path.PathListener;
+import com.ledmington.svg.path.PathParser;
+
+/**
+ * A receiver of the elements of an SVG document, as they are parsed by {@link Parser#parse(java.io.InputStream,
+ * ElementListener)}. Elements are reported in document order and groups are properly nested, so a single pass over
+ * the geometry does not need to build an {@link Image}.
+ *
+ * <p>All methods do nothing by default, so implementations only need to override the events they are interested in.
+ */
+public interface ElementListener extends PathListener {
+
+    /**
+     * Called when the root 'svg' element starts.
+     *
+     * @param viewBox The view box of the image.
+     * @param width The width of the image.
+     * @param height The height of the image.
+     */
+    default void startImage(final ViewBox viewBox, final double width, final double height) {}
+
+    /** Called when the root 'svg' element ends. */
+    default void endImage() {}
+
+    /**
+     * Called when a 'g' element starts. All the elements until the matching {@link #endGroup()} belong to it.
+     *
+     * @param style The style of the group.
+     */
+    default void startGroup(final Style style) {}
+
+    /** Called when a 'g' element ends. */
+    default void endGroup() {}
+
+    /**
+     * A 'rect' element.
+     *
+     * @param x The x coordinate of the left side.
+     * @param y The y coordinate of the top side.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @param fill The fill color.
+     * @param stroke The stroke color.
+     * @param strokeWidth The width of the stroke.
+     */
+    default void rectangle(
+            final double x,
+            final double y,
+            final double width,
+            final double height,
+            final Color fill,
+            final Color stroke,
+            final double strokeWidth) {}
+
+    /**
+     * A 'circle' element.
+     *
+     * @param cx The x coordinate of the center.
+     * @param cy The y coordinate of the center.
+     * @param r The radius.
+     */
+    default void circle(final double cx, final double cy, final double r) {}
+
+    /**
+     * A 'polyline' element.
+     *
+     * @param coordinates The coordinates of the points, as x and y pairs.
+     */
+    default void polyline(final double[] coordinates) {}
+
+    /**
+     * Called when a 'path' element starts. Its commands are reported through the methods of {@link PathListener},
+     * until the matching {@link #endPath()}.
+     *
+     * @param fill The fill color.
+     * @param stroke The stroke color.
+     * @param strokeWidth The width of the stroke.
+     */
+    default void startPath(final Color fill, final Color stroke, final double strokeWidth) {}
+
+    /** Called when a 'path' element ends. */
+    default void endPath() {}
+
+    /**
+     * A 'path' element with its raw path data. By default, it is parsed and reported with {@link #startPath(Color,
+     * Color, double)}, the methods of {@link PathListener} and {@link #endPath()}. Implementations may override it to
+     * handle the raw bytes themselves: since the array may be shared, they must copy the range if they retain it.
+     *
+     * @param data The array containing the path data, as ASCII bytes.
+     * @param start The index of the first byte of the path data (inclusive).
+     * @param end The index of the last byte of the path data (exclusive).
+     * @param fill The fill color.
+     * @param stroke The stroke color.
+     * @param strokeWidth The width of the stroke.
+     */
+    default void path(
+            final byte[] data,
+            final int start,
+            final int end,
+            final Color fill,
+            final Color stroke,
+            final double strokeWidth) {
+        startPath(fill, stroke, strokeWidth);
+        PathParser.parse(data, start, end, this);
+        endPath();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+/**
+ * The values of the 'fill-rule' property, which tells which points are inside a shape whose outline crosses itself or
+ * has more than one subpath. Official documentation available <a
+ * href="https://www.w3.org/TR/SVG2/painting.html#FillRuleProperty">here</a>.
+ */
+public enum FillRule {
+
+    /**
+     * A point is inside when the outline winds around it a number of times different from zero, counting +1 for
+     * each turn in one direction and -1 for each turn in the other. This is the default.
+     */
+    NONZERO("nonzero"),
+
+    /** A point is inside when a ray from it to infinity crosses the outline an odd number of times. */
+    EVENODD("evenodd");
+
+    private final String keyword;
+
+    FillRule(final String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns true if a point with the given winding number is inside the shape.
+     *
+     * @param winding The winding number of the point.
+     * @return True if the point is filled, false otherwise.
+     */
+    public boolean isInside(final int winding) {
+        return this == NONZERO ? winding != 0 : (winding & 1) != 0;
+    }
+
+    /**
+     * Parses the value of a 'fill-rule' property.
+     *
+     * @param value The value of the property.
+     * @return The corresponding FillRule.
+     * @throws IllegalArgumentException If the value is not valid.
+     */
+    public static FillRule parse(final String value) {
+        for (final FillRule r : values()) {
+            if (r.keyword.equals(value.strip())) {
+                return r;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Invalid fill-rule value: '%s'", value));
+    }
+
+    @Override
+    public String toString() {
+        return keyword;
+    }
+}
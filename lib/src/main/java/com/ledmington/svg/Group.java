@@ -26,6 +26,12 @@ public final class Group implements Element {
     private final Style style;
     private final List<Element> elements;
 
+    /** The bounding box, or null if it has not been computed yet. */
+    private volatile BoundingBox boundingBox;
+
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
     public Group(final Style style, final List<Element> elements) {
         this.style = Objects.requireNonNull(style);
         Objects.requireNonNull(elements);
@@ -38,6 +44,40 @@ public final class Group implements Element {
         this.elements = Collections.unmodifiableList(elements);
     }
 
+    public Style getStyle() {
+        return style;
+    }
+
+    public int getNumElements() {
+        return elements.size();
+    }
+
+    public Element getElement(final int idx) {
+        return elements.get(idx);
+    }
+
+    /**
+     * Returns the bounding box of all the elements of this group, computing it on first access.
+     *
+     * @return The smallest box enclosing all the elements of this group.
+     */
+    public BoundingBox getBoundingBox() {
+        BoundingBox b = boundingBox;
+        if (b == null) {
+            synchronized (this) {
+                b = boundingBox;
+                if (b == null) {
+                    b = BoundingBox.of(elements.get(0));
+                    for (int i = 1; i < elements.size(); i++) {
+                        b = b.union(BoundingBox.of(elements.get(i)));
+                    }
+                    boundingBox = b;
+                }
+            }
+        }
+        return b;
+    }
+
     @Override
     public String toString() {
         return "Group(style=" + style + ";elements=" + elements + ')';
@@ -45,9 +85,13 @@ public final class Group implements Element {
 
     @Override
     public int hashCode() {
-        int h = 17;
-        h = 31 * h + style.hashCode();
-        h = 31 * h + elements.hashCode();
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + style.hashCode();
+            h = 31 * h + elements.hashCode();
+            cachedHashCode = h;
+        }
         return h;
     }
 
@@ -31,6 +31,9 @@ public final class Image implements Element {
     private final double height;
     private final List<Element> elements;
 
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
     /**
      * Creates a new SVGImage with the given data.
      *
@@ -59,6 +62,14 @@ public final class Image implements Element {
         return viewBox;
     }
 
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
     public int getNumElements() {
         return elements.size();
     }
@@ -74,11 +85,15 @@ public final class Image implements Element {
 
     @Override
     public int hashCode() {
-        int h = 17;
-        h = 31 * h + viewBox.hashCode();
-        h = 31 * h + HashUtils.hash(width);
-        h = 31 * h + HashUtils.hash(height);
-        h = 31 * h + elements.hashCode();
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + viewBox.hashCode();
+            h = 31 * h + HashUtils.hash(width);
+            h = 31 * h + HashUtils.hash(height);
+            h = 31 * h + elements.hashCode();
+            cachedHashCode = h;
+        }
         return h;
     }
 
@@ -0,0 +1,179 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import com.ledmington.svg.path.PackedPath;
+import com.ledmington.svg.path.Path;
+import com.ledmington.svg.path.PathParser;
+import com.ledmington.svg.path.Point;
+
+/** An {@link ElementListener} which builds an {@link Image} out of the parsed elements. */
+final class ImageBuilder implements ElementListener {
+
+    private final boolean lazyPaths;
+
+    /** The table of shared instances, or null if deduplication is disabled. */
+    private final Interner interner;
+
+    /** The elements of the image and of each open group, innermost last. */
+    private final Deque<List<Element>> elements = new ArrayDeque<>();
+
+    private final Deque<Style> styles = new ArrayDeque<>();
+    private ViewBox viewBox = null;
+    private double width = 0.0;
+    private double height = 0.0;
+    private Image image = null;
+
+    /** The key of a path: its data, either packed or raw, and its style. */
+    private record PathKey(Object data, Color fill, Color stroke, double strokeWidth) {}
+
+    /** The key of a group: its style and its already interned elements. */
+    private record GroupKey(Style style, Interner.IdentityList elements) {}
+
+    /**
+     * Creates a new builder.
+     *
+     * @param lazyPaths When true, the path data is parsed only when first accessed.
+     * @param deduplicate When true, structurally identical elements are shared.
+     */
+    ImageBuilder(final boolean lazyPaths, final boolean deduplicate) {
+        this.lazyPaths = lazyPaths;
+        this.interner = deduplicate ? new Interner() : null;
+    }
+
+    @Override
+    public void startImage(final ViewBox viewBox, final double width, final double height) {
+        this.viewBox = viewBox;
+        this.width = width;
+        this.height = height;
+        elements.push(new ArrayList<>());
+    }
+
+    @Override
+    public void endImage() {
+        image = new Image(viewBox, width, height, elements.pop());
+    }
+
+    @Override
+    public void startGroup(final Style style) {
+        styles.push(interner == null ? style : interner.intern(style, Style.class));
+        elements.push(new ArrayList<>());
+    }
+
+    @Override
+    public void endGroup() {
+        final List<Element> groupElements = elements.pop();
+        final Style style = styles.pop();
+        final Group group = new Group(style, groupElements);
+        add(
+                interner == null
+                        ? group
+                        : interner.intern(
+                                new GroupKey(style, new Interner.IdentityList(groupElements)), group, Group.class));
+    }
+
+    @Override
+    public void rectangle(
+            final double x,
+            final double y,
+            final double width,
+            final double height,
+            final Color fill,
+            final Color stroke,
+            final double strokeWidth) {
+        add(intern(new Rectangle(x, y, width, height, fill, stroke, strokeWidth)));
+    }
+
+    @Override
+    public void circle(final double cx, final double cy, final double r) {
+        add(intern(new Circle(cx, cy, r)));
+    }
+
+    @Override
+    public void polyline(final double[] coordinates) {
+        final List<Point> points = new ArrayList<>(coordinates.length / 2);
+        for (int i = 0; i + 1 < coordinates.length; i += 2) {
+            points.add(new Point(coordinates[i], coordinates[i + 1]));
+        }
+        add(intern(new Polyline(points)));
+    }
+
+    @Override
+    public void path(
+            final byte[] data,
+            final int start,
+            final int end,
+            final Color fill,
+            final Color stroke,
+            final double strokeWidth) {
+        if (lazyPaths) {
+            // the parser allocates a new array for each path, which can be kept as it is
+            byte[] pathData = (start == 0 && end == data.length) ? data : Arrays.copyOfRange(data, start, end);
+            if (interner == null) {
+                add(new Path(pathData, fill, stroke, strokeWidth));
+                return;
+            }
+            // the raw data is compared by content, so that equal paths are not parsed to find them
+            final ByteBuffer key = ByteBuffer.wrap(pathData);
+            pathData = interner.intern(key, pathData, byte[].class);
+            add(interner.intern(
+                    new PathKey(key, fill, stroke, strokeWidth),
+                    new Path(pathData, fill, stroke, strokeWidth),
+                    Path.class));
+        } else {
+            PackedPath packed = PathParser.parsePacked(data, start, end);
+            if (interner == null) {
+                add(new Path(packed, fill, stroke, strokeWidth));
+                return;
+            }
+            // paths are interned by their packed data, which keeps the 'closepath' commands ignored by equals()
+            packed = interner.intern(packed, PackedPath.class);
+            add(interner.intern(
+                    new PathKey(packed, fill, stroke, strokeWidth),
+                    new Path(packed, fill, stroke, strokeWidth),
+                    Path.class));
+        }
+    }
+
+    private Element intern(final Element element) {
+        return interner == null ? element : interner.intern(element, Element.class);
+    }
+
+    private void add(final Element element) {
+        elements.getFirst().add(element);
+    }
+
+    /**
+     * Returns the built image.
+     *
+     * @return The built image.
+     */
+    Image getImage() {
+        if (image == null) {
+            throw new IllegalStateException("The image is not complete");
+        }
+        return image;
+    }
+}
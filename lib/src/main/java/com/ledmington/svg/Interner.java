@@ -0,0 +1,86 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A table of canonical instances used to share structurally identical objects while parsing a single document. Each
+ * value is looked up through a key which must define exactly when two values are interchangeable.
+ */
+final class Interner {
+
+    private final Map<Object, Object> table = new HashMap<>();
+
+    Interner() {}
+
+    /**
+     * Returns the canonical instance of the given value.
+     *
+     * @param value The value to be looked up, which is also its own key.
+     * @param type The type of the value.
+     * @return The first value equal to the given one, or the value itself.
+     */
+    <T> T intern(final T value, final Class<T> type) {
+        return intern(value, value, type);
+    }
+
+    /**
+     * Returns the canonical instance for the given key.
+     *
+     * @param key The key identifying the value.
+     * @param value The value to be stored, if there is none for the given key yet.
+     * @param type The type of the value.
+     * @return The first value stored with the given key, or the given value.
+     */
+    <T> T intern(final Object key, final T value, final Class<T> type) {
+        return type.cast(table.computeIfAbsent(Objects.requireNonNull(key), k -> Objects.requireNonNull(value)));
+    }
+
+    /**
+     * A key comparing the elements of a list by identity, which is enough to compare lists of elements which have
+     * already been interned.
+     */
+    record IdentityList(List<?> elements) {
+
+        @Override
+        public int hashCode() {
+            int h = 17;
+            for (final Object e : elements) {
+                h = 31 * h + System.identityHashCode(e);
+            }
+            return h;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof IdentityList il) || this.elements.size() != il.elements.size()) {
+                return false;
+            }
+            for (int i = 0; i < elements.size(); i++) {
+                if (this.elements.get(i) != il.elements.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An SVG image whose elements are stored in a single direct {@link ByteBuffer}, outside of the Java heap. Apart from
+ * the buffer and a few header fields, it creates no objects, so even very large documents put almost no pressure on the
+ * garbage collector.
+ *
+ * <p>Elements are read through {@link ElementCursor} flyweights, which can be moved over any number of elements and
+ * reused. After {@link #close()}, the buffer is released and any further access throws an
+ * {@link IllegalStateException}.
+ *
+ * <p>Each element is stored as a record starting with the byte of its {@link ElementKind}. Groups and the image itself
+ * store the number of their children followed by the offset of each child, so that the elements of a container can be
+ * accessed by index. Colors are stored as 0xRRGGBBAA integers.
+ */
+public final class OffHeapImage implements AutoCloseable {
+
+    /** Offset of the number of children in the record of the image. */
+    static final int ROOT_NUM_ELEMENTS = 0;
+
+    /** Offset of the first child offset in the record of the image. */
+    static final int ROOT_ELEMENTS = 4;
+
+    private final ViewBox viewBox;
+    private final double width;
+    private final double height;
+    private final int root;
+    private volatile ByteBuffer buffer;
+
+    OffHeapImage(
+            final ViewBox viewBox, final double width, final double height, final ByteBuffer buffer, final int root) {
+        this.viewBox = Objects.requireNonNull(viewBox);
+        if (width <= 0.0 || height <= 0.0) {
+            throw new IllegalArgumentException(String.format("Invalid width and height: %f x %f", width, height));
+        }
+        this.width = width;
+        this.height = height;
+        this.buffer = Objects.requireNonNull(buffer);
+        this.root = root;
+    }
+
+    /**
+     * Copies the given image off-heap.
+     *
+     * @param image The image to be copied.
+     * @return A new OffHeapImage with the same content.
+     */
+    public static OffHeapImage of(final Image image) {
+        final OffHeapImageBuilder builder = new OffHeapImageBuilder();
+        builder.startImage(image.getViewBox(), image.getWidth(), image.getHeight());
+        for (int i = 0; i < image.getNumElements(); i++) {
+            builder.add(image.getElement(i));
+        }
+        builder.endImage();
+        return builder.getImage();
+    }
+
+    /**
+     * Returns the buffer holding the elements.
+     *
+     * @throws IllegalStateException If this image has been closed.
+     */
+    ByteBuffer buffer() {
+        final ByteBuffer b = buffer;
+        if (b == null) {
+            throw new IllegalStateException("The image has been closed");
+        }
+        return b;
+    }
+
+    public ViewBox getViewBox() {
+        return viewBox;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of bytes used to store the elements.
+     *
+     * @return The size of the off-heap storage in bytes.
+     */
+    public int getStorageSize() {
+        return buffer().capacity();
+    }
+
+    public int getNumElements() {
+        return buffer().getInt(root + ROOT_NUM_ELEMENTS);
+    }
+
+    /**
+     * Moves the given cursor to the element at the given index.
+     *
+     * @param idx The index of the element.
+     * @param cursor The cursor to be moved, which must have been created by this image.
+     * @return The given cursor.
+     */
+    public ElementCursor getElement(final int idx, final ElementCursor cursor) {
+        Objects.checkIndex(idx, getNumElements());
+        return cursor.moveTo(this, buffer().getInt(root + ROOT_ELEMENTS + 4 * idx));
+    }
+
+    /**
+     * Creates a new cursor over the elements of this image. The cursor is not positioned on any element.
+     *
+     * @return A new cursor.
+     */
+    public ElementCursor newCursor() {
+        return new ElementCursor(this);
+    }
+
+    /**
+     * Copies this image back onto the heap.
+     *
+     * @return A new Image with the same content.
+     */
+    public Image toImage() {
+        final ElementCursor cursor = newCursor();
+        final List<Element> elements = new ArrayList<>(getNumElements());
+        for (int i = 0; i < getNumElements(); i++) {
+            elements.add(getElement(i, cursor).toElement());
+        }
+        return new Image(viewBox, width, height, elements);
+    }
+
+    /** Releases the storage of this image. Closing an image more than once has no effect. */
+    @Override
+    public void close() {
+        // direct buffers cannot be freed explicitly: dropping the only reference releases the memory on the next GC
+        buffer = null;
+    }
+
+    @Override
+    public String toString() {
+        final ByteBuffer b = buffer;
+        return "OffHeapImage(viewBox=" + viewBox + ";width=" + width + ";height=" + height + ";"
+                + (b == null ? "closed" : "bytes=" + b.capacity()) + ")";
+    }
+}
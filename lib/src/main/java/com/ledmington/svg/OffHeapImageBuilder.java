@@ -0,0 +1,262 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import com.ledmington.svg.path.PackedPath;
+import com.ledmington.svg.path.Path;
+import com.ledmington.svg.path.PathParser;
+import com.ledmington.svg.path.Point;
+
+/**
+ * An {@link ElementListener} which writes the parsed elements into a direct buffer to build an {@link OffHeapImage}.
+ * Groups are written after their children, once the offsets of all of them are known.
+ */
+final class OffHeapImageBuilder implements ElementListener {
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private ByteBuffer buffer = allocate(INITIAL_CAPACITY);
+
+    /** The offsets of the elements of the image and of each open group, one level after the other. */
+    private int[] children = new int[64];
+
+    private int numChildren = 0;
+
+    /** The index in {@link #children} of the first element of each open container, innermost first. */
+    private final Deque<Integer> levels = new ArrayDeque<>();
+
+    private final Deque<Style> styles = new ArrayDeque<>();
+    private ViewBox viewBox = null;
+    private double width = 0.0;
+    private double height = 0.0;
+    private OffHeapImage image = null;
+
+    OffHeapImageBuilder() {}
+
+    private static ByteBuffer allocate(final int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public void startImage(final ViewBox viewBox, final double width, final double height) {
+        this.viewBox = viewBox;
+        this.width = width;
+        this.height = height;
+        levels.push(numChildren);
+    }
+
+    @Override
+    public void endImage() {
+        final int first = levels.pop();
+        final int n = numChildren - first;
+        if (n == 0) {
+            throw new IllegalArgumentException("Useless image with no elements inside");
+        }
+        final int root = buffer.position();
+        reserve(OffHeapImage.ROOT_ELEMENTS + 4 * n);
+        buffer.putInt(n);
+        for (int i = first; i < numChildren; i++) {
+            buffer.putInt(children[i]);
+        }
+        numChildren = first;
+
+        // shrink the buffer to the used size
+        final ByteBuffer storage = allocate(buffer.position());
+        storage.put(buffer.flip());
+        image = new OffHeapImage(viewBox, width, height, storage.clear(), root);
+        buffer = null;
+    }
+
+    @Override
+    public void startGroup(final Style style) {
+        styles.push(style);
+        levels.push(numChildren);
+    }
+
+    @Override
+    public void endGroup() {
+        final Style style = styles.pop();
+        final int first = levels.pop();
+        final int n = numChildren - first;
+        if (n == 0) {
+            throw new IllegalArgumentException("Useless group with no elements inside");
+        }
+        final int offset = start(ElementKind.GROUP, ElementCursor.GROUP_ELEMENTS + 4 * n);
+        putStyle(style.fill(), style.stroke(), style.strokeWidth());
+        buffer.putInt(n);
+        for (int i = first; i < numChildren; i++) {
+            buffer.putInt(children[i]);
+        }
+        numChildren = first;
+        addChild(offset);
+    }
+
+    @Override
+    public void rectangle(
+            final double x,
+            final double y,
+            final double width,
+            final double height,
+            final Color fill,
+            final Color stroke,
+            final double strokeWidth) {
+        if (width <= 0.0 || height <= 0.0) {
+            throw new IllegalArgumentException(String.format("Invalid width and height: %f x %f", width, height));
+        }
+        if (strokeWidth <= 0.0) {
+            throw new IllegalArgumentException(String.format("Invalid stroke-width: %f", strokeWidth));
+        }
+        addChild(start(ElementKind.RECTANGLE, ElementCursor.RECTANGLE_SIZE));
+        buffer.putDouble(x);
+        buffer.putDouble(y);
+        buffer.putDouble(width);
+        buffer.putDouble(height);
+        putStyle(fill, stroke, strokeWidth);
+    }
+
+    @Override
+    public void circle(final double cx, final double cy, final double r) {
+        addChild(start(ElementKind.CIRCLE, ElementCursor.CIRCLE_SIZE));
+        buffer.putDouble(cx);
+        buffer.putDouble(cy);
+        buffer.putDouble(r);
+    }
+
+    @Override
+    public void polyline(final double[] coordinates) {
+        // a trailing odd coordinate is ignored
+        final int n = coordinates.length & ~1;
+        if (n == 0) {
+            throw new IllegalArgumentException("Empty list of points");
+        }
+        addChild(start(ElementKind.POLYLINE, ElementCursor.POLYLINE_COORDINATES + 8 * n));
+        buffer.putInt(n);
+        for (int i = 0; i < n; i++) {
+            buffer.putDouble(coordinates[i]);
+        }
+    }
+
+    @Override
+    public void path(
+            final byte[] data,
+            final int start,
+            final int end,
+            final Color fill,
+            final Color stroke,
+            final double strokeWidth) {
+        final PackedPath packed = PathParser.parsePacked(data, start, end);
+        if (packed.isEmpty()) {
+            throw new IllegalArgumentException("Empty list of subpaths");
+        }
+        path(packed, fill, stroke, strokeWidth);
+    }
+
+    private void path(final PackedPath packed, final Color fill, final Color stroke, final double strokeWidth) {
+        final int numSegments = packed.getNumSegments();
+        final int numCoordinates = packed.getNumCoordinates();
+        addChild(start(ElementKind.PATH, ElementCursor.PATH_COMMANDS + numSegments + 8 * numCoordinates));
+        putStyle(fill, stroke, strokeWidth);
+        buffer.putInt(numSegments);
+        buffer.putInt(numCoordinates);
+        for (int i = 0; i < numSegments; i++) {
+            buffer.put((byte) (packed.getCommand(i) | (packed.startsCommand(i) ? 0x80 : 0)));
+        }
+        for (int i = 0; i < numCoordinates; i++) {
+            buffer.putDouble(packed.getCoordinate(i));
+        }
+    }
+
+    /** Writes the given heap element, as if it was parsed. */
+    void add(final Element element) {
+        switch (element) {
+            case Rectangle r ->
+                rectangle(r.x(), r.y(), r.width(), r.height(), r.fill(), r.stroke(), r.strokeWidth());
+            case Circle c -> circle(c.cx(), c.cy(), c.r());
+            case Polyline p -> {
+                final double[] coordinates = new double[2 * p.getNumPoints()];
+                for (int i = 0; i < p.getNumPoints(); i++) {
+                    final Point point = p.getPoint(i);
+                    coordinates[2 * i] = point.x();
+                    coordinates[2 * i + 1] = point.y();
+                }
+                polyline(coordinates);
+            }
+            case Path p -> path(p.getPacked(), p.getFill(), p.getStroke(), p.getStrokeWidth());
+            case Group g -> {
+                startGroup(g.getStyle());
+                for (int i = 0; i < g.getNumElements(); i++) {
+                    add(g.getElement(i));
+                }
+                endGroup();
+            }
+            default -> throw new IllegalArgumentException(String.format("Unknown element '%s'", element));
+        }
+    }
+
+    /** Reserves space for a record of the given size and writes its kind. Returns the offset of the record. */
+    private int start(final ElementKind kind, final int size) {
+        reserve(size);
+        final int offset = buffer.position();
+        buffer.put(kind.code());
+        return offset;
+    }
+
+    private void putStyle(final Color fill, final Color stroke, final double strokeWidth) {
+        buffer.putInt(ElementCursor.encodeColor(fill));
+        buffer.putInt(ElementCursor.encodeColor(stroke));
+        buffer.putDouble(strokeWidth);
+    }
+
+    private void reserve(final int size) {
+        if (buffer.remaining() < size) {
+            final long needed = (long) buffer.position() + size;
+            if (needed > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The image is too big to be stored off-heap");
+            }
+            final ByteBuffer bigger =
+                    allocate((int) Math.min(Integer.MAX_VALUE, Math.max(needed, 2L * buffer.capacity())));
+            bigger.put(buffer.flip());
+            buffer = bigger;
+        }
+    }
+
+    private void addChild(final int offset) {
+        if (numChildren == children.length) {
+            children = Arrays.copyOf(children, children.length * 2);
+        }
+        children[numChildren++] = offset;
+    }
+
+    /**
+     * Returns the built image.
+     *
+     * @return The built image.
+     */
+    OffHeapImage getImage() {
+        if (image == null) {
+            throw new IllegalStateException("The image is not complete");
+        }
+        return image;
+    }
+}
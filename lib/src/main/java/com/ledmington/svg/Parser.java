@@ -17,66 +17,348 @@
  */
 package com.ledmington.svg;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
-import com.ledmington.svg.path.Arc;
-import com.ledmington.svg.path.ArcElement;
-import com.ledmington.svg.path.CubicBezier;
-import com.ledmington.svg.path.CubicBezierElement;
-import com.ledmington.svg.path.HorizontalLineTo;
-import com.ledmington.svg.path.LineTo;
-import com.ledmington.svg.path.MoveTo;
-import com.ledmington.svg.path.Path;
-import com.ledmington.svg.path.PathElement;
-import com.ledmington.svg.path.Point;
-import com.ledmington.svg.path.QuadraticBezier;
-import com.ledmington.svg.path.QuadraticBezierElement;
-import com.ledmington.svg.path.SmoothCubicBezier;
-import com.ledmington.svg.path.SmoothCubicBezierElement;
-import com.ledmington.svg.path.SmoothQuadraticBezier;
-import com.ledmington.svg.path.SmoothQuadraticBezierElement;
-import com.ledmington.svg.path.SubPath;
-import com.ledmington.svg.path.VerticalLineTo;
-import com.ledmington.util.CharacterIterator;
-import com.ledmington.util.ParseUtils;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
-
-/** Parser of SVG images. */
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.ledmington.util.ByteBufferInputStream;
+import com.ledmington.util.PathTokenizer;
+import com.ledmington.util.XmlTokenizer;
+
+/**
+ * Parser of SVG images. The document is read as a stream of StAX events and the {@link Image} is built directly from
+ * them, so no DOM tree is ever held in memory.
+ *
+ * <p>A Parser instance is immutable and can be shared between threads: the XML factories are created once per thread
+ * and reused for every following parse, while all the parsing state lives on the stack of the calling thread.
+ */
 public final class Parser {
 
-    private static final Color DEFAULT_FILL_COLOR = new Color();
-    private static final Color DEFAULT_STROKE_COLOR = new Color();
+    private static final Color DEFAULT_FILL_COLOR = Color.TRANSPARENT;
+    private static final Color DEFAULT_STROKE_COLOR = Color.TRANSPARENT;
     private static final double DEFAULT_STROKE_WIDTH = 1.0;
 
-    private Parser() {}
+    private static final Parser DEFAULT = new Parser(ParserOptions.defaults());
+
+    private final ParserOptions options;
+    private final ThreadLocal<XMLInputFactory> factories;
 
     /**
-     * Parses the given file into an SVGImage instance.
+     * Creates a new Parser with the given options.
+     *
+     * @param options The options of this parser.
+     */
+    public Parser(final ParserOptions options) {
+        this.options = Objects.requireNonNull(options);
+        this.factories = ThreadLocal.withInitial(() -> newInputFactory(options.strict()));
+    }
+
+    /**
+     * Creates a StAX factory which never reads anything but its input: external DTDs come from the offline
+     * {@link DtdCatalog}, external entities are not supported and entity expansion is limited, so that malicious
+     * documents cannot exhaust memory.
+     */
+    private static XMLInputFactory newInputFactory(final boolean strict) {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setXMLResolver(new DtdCatalog(strict));
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // a second line of defense, in case an entity escapes the catalog
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setProperty("jdk.xml.entityExpansionLimit", String.valueOf(XmlTokenizer.MAX_ENTITY_EXPANSIONS));
+        factory.setProperty("jdk.xml.totalEntitySizeLimit", String.valueOf(XmlTokenizer.MAX_TOTAL_ENTITY_SIZE));
+        factory.setProperty("jdk.xml.maxElementDepth", "1000");
+        return factory;
+    }
+
+    /** Creates a new Parser with the default options. */
+    public Parser() {
+        this(ParserOptions.defaults());
+    }
+
+    /**
+     * Returns the options of this parser.
+     *
+     * @return The options of this parser.
+     */
+    public ParserOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Parses the given file into an SVGImage instance with the default options.
      *
      * @param inputFile The .svg file to be parsed.
      * @return An SVGImage instance.
      */
     public static Image parseImage(final File inputFile) {
-        final Document doc;
+        return DEFAULT.parse(inputFile);
+    }
+
+    /**
+     * Parses the given file into an SVGImage instance with the default options.
+     *
+     * @param inputFile The .svg file to be parsed.
+     * @return An SVGImage instance.
+     */
+    public static Image parseImage(final java.nio.file.Path inputFile) {
+        return DEFAULT.parse(inputFile);
+    }
+
+    /**
+     * Parses the whole given byte array into an SVGImage instance with the default options.
+     *
+     * @param input The bytes of the SVG document.
+     * @return An SVGImage instance.
+     */
+    public static Image parseImage(final byte[] input) {
+        return DEFAULT.parse(input);
+    }
+
+    /**
+     * Parses the remaining bytes of the given buffer into an SVGImage instance with the default options.
+     *
+     * @param input The buffer containing the SVG document.
+     * @return An SVGImage instance.
+     */
+    public static Image parseImage(final ByteBuffer input) {
+        return DEFAULT.parse(input);
+    }
+
+    /**
+     * Parses the given stream into an SVGImage instance with the default options.
+     *
+     * @param input The stream containing the SVG document.
+     * @return An SVGImage instance.
+     */
+    public static Image parseImage(final InputStream input) {
+        return DEFAULT.parse(input);
+    }
+
+    /**
+     * Parses the given file into an SVGImage instance.
+     *
+     * @param inputFile The .svg file to be parsed.
+     * @return An SVGImage instance.
+     */
+    public Image parse(final File inputFile) {
+        return parse(inputFile.toPath());
+    }
+
+    /**
+     * Parses the given file into an SVGImage instance. Files of at least {@link ParserOptions#mappingThreshold()} bytes
+     * are memory-mapped, so their content is never copied onto the heap.
+     *
+     * @param inputFile The .svg file to be parsed.
+     * @return An SVGImage instance.
+     */
+    public Image parse(final java.nio.file.Path inputFile) {
+        final ImageBuilder builder = new ImageBuilder(options.lazyPaths(), options.deduplicate());
+        parse(inputFile, builder);
+        return builder.getImage();
+    }
+
+    /**
+     * Parses the whole given byte array into an SVGImage instance.
+     *
+     * @param input The bytes of the SVG document.
+     * @return An SVGImage instance.
+     */
+    public Image parse(final byte[] input) {
+        final ImageBuilder builder = new ImageBuilder(options.lazyPaths(), options.deduplicate());
+        parse(input, builder);
+        return builder.getImage();
+    }
+
+    /**
+     * Parses the remaining bytes of the given buffer into an SVGImage instance. The position of the buffer is not
+     * modified.
+     *
+     * @param input The buffer containing the SVG document.
+     * @return An SVGImage instance.
+     */
+    public Image parse(final ByteBuffer input) {
+        final ImageBuilder builder = new ImageBuilder(options.lazyPaths(), options.deduplicate());
+        parse(input, builder);
+        return builder.getImage();
+    }
+
+    /**
+     * Parses the given stream into an SVGImage instance. The stream is read until the end of the document and it is
+     * not closed.
+     *
+     * @param input The stream containing the SVG document.
+     * @return An SVGImage instance.
+     */
+    public Image parse(final InputStream input) {
+        final ImageBuilder builder = new ImageBuilder(options.lazyPaths(), options.deduplicate());
+        parse(input, builder);
+        return builder.getImage();
+    }
+
+    /**
+     * Parses the given file directly into an off-heap image, without building the heap representation first. The
+     * lazy paths option is ignored.
+     *
+     * @param inputFile The .svg file to be parsed.
+     * @return A new OffHeapImage, which must be closed when no longer needed.
+     */
+    public OffHeapImage parseOffHeap(final java.nio.file.Path inputFile) {
+        final OffHeapImageBuilder builder = new OffHeapImageBuilder();
+        parse(inputFile, builder);
+        return builder.getImage();
+    }
+
+    /**
+     * Parses the whole given byte array directly into an off-heap image, without building the heap representation
+     * first. The lazy paths option is ignored.
+     *
+     * @param input The bytes of the SVG document.
+     * @return A new OffHeapImage, which must be closed when no longer needed.
+     */
+    public OffHeapImage parseOffHeap(final byte[] input) {
+        final OffHeapImageBuilder builder = new OffHeapImageBuilder();
+        parse(input, builder);
+        return builder.getImage();
+    }
+
+    /**
+     * Parses the given file, reporting its elements to the given listener. Files of at least {@link
+     * ParserOptions#mappingThreshold()} bytes are memory-mapped.
+     *
+     * @param inputFile The .svg file to be parsed.
+     * @param listener The receiver of the parsed elements.
+     */
+    public void parse(final java.nio.file.Path inputFile, final ElementListener listener) {
+        Objects.requireNonNull(inputFile);
         try {
-            doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(inputFile);
-        } catch (final ParserConfigurationException | SAXException | IOException e) {
+            if (options.xmlBackend() == XmlBackend.TOKENIZER) {
+                parse(Files.readAllBytes(inputFile), listener);
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+                final long size = channel.size();
+                if (size < options.mappingThreshold()) {
+                    try (InputStream is = new BufferedInputStream(Channels.newInputStream(channel))) {
+                        parse(is, listener);
+                        return;
+                    }
+                }
+                parse(channel.map(FileChannel.MapMode.READ_ONLY, 0L, size), listener);
+            }
+        } catch (final IOException e) {
             throw new RuntimeException(e);
         }
-        doc.getDocumentElement().normalize();
-        final org.w3c.dom.Element root = doc.getDocumentElement();
-        if (!root.getNodeName().equals("svg")) {
+    }
+
+    /**
+     * Parses the whole given byte array, reporting its elements to the given listener.
+     *
+     * @param input The bytes of the SVG document.
+     * @param listener The receiver of the parsed elements.
+     */
+    public void parse(final byte[] input, final ElementListener listener) {
+        Objects.requireNonNull(input);
+        if (options.xmlBackend() == XmlBackend.TOKENIZER) {
+            parse(new TokenizerCursor(new XmlTokenizer(input)), listener);
+            return;
+        }
+        parse(new ByteArrayInputStream(input), listener);
+    }
+
+    /**
+     * Parses the remaining bytes of the given buffer, reporting its elements to the given listener. The position of
+     * the buffer is not modified.
+     *
+     * @param input The buffer containing the SVG document.
+     * @param listener The receiver of the parsed elements.
+     */
+    public void parse(final ByteBuffer input, final ElementListener listener) {
+        Objects.requireNonNull(input);
+        if (options.xmlBackend() == XmlBackend.TOKENIZER) {
+            if (input.hasArray()) {
+                final int offset = input.arrayOffset();
+                parse(
+                        new TokenizerCursor(new XmlTokenizer(
+                                input.array(), offset + input.position(), offset + input.limit())),
+                        listener);
+            } else {
+                final byte[] bytes = new byte[input.remaining()];
+                input.duplicate().get(bytes);
+                parse(bytes, listener);
+            }
+            return;
+        }
+        parse(new ByteBufferInputStream(input), listener);
+    }
+
+    /**
+     * Parses the given stream, reporting its elements to the given listener. The stream is read until the end of the
+     * document and it is not closed. If the document is not valid, the listener may receive some events before the
+     * exception is thrown.
+     *
+     * @param input The stream containing the SVG document.
+     * @param listener The receiver of the parsed elements.
+     */
+    public void parse(final InputStream input, final ElementListener listener) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(listener);
+        if (options.xmlBackend() == XmlBackend.TOKENIZER) {
+            try {
+                parse(input.readAllBytes(), listener);
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+            return;
+        }
+        final XMLStreamReader reader;
+        try {
+            reader = factories.get().createXMLStreamReader(input);
+        } catch (final XMLStreamException e) {
+            throw new RuntimeException(e);
+        }
+        parse(new StaxCursor(reader), listener);
+    }
+
+    private void parse(final XmlCursor cursor, final ElementListener listener) {
+        Objects.requireNonNull(listener);
+        try (cursor) {
+            parseDocument(cursor, listener);
+        }
+    }
+
+    private void unknownAttribute(final String name) {
+        if (options.strict()) {
+            throw new IllegalArgumentException(String.format("Unknown attribute '%s'", name));
+        }
+    }
+
+    private void parseDocument(final XmlCursor cursor, final ElementListener listener) {
+        if (cursor.next() == XmlCursor.START_ELEMENT) {
+            parseRoot(cursor, listener);
+            return;
+        }
+        throw new IllegalArgumentException("No root element");
+    }
+
+    private void parseRoot(final XmlCursor root, final ElementListener listener) {
+        if (!root.getLocalName().equals("svg")) {
             throw new IllegalArgumentException(
-                    String.format("Invalid root element: expected 'svg' but was '%s'", root.getNodeName()));
+                    String.format("Invalid root element: expected 'svg' but was '%s'", root.getLocalName()));
         }
 
         boolean hasViewBox = false;
@@ -86,11 +368,12 @@ public final class Parser {
         double viewBoxHeight = 0.0;
         double imageWidth = 0.0;
         double imageHeight = 0.0;
+        PreserveAspectRatio preserveAspectRatio = PreserveAspectRatio.DEFAULT;
 
-        for (int i = 0; i < root.getAttributes().getLength(); i++) {
-            final Node x = root.getAttributes().item(i);
-            final String v = x.getNodeValue();
-            switch (x.getNodeName()) {
+        for (int i = 0; i < root.getAttributeCount(); i++) {
+            final String name = root.getAttributeName(i);
+            final String v = root.getAttributeValue(i);
+            switch (name) {
                 case "width" -> imageWidth = parseSize(v);
                 case "height" -> imageHeight = parseSize(v);
                 case "viewBox" -> {
@@ -117,23 +400,14 @@ public final class Parser {
                         throw new IllegalArgumentException("Negative height value in viewBox");
                     }
                 }
-                case "preserveAspectRatio", "style" -> {
+                case "preserveAspectRatio" -> preserveAspectRatio = PreserveAspectRatio.parse(v);
+                case "style" -> {
                     // ignored for now
                 }
-                case "xmlns",
-                        "version",
-                        "contentScriptType",
-                        "contentStyleType",
-                        "xml:space",
-                        "xmlns:xlink",
-                        "xmlns:cc",
-                        "xmlns:dc",
-                        "xmlns:rdf",
-                        "xmlns:svg",
-                        "id" -> {
-                    // intentionally ignored
+                case "version", "contentScriptType", "contentStyleType", "xml:space", "id" -> {
+                    // intentionally ignored (namespace declarations are not reported as attributes)
                 }
-                default -> throw new IllegalArgumentException(String.format("Unknown attribute '%s'", x.getNodeName()));
+                default -> unknownAttribute(name);
             }
         }
 
@@ -142,94 +416,126 @@ public final class Parser {
             viewBoxHeight = imageHeight;
         }
 
-        final ViewBox vb = new ViewBox(viewBoxX, viewBoxY, viewBoxWidth, viewBoxHeight);
+        final ViewBox vb = new ViewBox(viewBoxX, viewBoxY, viewBoxWidth, viewBoxHeight, preserveAspectRatio);
 
-        return new Image(vb, imageWidth, imageHeight, parseChildren(root));
+        listener.startImage(vb, imageWidth, imageHeight);
+        parseChildren(root, listener);
+        listener.endImage();
     }
 
-    private static List<Element> parseChildren(final Node root) {
-        final List<Element> elements = new ArrayList<>();
-        for (int i = 0; i < root.getChildNodes().getLength(); i++) {
-            final Node node = root.getChildNodes().item(i);
-            switch (node.getNodeName()) {
+    /**
+     * Parses the children of the element the reader is currently positioned on. When this method returns, the reader
+     * is positioned on the matching END_ELEMENT event.
+     */
+    private void parseChildren(final XmlCursor reader, final ElementListener listener) {
+        while (true) {
+            final int event = reader.next();
+            if (event == XmlCursor.END_ELEMENT) {
+                return;
+            }
+            if (event == XmlCursor.END_DOCUMENT) {
+                throw new IllegalArgumentException("Unexpected end of document");
+            }
+            switch (reader.getLocalName()) {
                 case "rect":
-                    elements.add(parseRectangle(node));
+                    parseRectangle(reader, listener);
                     break;
                 case "path":
-                    elements.add(parsePath(node));
+                    parsePath(reader, listener);
                     break;
                 case "polyline":
-                    elements.add(parsePolyline(node));
+                    parsePolyline(reader, listener);
                     break;
                 case "circle":
-                    elements.add(parseCircle(node));
+                    parseCircle(reader, listener);
                     break;
                 case "g":
-                    elements.add(parseGroup(node));
+                    parseGroup(reader, listener);
                     break;
                 case "defs":
                 case "metadata":
-                case "#text":
                 case "style": // ignored for now
                 case "text": // ignored for now
                 case "title":
                 case "desc":
-                case "#comment":
                     // we don't care about these
+                    skipElement(reader);
                     break;
                 default:
-                    throw new IllegalArgumentException(
-                            String.format("Unknown element with name '%s'", node.getNodeName()));
+                    if (options.strict()) {
+                        throw new IllegalArgumentException(
+                                String.format("Unknown element with name '%s'", reader.getLocalName()));
+                    }
+                    skipElement(reader);
+                    break;
+            }
+        }
+    }
+
+    /** Skips the whole subtree of the current element, leaving the reader on its END_ELEMENT event. */
+    private static void skipElement(final XmlCursor reader) {
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XmlCursor.START_ELEMENT -> depth++;
+                case XmlCursor.END_ELEMENT -> depth--;
+                default -> throw new IllegalArgumentException("Unexpected end of document");
             }
         }
-        return elements;
     }
 
-    private static Group parseGroup(final Node node) {
+    /** Moves the reader to the END_ELEMENT of a shape, which must not have any child node. */
+    private static void expectEmpty(final XmlCursor reader, final String name) {
+        if (reader.next() != XmlCursor.END_ELEMENT) {
+            throw new IllegalArgumentException(
+                    String.format("Weird '%s' element with more than 0 child nodes.", name));
+        }
+    }
+
+    private void parseGroup(final XmlCursor reader, final ElementListener listener) {
         Color fill = DEFAULT_FILL_COLOR;
         Color stroke = DEFAULT_STROKE_COLOR;
         double strokeWidth = DEFAULT_STROKE_WIDTH;
 
-        for (int i = 0; i < node.getAttributes().getLength(); i++) {
-            final Node n = node.getAttributes().item(i);
-            final String v = n.getNodeValue();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String name = reader.getAttributeName(i);
+            final String v = reader.getAttributeValue(i);
 
-            switch (n.getNodeName()) {
+            switch (name) {
                 case "fill" -> fill = parseColor(v);
                 case "stroke" -> stroke = parseColor(v);
                 case "stroke-width" -> strokeWidth = Double.parseDouble(v);
-                default -> throw new IllegalArgumentException(String.format("Unknown attribute '%s'", n.getNodeName()));
+                default -> unknownAttribute(name);
             }
         }
 
-        return new Group(new Style(fill, stroke, strokeWidth), parseChildren(node));
+        listener.startGroup(new Style(fill, stroke, strokeWidth));
+        parseChildren(reader, listener);
+        listener.endGroup();
     }
 
-    private static Circle parseCircle(final Node node) {
-        if (node.getChildNodes().getLength() != 0) {
-            throw new IllegalArgumentException("Weird 'circle' element with more than 0 child nodes.");
-        }
-
+    private void parseCircle(final XmlCursor reader, final ElementListener listener) {
         double cx = 0.0;
         double cy = 0.0;
         double r = 0.0;
 
-        for (int i = 0; i < node.getAttributes().getLength(); i++) {
-            final Node n = node.getAttributes().item(i);
-            final String v = n.getNodeValue();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String name = reader.getAttributeName(i);
+            final String v = reader.getAttributeValue(i);
 
-            switch (n.getNodeName()) {
+            switch (name) {
                 case "cx" -> cx = Double.parseDouble(v);
                 case "cy" -> cy = Double.parseDouble(v);
                 case "r" -> r = Double.parseDouble(v);
                 case "class" -> {
                     // ignored for now
                 }
-                default -> throw new IllegalArgumentException(String.format("Unknown attribute '%s'", n.getNodeName()));
+                default -> unknownAttribute(name);
             }
         }
 
-        return new Circle(cx, cy, r);
+        expectEmpty(reader, "circle");
+        listener.circle(cx, cy, r);
     }
 
     private static double parseSize(final String input) {
@@ -264,11 +570,7 @@ public final class Parser {
         }
     }
 
-    private static Rectangle parseRectangle(final Node node) {
-        if (node.getChildNodes().getLength() != 0) {
-            throw new IllegalArgumentException("Weird 'rect' element with more than 0 child nodes.");
-        }
-
+    private void parseRectangle(final XmlCursor reader, final ElementListener listener) {
         double x = 0.0;
         double y = 0.0;
         double width = 0.0;
@@ -277,11 +579,11 @@ public final class Parser {
         Color stroke = DEFAULT_STROKE_COLOR;
         double strokeWidth = DEFAULT_STROKE_WIDTH;
 
-        for (int i = 0; i < node.getAttributes().getLength(); i++) {
-            final Node n = node.getAttributes().item(i);
-            final String v = n.getNodeValue();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String name = reader.getAttributeName(i);
+            final String v = reader.getAttributeValue(i);
 
-            switch (n.getNodeName()) {
+            switch (name) {
                 case "x" -> x = parseSize(v);
                 case "y" -> y = parseSize(v);
                 case "width" -> width = parseSize(v);
@@ -295,327 +597,89 @@ public final class Parser {
                 case "id" -> {
                     // intentionally ignored
                 }
-                default -> throw new IllegalArgumentException(String.format("Unknown attribute '%s'", n.getNodeName()));
+                default -> unknownAttribute(name);
             }
         }
 
-        return new Rectangle(x, y, width, height, fill, stroke, strokeWidth);
+        expectEmpty(reader, "rect");
+        listener.rectangle(x, y, width, height, fill, stroke, strokeWidth);
     }
 
-    private static Polyline parsePolyline(final Node node) {
-        if (node.getChildNodes().getLength() != 0) {
-            throw new IllegalArgumentException("Weird 'polyline' element with more than 0 child nodes.");
-        }
-
-        List<Point> points = null;
+    private void parsePolyline(final XmlCursor reader, final ElementListener listener) {
+        double[] points = null;
 
-        for (int i = 0; i < node.getAttributes().getLength(); i++) {
-            final Node n = node.getAttributes().item(i);
-            final String v = n.getNodeValue();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String name = reader.getAttributeName(i);
+            final String v = reader.getAttributeValue(i);
 
-            switch (n.getNodeName()) {
+            switch (name) {
                 case "points" -> points = parsePoints(v);
                 case "class" -> {
                     // ignored for now
                 }
-                default -> throw new IllegalArgumentException(String.format("Unknown attribute '%s'", n.getNodeName()));
+                default -> unknownAttribute(name);
             }
         }
 
-        return new Polyline(points);
-    }
-
-    private static Point parsePoint(final CharacterIterator it) {
-        final double x = parseNumber(it);
-        it.skipSpacesAndCommas();
-        final double y = parseNumber(it);
-        it.skipSpaces();
-        return new Point(x, y);
-    }
-
-    private static List<Point> parsePoints(final String v) {
-        final CharacterIterator it = new CharacterIterator(v);
-        final List<Point> points = new ArrayList<>();
-        it.skipSpaces();
-        while (it.hasNext() && (Character.isDigit(it.current()) || it.current() == '+' || it.current() == '-')) {
-            points.add(parsePoint(it));
+        expectEmpty(reader, "polyline");
+        if (points == null) {
+            throw new IllegalArgumentException("Polyline element without 'points' attribute.");
         }
-        return points;
+        listener.polyline(points);
     }
 
-    private static Path parsePath(final Node node) {
-        if (node.getChildNodes().getLength() != 0) {
-            throw new IllegalArgumentException("Weird 'path' element with more than 0 child nodes.");
+    private static double[] parsePoints(final String v) {
+        final PathTokenizer it = new PathTokenizer(v.getBytes(StandardCharsets.ISO_8859_1));
+        double[] coordinates = new double[16];
+        int n = 0;
+        it.skipWhitespace();
+        while (it.isNumberStart()) {
+            if (n + 2 > coordinates.length) {
+                coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+            }
+            coordinates[n++] = it.nextNumber();
+            coordinates[n++] = it.nextNumber();
+        }
+        if (it.hasNext()) {
+            throw it.error("Expected a coordinate");
         }
+        return Arrays.copyOf(coordinates, n);
+    }
 
-        List<SubPath> subpaths = null;
+    private void parsePath(final XmlCursor reader, final ElementListener listener) {
+        byte[] pathData = null;
         Color fill = DEFAULT_FILL_COLOR;
         Color stroke = DEFAULT_STROKE_COLOR;
         double strokeWidth = DEFAULT_STROKE_WIDTH;
 
-        for (int i = 0; i < node.getAttributes().getLength(); i++) {
-            final Node n = node.getAttributes().item(i);
-            final String v = n.getNodeValue();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            final String name = reader.getAttributeName(i);
 
-            switch (n.getNodeName()) {
-                case "d" -> subpaths = parsePath(v);
-                case "fill" -> fill = parseColor(v);
-                case "stroke" -> stroke = parseColor(v);
-                case "stroke-width" -> strokeWidth = parseSize(v);
+            // the path data is usually the largest attribute, so it is read as bytes without creating a String
+            switch (name) {
+                case "d" -> pathData = reader.getAttributeBytes(i);
+                case "fill" -> fill = parseColor(reader.getAttributeValue(i));
+                case "stroke" -> stroke = parseColor(reader.getAttributeValue(i));
+                case "stroke-width" -> strokeWidth = parseSize(reader.getAttributeValue(i));
                 case "class", "style" -> {
                     // ignored for now
                 }
                 case "id" -> {
                     // intentionally ignored
                 }
-                default -> throw new IllegalArgumentException(String.format("Unknown attribute '%s'", n.getNodeName()));
+                default -> unknownAttribute(name);
             }
         }
 
-        return new Path(subpaths, fill, stroke, strokeWidth);
-    }
-
-    private static List<SubPath> parsePath(final String pathString) {
-        final List<SubPath> subpaths = new ArrayList<>();
-        final CharacterIterator it = new CharacterIterator(pathString);
-
-        while (it.hasNext()) {
-            it.skipSpaces();
-            if (!it.hasNext()) {
-                break;
-            }
-            final SubPath subpath = parseSubPath(it);
-            subpaths.add(subpath);
+        expectEmpty(reader, "path");
+        if (pathData == null) {
+            throw new IllegalArgumentException("Path element without 'd' attribute.");
         }
 
-        return subpaths;
-    }
-
-    private static SubPath parseSubPath(final CharacterIterator it) {
-        // here it is assumed that 'it' points to a non-whitespace character
-
-        final List<PathElement> subPathElements = new ArrayList<>();
-
-        if (it.current() != 'm' && it.current() != 'M') {
-            throw new IllegalArgumentException(
-                    String.format("Invalid subpath data: must start with 'm' or 'M' but was '%s'", it.current()));
-        }
-
-        while (it.hasNext()) {
-            final char curr = it.current();
-
-            switch (curr) {
-                case 'm', 'M' -> {
-                    it.move();
-                    subPathElements.add(parseMoveTo(it, curr == 'm'));
-                }
-                case 'l', 'L' -> {
-                    it.move();
-                    subPathElements.add(parseLineTo(it, curr == 'l'));
-                }
-                case 'h', 'H' -> {
-                    it.move();
-                    subPathElements.add(parseHorizontalLineTo(it, curr == 'h'));
-                }
-                case 'v', 'V' -> {
-                    it.move();
-                    subPathElements.add(parseVerticalLineTo(it, curr == 'v'));
-                }
-                case 'c', 'C' -> {
-                    it.move();
-                    subPathElements.add(parseCubicBezier(it, curr == 'c'));
-                }
-                case 's', 'S' -> {
-                    it.move();
-                    subPathElements.add(parseSmoothCubicBezier(it, curr == 's'));
-                }
-                case 'q', 'Q' -> {
-                    it.move();
-                    subPathElements.add(parseQuadraticBezier(it, curr == 'q'));
-                }
-                case 't', 'T' -> {
-                    it.move();
-                    subPathElements.add(parseSmoothQuadraticBezier(it, curr == 't'));
-                }
-                case 'a', 'A' -> {
-                    it.move();
-                    subPathElements.add(parseArc(it, curr == 'a'));
-                }
-                case 'z', 'Z' -> {
-                    it.move();
-                    return new SubPath(subPathElements);
-                }
-                default ->
-                    throw new IllegalArgumentException(
-                            String.format("Unexpected character in path '%c' (U+%04x)", curr, (int) curr));
-            }
-        }
-
-        return new SubPath(subPathElements);
-    }
-
-    private static Arc parseArc(final CharacterIterator it, final boolean isRelative) {
-        it.skipSpaces();
-
-        final List<ArcElement> elements = new ArrayList<>();
-
-        while (it.hasNext() && (Character.isDigit(it.current()) || it.current() == '+' || it.current() == '-')) {
-            final double rx = parseNumber(it);
-            it.skipSpacesAndCommas();
-            final double ry = parseNumber(it);
-            it.skipSpacesAndCommas();
-            final double xAxisRotation = parseNumber(it);
-            it.skipSpacesAndCommas();
-            final double largeArcFlag = parseNumber(it);
-            it.skipSpacesAndCommas();
-            final double sweepFlag = parseNumber(it);
-            it.skipSpacesAndCommas();
-            final double x = parseNumber(it);
-            it.skipSpacesAndCommas();
-            final double y = parseNumber(it);
-            it.skipSpacesAndCommas();
-            elements.add(new ArcElement(rx, ry, xAxisRotation, largeArcFlag, sweepFlag, x, y));
-        }
-
-        return new Arc(isRelative, elements);
-    }
-
-    private static SmoothQuadraticBezier parseSmoothQuadraticBezier(
-            final CharacterIterator it, final boolean isRelative) {
-        it.skipSpaces();
-
-        final List<SmoothQuadraticBezierElement> elements = new ArrayList<>();
-
-        while (it.hasNext() && (Character.isDigit(it.current()) || it.current() == '+' || it.current() == '-')) {
-            final Point p = parsePoint(it);
-            elements.add(new SmoothQuadraticBezierElement(p));
-        }
-
-        return new SmoothQuadraticBezier(isRelative, elements);
-    }
-
-    private static QuadraticBezier parseQuadraticBezier(final CharacterIterator it, final boolean isRelative) {
-        it.skipSpaces();
-
-        final List<QuadraticBezierElement> elements = new ArrayList<>();
-
-        while (it.hasNext() && (Character.isDigit(it.current()) || it.current() == '+' || it.current() == '-')) {
-            final Point p1 = parsePoint(it);
-            final Point p = parsePoint(it);
-            elements.add(new QuadraticBezierElement(p1, p));
-        }
-
-        return new QuadraticBezier(isRelative, elements);
-    }
-
-    private static SmoothCubicBezier parseSmoothCubicBezier(final CharacterIterator it, final boolean isRelative) {
-        it.skipSpaces();
-
-        final List<SmoothCubicBezierElement> elements = new ArrayList<>();
-
-        while (it.hasNext() && Character.isDigit(it.current())) {
-            final Point p2 = parsePoint(it);
-            final Point p = parsePoint(it);
-            elements.add(new SmoothCubicBezierElement(p2, p));
-        }
-
-        return new SmoothCubicBezier(isRelative, elements);
-    }
-
-    private static CubicBezier parseCubicBezier(final CharacterIterator it, final boolean isRelative) {
-        it.skipSpaces();
-
-        final List<CubicBezierElement> elements = new ArrayList<>();
-
-        while (it.hasNext() && (Character.isDigit(it.current()) || it.current() == '+' || it.current() == '-')) {
-            final Point p1 = parsePoint(it);
-            final Point p2 = parsePoint(it);
-            final Point p = parsePoint(it);
-            elements.add(new CubicBezierElement(p1, p2, p));
-        }
-
-        return new CubicBezier(isRelative, elements);
-    }
-
-    private static double parseNumber(final CharacterIterator it) {
-        final StringBuilder sb = new StringBuilder();
-        for (; it.hasNext(); it.move()) {
-            final char c = it.current();
-            if (Character.isDigit(c) || c == '+' || c == '-' || c == 'e' || c == 'E' || c == '.') {
-                sb.append(c);
-            } else {
-                break;
-            }
-        }
-        return Double.parseDouble(sb.toString());
-    }
-
-    private static MoveTo parseMoveTo(final CharacterIterator it, final boolean isRelative) {
-        it.skipSpaces();
-
-        final List<Point> points = new ArrayList<>();
-
-        while (it.hasNext() && (Character.isDigit(it.current()) || it.current() == '+' || it.current() == '-')) {
-            points.add(parsePoint(it));
-        }
-
-        return new MoveTo(isRelative, points);
-    }
-
-    private static LineTo parseLineTo(final CharacterIterator it, final boolean isRelative) {
-        it.skipSpaces();
-
-        final List<Point> points = new ArrayList<>();
-
-        while (it.hasNext() && (Character.isDigit(it.current()) || it.current() == '+' || it.current() == '-')) {
-            points.add(parsePoint(it));
-        }
-
-        return new LineTo(isRelative, points);
-    }
-
-    private static HorizontalLineTo parseHorizontalLineTo(final CharacterIterator it, final boolean isRelative) {
-        it.skipSpaces();
-
-        final List<Double> x = new ArrayList<>();
-
-        while (it.hasNext() && (Character.isDigit(it.current()) || it.current() == '+' || it.current() == '-')) {
-            x.add(parseNumber(it));
-            it.skipSpaces();
-        }
-
-        return new HorizontalLineTo(isRelative, x);
-    }
-
-    private static VerticalLineTo parseVerticalLineTo(final CharacterIterator it, final boolean isRelative) {
-        it.skipSpaces();
-
-        final List<Double> x = new ArrayList<>();
-
-        while (it.hasNext() && (Character.isDigit(it.current()) || it.current() == '+' || it.current() == '-')) {
-            x.add(parseNumber(it));
-            it.skipSpaces();
-        }
-
-        return new VerticalLineTo(isRelative, x);
+        listener.path(pathData, 0, pathData.length, fill, stroke, strokeWidth);
     }
 
     private static Color parseColor(final String v) {
-        return switch (v) {
-            case "none" -> new Color();
-            case "black" -> new Color((byte) 0, (byte) 0, (byte) 0, (byte) 0xff);
-            case "red" -> new Color((byte) 0xff, (byte) 0, (byte) 0, (byte) 0xff);
-            case "blue" -> new Color((byte) 0, (byte) 0, (byte) 0xff, (byte) 0xff);
-            case "yellow" -> new Color((byte) 0xff, (byte) 0xff, (byte) 0, (byte) 0xff);
-            default -> {
-                if (v.charAt(0) == '#' && v.length() == 7) {
-                    final byte r = ParseUtils.parseByteHex(v.substring(1, 3));
-                    final byte g = ParseUtils.parseByteHex(v.substring(3, 5));
-                    final byte b = ParseUtils.parseByteHex(v.substring(5, 7));
-                    yield new Color(r, g, b, (byte) 0xff);
-                }
-                throw new IllegalArgumentException(String.format("Unknown color '%s'", v));
-            }
-        };
+        return ColorParser.parse(v);
     }
 }
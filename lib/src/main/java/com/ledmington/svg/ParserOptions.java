@@ -0,0 +1,105 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.util.Objects;
+
+/**
+ * The configuration of a {@link Parser}.
+ *
+ * @param strict When true, unknown elements and attributes are rejected. When false, they are silently skipped.
+ * @param mappingThreshold The minimum size in bytes of a file to be memory-mapped instead of being streamed.
+ * @param lazyPaths When true, the data of each path is kept as raw bytes and parsed only when first accessed. Syntax
+ *     errors in path data are then reported on first access instead of during parsing.
+ * @param xmlBackend The implementation used to read the XML structure of the document.
+ * @param deduplicate When true, structurally identical paths, styles, rectangles, circles, polylines and groups of a
+ *     document are parsed into a single shared instance.
+ */
+public record ParserOptions(
+        boolean strict, long mappingThreshold, boolean lazyPaths, XmlBackend xmlBackend, boolean deduplicate) {
+
+    private static final ParserOptions DEFAULTS =
+            new ParserOptions(true, 64L * 1024L, false, XmlBackend.JAXP, false);
+
+    public ParserOptions {
+        Objects.requireNonNull(xmlBackend);
+        if (mappingThreshold < 0L) {
+            throw new IllegalArgumentException(String.format("Invalid mapping threshold: %,d", mappingThreshold));
+        }
+    }
+
+    /**
+     * Returns the default options: strict parsing, mapping of files of at least 64 KiB and eager parsing of
+     * paths with the JAXP backend, without deduplication.
+     *
+     * @return The default options.
+     */
+    public static ParserOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Returns a copy of these options with the given strictness.
+     *
+     * @param strict The new strictness.
+     * @return A new ParserOptions instance.
+     */
+    public ParserOptions withStrict(final boolean strict) {
+        return new ParserOptions(strict, mappingThreshold, lazyPaths, xmlBackend, deduplicate);
+    }
+
+    /**
+     * Returns a copy of these options with the given mapping threshold.
+     *
+     * @param mappingThreshold The new mapping threshold in bytes.
+     * @return A new ParserOptions instance.
+     */
+    public ParserOptions withMappingThreshold(final long mappingThreshold) {
+        return new ParserOptions(strict, mappingThreshold, lazyPaths, xmlBackend, deduplicate);
+    }
+
+    /**
+     * Returns a copy of these options with the given path parsing mode.
+     *
+     * @param lazyPaths True to parse path data on first access, false to parse it immediately.
+     * @return A new ParserOptions instance.
+     */
+    public ParserOptions withLazyPaths(final boolean lazyPaths) {
+        return new ParserOptions(strict, mappingThreshold, lazyPaths, xmlBackend, deduplicate);
+    }
+
+    /**
+     * Returns a copy of these options with the given XML backend.
+     *
+     * @param xmlBackend The new XML backend.
+     * @return A new ParserOptions instance.
+     */
+    public ParserOptions withXmlBackend(final XmlBackend xmlBackend) {
+        return new ParserOptions(strict, mappingThreshold, lazyPaths, xmlBackend, deduplicate);
+    }
+
+    /**
+     * Returns a copy of these options with the given deduplication mode.
+     *
+     * @param deduplicate True to share identical elements, false to create a new instance for each one.
+     * @return A new ParserOptions instance.
+     */
+    public ParserOptions withDeduplication(final boolean deduplicate) {
+        return new ParserOptions(strict, mappingThreshold, lazyPaths, xmlBackend, deduplicate);
+    }
+}
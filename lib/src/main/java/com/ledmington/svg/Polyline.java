@@ -31,6 +31,12 @@ public final class Polyline implements Element {
 
     private final List<Point> points;
 
+    /** The bounding box, or null if it has not been computed yet. */
+    private volatile BoundingBox boundingBox;
+
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
     public Polyline(final List<Point> points) {
         Objects.requireNonNull(points);
         if (points.isEmpty()) {
@@ -50,6 +56,35 @@ public final class Polyline implements Element {
         return points.get(idx);
     }
 
+    /**
+     * Returns the bounding box of all the points of this polyline, computing it on first access.
+     *
+     * @return The smallest box enclosing all the points of this polyline.
+     */
+    public BoundingBox getBoundingBox() {
+        BoundingBox b = boundingBox;
+        if (b == null) {
+            synchronized (this) {
+                b = boundingBox;
+                if (b == null) {
+                    double minX = Double.POSITIVE_INFINITY;
+                    double minY = Double.POSITIVE_INFINITY;
+                    double maxX = Double.NEGATIVE_INFINITY;
+                    double maxY = Double.NEGATIVE_INFINITY;
+                    for (final Point p : points) {
+                        minX = Math.min(minX, p.x());
+                        minY = Math.min(minY, p.y());
+                        maxX = Math.max(maxX, p.x());
+                        maxY = Math.max(maxY, p.y());
+                    }
+                    b = new BoundingBox(minX, minY, maxX, maxY);
+                    boundingBox = b;
+                }
+            }
+        }
+        return b;
+    }
+
     @Override
     public String toString() {
         return "Polyline(points=" + points + ")";
@@ -57,8 +92,12 @@ public final class Polyline implements Element {
 
     @Override
     public int hashCode() {
-        int h = 17;
-        h = 31 * h + points.hashCode();
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + points.hashCode();
+            cachedHashCode = h;
+        }
         return h;
     }
 
@@ -0,0 +1,140 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.util.Objects;
+
+/**
+ * The value of the 'preserveAspectRatio' attribute, which tells how a view box is fitted into a viewport with a
+ * different aspect ratio. Official documentation available <a
+ * href="https://www.w3.org/TR/SVG2/coords.html#PreserveAspectRatioAttribute">here</a>.
+ *
+ * @param align How the view box is aligned inside the viewport.
+ * @param slice When true, the view box covers the whole viewport and may be cut. When false, the whole view box is
+ *     visible and may not fill the viewport.
+ */
+public record PreserveAspectRatio(Alignment align, boolean slice) {
+
+    /** The alignments of the view box inside the viewport. */
+    public enum Alignment {
+
+        /** The view box is stretched to fill the viewport exactly, without preserving its aspect ratio. */
+        NONE("none", 0.0, 0.0),
+
+        /** Aligned to the left and to the top. */
+        X_MIN_Y_MIN("xMinYMin", 0.0, 0.0),
+
+        /** Centered horizontally and aligned to the top. */
+        X_MID_Y_MIN("xMidYMin", 0.5, 0.0),
+
+        /** Aligned to the right and to the top. */
+        X_MAX_Y_MIN("xMaxYMin", 1.0, 0.0),
+
+        /** Aligned to the left and centered vertically. */
+        X_MIN_Y_MID("xMinYMid", 0.0, 0.5),
+
+        /** Centered both horizontally and vertically. */
+        X_MID_Y_MID("xMidYMid", 0.5, 0.5),
+
+        /** Aligned to the right and centered vertically. */
+        X_MAX_Y_MID("xMaxYMid", 1.0, 0.5),
+
+        /** Aligned to the left and to the bottom. */
+        X_MIN_Y_MAX("xMinYMax", 0.0, 1.0),
+
+        /** Centered horizontally and aligned to the bottom. */
+        X_MID_Y_MAX("xMidYMax", 0.5, 1.0),
+
+        /** Aligned to the right and to the bottom. */
+        X_MAX_Y_MAX("xMaxYMax", 1.0, 1.0);
+
+        private final String keyword;
+        private final double xFraction;
+        private final double yFraction;
+
+        Alignment(final String keyword, final double xFraction, final double yFraction) {
+            this.keyword = keyword;
+            this.xFraction = xFraction;
+            this.yFraction = yFraction;
+        }
+
+        /**
+         * Returns the fraction of the horizontal free space which is left before the view box.
+         *
+         * @return 0 for left alignment, 0.5 for centering and 1 for right alignment.
+         */
+        public double getXFraction() {
+            return xFraction;
+        }
+
+        /**
+         * Returns the fraction of the vertical free space which is left above the view box.
+         *
+         * @return 0 for top alignment, 0.5 for centering and 1 for bottom alignment.
+         */
+        public double getYFraction() {
+            return yFraction;
+        }
+    }
+
+    /** The default value: centered, with the whole view box visible. */
+    public static final PreserveAspectRatio DEFAULT = new PreserveAspectRatio(Alignment.X_MID_Y_MID, false);
+
+    public PreserveAspectRatio {
+        Objects.requireNonNull(align);
+    }
+
+    /**
+     * Parses the value of a 'preserveAspectRatio' attribute.
+     *
+     * @param value The value of the attribute, like "xMinYMid slice".
+     * @return The parsed value.
+     * @throws IllegalArgumentException If the value is not valid.
+     */
+    public static PreserveAspectRatio parse(final String value) {
+        final String[] tokens = value.strip().split("[ \t\r\n]+");
+        if (tokens.length < 1 || tokens.length > 2) {
+            throw invalid(value);
+        }
+        Alignment align = null;
+        for (final Alignment a : Alignment.values()) {
+            if (a.keyword.equals(tokens[0])) {
+                align = a;
+            }
+        }
+        if (align == null) {
+            throw invalid(value);
+        }
+        if (tokens.length == 1 || tokens[1].equals("meet")) {
+            return new PreserveAspectRatio(align, false);
+        }
+        if (tokens[1].equals("slice")) {
+            return new PreserveAspectRatio(align, true);
+        }
+        throw invalid(value);
+    }
+
+    private static IllegalArgumentException invalid(final String value) {
+        return new IllegalArgumentException(String.format("Invalid preserveAspectRatio value: '%s'", value));
+    }
+
+    @Override
+    public String toString() {
+        return align.keyword + (slice ? " slice" : " meet");
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * A static R-tree over the elements of an {@link Image}, bulk-loaded with the Sort-Tile-Recursive algorithm. Groups are
+ * not indexed themselves: their elements are, at any depth.
+ *
+ * <p>The tree is packed in a few arrays with no per-node objects. The indexed elements come first, in the order of the
+ * leaves, followed by the nodes of each level, up to the root. Each node has at most {@value #NODE_SIZE} children,
+ * stored contiguously in the level below.
+ *
+ * <p>Queries work on the bounding boxes of the elements, as computed by {@link BoundingBox#of(Element)}.
+ */
+public final class SpatialIndex {
+
+    /** The maximum number of children of each node. */
+    public static final int NODE_SIZE = 16;
+
+    private final Element[] elements;
+
+    /** The minimum x, minimum y, maximum x and maximum y of each node. */
+    private final double[] boxes;
+
+    /** The position of the first child of each inner node, indexed by position minus the number of elements. */
+    private final int[] firstChild;
+
+    /** The position after the last child of each inner node, indexed like {@link #firstChild}. */
+    private final int[] endChild;
+
+    private final int root;
+
+    private SpatialIndex(
+            final Element[] elements,
+            final double[] boxes,
+            final int[] firstChild,
+            final int[] endChild,
+            final int root) {
+        this.elements = elements;
+        this.boxes = boxes;
+        this.firstChild = firstChild;
+        this.endChild = endChild;
+        this.root = root;
+    }
+
+    /**
+     * Builds the index of all the elements of the given image, including the ones nested in groups.
+     *
+     * @param image The image to be indexed.
+     * @return A new SpatialIndex.
+     */
+    public static SpatialIndex of(final Image image) {
+        final List<Element> leaves = new ArrayList<>();
+        for (int i = 0; i < image.getNumElements(); i++) {
+            collect(image.getElement(i), leaves);
+        }
+        return build(leaves);
+    }
+
+    private static void collect(final Element element, final List<Element> leaves) {
+        if (element instanceof Group g) {
+            for (int i = 0; i < g.getNumElements(); i++) {
+                collect(g.getElement(i), leaves);
+            }
+        } else {
+            leaves.add(element);
+        }
+    }
+
+    private static SpatialIndex build(final List<Element> leaves) {
+        final int n = leaves.size();
+        int numNodes = n;
+        for (int size = n; size > 1; size = ceilDiv(size, NODE_SIZE)) {
+            numNodes += ceilDiv(size, NODE_SIZE);
+        }
+        final double[] boxes = new double[4 * numNodes];
+        final int[] firstChild = new int[numNodes - n];
+        final int[] endChild = new int[numNodes - n];
+
+        final double[] entries = new double[4 * n];
+        for (int i = 0; i < n; i++) {
+            final BoundingBox b = BoundingBox.of(leaves.get(i));
+            entries[4 * i] = b.minX();
+            entries[4 * i + 1] = b.minY();
+            entries[4 * i + 2] = b.maxX();
+            entries[4 * i + 3] = b.maxY();
+        }
+        final int[] order = sortTileRecursive(entries, n);
+        final Element[] elements = new Element[n];
+        for (int i = 0; i < n; i++) {
+            elements[i] = leaves.get(order[i]);
+            System.arraycopy(entries, 4 * order[i], boxes, 4 * i, 4);
+        }
+
+        int levelStart = 0;
+        int levelEnd = n;
+        while (levelEnd - levelStart > 1) {
+            final int size = levelEnd - levelStart;
+            final int numParents = ceilDiv(size, NODE_SIZE);
+            final double[] parents = new double[4 * numParents];
+            final int[] parentFirst = new int[numParents];
+            for (int k = 0; k < numParents; k++) {
+                final int first = levelStart + k * NODE_SIZE;
+                final int end = Math.min(first + NODE_SIZE, levelEnd);
+                parentFirst[k] = first;
+                parents[4 * k] = Double.POSITIVE_INFINITY;
+                parents[4 * k + 1] = Double.POSITIVE_INFINITY;
+                parents[4 * k + 2] = Double.NEGATIVE_INFINITY;
+                parents[4 * k + 3] = Double.NEGATIVE_INFINITY;
+                for (int c = first; c < end; c++) {
+                    parents[4 * k] = Math.min(parents[4 * k], boxes[4 * c]);
+                    parents[4 * k + 1] = Math.min(parents[4 * k + 1], boxes[4 * c + 1]);
+                    parents[4 * k + 2] = Math.max(parents[4 * k + 2], boxes[4 * c + 2]);
+                    parents[4 * k + 3] = Math.max(parents[4 * k + 3], boxes[4 * c + 3]);
+                }
+            }
+            // the parents are sorted as well, so that the next level groups nearby nodes
+            final int[] parentOrder = sortTileRecursive(parents, numParents);
+            for (int k = 0; k < numParents; k++) {
+                final int pos = levelEnd + k;
+                final int p = parentOrder[k];
+                System.arraycopy(parents, 4 * p, boxes, 4 * pos, 4);
+                firstChild[pos - n] = parentFirst[p];
+                endChild[pos - n] = Math.min(parentFirst[p] + NODE_SIZE, levelEnd);
+            }
+            levelStart = levelEnd;
+            levelEnd += numParents;
+        }
+        return new SpatialIndex(elements, boxes, firstChild, endChild, levelStart);
+    }
+
+    private static int ceilDiv(final int a, final int b) {
+        return (a + b - 1) / b;
+    }
+
+    /**
+     * Returns the order of the given boxes which tiles them: the boxes are sorted by the x of their center and split
+     * into vertical slices of about the same size, then the boxes of each slice are sorted by the y of their center.
+     */
+    private static int[] sortTileRecursive(final double[] boxes, final int n) {
+        final double[] cx = new double[n];
+        final double[] cy = new double[n];
+        final int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            cx[i] = boxes[4 * i] + (boxes[4 * i + 2] - boxes[4 * i]) / 2.0;
+            cy[i] = boxes[4 * i + 1] + (boxes[4 * i + 3] - boxes[4 * i + 1]) / 2.0;
+            order[i] = i;
+        }
+        sort(order, 0, n, cx);
+        final int numNodes = ceilDiv(n, NODE_SIZE);
+        final int sliceSize = NODE_SIZE * (int) Math.ceil(Math.sqrt(numNodes));
+        for (int start = 0; start < n; start += sliceSize) {
+            sort(order, start, Math.min(start + sliceSize, n), cy);
+        }
+        return order;
+    }
+
+    /** Sorts the given range of indices by the corresponding keys. */
+    private static void sort(final int[] idx, final int from, final int to, final double[] keys) {
+        final Integer[] boxed = new Integer[to - from];
+        for (int i = from; i < to; i++) {
+            boxed[i - from] = idx[i];
+        }
+        Arrays.sort(boxed, (a, b) -> Double.compare(keys[a], keys[b]));
+        for (int i = from; i < to; i++) {
+            idx[i] = boxed[i - from];
+        }
+    }
+
+    /**
+     * Returns the number of indexed elements.
+     *
+     * @return The number of elements.
+     */
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+     * Returns the bounding box of all the indexed elements.
+     *
+     * @return The bounding box of the root of the tree.
+     */
+    public BoundingBox getBounds() {
+        return box(root);
+    }
+
+    private BoundingBox box(final int node) {
+        return new BoundingBox(boxes[4 * node], boxes[4 * node + 1], boxes[4 * node + 2], boxes[4 * node + 3]);
+    }
+
+    private boolean intersects(final int node, final BoundingBox area) {
+        return boxes[4 * node] <= area.maxX()
+                && area.minX() <= boxes[4 * node + 2]
+                && boxes[4 * node + 1] <= area.maxY()
+                && area.minY() <= boxes[4 * node + 3];
+    }
+
+    private double distanceSquared(final int node, final double x, final double y) {
+        final double dx = Math.max(Math.max(boxes[4 * node] - x, x - boxes[4 * node + 2]), 0.0);
+        final double dy = Math.max(Math.max(boxes[4 * node + 1] - y, y - boxes[4 * node + 3]), 0.0);
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Reports each element whose bounding box intersects the given area to the given action, in no particular order.
+     *
+     * @param area The area to be searched.
+     * @param action The receiver of the elements.
+     */
+    public void search(final BoundingBox area, final Consumer<? super Element> action) {
+        Objects.requireNonNull(area);
+        Objects.requireNonNull(action);
+        int[] stack = new int[NODE_SIZE * 4];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            final int node = stack[--top];
+            if (!intersects(node, area)) {
+                continue;
+            }
+            if (node < elements.length) {
+                action.accept(elements[node]);
+                continue;
+            }
+            final int first = firstChild[node - elements.length];
+            final int end = endChild[node - elements.length];
+            if (top + (end - first) > stack.length) {
+                stack = Arrays.copyOf(stack, Math.max(2 * stack.length, top + (end - first)));
+            }
+            for (int c = end - 1; c >= first; c--) {
+                stack[top++] = c;
+            }
+        }
+    }
+
+    /**
+     * Returns all the elements whose bounding box intersects the given area.
+     *
+     * @param area The area to be searched.
+     * @return A new list of elements, in no particular order.
+     */
+    public List<Element> search(final BoundingBox area) {
+        final List<Element> result = new ArrayList<>();
+        search(area, result::add);
+        return result;
+    }
+
+    /** A node to be visited by the nearest-neighbor search, with its distance from the query point. */
+    private record Candidate(double distanceSquared, int node) {}
+
+    /**
+     * Returns the element whose bounding box is the closest to the given point. Elements whose bounding box contains
+     * the point have distance 0: among them, any one may be returned.
+     *
+     * @param x The x coordinate of the point.
+     * @param y The y coordinate of the point.
+     * @return The nearest element.
+     */
+    public Element nearest(final double x, final double y) {
+        final PriorityQueue<Candidate> queue =
+                new PriorityQueue<>((a, b) -> Double.compare(a.distanceSquared(), b.distanceSquared()));
+        queue.add(new Candidate(distanceSquared(root, x, y), root));
+        while (true) {
+            // a box is never closer than the boxes it contains, so the first element to come out is the nearest
+            final int node = queue.remove().node();
+            if (node < elements.length) {
+                return elements[node];
+            }
+            for (int c = firstChild[node - elements.length]; c < endChild[node - elements.length]; c++) {
+                queue.add(new Candidate(distanceSquared(c, x, y), c));
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/** An {@link XmlCursor} backed by a JAXP {@link XMLStreamReader}. */
+final class StaxCursor implements XmlCursor {
+
+    private final XMLStreamReader reader;
+
+    StaxCursor(final XMLStreamReader reader) {
+        this.reader = Objects.requireNonNull(reader);
+    }
+
+    @Override
+    public int next() {
+        try {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        return START_ELEMENT;
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        return END_ELEMENT;
+                    }
+                    default -> {
+                        // text, comments and processing instructions carry no shapes
+                    }
+                }
+            }
+            return END_DOCUMENT;
+        } catch (final XMLStreamException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String getLocalName() {
+        return reader.getLocalName();
+    }
+
+    @Override
+    public int getAttributeCount() {
+        return reader.getAttributeCount();
+    }
+
+    @Override
+    public String getAttributeName(final int idx) {
+        final String prefix = reader.getAttributePrefix(idx);
+        final String localName = reader.getAttributeLocalName(idx);
+        return (prefix == null || prefix.isEmpty()) ? localName : prefix + ':' + localName;
+    }
+
+    @Override
+    public String getAttributeValue(final int idx) {
+        return reader.getAttributeValue(idx);
+    }
+
+    @Override
+    public byte[] getAttributeBytes(final int idx) {
+        return reader.getAttributeValue(idx).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (final XMLStreamException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
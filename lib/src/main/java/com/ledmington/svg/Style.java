@@ -32,6 +32,6 @@ public record Style(Color fill, Color stroke, double strokeWidth) {
     }
 
     public Style() {
-        this(new Color(), new Color(), 1.0);
+        this(Color.TRANSPARENT, Color.TRANSPARENT, 1.0);
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import java.util.Objects;
+
+import com.ledmington.util.XmlTokenizer;
+
+/** An {@link XmlCursor} backed by an {@link XmlTokenizer}. */
+final class TokenizerCursor implements XmlCursor {
+
+    private final XmlTokenizer tokenizer;
+
+    TokenizerCursor(final XmlTokenizer tokenizer) {
+        this.tokenizer = Objects.requireNonNull(tokenizer);
+    }
+
+    @Override
+    public int next() {
+        return switch (tokenizer.next()) {
+            case XmlTokenizer.START_ELEMENT -> START_ELEMENT;
+            case XmlTokenizer.END_ELEMENT -> END_ELEMENT;
+            default -> END_DOCUMENT;
+        };
+    }
+
+    @Override
+    public String getLocalName() {
+        return tokenizer.getLocalName();
+    }
+
+    @Override
+    public int getAttributeCount() {
+        return tokenizer.getAttributeCount();
+    }
+
+    @Override
+    public String getAttributeName(final int idx) {
+        return tokenizer.getAttributeName(idx);
+    }
+
+    @Override
+    public String getAttributeValue(final int idx) {
+        return tokenizer.getAttributeValue(idx);
+    }
+
+    @Override
+    public byte[] getAttributeBytes(final int idx) {
+        return tokenizer.getAttributeBytes(idx);
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
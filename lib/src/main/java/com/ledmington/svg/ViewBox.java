@@ -17,4 +17,63 @@
  */
 package com.ledmington.svg;
 
-public record ViewBox(double x, double y, double width, double height) {}
+import java.util.Objects;
+
+/**
+ * The area of user space which is mapped onto the viewport of an image.
+ *
+ * @param x The minimum x coordinate.
+ * @param y The minimum y coordinate.
+ * @param width The width.
+ * @param height The height.
+ * @param preserveAspectRatio How the area is fitted into a viewport with a different aspect ratio.
+ */
+public record ViewBox(double x, double y, double width, double height, PreserveAspectRatio preserveAspectRatio) {
+
+    public ViewBox {
+        Objects.requireNonNull(preserveAspectRatio);
+    }
+
+    /**
+     * Creates a new ViewBox with the default 'preserveAspectRatio'.
+     *
+     * @param x The minimum x coordinate.
+     * @param y The minimum y coordinate.
+     * @param width The width.
+     * @param height The height.
+     */
+    public ViewBox(final double x, final double y, final double width, final double height) {
+        this(x, y, width, height, PreserveAspectRatio.DEFAULT);
+    }
+
+    /**
+     * Returns the transformation from user space to a viewport of the given size with the origin in its top-left
+     * corner, as defined by the <a href="https://www.w3.org/TR/SVG2/coords.html#ComputingAViewportsTransform">SVG
+     * specification</a>.
+     *
+     * @param viewportWidth The width of the viewport.
+     * @param viewportHeight The height of the viewport.
+     * @return A new AffineTransform made of a scaling and a translation.
+     * @throws IllegalArgumentException If this view box or the viewport is empty.
+     */
+    public AffineTransform toViewport(final double viewportWidth, final double viewportHeight) {
+        if (!(width > 0.0) || !(height > 0.0)) {
+            throw new IllegalArgumentException(String.format("Empty view box: %f x %f", width, height));
+        }
+        if (!(viewportWidth > 0.0) || !(viewportHeight > 0.0)) {
+            throw new IllegalArgumentException(
+                    String.format("Empty viewport: %f x %f", viewportWidth, viewportHeight));
+        }
+        double sx = viewportWidth / width;
+        double sy = viewportHeight / height;
+        final PreserveAspectRatio.Alignment align = preserveAspectRatio.align();
+        if (align != PreserveAspectRatio.Alignment.NONE) {
+            final double s = preserveAspectRatio.slice() ? Math.max(sx, sy) : Math.min(sx, sy);
+            sx = s;
+            sy = s;
+        }
+        final double tx = -x * sx + (viewportWidth - width * sx) * align.getXFraction();
+        final double ty = -y * sy + (viewportHeight - height * sy) * align.getYFraction();
+        return new AffineTransform(sx, 0.0, 0.0, sy, tx, ty);
+    }
+}
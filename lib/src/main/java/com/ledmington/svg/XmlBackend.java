@@ -0,0 +1,32 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+/** The implementation used by a {@link Parser} to read the XML structure of a document. */
+public enum XmlBackend {
+
+    /** The StAX parser of the JDK, which supports the whole XML specification and any encoding. */
+    JAXP,
+
+    /**
+     * The {@link com.ledmington.util.XmlTokenizer}, which reads UTF-8 documents directly from their bytes and supports
+     * only the subset of XML used by SVG files. Entities declared in the internal subset of the document type are
+     * expanded, but external entities are not supported. The whole document is kept in memory while parsing.
+     */
+    TOKENIZER
+}
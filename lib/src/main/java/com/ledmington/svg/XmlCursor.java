@@ -0,0 +1,83 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+/**
+ * The view of an XML document needed by the {@link Parser}: a sequence of start and end element events, with access
+ * to the attributes of the current element. It hides which XML backend is actually reading the document.
+ */
+interface XmlCursor extends AutoCloseable {
+
+    /** The event of the start of an element. */
+    int START_ELEMENT = 1;
+
+    /** The event of the end of an element. */
+    int END_ELEMENT = 2;
+
+    /** The event of the end of the document. */
+    int END_DOCUMENT = 8;
+
+    /**
+     * Moves to the next start or end of an element, skipping anything else.
+     *
+     * @return The type of the new event.
+     */
+    int next();
+
+    /**
+     * Returns the name of the current element without its namespace prefix.
+     *
+     * @return The local name of the current element.
+     */
+    String getLocalName();
+
+    /**
+     * Returns the number of attributes of the current element, excluding namespace declarations.
+     *
+     * @return The number of attributes.
+     */
+    int getAttributeCount();
+
+    /**
+     * Returns the qualified name of the attribute at the given index, so that prefixed attributes like 'xml:space'
+     * keep their prefix.
+     *
+     * @param idx The index of the attribute.
+     * @return The name of the attribute.
+     */
+    String getAttributeName(int idx);
+
+    /**
+     * Returns the value of the attribute at the given index.
+     *
+     * @param idx The index of the attribute.
+     * @return The value of the attribute.
+     */
+    String getAttributeValue(int idx);
+
+    /**
+     * Returns the value of the attribute at the given index as a new array of UTF-8 bytes.
+     *
+     * @param idx The index of the attribute.
+     * @return The value of the attribute.
+     */
+    byte[] getAttributeBytes(int idx);
+
+    @Override
+    void close();
+}
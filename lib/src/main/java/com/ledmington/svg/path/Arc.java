@@ -28,6 +28,9 @@ public final class Arc implements PathElement {
     private final boolean isRelative;
     private final List<ArcElement> elements;
 
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
     public Arc(final boolean isRelative, final List<ArcElement> elements) {
         this.isRelative = isRelative;
         Objects.requireNonNull(elements);
@@ -57,9 +60,13 @@ public final class Arc implements PathElement {
 
     @Override
     public int hashCode() {
-        int h = 17;
-        h = 31 * h + HashUtils.hash(isRelative);
-        h = 31 * h + elements.hashCode();
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + HashUtils.hash(isRelative);
+            h = 31 * h + elements.hashCode();
+            cachedHashCode = h;
+        }
         return h;
     }
 
@@ -32,6 +32,9 @@ public final class CubicBezier implements PathElement {
     private final boolean isRelative;
     private final List<CubicBezierElement> elements;
 
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
     public CubicBezier(final boolean isRelative, final List<CubicBezierElement> elements) {
         this.isRelative = isRelative;
         Objects.requireNonNull(elements);
@@ -60,9 +63,13 @@ public final class CubicBezier implements PathElement {
 
     @Override
     public int hashCode() {
-        int h = 17;
-        h = 31 * h + HashUtils.hash(isRelative);
-        h = 31 * h + elements.hashCode();
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + HashUtils.hash(isRelative);
+            h = 31 * h + elements.hashCode();
+            cachedHashCode = h;
+        }
         return h;
     }
 
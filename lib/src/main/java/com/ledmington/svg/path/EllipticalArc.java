@@ -0,0 +1,105 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.path;
+
+/**
+ * An elliptical arc in center parameterization. The endpoints of an SVG 'A' command are converted as described <a
+ * href="https://www.w3.org/TR/SVG2/implnote.html#ArcConversionEndpointToCenter">here</a>, after correcting the
+ * out-of-range radii as described <a
+ * href="https://www.w3.org/TR/SVG2/implnote.html#ArcCorrectionOutOfRangeRadii">here</a>.
+ *
+ * @param centerX The x coordinate of the center of the ellipse.
+ * @param centerY The y coordinate of the center of the ellipse.
+ * @param rx The corrected radius along the x axis of the ellipse.
+ * @param ry The corrected radius along the y axis of the ellipse.
+ * @param cos The cosine of the rotation of the ellipse.
+ * @param sin The sine of the rotation of the ellipse.
+ * @param theta The angle where the arc starts, in radians.
+ * @param delta The angle spanned by the arc, in radians. It is negative when the arc is drawn clockwise.
+ */
+record EllipticalArc(
+        double centerX, double centerY, double rx, double ry, double cos, double sin, double theta, double delta) {
+
+    /**
+     * Converts the given arc into center parameterization. The caller must have already handled the degenerate arcs:
+     * the ones ending where they start, which are omitted, and the ones with a zero radius, which are straight lines.
+     */
+    static EllipticalArc of(
+            final double x0,
+            final double y0,
+            final double rx,
+            final double ry,
+            final double xAxisRotation,
+            final boolean largeArc,
+            final boolean sweep,
+            final double x1,
+            final double y1) {
+        double a = Math.abs(rx);
+        double b = Math.abs(ry);
+
+        final double phi = Math.toRadians(xAxisRotation % 360.0);
+        final double cos = Math.cos(phi);
+        final double sin = Math.sin(phi);
+
+        // the midpoint of the chord, in the coordinate system of the ellipse
+        final double hx = (x0 - x1) / 2.0;
+        final double hy = (y0 - y1) / 2.0;
+        final double px = cos * hx + sin * hy;
+        final double py = -sin * hx + cos * hy;
+
+        // scale up the radii if they are too small to reach the end point
+        final double lambda = (px * px) / (a * a) + (py * py) / (b * b);
+        if (lambda > 1.0) {
+            final double s = Math.sqrt(lambda);
+            a *= s;
+            b *= s;
+        }
+
+        final double num = a * a * b * b - a * a * py * py - b * b * px * px;
+        final double den = a * a * py * py + b * b * px * px;
+        final double coef = (largeArc == sweep ? -1.0 : 1.0) * Math.sqrt(Math.max(0.0, num / den));
+        final double cpx = coef * a * py / b;
+        final double cpy = -coef * b * px / a;
+        final double centerX = cos * cpx - sin * cpy + (x0 + x1) / 2.0;
+        final double centerY = sin * cpx + cos * cpy + (y0 + y1) / 2.0;
+
+        final double ux = (px - cpx) / a;
+        final double uy = (py - cpy) / b;
+        final double vx = (-px - cpx) / a;
+        final double vy = (-py - cpy) / b;
+        final double theta = Math.atan2(uy, ux);
+        double delta = Math.atan2(ux * vy - uy * vx, ux * vx + uy * vy);
+        if (!sweep && delta > 0.0) {
+            delta -= 2.0 * Math.PI;
+        } else if (sweep && delta < 0.0) {
+            delta += 2.0 * Math.PI;
+        }
+
+        return new EllipticalArc(centerX, centerY, a, b, cos, sin, theta, delta);
+    }
+
+    /** Returns the x coordinate of the image of the given point of the unit circle on this ellipse. */
+    double mapX(final double ux, final double uy) {
+        return centerX + rx * ux * cos - ry * uy * sin;
+    }
+
+    /** Returns the y coordinate of the image of the given point of the unit circle on this ellipse. */
+    double mapY(final double ux, final double uy) {
+        return centerY + rx * ux * sin + ry * uy * cos;
+    }
+}
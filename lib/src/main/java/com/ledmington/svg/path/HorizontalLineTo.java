@@ -17,8 +17,7 @@
  */
 package com.ledmington.svg.path;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Objects;
 
 import com.ledmington.util.HashUtils;
@@ -30,15 +29,24 @@ import com.ledmington.util.HashUtils;
 public final class HorizontalLineTo implements PathElement {
 
     private final boolean isRelative;
-    private final List<Double> x;
+    private final double[] x;
 
-    public HorizontalLineTo(final boolean isRelative, final List<Double> x) {
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
+    /**
+     * Creates a new horizontal lineto command with the given coordinates. The array is copied.
+     *
+     * @param isRelative True if the coordinates are relative to the current point.
+     * @param x The coordinates.
+     */
+    public HorizontalLineTo(final boolean isRelative, final double... x) {
         this.isRelative = isRelative;
         Objects.requireNonNull(x);
-        if (x.isEmpty()) {
+        if (x.length == 0) {
             throw new IllegalArgumentException("Empty list of coordinates");
         }
-        this.x = Collections.unmodifiableList(x);
+        this.x = x.clone();
     }
 
     public boolean isRelative() {
@@ -46,23 +54,46 @@ public final class HorizontalLineTo implements PathElement {
     }
 
     public int getNumCoordinates() {
-        return x.size();
+        return x.length;
     }
 
     public double getCoordinate(final int idx) {
-        return x.get(idx);
+        return x[idx];
+    }
+
+    /**
+     * Returns a copy of all the coordinates.
+     *
+     * @return A new array with the coordinates.
+     */
+    public double[] getCoordinates() {
+        return x.clone();
+    }
+
+    /**
+     * Copies all the coordinates into the given array.
+     *
+     * @param dest The destination array.
+     * @param offset The index in the destination array of the first coordinate.
+     */
+    public void copyCoordinates(final double[] dest, final int offset) {
+        System.arraycopy(x, 0, dest, offset, x.length);
     }
 
     @Override
     public String toString() {
-        return "HorizontalLineTo(isRelative=" + isRelative + ";coordinates=" + x + ")";
+        return "HorizontalLineTo(isRelative=" + isRelative + ";coordinates=" + Arrays.toString(x) + ")";
     }
 
     @Override
     public int hashCode() {
-        int h = 17;
-        h = 31 * h + HashUtils.hash(isRelative);
-        h = 31 * h + x.hashCode();
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + HashUtils.hash(isRelative);
+            h = 31 * h + Arrays.hashCode(x);
+            cachedHashCode = h;
+        }
         return h;
     }
 
@@ -78,6 +109,6 @@ public final class HorizontalLineTo implements PathElement {
             return false;
         }
         final HorizontalLineTo hlt = (HorizontalLineTo) other;
-        return this.isRelative == hlt.isRelative && this.x.equals(hlt.x);
+        return this.isRelative == hlt.isRelative && Arrays.equals(this.x, hlt.x);
     }
 }
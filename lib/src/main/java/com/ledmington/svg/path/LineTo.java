@@ -32,6 +32,9 @@ public final class LineTo implements PathElement {
     private final boolean isRelative;
     private final List<Point> points;
 
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
     public LineTo(final boolean isRelative, final List<Point> points) {
         this.isRelative = isRelative;
         Objects.requireNonNull(points);
@@ -61,9 +64,13 @@ public final class LineTo implements PathElement {
 
     @Override
     public int hashCode() {
-        int h = 17;
-        h = 31 * h + HashUtils.hash(isRelative);
-        h = 31 * h + points.hashCode();
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + HashUtils.hash(isRelative);
+            h = 31 * h + points.hashCode();
+            cachedHashCode = h;
+        }
         return h;
     }
 
@@ -32,6 +32,9 @@ public final class MoveTo implements PathElement {
     private final boolean isRelative;
     private final List<Point> points;
 
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
     /**
      * Creates a new path 'moveto' element.
      *
@@ -82,9 +85,13 @@ public final class MoveTo implements PathElement {
 
     @Override
     public int hashCode() {
-        int h = 17;
-        h = 31 * h + HashUtils.hash(isRelative);
-        h = 31 * h + points.hashCode();
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + HashUtils.hash(isRelative);
+            h = 31 * h + points.hashCode();
+            cachedHashCode = h;
+        }
         return h;
     }
 
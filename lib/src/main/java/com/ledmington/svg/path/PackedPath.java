@@ -0,0 +1,378 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.path;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.ledmington.svg.AffineTransform;
+import com.ledmington.util.BinaryReader;
+import com.ledmington.util.BinaryWriter;
+
+/**
+ * A compact, struct-of-arrays representation of path data: one byte per segment and all the coordinates in a single
+ * array, with no per-point or per-command objects.
+ *
+ * <p>Each segment is identified by the letter of the command it belongs to (lowercase for relative commands). The
+ * highest bit of the byte is set when the segment starts a new command in the original path data, so that repeated
+ * arguments of the same command can be told apart from repeated commands. The segments following the first one of a
+ * 'moveto' command are its implicit 'lineto' commands. Arc flags are stored as 0.0 or 1.0.
+ *
+ * <p>Unlike the {@link SubPath} model, 'closepath' commands are kept.
+ */
+public final class PackedPath {
+
+    private static final int EXPLICIT = 0x80;
+    private static final int COMMAND_MASK = 0x7f;
+
+    private final byte[] commands;
+    private final double[] coordinates;
+
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
+    /** Creates a new PackedPath with the given arrays, which are not copied. */
+    PackedPath(final byte[] commands, final double[] coordinates) {
+        this.commands = Objects.requireNonNull(commands);
+        this.coordinates = Objects.requireNonNull(coordinates);
+    }
+
+    /**
+     * Parses the given path data.
+     *
+     * @param d The content of a 'd' attribute.
+     * @return A new PackedPath with the commands of the path data.
+     */
+    public static PackedPath parse(final String d) {
+        final byte[] data = d.getBytes(StandardCharsets.US_ASCII);
+        return PathParser.parsePacked(data, 0, data.length);
+    }
+
+    /**
+     * Converts the given subpaths into a packed path.
+     *
+     * @param subpaths The subpaths to be converted.
+     * @return A new PackedPath with the same commands.
+     */
+    public static PackedPath of(final List<SubPath> subpaths) {
+        final PackedPathBuilder builder = new PackedPathBuilder();
+        for (int k = 0; k < subpaths.size(); k++) {
+            final SubPath sp = subpaths.get(k);
+            for (int i = 0; i < sp.getNumElements(); i++) {
+                builder.add(sp.getElement(i));
+            }
+            // a subpath not starting with a 'moveto' can only be separated from the previous one by a 'closepath'
+            if (k + 1 < subpaths.size()
+                    && subpaths.get(k + 1).getNumElements() > 0
+                    && !(subpaths.get(k + 1).getElement(0) instanceof MoveTo)) {
+                builder.command('z');
+                builder.closePath();
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of coordinates of each segment of the given command.
+     *
+     * @param command The letter of the command.
+     * @return The number of coordinates of a single segment.
+     */
+    public static int getArity(final char command) {
+        return switch (command) {
+            case 'm', 'M', 'l', 'L', 't', 'T' -> 2;
+            case 'h', 'H', 'v', 'V' -> 1;
+            case 'c', 'C' -> 6;
+            case 's', 'S', 'q', 'Q' -> 4;
+            case 'a', 'A' -> 7;
+            case 'z', 'Z' -> 0;
+            default -> throw new IllegalArgumentException(String.format("Unknown path command '%c'", command));
+        };
+    }
+
+    static byte encode(final char command, final boolean explicit) {
+        return (byte) (command | (explicit ? EXPLICIT : 0));
+    }
+
+    /**
+     * Returns true if this path has no segments.
+     *
+     * @return True if empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return commands.length == 0;
+    }
+
+    /**
+     * Returns the number of segments.
+     *
+     * @return The number of segments.
+     */
+    public int getNumSegments() {
+        return commands.length;
+    }
+
+    /**
+     * Returns the letter of the command of the segment at the given index.
+     *
+     * @param idx The index of the segment.
+     * @return The letter of the command, lowercase if relative.
+     */
+    public char getCommand(final int idx) {
+        return (char) (commands[idx] & COMMAND_MASK);
+    }
+
+    /**
+     * Returns true if the segment at the given index starts a new command in the original path data.
+     *
+     * @param idx The index of the segment.
+     * @return True if the command letter was written explicitly before this segment.
+     */
+    public boolean startsCommand(final int idx) {
+        return (commands[idx] & EXPLICIT) != 0;
+    }
+
+    /**
+     * Returns the total number of coordinates.
+     *
+     * @return The number of coordinates.
+     */
+    public int getNumCoordinates() {
+        return coordinates.length;
+    }
+
+    /**
+     * Returns the coordinate at the given index. The coordinates of each segment follow the ones of the previous
+     * segment, in the order they appear in the path data.
+     *
+     * @param idx The index of the coordinate.
+     * @return The coordinate.
+     */
+    public double getCoordinate(final int idx) {
+        return coordinates[idx];
+    }
+
+    /**
+     * Reports all the segments of this path to the given listener, as they were parsed.
+     *
+     * @param listener The receiver of the commands.
+     */
+    public void replay(final PathListener listener) {
+        Objects.requireNonNull(listener);
+        final double[] c = coordinates;
+        int j = 0;
+        for (final byte op : commands) {
+            final char command = (char) (op & COMMAND_MASK);
+            final boolean explicit = (op & EXPLICIT) != 0;
+            final boolean isRelative = Character.isLowerCase(command);
+            if (explicit) {
+                listener.command(command);
+            }
+            switch (command) {
+                case 'm', 'M' -> {
+                    if (explicit) {
+                        listener.moveTo(c[j], c[j + 1], isRelative);
+                    } else {
+                        listener.lineTo(c[j], c[j + 1], isRelative);
+                    }
+                }
+                case 'l', 'L' -> listener.lineTo(c[j], c[j + 1], isRelative);
+                case 'h', 'H' -> listener.horizontalLineTo(c[j], isRelative);
+                case 'v', 'V' -> listener.verticalLineTo(c[j], isRelative);
+                case 'c', 'C' -> listener.cubicTo(c[j], c[j + 1], c[j + 2], c[j + 3], c[j + 4], c[j + 5], isRelative);
+                case 's', 'S' -> listener.smoothCubicTo(c[j], c[j + 1], c[j + 2], c[j + 3], isRelative);
+                case 'q', 'Q' -> listener.quadraticTo(c[j], c[j + 1], c[j + 2], c[j + 3], isRelative);
+                case 't', 'T' -> listener.smoothQuadraticTo(c[j], c[j + 1], isRelative);
+                case 'a', 'A' ->
+                    listener.arcTo(
+                            c[j], c[j + 1], c[j + 2], c[j + 3] != 0.0, c[j + 4] != 0.0, c[j + 5], c[j + 6], isRelative);
+                default -> listener.closePath();
+            }
+            j += getArity(command);
+        }
+    }
+
+    /**
+     * Converts this path into its canonical form, which uses only absolute 'moveto' (M), 'lineto' (L), cubic Bézier
+     * (C) and 'closepath' (Z) commands. Quadratic curves are converted exactly, while elliptical arcs are approximated
+     * with cubic curves spanning at most 45 degrees each. Each 'moveto' has exactly one segment.
+     *
+     * @return A new normalized PackedPath.
+     */
+    public PackedPath normalize() {
+        return PathNormalizer.normalize(this);
+    }
+
+    /**
+     * Applies the given transformation to this path, which must be normalized. Since all the points of a normalized
+     * path are absolute end points or control points, the result describes exactly the transformed curves.
+     *
+     * @param transform The transformation to be applied.
+     * @return A new PackedPath with the same commands and the transformed coordinates.
+     * @throws IllegalArgumentException If this path has commands other than M, L, C and Z.
+     * @see #normalize()
+     */
+    public PackedPath transform(final AffineTransform transform) {
+        Objects.requireNonNull(transform);
+        for (int i = 0; i < commands.length; i++) {
+            final char command = getCommand(i);
+            if (command != 'M' && command != 'L' && command != 'C' && command != 'Z') {
+                throw new IllegalArgumentException(
+                        String.format("Only normalized paths can be transformed but found a '%c' command", command));
+            }
+        }
+        final double[] transformed = new double[coordinates.length];
+        transform.transform(coordinates, 0, transformed, 0, coordinates.length / 2);
+        return new PackedPath(commands, transformed);
+    }
+
+    /**
+     * Builds the {@link SubPath} view of this path.
+     *
+     * @return A new list of subpaths.
+     */
+    public List<SubPath> toSubPaths() {
+        final SubPathBuilder builder = new SubPathBuilder();
+        replay(builder);
+        return builder.build();
+    }
+
+    /**
+     * Appends the binary encoding of this path to the given writer: the number of segments, one byte per segment and
+     * the block of all the coordinates.
+     *
+     * @param out The destination of the encoding.
+     */
+    public void write(final BinaryWriter out) {
+        out.writeVarInt(commands.length);
+        out.writeBytes(commands, 0, commands.length);
+        out.writeCoordinates(coordinates, 0, coordinates.length);
+    }
+
+    /**
+     * Decodes a path written by {@link #write(BinaryWriter)}.
+     *
+     * @param in The source of the encoding.
+     * @return A new PackedPath.
+     * @throws IllegalArgumentException If the encoding is malformed.
+     */
+    public static PackedPath read(final BinaryReader in) {
+        final int numSegments = in.readVarInt();
+        if (numSegments > in.remaining()) {
+            throw new IllegalArgumentException(String.format("Too many segments: %,d", numSegments));
+        }
+        final byte[] commands = new byte[numSegments];
+        int numCoordinates = 0;
+        for (int i = 0; i < numSegments; i++) {
+            commands[i] = in.readByte();
+            numCoordinates += getArity((char) (commands[i] & COMMAND_MASK));
+        }
+        final double[] coordinates = new double[numCoordinates];
+        in.readCoordinates(coordinates, 0, numCoordinates);
+        return new PackedPath(commands, coordinates);
+    }
+
+    /**
+     * Checks whether the given path has the same segments as this one, ignoring 'closepath' commands. Two paths with
+     * different segments never have the same {@link SubPath} view.
+     */
+    boolean sameSegments(final PackedPath other) {
+        if (Arrays.equals(this.coordinates, other.coordinates)) {
+            int i = 0;
+            int j = 0;
+            while (true) {
+                i = skipClosePath(i);
+                j = other.skipClosePath(j);
+                if (i == commands.length || j == other.commands.length) {
+                    return i == commands.length && j == other.commands.length;
+                }
+                if (this.commands[i] != other.commands[j]) {
+                    return false;
+                }
+                i++;
+                j++;
+            }
+        }
+        return false;
+    }
+
+    /** Returns a hash code consistent with {@link #sameSegments(PackedPath)}. */
+    int segmentsHashCode() {
+        int h = 17;
+        for (final byte op : commands) {
+            final char command = (char) (op & COMMAND_MASK);
+            if (command != 'z' && command != 'Z') {
+                h = 31 * h + op;
+            }
+        }
+        h = 31 * h + Arrays.hashCode(coordinates);
+        return h;
+    }
+
+    private int skipClosePath(final int idx) {
+        int i = idx;
+        while (i < commands.length && (getCommand(i) == 'z' || getCommand(i) == 'Z')) {
+            i++;
+        }
+        return i;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("PackedPath(");
+        int j = 0;
+        for (int i = 0; i < commands.length; i++) {
+            final char command = getCommand(i);
+            if (startsCommand(i)) {
+                sb.append(command);
+            }
+            for (int k = 0; k < getArity(command); k++) {
+                sb.append(coordinates[j++]).append(' ');
+            }
+        }
+        return sb.append(')').toString();
+    }
+
+    @Override
+    public int hashCode() {
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + Arrays.hashCode(commands);
+            h = 31 * h + Arrays.hashCode(coordinates);
+            cachedHashCode = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other == null) {
+            return false;
+        }
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PackedPath pp)) {
+            return false;
+        }
+        return Arrays.equals(this.commands, pp.commands) && Arrays.equals(this.coordinates, pp.coordinates);
+    }
+}
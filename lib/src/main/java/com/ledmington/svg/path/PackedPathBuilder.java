@@ -0,0 +1,253 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.path;
+
+import java.util.Arrays;
+
+/**
+ * A {@link PathListener} which appends the received commands to growable arrays to build a {@link PackedPath}. The
+ * commands must be reported in the same order as {@link PathParser} does, with a call to {@link #command(char)} before
+ * the first segment of each command.
+ */
+public final class PackedPathBuilder implements PathListener {
+
+    private byte[] commands = new byte[16];
+    private int numCommands = 0;
+    private double[] coordinates = new double[64];
+    private int numCoordinates = 0;
+
+    private char command = 'M';
+    private boolean explicit = false;
+
+    public PackedPathBuilder() {}
+
+    @Override
+    public void command(final char command) {
+        this.command = command;
+        this.explicit = true;
+    }
+
+    @Override
+    public void moveTo(final double x, final double y, final boolean relative) {
+        segment();
+        append(x);
+        append(y);
+    }
+
+    @Override
+    public void lineTo(final double x, final double y, final boolean relative) {
+        // also receives the implicit 'lineto' commands of a 'moveto', which keep its letter
+        segment();
+        append(x);
+        append(y);
+    }
+
+    @Override
+    public void horizontalLineTo(final double x, final boolean relative) {
+        segment();
+        append(x);
+    }
+
+    @Override
+    public void verticalLineTo(final double y, final boolean relative) {
+        segment();
+        append(y);
+    }
+
+    @Override
+    public void cubicTo(
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final double x,
+            final double y,
+            final boolean relative) {
+        segment();
+        append(x1);
+        append(y1);
+        append(x2);
+        append(y2);
+        append(x);
+        append(y);
+    }
+
+    @Override
+    public void smoothCubicTo(
+            final double x2, final double y2, final double x, final double y, final boolean relative) {
+        segment();
+        append(x2);
+        append(y2);
+        append(x);
+        append(y);
+    }
+
+    @Override
+    public void quadraticTo(final double x1, final double y1, final double x, final double y, final boolean relative) {
+        segment();
+        append(x1);
+        append(y1);
+        append(x);
+        append(y);
+    }
+
+    @Override
+    public void smoothQuadraticTo(final double x, final double y, final boolean relative) {
+        segment();
+        append(x);
+        append(y);
+    }
+
+    @Override
+    public void arcTo(
+            final double rx,
+            final double ry,
+            final double xAxisRotation,
+            final boolean largeArc,
+            final boolean sweep,
+            final double x,
+            final double y,
+            final boolean relative) {
+        segment();
+        append(rx);
+        append(ry);
+        append(xAxisRotation);
+        append(largeArc ? 1.0 : 0.0);
+        append(sweep ? 1.0 : 0.0);
+        append(x);
+        append(y);
+    }
+
+    @Override
+    public void closePath() {
+        segment();
+    }
+
+    /** Adds all the segments of the given element, as if it was parsed. */
+    void add(final PathElement element) {
+        final boolean rel = element.isRelative();
+        switch (element) {
+            case MoveTo m -> {
+                command(rel ? 'm' : 'M');
+                moveTo(m.getPoint(0).x(), m.getPoint(0).y(), rel);
+                for (int i = 1; i < m.getNumPoints(); i++) {
+                    lineTo(m.getPoint(i).x(), m.getPoint(i).y(), rel);
+                }
+            }
+            case LineTo l -> {
+                command(rel ? 'l' : 'L');
+                for (int i = 0; i < l.getNumPoints(); i++) {
+                    lineTo(l.getPoint(i).x(), l.getPoint(i).y(), rel);
+                }
+            }
+            case HorizontalLineTo h -> {
+                command(rel ? 'h' : 'H');
+                for (int i = 0; i < h.getNumCoordinates(); i++) {
+                    horizontalLineTo(h.getCoordinate(i), rel);
+                }
+            }
+            case VerticalLineTo v -> {
+                command(rel ? 'v' : 'V');
+                for (int i = 0; i < v.getNumCoordinates(); i++) {
+                    verticalLineTo(v.getCoordinate(i), rel);
+                }
+            }
+            case CubicBezier c -> {
+                command(rel ? 'c' : 'C');
+                for (int i = 0; i < c.getNumElements(); i++) {
+                    final CubicBezierElement e = c.getElement(i);
+                    cubicTo(
+                            e.firstControlPoint().x(),
+                            e.firstControlPoint().y(),
+                            e.secondControlPoint().x(),
+                            e.secondControlPoint().y(),
+                            e.endPoint().x(),
+                            e.endPoint().y(),
+                            rel);
+                }
+            }
+            case SmoothCubicBezier s -> {
+                command(rel ? 's' : 'S');
+                for (int i = 0; i < s.getNumElements(); i++) {
+                    final SmoothCubicBezierElement e = s.getElement(i);
+                    smoothCubicTo(
+                            e.secondControlPoint().x(),
+                            e.secondControlPoint().y(),
+                            e.endPoint().x(),
+                            e.endPoint().y(),
+                            rel);
+                }
+            }
+            case QuadraticBezier q -> {
+                command(rel ? 'q' : 'Q');
+                for (int i = 0; i < q.getNumElements(); i++) {
+                    final QuadraticBezierElement e = q.getElement(i);
+                    quadraticTo(e.controlPoint().x(), e.controlPoint().y(), e.endPoint().x(), e.endPoint().y(), rel);
+                }
+            }
+            case SmoothQuadraticBezier t -> {
+                command(rel ? 't' : 'T');
+                for (int i = 0; i < t.getNumElements(); i++) {
+                    final SmoothQuadraticBezierElement e = t.getElement(i);
+                    smoothQuadraticTo(e.endPoint().x(), e.endPoint().y(), rel);
+                }
+            }
+            case Arc a -> {
+                command(rel ? 'a' : 'A');
+                for (int i = 0; i < a.getNumElements(); i++) {
+                    final ArcElement e = a.getElement(i);
+                    arcTo(
+                            e.rx(),
+                            e.ry(),
+                            e.xAxisRotation(),
+                            e.largeArcFlag() != 0.0,
+                            e.sweepFlag() != 0.0,
+                            e.x(),
+                            e.y(),
+                            rel);
+                }
+            }
+            default -> throw new IllegalArgumentException(String.format("Unknown path element '%s'", element));
+        }
+    }
+
+    /**
+     * Returns the path built so far.
+     *
+     * @return A new PackedPath.
+     */
+    public PackedPath build() {
+        return new PackedPath(
+                Arrays.copyOf(commands, numCommands), Arrays.copyOf(coordinates, numCoordinates));
+    }
+
+    private void segment() {
+        if (numCommands == commands.length) {
+            commands = Arrays.copyOf(commands, commands.length * 2);
+        }
+        commands[numCommands++] = PackedPath.encode(command, explicit);
+        explicit = false;
+    }
+
+    private void append(final double x) {
+        if (numCoordinates == coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+        }
+        coordinates[numCoordinates++] = x;
+    }
+}
@@ -17,21 +17,45 @@
  */
 package com.ledmington.svg.path;
 
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import com.ledmington.svg.BoundingBox;
 import com.ledmington.svg.Color;
 import com.ledmington.svg.Element;
+import com.ledmington.util.BinaryReader;
+import com.ledmington.util.BinaryWriter;
 import com.ledmington.util.HashUtils;
 
 public final class Path implements Element {
 
-    private final List<SubPath> subpaths;
+    /** The packed path data, or null if it has not been parsed or converted yet. */
+    private volatile PackedPath packed;
+
+    /** The normalized form of the packed path data, or null if it has not been computed yet. */
+    private volatile PackedPath normalized;
+
+    /** The bounding box, or null if it has not been computed yet. */
+    private volatile BoundingBox boundingBox;
+
+    /** The subpath view of the packed path data, or null if it has not been built yet. */
+    private volatile List<SubPath> subpaths;
+
+    /** The raw path data, guarded by 'this'. It is released as soon as it is parsed. */
+    private byte[] pathData;
+
+    /** The encoded packed path data, guarded by 'this'. It is released as soon as it is decoded. */
+    private ByteBuffer encoded;
+
     private final Color fill;
     private final Color stroke;
     private final double strokeWidth;
 
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
     public Path(final List<SubPath> subpaths, final Color fill, final Color stroke, final double strokeWidth) {
         Objects.requireNonNull(subpaths);
         if (subpaths.isEmpty()) {
@@ -43,12 +67,174 @@ public final class Path implements Element {
         this.strokeWidth = strokeWidth;
     }
 
+    /**
+     * Creates a new path from the given packed path data. The subpath view is built only when first accessed.
+     *
+     * @param packed The packed path data.
+     * @param fill The fill color.
+     * @param stroke The stroke color.
+     * @param strokeWidth The width of the stroke.
+     */
+    public Path(final PackedPath packed, final Color fill, final Color stroke, final double strokeWidth) {
+        Objects.requireNonNull(packed);
+        if (packed.isEmpty()) {
+            throw new IllegalArgumentException("Empty list of subpaths");
+        }
+        this.packed = packed;
+        this.fill = Objects.requireNonNull(fill);
+        this.stroke = Objects.requireNonNull(stroke);
+        this.strokeWidth = strokeWidth;
+    }
+
+    /**
+     * Creates a new path which keeps the given raw path data and parses it only the first time it is accessed. The
+     * array is not copied, so it must not be modified afterwards.
+     *
+     * @param pathData The content of the 'd' attribute, as ASCII bytes.
+     * @param fill The fill color.
+     * @param stroke The stroke color.
+     * @param strokeWidth The width of the stroke.
+     */
+    public Path(final byte[] pathData, final Color fill, final Color stroke, final double strokeWidth) {
+        this.pathData = Objects.requireNonNull(pathData);
+        this.fill = Objects.requireNonNull(fill);
+        this.stroke = Objects.requireNonNull(stroke);
+        this.strokeWidth = strokeWidth;
+    }
+
+    /**
+     * Creates a new path which keeps the given binary encoding of its packed path data and decodes it only the first
+     * time it is accessed. The buffer is not copied, so its content must not be modified afterwards.
+     *
+     * @param encoded The path data, as written by {@link PackedPath#write(BinaryWriter)}.
+     * @param fill The fill color.
+     * @param stroke The stroke color.
+     * @param strokeWidth The width of the stroke.
+     */
+    public Path(final ByteBuffer encoded, final Color fill, final Color stroke, final double strokeWidth) {
+        this.encoded = Objects.requireNonNull(encoded);
+        this.fill = Objects.requireNonNull(fill);
+        this.stroke = Objects.requireNonNull(stroke);
+        this.strokeWidth = strokeWidth;
+    }
+
+    /**
+     * Returns the packed representation of this path, parsing or converting it on first access.
+     *
+     * @return The packed path data.
+     */
+    public PackedPath getPacked() {
+        PackedPath p = packed;
+        if (p == null) {
+            synchronized (this) {
+                p = packed;
+                if (p == null) {
+                    if (pathData != null) {
+                        p = PathParser.parsePacked(pathData, 0, pathData.length);
+                        if (p.isEmpty()) {
+                            throw new IllegalArgumentException("Empty list of subpaths");
+                        }
+                    } else if (encoded != null) {
+                        p = PackedPath.read(new BinaryReader(encoded));
+                        if (p.isEmpty()) {
+                            throw new IllegalArgumentException("Empty list of subpaths");
+                        }
+                    } else {
+                        p = PackedPath.of(subpaths);
+                    }
+                    packed = p;
+                    pathData = null;
+                    encoded = null;
+                }
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Returns the normalized form of this path, computing it on first access.
+     *
+     * @return The path data with only absolute M, L, C and Z commands.
+     * @see PackedPath#normalize()
+     */
+    public PackedPath getNormalized() {
+        PackedPath n = normalized;
+        if (n == null) {
+            final PackedPath p = getPacked();
+            synchronized (this) {
+                n = normalized;
+                if (n == null) {
+                    n = p.normalize();
+                    normalized = n;
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Returns the bounding box of the curves of this path, computing it on first access.
+     *
+     * @return The smallest box enclosing the curves of this path.
+     */
+    public BoundingBox getBoundingBox() {
+        BoundingBox b = boundingBox;
+        if (b == null) {
+            synchronized (this) {
+                b = boundingBox;
+                if (b == null) {
+                    b = PathBounds.of(getNormalized());
+                    boundingBox = b;
+                }
+            }
+        }
+        return b;
+    }
+
+    private List<SubPath> subpaths() {
+        List<SubPath> s = subpaths;
+        if (s == null) {
+            final PackedPath p = getPacked();
+            synchronized (this) {
+                s = subpaths;
+                if (s == null) {
+                    s = Collections.unmodifiableList(p.toSubPaths());
+                    subpaths = s;
+                }
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Returns an estimate of the number of coordinates of this path, without parsing or decoding it. Once parsed, the
+     * estimate is the exact number.
+     *
+     * @return The estimated number of coordinates.
+     */
+    public int estimateNumCoordinates() {
+        final PackedPath p = packed;
+        if (p != null) {
+            return p.getNumCoordinates();
+        }
+        synchronized (this) {
+            if (pathData != null) {
+                // a coordinate takes about 4 characters, including its separator
+                return pathData.length / 4;
+            }
+            if (encoded != null) {
+                return encoded.remaining() / Double.BYTES;
+            }
+        }
+        return getPacked().getNumCoordinates();
+    }
+
     public int getNumSubpaths() {
-        return subpaths.size();
+        return subpaths().size();
     }
 
     public SubPath getSubpath(final int idx) {
-        return subpaths.get(idx);
+        return subpaths().get(idx);
     }
 
     public Color getFill() {
@@ -59,19 +245,27 @@ public final class Path implements Element {
         return stroke;
     }
 
+    public double getStrokeWidth() {
+        return strokeWidth;
+    }
+
     @Override
     public String toString() {
-        return "Path(subpaths=" + subpaths + ";fill=" + fill + ";stroke=" + stroke + ";strokeWidth=" + strokeWidth
+        return "Path(subpaths=" + subpaths() + ";fill=" + fill + ";stroke=" + stroke + ";strokeWidth=" + strokeWidth
                 + ")";
     }
 
     @Override
     public int hashCode() {
-        int h = 17;
-        h = 31 * h + subpaths.hashCode();
-        h = 31 * h + fill.hashCode();
-        h = 31 * h + stroke.hashCode();
-        h = 31 * h + HashUtils.hash(strokeWidth);
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + getPacked().segmentsHashCode();
+            h = 31 * h + fill.hashCode();
+            h = 31 * h + stroke.hashCode();
+            h = 31 * h + HashUtils.hash(strokeWidth);
+            cachedHashCode = h;
+        }
         return h;
     }
 
@@ -86,9 +280,15 @@ public final class Path implements Element {
         if (!(other instanceof Path p)) {
             return false;
         }
-        return this.subpaths.equals(p.subpaths)
-                && this.fill.equals(p.fill)
-                && this.stroke.equals(p.stroke)
-                && this.strokeWidth == p.strokeWidth;
+        if (!this.fill.equals(p.fill) || !this.stroke.equals(p.stroke) || this.strokeWidth != p.strokeWidth) {
+            return false;
+        }
+        final PackedPath a = this.getPacked();
+        final PackedPath b = p.getPacked();
+        if (a.equals(b)) {
+            return true;
+        }
+        // 'closepath' commands are not part of the subpath view, so they may differ only in where subpaths end
+        return a.sameSegments(b) && this.subpaths().equals(p.subpaths());
     }
 }
@@ -0,0 +1,155 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.path;
+
+import com.ledmington.svg.BoundingBox;
+
+/**
+ * Computes the tight bounding box of normalized path data. The extrema of each cubic curve are found by solving its
+ * derivative, so control points which lie outside of the curve do not enlarge the box. Elliptical arcs are bounded as
+ * precisely as their cubic approximation follows them.
+ */
+final class PathBounds {
+
+    private double minX = Double.POSITIVE_INFINITY;
+    private double minY = Double.POSITIVE_INFINITY;
+    private double maxX = Double.NEGATIVE_INFINITY;
+    private double maxY = Double.NEGATIVE_INFINITY;
+
+    private PathBounds() {}
+
+    /** Returns the bounding box of the given path, which must be normalized. */
+    static BoundingBox of(final PackedPath normalized) {
+        final PathBounds b = new PathBounds();
+        double x = 0.0;
+        double y = 0.0;
+        int j = 0;
+        for (int i = 0; i < normalized.getNumSegments(); i++) {
+            final char command = normalized.getCommand(i);
+            switch (command) {
+                case 'M', 'L' -> {
+                    x = normalized.getCoordinate(j);
+                    y = normalized.getCoordinate(j + 1);
+                    b.add(x, y);
+                }
+                case 'C' -> {
+                    final double x1 = normalized.getCoordinate(j);
+                    final double y1 = normalized.getCoordinate(j + 1);
+                    final double x2 = normalized.getCoordinate(j + 2);
+                    final double y2 = normalized.getCoordinate(j + 3);
+                    final double x3 = normalized.getCoordinate(j + 4);
+                    final double y3 = normalized.getCoordinate(j + 5);
+                    b.addCubic(x, y, x1, y1, x2, y2, x3, y3);
+                    x = x3;
+                    y = y3;
+                }
+                case 'Z' -> {
+                    // goes back to a point which has already been added
+                }
+                default ->
+                    throw new IllegalArgumentException(String.format("Path is not normalized: '%c' command", command));
+            }
+            j += PackedPath.getArity(command);
+        }
+        return new BoundingBox(b.minX, b.minY, b.maxX, b.maxY);
+    }
+
+    private void add(final double x, final double y) {
+        minX = Math.min(minX, x);
+        minY = Math.min(minY, y);
+        maxX = Math.max(maxX, x);
+        maxY = Math.max(maxY, y);
+    }
+
+    private void addCubic(
+            final double x0,
+            final double y0,
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final double x3,
+            final double y3) {
+        add(x3, y3);
+        // the end points are always part of the curve, the control points only if they are extrema
+        if (x1 < minX || x1 > maxX || x2 < minX || x2 > maxX || y1 < minY || y1 > maxY || y2 < minY || y2 > maxY) {
+            addExtrema(x0, y0, x1, y1, x2, y2, x3, y3, true);
+            addExtrema(x0, y0, x1, y1, x2, y2, x3, y3, false);
+        }
+    }
+
+    /** Adds the points of the curve where the derivative of the chosen coordinate is zero. */
+    private void addExtrema(
+            final double x0,
+            final double y0,
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final double x3,
+            final double y3,
+            final boolean alongX) {
+        final double p0 = alongX ? x0 : y0;
+        final double p1 = alongX ? x1 : y1;
+        final double p2 = alongX ? x2 : y2;
+        final double p3 = alongX ? x3 : y3;
+        // B'(t) / 3 = a t^2 + b t + c
+        final double a = -p0 + 3.0 * p1 - 3.0 * p2 + p3;
+        final double b = 2.0 * (p0 - 2.0 * p1 + p2);
+        final double c = p1 - p0;
+        if (a == 0.0) {
+            if (b != 0.0) {
+                addAt(-c / b, x0, y0, x1, y1, x2, y2, x3, y3);
+            }
+            return;
+        }
+        final double discriminant = b * b - 4.0 * a * c;
+        if (discriminant < 0.0) {
+            return;
+        }
+        final double sqrt = Math.sqrt(discriminant);
+        // avoids the cancellation of the textbook formula: when a is tiny, q / a is far outside [0; 1] and c / q is
+        // the accurate root
+        final double q = -0.5 * (b + Math.copySign(sqrt, b));
+        addAt(q / a, x0, y0, x1, y1, x2, y2, x3, y3);
+        if (q != 0.0) {
+            addAt(c / q, x0, y0, x1, y1, x2, y2, x3, y3);
+        }
+    }
+
+    private void addAt(
+            final double t,
+            final double x0,
+            final double y0,
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final double x3,
+            final double y3) {
+        if (!(t > 0.0 && t < 1.0)) {
+            return;
+        }
+        final double s = 1.0 - t;
+        final double b0 = s * s * s;
+        final double b1 = 3.0 * s * s * t;
+        final double b2 = 3.0 * s * t * t;
+        final double b3 = t * t * t;
+        add(b0 * x0 + b1 * x1 + b2 * x2 + b3 * x3, b0 * y0 + b1 * y1 + b2 * y2 + b3 * y3);
+    }
+}
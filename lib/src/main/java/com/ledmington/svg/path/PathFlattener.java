@@ -0,0 +1,486 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.path;
+
+import java.util.Objects;
+
+import com.ledmington.svg.AffineTransform;
+import com.ledmington.util.FloatArray;
+
+/**
+ * Converts path data into polylines whose distance from the true curves is at most a given tolerance, measured after
+ * applying a transformation (usually into pixels on the screen).
+ *
+ * <p>Cubic and quadratic curves (including the smooth ones) are transformed first, which is exact since affine
+ * transformations preserve Bézier curves, and then split in half recursively until each piece is flat enough to be
+ * replaced by its chord. A cubic curve is flat when the bound on its distance from the chord given by its control
+ * points is within the tolerance, so curves get fewer segments the smaller they are on screen. Elliptical arcs are
+ * flattened directly, without going through cubic curves, with the largest angular step whose sagitta on the
+ * transformed ellipse is within the tolerance.
+ *
+ * <p>The flattened points are written as (x, y) pairs into a {@link FloatArray}. Each curve appends all of its points
+ * except the first one, which is the end of the previous segment.
+ */
+public final class PathFlattener {
+
+    /** The default tolerance, in pixels: a quarter of a pixel is not visible, even on the edges of a shape. */
+    public static final double DEFAULT_TOLERANCE = 0.25;
+
+    /** The maximum number of times a curve is split, to bound the work on degenerate input. */
+    static final int MAX_DEPTH = 16;
+
+    /** The largest angle spanned by each segment of an arc, so that even tiny ellipses keep their shape. */
+    private static final double MAX_ARC_STEP = Math.PI / 4.0;
+
+    private final double tolerance;
+    private final AffineTransform transform;
+
+    /** The largest squared flatness of a cubic curve, as computed by {@link #isFlat}. */
+    private final double cubicLimit;
+
+    /** The largest squared distance between the control point of a quadratic curve and the middle of its chord. */
+    private final double quadraticLimit;
+
+    /**
+     * Receives the flattened subpaths of a path. The array is reused for the next subpath, so its content must be
+     * copied to be kept.
+     */
+    @FunctionalInterface
+    public interface SubPathConsumer {
+
+        /**
+         * Receives a flattened subpath, which has at least two points.
+         *
+         * @param points The transformed points of the subpath as (x, y) pairs.
+         * @param closed True if the subpath ends with a 'closepath' command, false otherwise.
+         */
+        void accept(FloatArray points, boolean closed);
+    }
+
+    /**
+     * Creates a new flattener which does not transform the points.
+     *
+     * @param tolerance The maximum distance between the result and the true curves.
+     */
+    public PathFlattener(final double tolerance) {
+        this(tolerance, AffineTransform.IDENTITY);
+    }
+
+    /**
+     * Creates a new flattener.
+     *
+     * @param tolerance The maximum distance between the result and the true curves, after the transformation.
+     * @param transform The transformation applied to all the points.
+     */
+    public PathFlattener(final double tolerance, final AffineTransform transform) {
+        if (!(tolerance > 0.0) || !Double.isFinite(tolerance)) {
+            throw new IllegalArgumentException(String.format("Invalid flatness tolerance: %s", tolerance));
+        }
+        this.tolerance = tolerance;
+        this.transform = Objects.requireNonNull(transform);
+        this.cubicLimit = 16.0 * tolerance * tolerance;
+        this.quadraticLimit = 4.0 * tolerance * tolerance;
+    }
+
+    /**
+     * Returns the maximum distance between the result and the true curves.
+     *
+     * @return The tolerance.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Returns the transformation applied to all the points.
+     *
+     * @return The transformation.
+     */
+    public AffineTransform getTransform() {
+        return transform;
+    }
+
+    /**
+     * Flattens all the subpaths of the given path, in order. Subpaths with a single point are skipped.
+     *
+     * @param path The path to be flattened. It does not need to be normalized.
+     * @param consumer The receiver of the flattened subpaths.
+     */
+    public void flatten(final PackedPath path, final SubPathConsumer consumer) {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(consumer);
+        final Listener listener = new Listener(consumer);
+        path.replay(listener);
+        listener.flush(false);
+    }
+
+    /**
+     * Appends the transformed end point of the given line.
+     *
+     * @param x The x coordinate of the end point.
+     * @param y The y coordinate of the end point.
+     * @param out The array where the point is appended.
+     */
+    public void line(final double x, final double y, final FloatArray out) {
+        out.add((float) transform.transformX(x, y), (float) transform.transformY(x, y));
+    }
+
+    /**
+     * Appends the flattened points of the given cubic Bézier curve.
+     *
+     * @param x0 The x coordinate of the start point.
+     * @param y0 The y coordinate of the start point.
+     * @param x1 The x coordinate of the first control point.
+     * @param y1 The y coordinate of the first control point.
+     * @param x2 The x coordinate of the second control point.
+     * @param y2 The y coordinate of the second control point.
+     * @param x3 The x coordinate of the end point.
+     * @param y3 The y coordinate of the end point.
+     * @param out The array where the points are appended.
+     */
+    public void cubic(
+            final double x0,
+            final double y0,
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final double x3,
+            final double y3,
+            final FloatArray out) {
+        final AffineTransform t = transform;
+        subdivideCubic(
+                t.transformX(x0, y0),
+                t.transformY(x0, y0),
+                t.transformX(x1, y1),
+                t.transformY(x1, y1),
+                t.transformX(x2, y2),
+                t.transformY(x2, y2),
+                t.transformX(x3, y3),
+                t.transformY(x3, y3),
+                0,
+                out);
+    }
+
+    /**
+     * Appends the flattened points of the given quadratic Bézier curve.
+     *
+     * @param x0 The x coordinate of the start point.
+     * @param y0 The y coordinate of the start point.
+     * @param x1 The x coordinate of the control point.
+     * @param y1 The y coordinate of the control point.
+     * @param x2 The x coordinate of the end point.
+     * @param y2 The y coordinate of the end point.
+     * @param out The array where the points are appended.
+     */
+    public void quadratic(
+            final double x0,
+            final double y0,
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final FloatArray out) {
+        final AffineTransform t = transform;
+        subdivideQuadratic(
+                t.transformX(x0, y0),
+                t.transformY(x0, y0),
+                t.transformX(x1, y1),
+                t.transformY(x1, y1),
+                t.transformX(x2, y2),
+                t.transformY(x2, y2),
+                0,
+                out);
+    }
+
+    /**
+     * Appends the flattened points of the given elliptical arc, with the same parameters as the SVG 'A' command. An
+     * arc ending where it starts appends nothing and an arc with a zero radius is a straight line.
+     *
+     * @param x0 The x coordinate of the start point.
+     * @param y0 The y coordinate of the start point.
+     * @param rx The radius along the x axis of the ellipse.
+     * @param ry The radius along the y axis of the ellipse.
+     * @param xAxisRotation The rotation of the ellipse, in degrees.
+     * @param largeArc True to draw the arc spanning more than 180 degrees.
+     * @param sweep True to draw the arc in the direction of positive angles.
+     * @param x The x coordinate of the end point.
+     * @param y The y coordinate of the end point.
+     * @param out The array where the points are appended.
+     */
+    public void arc(
+            final double x0,
+            final double y0,
+            final double rx,
+            final double ry,
+            final double xAxisRotation,
+            final boolean largeArc,
+            final boolean sweep,
+            final double x,
+            final double y,
+            final FloatArray out) {
+        if (x0 == x && y0 == y) {
+            return;
+        }
+        if (rx == 0.0 || ry == 0.0) {
+            line(x, y, out);
+            return;
+        }
+
+        final EllipticalArc arc = EllipticalArc.of(x0, y0, rx, ry, xAxisRotation, largeArc, sweep, x, y);
+        // the transformed ellipse is the image of the unit circle through a map which stretches it by at most this
+        // factor, so the sagitta of each segment is at most this factor times the one on the unit circle
+        final double radius = transform.getMaxScale() * Math.max(arc.rx(), arc.ry());
+        final double step = Math.min(MAX_ARC_STEP, 2.0 * Math.acos(Math.max(-1.0, 1.0 - tolerance / radius)));
+        final int n = (int) Math.min(1 << MAX_DEPTH, Math.max(1.0, Math.ceil(Math.abs(arc.delta()) / step)));
+        for (int i = 1; i < n; i++) {
+            final double angle = arc.theta() + arc.delta() * i / n;
+            line(arc.mapX(Math.cos(angle), Math.sin(angle)), arc.mapY(Math.cos(angle), Math.sin(angle)), out);
+        }
+        // the last point is exactly the end of the arc
+        line(x, y, out);
+    }
+
+    /**
+     * Returns true if the given cubic curve is within the tolerance from its chord. At the same t, the curve differs
+     * from the chord by t(1-t)((1-t)u + tv), where u and v are three times the offsets of the control points from the
+     * points at one third and two thirds of the chord, so each coordinate of the difference is at most a quarter of
+     * the largest one of u and v. NaN coordinates never cause a split.
+     */
+    private boolean isFlat(
+            final double x0,
+            final double y0,
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final double x3,
+            final double y3) {
+        final double ux = 3.0 * x1 - 2.0 * x0 - x3;
+        final double uy = 3.0 * y1 - 2.0 * y0 - y3;
+        final double vx = 3.0 * x2 - x0 - 2.0 * x3;
+        final double vy = 3.0 * y2 - y0 - 2.0 * y3;
+        return !(Math.max(ux * ux, vx * vx) + Math.max(uy * uy, vy * vy) > cubicLimit);
+    }
+
+    private void subdivideCubic(
+            final double x0,
+            final double y0,
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final double x3,
+            final double y3,
+            final int depth,
+            final FloatArray out) {
+        if (depth == MAX_DEPTH || isFlat(x0, y0, x1, y1, x2, y2, x3, y3)) {
+            out.add((float) x3, (float) y3);
+            return;
+        }
+        // de Casteljau's algorithm at t=0.5
+        final double x01 = (x0 + x1) / 2.0;
+        final double y01 = (y0 + y1) / 2.0;
+        final double x12 = (x1 + x2) / 2.0;
+        final double y12 = (y1 + y2) / 2.0;
+        final double x23 = (x2 + x3) / 2.0;
+        final double y23 = (y2 + y3) / 2.0;
+        final double x012 = (x01 + x12) / 2.0;
+        final double y012 = (y01 + y12) / 2.0;
+        final double x123 = (x12 + x23) / 2.0;
+        final double y123 = (y12 + y23) / 2.0;
+        final double mx = (x012 + x123) / 2.0;
+        final double my = (y012 + y123) / 2.0;
+        subdivideCubic(x0, y0, x01, y01, x012, y012, mx, my, depth + 1, out);
+        subdivideCubic(mx, my, x123, y123, x23, y23, x3, y3, depth + 1, out);
+    }
+
+    private void subdivideQuadratic(
+            final double x0,
+            final double y0,
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final int depth,
+            final FloatArray out) {
+        // the largest distance from the chord is half the one between the control point and the middle of the chord
+        final double dx = x1 - (x0 + x2) / 2.0;
+        final double dy = y1 - (y0 + y2) / 2.0;
+        if (depth == MAX_DEPTH || !(dx * dx + dy * dy > quadraticLimit)) {
+            out.add((float) x2, (float) y2);
+            return;
+        }
+        final double x01 = (x0 + x1) / 2.0;
+        final double y01 = (y0 + y1) / 2.0;
+        final double x12 = (x1 + x2) / 2.0;
+        final double y12 = (y1 + y2) / 2.0;
+        final double mx = (x01 + x12) / 2.0;
+        final double my = (y01 + y12) / 2.0;
+        subdivideQuadratic(x0, y0, x01, y01, mx, my, depth + 1, out);
+        subdivideQuadratic(mx, my, x12, y12, x2, y2, depth + 1, out);
+    }
+
+    /** Resolves relative coordinates and smooth curves, as {@link PathNormalizer} does, while flattening. */
+    private final class Listener implements PathListener {
+
+        private final SubPathConsumer consumer;
+        private final FloatArray points = new FloatArray();
+
+        // the current point
+        private double x = 0.0;
+        private double y = 0.0;
+
+        // the initial point of the current subpath
+        private double startX = 0.0;
+        private double startY = 0.0;
+
+        // the control point to be reflected by smooth curves
+        private double controlX = 0.0;
+        private double controlY = 0.0;
+
+        /** 'C' if the last segment was a cubic curve, 'Q' if it was a quadratic one, 0 otherwise. */
+        private char lastCurve = 0;
+
+        Listener(final SubPathConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        void flush(final boolean closed) {
+            if (points.size() >= 4) {
+                consumer.accept(points, closed);
+            }
+            points.clear();
+        }
+
+        private void point(final double x, final double y) {
+            this.x = x;
+            this.y = y;
+            line(x, y, points);
+            lastCurve = 0;
+        }
+
+        private void cubicAbsolute(
+                final double x1, final double y1, final double x2, final double y2, final double x, final double y) {
+            cubic(this.x, this.y, x1, y1, x2, y2, x, y, points);
+            this.x = x;
+            this.y = y;
+            controlX = x2;
+            controlY = y2;
+            lastCurve = 'C';
+        }
+
+        private void quadraticAbsolute(final double x1, final double y1, final double x, final double y) {
+            quadratic(this.x, this.y, x1, y1, x, y, points);
+            this.x = x;
+            this.y = y;
+            controlX = x1;
+            controlY = y1;
+            lastCurve = 'Q';
+        }
+
+        @Override
+        public void moveTo(final double x, final double y, final boolean relative) {
+            flush(false);
+            point(relative ? this.x + x : x, relative ? this.y + y : y);
+            startX = this.x;
+            startY = this.y;
+        }
+
+        @Override
+        public void lineTo(final double x, final double y, final boolean relative) {
+            point(relative ? this.x + x : x, relative ? this.y + y : y);
+        }
+
+        @Override
+        public void horizontalLineTo(final double x, final boolean relative) {
+            point(relative ? this.x + x : x, this.y);
+        }
+
+        @Override
+        public void verticalLineTo(final double y, final boolean relative) {
+            point(this.x, relative ? this.y + y : y);
+        }
+
+        @Override
+        public void cubicTo(
+                final double x1,
+                final double y1,
+                final double x2,
+                final double y2,
+                final double x,
+                final double y,
+                final boolean relative) {
+            final double dx = relative ? this.x : 0.0;
+            final double dy = relative ? this.y : 0.0;
+            cubicAbsolute(x1 + dx, y1 + dy, x2 + dx, y2 + dy, x + dx, y + dy);
+        }
+
+        @Override
+        public void smoothCubicTo(
+                final double x2, final double y2, final double x, final double y, final boolean relative) {
+            final double dx = relative ? this.x : 0.0;
+            final double dy = relative ? this.y : 0.0;
+            final double x1 = lastCurve == 'C' ? 2.0 * this.x - controlX : this.x;
+            final double y1 = lastCurve == 'C' ? 2.0 * this.y - controlY : this.y;
+            cubicAbsolute(x1, y1, x2 + dx, y2 + dy, x + dx, y + dy);
+        }
+
+        @Override
+        public void quadraticTo(
+                final double x1, final double y1, final double x, final double y, final boolean relative) {
+            final double dx = relative ? this.x : 0.0;
+            final double dy = relative ? this.y : 0.0;
+            quadraticAbsolute(x1 + dx, y1 + dy, x + dx, y + dy);
+        }
+
+        @Override
+        public void smoothQuadraticTo(final double x, final double y, final boolean relative) {
+            final double dx = relative ? this.x : 0.0;
+            final double dy = relative ? this.y : 0.0;
+            final double x1 = lastCurve == 'Q' ? 2.0 * this.x - controlX : this.x;
+            final double y1 = lastCurve == 'Q' ? 2.0 * this.y - controlY : this.y;
+            quadraticAbsolute(x1, y1, x + dx, y + dy);
+        }
+
+        @Override
+        public void arcTo(
+                final double rx,
+                final double ry,
+                final double xAxisRotation,
+                final boolean largeArc,
+                final boolean sweep,
+                final double x,
+                final double y,
+                final boolean relative) {
+            final double x1 = relative ? this.x + x : x;
+            final double y1 = relative ? this.y + y : y;
+            arc(this.x, this.y, rx, ry, xAxisRotation, largeArc, sweep, x1, y1, points);
+            this.x = x1;
+            this.y = y1;
+            lastCurve = 0;
+        }
+
+        @Override
+        public void closePath() {
+            flush(true);
+            // the next subpath starts where this one started
+            point(startX, startY);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.path;
+
+/**
+ * A receiver of the commands of SVG path data, as they are parsed. Coordinates are reported exactly as they appear in
+ * the path data: relative commands are not converted to absolute ones.
+ *
+ * <p>The coordinate pairs following the first one of a 'moveto' command are reported as 'lineto' commands, as
+ * mandated by the specification. A command following a 'closepath' without an explicit 'moveto' is preceded by a
+ * relative 'moveto' to (0; 0), since after a 'closepath' the current point is the initial point of the subpath.
+ *
+ * <p>All methods do nothing by default, so implementations only need to override the events they are interested in.
+ */
+public interface PathListener {
+
+    /**
+     * Called at the start of every command, before its arguments are reported. Repeated arguments of the same command
+     * do not produce additional calls.
+     *
+     * @param command The letter of the command.
+     */
+    default void command(final char command) {}
+
+    /**
+     * A 'moveto' command.
+     *
+     * @param x The x coordinate of the new current point.
+     * @param y The y coordinate of the new current point.
+     * @param relative True if the coordinates are relative to the current point.
+     */
+    default void moveTo(final double x, final double y, final boolean relative) {}
+
+    /**
+     * A 'lineto' command.
+     *
+     * @param x The x coordinate of the end point.
+     * @param y The y coordinate of the end point.
+     * @param relative True if the coordinates are relative to the current point.
+     */
+    default void lineTo(final double x, final double y, final boolean relative) {}
+
+    /**
+     * A horizontal 'lineto' command.
+     *
+     * @param x The x coordinate of the end point.
+     * @param relative True if the coordinate is relative to the current point.
+     */
+    default void horizontalLineTo(final double x, final boolean relative) {}
+
+    /**
+     * A vertical 'lineto' command.
+     *
+     * @param y The y coordinate of the end point.
+     * @param relative True if the coordinate is relative to the current point.
+     */
+    default void verticalLineTo(final double y, final boolean relative) {}
+
+    /**
+     * A cubic Bezier curve command.
+     *
+     * @param x1 The x coordinate of the first control point.
+     * @param y1 The y coordinate of the first control point.
+     * @param x2 The x coordinate of the second control point.
+     * @param y2 The y coordinate of the second control point.
+     * @param x The x coordinate of the end point.
+     * @param y The y coordinate of the end point.
+     * @param relative True if the coordinates are relative to the current point.
+     */
+    default void cubicTo(
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final double x,
+            final double y,
+            final boolean relative) {}
+
+    /**
+     * A smooth cubic Bezier curve command, whose first control point is the reflection of the previous one.
+     *
+     * @param x2 The x coordinate of the second control point.
+     * @param y2 The y coordinate of the second control point.
+     * @param x The x coordinate of the end point.
+     * @param y The y coordinate of the end point.
+     * @param relative True if the coordinates are relative to the current point.
+     */
+    default void smoothCubicTo(
+            final double x2, final double y2, final double x, final double y, final boolean relative) {}
+
+    /**
+     * A quadratic Bezier curve command.
+     *
+     * @param x1 The x coordinate of the control point.
+     * @param y1 The y coordinate of the control point.
+     * @param x The x coordinate of the end point.
+     * @param y The y coordinate of the end point.
+     * @param relative True if the coordinates are relative to the current point.
+     */
+    default void quadraticTo(
+            final double x1, final double y1, final double x, final double y, final boolean relative) {}
+
+    /**
+     * A smooth quadratic Bezier curve command, whose control point is the reflection of the previous one.
+     *
+     * @param x The x coordinate of the end point.
+     * @param y The y coordinate of the end point.
+     * @param relative True if the coordinates are relative to the current point.
+     */
+    default void smoothQuadraticTo(final double x, final double y, final boolean relative) {}
+
+    /**
+     * An elliptical arc command.
+     *
+     * @param rx The radius of the ellipse on the x axis.
+     * @param ry The radius of the ellipse on the y axis.
+     * @param xAxisRotation The rotation of the ellipse in degrees.
+     * @param largeArc True to draw the larger of the two possible arcs.
+     * @param sweep True to draw the arc in the positive-angle direction.
+     * @param x The x coordinate of the end point.
+     * @param y The y coordinate of the end point.
+     * @param relative True if the coordinates are relative to the current point.
+     */
+    default void arcTo(
+            final double rx,
+            final double ry,
+            final double xAxisRotation,
+            final boolean largeArc,
+            final boolean sweep,
+            final double x,
+            final double y,
+            final boolean relative) {}
+
+    /** A 'closepath' command, which ends the current subpath. */
+    default void closePath() {}
+}
@@ -0,0 +1,244 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.path;
+
+import java.util.Objects;
+
+/**
+ * Converts path data into its canonical form, which uses only absolute 'moveto' (M), 'lineto' (L), cubic Bézier (C)
+ * and 'closepath' (Z) commands. Relative coordinates are resolved, horizontal and vertical lines become lines, smooth
+ * curves get their reflected control points, quadratic curves are elevated to cubic ones and elliptical arcs are
+ * approximated with cubic curves spanning at most {@value #MAX_ARC_SEGMENT_DEGREES} degrees each.
+ *
+ * <p>In the normalized form, each 'moveto' has exactly one segment and the following segments of the same kind are
+ * reported as a single command, so every segment can be processed knowing only its own letter.
+ */
+final class PathNormalizer implements PathListener {
+
+    /** The maximum angle, in degrees, spanned by each cubic curve approximating an elliptical arc. */
+    static final int MAX_ARC_SEGMENT_DEGREES = 45;
+
+    private static final double MAX_ARC_SEGMENT = Math.toRadians(MAX_ARC_SEGMENT_DEGREES);
+
+    private final PackedPathBuilder out = new PackedPathBuilder();
+
+    /** The letter of the last emitted command. */
+    private char emitted = 0;
+
+    // the current point
+    private double x = 0.0;
+    private double y = 0.0;
+
+    // the initial point of the current subpath
+    private double startX = 0.0;
+    private double startY = 0.0;
+
+    /**
+     * The second control point of the last segment, if it was a cubic curve, or its only control point, if it was a
+     * quadratic one. It is used to compute the reflected control point of smooth curves.
+     */
+    private double controlX = 0.0;
+
+    private double controlY = 0.0;
+
+    /** 'C' if the last segment was a cubic curve, 'Q' if it was a quadratic one, 0 otherwise. */
+    private char lastCurve = 0;
+
+    private PathNormalizer() {}
+
+    /** Returns the normalized form of the given path. */
+    static PackedPath normalize(final PackedPath path) {
+        Objects.requireNonNull(path);
+        final PathNormalizer normalizer = new PathNormalizer();
+        path.replay(normalizer);
+        return normalizer.out.build();
+    }
+
+    private void emit(final char command) {
+        if (command != emitted || command == 'M' || command == 'Z') {
+            out.command(command);
+            emitted = command;
+        }
+    }
+
+    private void line(final double x, final double y) {
+        emit('L');
+        out.lineTo(x, y, false);
+        this.x = x;
+        this.y = y;
+        lastCurve = 0;
+    }
+
+    private void cubic(
+            final double x1, final double y1, final double x2, final double y2, final double x, final double y) {
+        emit('C');
+        out.cubicTo(x1, y1, x2, y2, x, y, false);
+        this.x = x;
+        this.y = y;
+        controlX = x2;
+        controlY = y2;
+        lastCurve = 'C';
+    }
+
+    /** Emits the given quadratic curve, starting at the current point, as the equivalent cubic one. */
+    private void quadratic(final double qx, final double qy, final double x, final double y) {
+        cubic(
+                this.x + 2.0 / 3.0 * (qx - this.x),
+                this.y + 2.0 / 3.0 * (qy - this.y),
+                x + 2.0 / 3.0 * (qx - x),
+                y + 2.0 / 3.0 * (qy - y),
+                x,
+                y);
+        controlX = qx;
+        controlY = qy;
+        lastCurve = 'Q';
+    }
+
+    @Override
+    public void moveTo(final double x, final double y, final boolean relative) {
+        emit('M');
+        this.x = relative ? this.x + x : x;
+        this.y = relative ? this.y + y : y;
+        out.moveTo(this.x, this.y, false);
+        startX = this.x;
+        startY = this.y;
+        lastCurve = 0;
+    }
+
+    @Override
+    public void lineTo(final double x, final double y, final boolean relative) {
+        line(relative ? this.x + x : x, relative ? this.y + y : y);
+    }
+
+    @Override
+    public void horizontalLineTo(final double x, final boolean relative) {
+        line(relative ? this.x + x : x, this.y);
+    }
+
+    @Override
+    public void verticalLineTo(final double y, final boolean relative) {
+        line(this.x, relative ? this.y + y : y);
+    }
+
+    @Override
+    public void cubicTo(
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final double x,
+            final double y,
+            final boolean relative) {
+        final double dx = relative ? this.x : 0.0;
+        final double dy = relative ? this.y : 0.0;
+        cubic(x1 + dx, y1 + dy, x2 + dx, y2 + dy, x + dx, y + dy);
+    }
+
+    @Override
+    public void smoothCubicTo(
+            final double x2, final double y2, final double x, final double y, final boolean relative) {
+        final double dx = relative ? this.x : 0.0;
+        final double dy = relative ? this.y : 0.0;
+        // without a previous cubic curve, the first control point is the current point
+        final double x1 = lastCurve == 'C' ? 2.0 * this.x - controlX : this.x;
+        final double y1 = lastCurve == 'C' ? 2.0 * this.y - controlY : this.y;
+        cubic(x1, y1, x2 + dx, y2 + dy, x + dx, y + dy);
+    }
+
+    @Override
+    public void quadraticTo(final double x1, final double y1, final double x, final double y, final boolean relative) {
+        final double dx = relative ? this.x : 0.0;
+        final double dy = relative ? this.y : 0.0;
+        quadratic(x1 + dx, y1 + dy, x + dx, y + dy);
+    }
+
+    @Override
+    public void smoothQuadraticTo(final double x, final double y, final boolean relative) {
+        final double dx = relative ? this.x : 0.0;
+        final double dy = relative ? this.y : 0.0;
+        // without a previous quadratic curve, the control point is the current point
+        final double qx = lastCurve == 'Q' ? 2.0 * this.x - controlX : this.x;
+        final double qy = lastCurve == 'Q' ? 2.0 * this.y - controlY : this.y;
+        quadratic(qx, qy, x + dx, y + dy);
+    }
+
+    /** Approximates the given elliptical arc with cubic curves. */
+    @Override
+    public void arcTo(
+            final double rx,
+            final double ry,
+            final double xAxisRotation,
+            final boolean largeArc,
+            final boolean sweep,
+            final double x,
+            final double y,
+            final boolean relative) {
+        final double x0 = this.x;
+        final double y0 = this.y;
+        final double x1 = relative ? x0 + x : x;
+        final double y1 = relative ? y0 + y : y;
+        if (x0 == x1 && y0 == y1) {
+            // an arc ending where it starts is omitted
+            lastCurve = 0;
+            return;
+        }
+        if (rx == 0.0 || ry == 0.0) {
+            line(x1, y1);
+            return;
+        }
+
+        final EllipticalArc arc = EllipticalArc.of(x0, y0, rx, ry, xAxisRotation, largeArc, sweep, x1, y1);
+        final double delta = arc.delta();
+        final int n = Math.max(1, (int) Math.ceil(Math.abs(delta) / MAX_ARC_SEGMENT - 1e-9));
+        final double step = delta / n;
+        // distance of the control points along the tangents, for a unit circle
+        final double k = 4.0 / 3.0 * Math.tan(step / 4.0);
+        for (int i = 0; i < n; i++) {
+            final double t1 = arc.theta() + i * step;
+            final double t2 = t1 + step;
+            final double c1 = Math.cos(t1);
+            final double s1 = Math.sin(t1);
+            final double c2 = Math.cos(t2);
+            final double s2 = Math.sin(t2);
+
+            final double e1x = c1 - k * s1;
+            final double e1y = s1 + k * c1;
+            final double e2x = c2 + k * s2;
+            final double e2y = s2 - k * c2;
+            final boolean last = i == n - 1;
+            cubic(
+                    arc.mapX(e1x, e1y),
+                    arc.mapY(e1x, e1y),
+                    arc.mapX(e2x, e2y),
+                    arc.mapY(e2x, e2y),
+                    // the end point of the last curve is exactly the one of the arc
+                    last ? x1 : arc.mapX(c2, s2),
+                    last ? y1 : arc.mapY(c2, s2));
+        }
+        lastCurve = 0;
+    }
+
+    @Override
+    public void closePath() {
+        emit('Z');
+        out.closePath();
+        x = startX;
+        y = startY;
+        lastCurve = 0;
+    }
+}
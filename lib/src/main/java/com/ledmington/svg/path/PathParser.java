@@ -0,0 +1,217 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.path;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.ledmington.util.PathTokenizer;
+
+/**
+ * A parser of the content of the 'd' attribute of a 'path' element. Official grammar available <a
+ * href="https://www.w3.org/TR/SVG2/paths.html#PathDataBNF">here</a>.
+ */
+public final class PathParser {
+
+    private static final String COMMANDS = "mMlLhHvVcCsSqQtTaAzZ";
+
+    private PathParser() {}
+
+    /**
+     * Parses the given range of path data into a list of subpaths.
+     *
+     * @param data The array containing the path data, as ASCII bytes.
+     * @param start The index of the first byte of the path data (inclusive).
+     * @param end The index of the last byte of the path data (exclusive).
+     * @return The list of subpaths, which is empty if the path data is empty.
+     * @throws IllegalArgumentException If the path data is not valid.
+     */
+    public static List<SubPath> parse(final byte[] data, final int start, final int end) {
+        final SubPathBuilder builder = new SubPathBuilder();
+        parse(data, start, end, builder);
+        return builder.build();
+    }
+
+    /**
+     * Parses the given range of path data into its packed representation.
+     *
+     * @param data The array containing the path data, as ASCII bytes.
+     * @param start The index of the first byte of the path data (inclusive).
+     * @param end The index of the last byte of the path data (exclusive).
+     * @return The packed path, which is empty if the path data is empty.
+     * @throws IllegalArgumentException If the path data is not valid.
+     */
+    public static PackedPath parsePacked(final byte[] data, final int start, final int end) {
+        final PackedPathBuilder builder = new PackedPathBuilder();
+        parse(data, start, end, builder);
+        return builder.build();
+    }
+
+    /**
+     * Parses the given range of path data, reporting each command to the given listener as soon as it is read. If the
+     * path data is not valid, the listener may receive some commands before the exception is thrown.
+     *
+     * @param data The array containing the path data, as ASCII bytes.
+     * @param start The index of the first byte of the path data (inclusive).
+     * @param end The index of the last byte of the path data (exclusive).
+     * @param listener The receiver of the commands.
+     * @throws IllegalArgumentException If the path data is not valid.
+     */
+    public static void parse(final byte[] data, final int start, final int end, final PathListener listener) {
+        Objects.requireNonNull(listener);
+        final PathTokenizer it = new PathTokenizer(data, start, end);
+
+        it.skipWhitespace();
+        if (!it.hasNext()) {
+            return;
+        }
+        if (it.current() != 'm' && it.current() != 'M') {
+            throw it.error("Invalid path data: must start with 'm' or 'M'");
+        }
+
+        boolean closed = false;
+        while (it.hasNext()) {
+            final char curr = it.current();
+            if (COMMANDS.indexOf(curr) == -1) {
+                throw it.error("Expected a path command");
+            }
+            it.nextCommand();
+            if (curr != 'z' && curr != 'Z' && !it.isNumberStart()) {
+                throw it.error(String.format("Expected the arguments of the '%c' command", curr));
+            }
+
+            if (closed && curr != 'm' && curr != 'M') {
+                // After a 'closepath', the current point is the initial point of the previous subpath, so a subpath
+                // without an explicit 'moveto' starts there.
+                listener.command('m');
+                listener.moveTo(0.0, 0.0, true);
+            }
+            closed = false;
+
+            listener.command(curr);
+            final boolean isRelative = Character.isLowerCase(curr);
+            switch (curr) {
+                case 'm', 'M' -> parseMoveTo(it, listener, isRelative);
+                case 'l', 'L' -> parseLineTo(it, listener, isRelative);
+                case 'h', 'H' -> parseHorizontalLineTo(it, listener, isRelative);
+                case 'v', 'V' -> parseVerticalLineTo(it, listener, isRelative);
+                case 'c', 'C' -> parseCubicBezier(it, listener, isRelative);
+                case 's', 'S' -> parseSmoothCubicBezier(it, listener, isRelative);
+                case 'q', 'Q' -> parseQuadraticBezier(it, listener, isRelative);
+                case 't', 'T' -> parseSmoothQuadraticBezier(it, listener, isRelative);
+                case 'a', 'A' -> parseArc(it, listener, isRelative);
+                default -> {
+                    listener.closePath();
+                    closed = true;
+                }
+            }
+        }
+    }
+
+    private static void parseArc(final PathTokenizer it, final PathListener listener, final boolean isRelative) {
+        while (it.isNumberStart()) {
+            final double rx = it.nextNumber();
+            final double ry = it.nextNumber();
+            final double xAxisRotation = it.nextNumber();
+            final boolean largeArc = it.nextFlag();
+            final boolean sweep = it.nextFlag();
+            final double x = it.nextNumber();
+            final double y = it.nextNumber();
+            listener.arcTo(rx, ry, xAxisRotation, largeArc, sweep, x, y, isRelative);
+        }
+    }
+
+    private static void parseSmoothQuadraticBezier(
+            final PathTokenizer it, final PathListener listener, final boolean isRelative) {
+        while (it.isNumberStart()) {
+            final double x = it.nextNumber();
+            final double y = it.nextNumber();
+            listener.smoothQuadraticTo(x, y, isRelative);
+        }
+    }
+
+    private static void parseQuadraticBezier(
+            final PathTokenizer it, final PathListener listener, final boolean isRelative) {
+        while (it.isNumberStart()) {
+            final double x1 = it.nextNumber();
+            final double y1 = it.nextNumber();
+            final double x = it.nextNumber();
+            final double y = it.nextNumber();
+            listener.quadraticTo(x1, y1, x, y, isRelative);
+        }
+    }
+
+    private static void parseSmoothCubicBezier(
+            final PathTokenizer it, final PathListener listener, final boolean isRelative) {
+        while (it.isNumberStart()) {
+            final double x2 = it.nextNumber();
+            final double y2 = it.nextNumber();
+            final double x = it.nextNumber();
+            final double y = it.nextNumber();
+            listener.smoothCubicTo(x2, y2, x, y, isRelative);
+        }
+    }
+
+    private static void parseCubicBezier(
+            final PathTokenizer it, final PathListener listener, final boolean isRelative) {
+        while (it.isNumberStart()) {
+            final double x1 = it.nextNumber();
+            final double y1 = it.nextNumber();
+            final double x2 = it.nextNumber();
+            final double y2 = it.nextNumber();
+            final double x = it.nextNumber();
+            final double y = it.nextNumber();
+            listener.cubicTo(x1, y1, x2, y2, x, y, isRelative);
+        }
+    }
+
+    private static void parseMoveTo(final PathTokenizer it, final PathListener listener, final boolean isRelative) {
+        final double x0 = it.nextNumber();
+        final double y0 = it.nextNumber();
+        listener.moveTo(x0, y0, isRelative);
+
+        // the pairs after the first one are implicit 'lineto' commands
+        while (it.isNumberStart()) {
+            final double x = it.nextNumber();
+            final double y = it.nextNumber();
+            listener.lineTo(x, y, isRelative);
+        }
+    }
+
+    private static void parseLineTo(final PathTokenizer it, final PathListener listener, final boolean isRelative) {
+        while (it.isNumberStart()) {
+            final double x = it.nextNumber();
+            final double y = it.nextNumber();
+            listener.lineTo(x, y, isRelative);
+        }
+    }
+
+    private static void parseHorizontalLineTo(
+            final PathTokenizer it, final PathListener listener, final boolean isRelative) {
+        while (it.isNumberStart()) {
+            listener.horizontalLineTo(it.nextNumber(), isRelative);
+        }
+    }
+
+    private static void parseVerticalLineTo(
+            final PathTokenizer it, final PathListener listener, final boolean isRelative) {
+        while (it.isNumberStart()) {
+            listener.verticalLineTo(it.nextNumber(), isRelative);
+        }
+    }
+}
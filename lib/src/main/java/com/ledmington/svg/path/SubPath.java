@@ -31,6 +31,9 @@ public final class SubPath implements Element {
 
     private final List<PathElement> elements;
 
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
     /**
      * Creates a new SVGSubPath with the given list of path elements, which must not be empty.
      *
@@ -90,6 +93,12 @@ public final class SubPath implements Element {
 
     @Override
     public int hashCode() {
-        return 31 * 17 + elements.hashCode();
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + elements.hashCode();
+            cachedHashCode = h;
+        }
+        return h;
     }
 }
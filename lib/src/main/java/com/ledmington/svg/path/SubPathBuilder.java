@@ -0,0 +1,173 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link PathListener} which collects the parsed commands into {@link SubPath} objects, grouping the arguments of
+ * each command into a single {@link PathElement}.
+ */
+final class SubPathBuilder implements PathListener {
+
+    private final List<SubPath> subpaths = new ArrayList<>();
+    private final List<PathElement> elements = new ArrayList<>();
+
+    private char command = 0;
+    private final List<Point> points = new ArrayList<>();
+    private double[] values = new double[16];
+    private int numValues = 0;
+    private final List<CubicBezierElement> cubics = new ArrayList<>();
+    private final List<SmoothCubicBezierElement> smoothCubics = new ArrayList<>();
+    private final List<QuadraticBezierElement> quadratics = new ArrayList<>();
+    private final List<SmoothQuadraticBezierElement> smoothQuadratics = new ArrayList<>();
+    private final List<ArcElement> arcs = new ArrayList<>();
+
+    SubPathBuilder() {}
+
+    @Override
+    public void command(final char command) {
+        flush();
+        if ((command == 'm' || command == 'M') && !elements.isEmpty()) {
+            endSubPath();
+        }
+        this.command = command;
+    }
+
+    @Override
+    public void moveTo(final double x, final double y, final boolean relative) {
+        points.add(new Point(x, y));
+    }
+
+    @Override
+    public void lineTo(final double x, final double y, final boolean relative) {
+        // also receives the implicit 'lineto' commands of a 'moveto'
+        points.add(new Point(x, y));
+    }
+
+    @Override
+    public void horizontalLineTo(final double x, final boolean relative) {
+        addValue(x);
+    }
+
+    @Override
+    public void verticalLineTo(final double y, final boolean relative) {
+        addValue(y);
+    }
+
+    @Override
+    public void cubicTo(
+            final double x1,
+            final double y1,
+            final double x2,
+            final double y2,
+            final double x,
+            final double y,
+            final boolean relative) {
+        cubics.add(new CubicBezierElement(new Point(x1, y1), new Point(x2, y2), new Point(x, y)));
+    }
+
+    @Override
+    public void smoothCubicTo(
+            final double x2, final double y2, final double x, final double y, final boolean relative) {
+        smoothCubics.add(new SmoothCubicBezierElement(new Point(x2, y2), new Point(x, y)));
+    }
+
+    @Override
+    public void quadraticTo(final double x1, final double y1, final double x, final double y, final boolean relative) {
+        quadratics.add(new QuadraticBezierElement(new Point(x1, y1), new Point(x, y)));
+    }
+
+    @Override
+    public void smoothQuadraticTo(final double x, final double y, final boolean relative) {
+        smoothQuadratics.add(new SmoothQuadraticBezierElement(new Point(x, y)));
+    }
+
+    @Override
+    public void arcTo(
+            final double rx,
+            final double ry,
+            final double xAxisRotation,
+            final boolean largeArc,
+            final boolean sweep,
+            final double x,
+            final double y,
+            final boolean relative) {
+        arcs.add(new ArcElement(rx, ry, xAxisRotation, largeArc ? 1.0 : 0.0, sweep ? 1.0 : 0.0, x, y));
+    }
+
+    @Override
+    public void closePath() {
+        // 'closepath' is not stored: it just ends the subpath
+        endSubPath();
+    }
+
+    /**
+     * Returns the subpaths built so far.
+     *
+     * @return The list of subpaths.
+     */
+    List<SubPath> build() {
+        flush();
+        if (!elements.isEmpty()) {
+            endSubPath();
+        }
+        return subpaths;
+    }
+
+    private void addValue(final double v) {
+        if (numValues == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[numValues++] = v;
+    }
+
+    private void endSubPath() {
+        subpaths.add(new SubPath(new ArrayList<>(elements)));
+        elements.clear();
+    }
+
+    /** Adds the element of the current command, if any. */
+    private void flush() {
+        final boolean isRelative = Character.isLowerCase(command);
+        switch (command) {
+            case 'm', 'M' -> elements.add(new MoveTo(isRelative, new ArrayList<>(points)));
+            case 'l', 'L' -> elements.add(new LineTo(isRelative, new ArrayList<>(points)));
+            case 'h', 'H' -> elements.add(new HorizontalLineTo(isRelative, Arrays.copyOf(values, numValues)));
+            case 'v', 'V' -> elements.add(new VerticalLineTo(isRelative, Arrays.copyOf(values, numValues)));
+            case 'c', 'C' -> elements.add(new CubicBezier(isRelative, new ArrayList<>(cubics)));
+            case 's', 'S' -> elements.add(new SmoothCubicBezier(isRelative, new ArrayList<>(smoothCubics)));
+            case 'q', 'Q' -> elements.add(new QuadraticBezier(isRelative, new ArrayList<>(quadratics)));
+            case 't', 'T' -> elements.add(new SmoothQuadraticBezier(isRelative, new ArrayList<>(smoothQuadratics)));
+            case 'a', 'A' -> elements.add(new Arc(isRelative, new ArrayList<>(arcs)));
+            default -> {
+                // no command yet, or 'closepath'
+            }
+        }
+        command = 0;
+        points.clear();
+        numValues = 0;
+        cubics.clear();
+        smoothCubics.clear();
+        quadratics.clear();
+        smoothQuadratics.clear();
+        arcs.clear();
+    }
+}
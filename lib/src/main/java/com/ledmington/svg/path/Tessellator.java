@@ -0,0 +1,427 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.path;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.ledmington.svg.FillRule;
+import com.ledmington.util.FloatArray;
+import com.ledmington.util.IntArray;
+
+/**
+ * Converts the filled area of a set of closed polygons into triangles. The polygons may be concave, cross themselves
+ * and each other, and have holes: which points are filled is decided by the {@link FillRule}.
+ *
+ * <p>The area is swept from top to bottom and cut into horizontal bands at the y coordinate of each vertex and of each
+ * crossing of two edges, so that inside a band the edges never cross and the filled spans between them are
+ * trapezoids. A span stays open while it is bounded by the same two edges, so each trapezoid is as tall as possible
+ * and the number of triangles grows with the number of vertices and crossings, not with the number of bands. Each
+ * trapezoid becomes two triangles, whose vertices are shared with the neighbouring ones at the vertices of the
+ * polygons and along each edge.
+ *
+ * <p>Sorting the vertices takes O(n log n) time, while the active edges of consecutive bands are almost in the same
+ * order and are sorted again in linear time, so outlines of glyphs and icons, which have few edges crossing any
+ * horizontal line, are tessellated in O(n log n) time overall.
+ *
+ * <p>A tessellator can be reused: {@link #clear()} removes all the polygons but keeps the allocated memory.
+ */
+public final class Tessellator {
+
+    /**
+     * The relative distance below which two edges are considered to touch instead of crossing, so that rounding errors
+     * do not create bands thinner than the precision of the coordinates.
+     */
+    private static final double EPSILON = 1e-9;
+
+    // the edges, from their top end (smallest y) to their bottom end
+    private double[] topX = new double[16];
+    private double[] topY = new double[16];
+    private double[] bottomY = new double[16];
+    private double[] slope = new double[16];
+
+    /** +1 for edges going downwards in their polygon, -1 for the ones going upwards. */
+    private int[] direction = new int[16];
+
+    // the vertices of the polygons at the ends of each edge, which are shared with the adjacent edge
+    private int[] topCorner = new int[16];
+    private int[] bottomCorner = new int[16];
+
+    private int numEdges = 0;
+    private int numCorners = 0;
+
+    /** Creates a new tessellator without polygons. */
+    public Tessellator() {}
+
+    /**
+     * Adds the closed polygon with the given vertices. The last vertex is connected to the first one. Edges with NaN
+     * or infinite coordinates are ignored.
+     *
+     * @param points The vertices of the polygon, as (x, y) pairs.
+     */
+    public void addContour(final FloatArray points) {
+        Objects.requireNonNull(points);
+        final int n = points.size() / 2;
+        for (int i = 0; i < n; i++) {
+            final int j = i + 1 < n ? i + 1 : 0;
+            addEdge(
+                    points.get(2 * i),
+                    points.get(2 * i + 1),
+                    points.get(2 * j),
+                    points.get(2 * j + 1),
+                    numCorners + i,
+                    numCorners + j);
+        }
+        numCorners += n;
+    }
+
+    /**
+     * Adds the closed polygon with the given vertices. The last vertex is connected to the first one. Edges with NaN
+     * or infinite coordinates are ignored.
+     *
+     * @param points The array containing the vertices of the polygon, as (x, y) pairs.
+     * @param offset The index of the x coordinate of the first vertex.
+     * @param length The number of coordinates, which is twice the number of vertices.
+     */
+    public void addContour(final float[] points, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, points.length);
+        if (length % 2 != 0) {
+            throw new IllegalArgumentException(String.format("Odd number of coordinates: %,d", length));
+        }
+        final int n = length / 2;
+        for (int i = 0; i < n; i++) {
+            final int j = i + 1 < n ? i + 1 : 0;
+            addEdge(
+                    points[offset + 2 * i],
+                    points[offset + 2 * i + 1],
+                    points[offset + 2 * j],
+                    points[offset + 2 * j + 1],
+                    numCorners + i,
+                    numCorners + j);
+        }
+        numCorners += n;
+    }
+
+    private void addEdge(
+            final double x0, final double y0, final double x1, final double y1, final int corner0, final int corner1) {
+        // horizontal edges do not change the winding number of any point
+        if (y0 == y1 || !Double.isFinite(x0 + y0 + x1 + y1)) {
+            return;
+        }
+        if (numEdges == topX.length) {
+            final int capacity = 2 * numEdges;
+            topX = Arrays.copyOf(topX, capacity);
+            topY = Arrays.copyOf(topY, capacity);
+            bottomY = Arrays.copyOf(bottomY, capacity);
+            slope = Arrays.copyOf(slope, capacity);
+            direction = Arrays.copyOf(direction, capacity);
+            topCorner = Arrays.copyOf(topCorner, capacity);
+            bottomCorner = Arrays.copyOf(bottomCorner, capacity);
+        }
+        final boolean down = y0 < y1;
+        topX[numEdges] = down ? x0 : x1;
+        topY[numEdges] = down ? y0 : y1;
+        bottomY[numEdges] = down ? y1 : y0;
+        slope[numEdges] = (x1 - x0) / (y1 - y0);
+        direction[numEdges] = down ? 1 : -1;
+        topCorner[numEdges] = down ? corner0 : corner1;
+        bottomCorner[numEdges] = down ? corner1 : corner0;
+        numEdges++;
+    }
+
+    /** Removes all the polygons. */
+    public void clear() {
+        numEdges = 0;
+        numCorners = 0;
+    }
+
+    private double x(final int edge, final double y) {
+        return topX[edge] + slope[edge] * (y - topY[edge]);
+    }
+
+    /**
+     * Triangulates the area filled by all the polygons added so far.
+     *
+     * @param rule Which points are filled.
+     * @return A new Triangulation.
+     */
+    public Triangulation tessellate(final FillRule rule) {
+        Objects.requireNonNull(rule);
+        return new Sweep(rule).run();
+    }
+
+    /** The state of a single sweep over the edges. */
+    private final class Sweep {
+
+        private final FillRule rule;
+        private final FloatArray vertices;
+        private final IntArray indices;
+
+        /** The edges sorted by their top end. */
+        private final int[] byTop;
+
+        /** The edges crossing the current band, sorted from left to right. */
+        private final int[] active;
+
+        private int numActive = 0;
+
+        // the x coordinate of each active edge at the top and at the bottom of the current band
+        private final double[] xTop;
+        private final double[] xBottom;
+
+        /** The vertex created at each corner of the polygons, or -1. */
+        private final int[] cornerVertex;
+
+        // the last vertex created on each edge
+        private final double[] edgeVertexY;
+        private final int[] edgeVertex;
+
+        // the open spans, each one bounded by two edges since the given y coordinate
+        private int[] spanLeft;
+        private int[] spanRight;
+        private double[] spanTop;
+        private int numSpans = 0;
+
+        // the spans of the band being processed
+        private int[] nextLeft;
+        private int[] nextRight;
+        private double[] nextTop;
+        private int numNext = 0;
+
+        /** The index of the open span whose left edge is the given one, or -1. */
+        private final int[] spanOfLeft;
+
+        Sweep(final FillRule rule) {
+            this.rule = rule;
+            // a trapezoid has four vertices and two triangles, and there are about as many trapezoids as edges
+            this.vertices = new FloatArray(8 * numEdges);
+            this.indices = new IntArray(6 * numEdges);
+
+            // the coordinates come from floats, so the top of an edge fits in 32 bits together with its index
+            final long[] keys = new long[numEdges];
+            for (int e = 0; e < numEdges; e++) {
+                final int bits = Float.floatToRawIntBits((float) topY[e]);
+                // flips the order of negative values, so that the integers are sorted as the floats
+                final int sortable = bits ^ ((bits >> 31) & 0x7fffffff);
+                keys[e] = ((long) sortable << 32) | e;
+            }
+            Arrays.sort(keys);
+            this.byTop = new int[numEdges];
+            for (int i = 0; i < numEdges; i++) {
+                byTop[i] = (int) keys[i];
+            }
+
+            this.active = new int[numEdges];
+            this.xTop = new double[numEdges];
+            this.xBottom = new double[numEdges];
+            this.cornerVertex = new int[numCorners];
+            Arrays.fill(cornerVertex, -1);
+            this.edgeVertexY = new double[numEdges];
+            Arrays.fill(edgeVertexY, Double.NaN);
+            this.edgeVertex = new int[numEdges];
+
+            // each span has a different left edge
+            this.spanLeft = new int[numEdges];
+            this.spanRight = new int[numEdges];
+            this.spanTop = new double[numEdges];
+            this.nextLeft = new int[numEdges];
+            this.nextRight = new int[numEdges];
+            this.nextTop = new double[numEdges];
+            this.spanOfLeft = new int[numEdges];
+            Arrays.fill(spanOfLeft, -1);
+        }
+
+        Triangulation run() {
+            int next = 0;
+            double y0 = numEdges > 0 ? topY[byTop[0]] : 0.0;
+            while (true) {
+                // edges ending at the top of this band are not needed anymore
+                int k = 0;
+                for (int i = 0; i < numActive; i++) {
+                    if (bottomY[active[i]] > y0) {
+                        active[k++] = active[i];
+                    }
+                }
+                numActive = k;
+                while (next < numEdges && topY[byTop[next]] <= y0) {
+                    active[numActive++] = byTop[next++];
+                }
+
+                if (numActive == 0) {
+                    // nothing is filled until the next edge starts
+                    updateSpans(y0);
+                    if (next == numEdges) {
+                        break;
+                    }
+                    y0 = topY[byTop[next]];
+                    continue;
+                }
+
+                // the band ends at the next vertex, or earlier if two edges cross
+                double y1 = next < numEdges ? topY[byTop[next]] : Double.POSITIVE_INFINITY;
+                for (int i = 0; i < numActive; i++) {
+                    y1 = Math.min(y1, bottomY[active[i]]);
+                }
+                while (true) {
+                    final double crossing = sortActive(y0, y1);
+                    if (crossing >= y1) {
+                        break;
+                    }
+                    y1 = crossing;
+                }
+                updateSpans(y0);
+                y0 = y1;
+            }
+            return new Triangulation(vertices.toArray(), indices.toArray());
+        }
+
+        /**
+         * Sorts the active edges by their x coordinate in the middle of the given band and returns the y coordinate of
+         * the first crossing between two of them, or the bottom of the band if there is none. The edges which cross
+         * first are adjacent in this order.
+         */
+        private double sortActive(final double y0, final double y1) {
+            final double mid = (y0 + y1) / 2.0;
+            // insertion sort: the order changes only where edges start, end or cross
+            for (int i = 1; i < numActive; i++) {
+                final int e = active[i];
+                final double x = x(e, mid);
+                int j = i - 1;
+                while (j >= 0 && x(active[j], mid) > x) {
+                    active[j + 1] = active[j];
+                    j--;
+                }
+                active[j + 1] = e;
+            }
+            for (int i = 0; i < numActive; i++) {
+                xTop[i] = x(active[i], y0);
+                xBottom[i] = x(active[i], y1);
+            }
+
+            final double minStep = EPSILON * Math.max(1.0, Math.abs(y0));
+            double first = y1;
+            for (int i = 0; i + 1 < numActive; i++) {
+                final double dTop = xTop[i + 1] - xTop[i];
+                final double dBottom = xBottom[i + 1] - xBottom[i];
+                if (dTop * dBottom < 0.0) {
+                    final double y = y0 + (y1 - y0) * (dTop / (dTop - dBottom));
+                    if (y > y0 + minStep && y < first) {
+                        first = y;
+                    }
+                }
+            }
+            return first;
+        }
+
+        /**
+         * Finds the filled spans of the band starting at the given y coordinate. The open spans bounded by the same
+         * edges continue, while the other ones are closed and emitted.
+         */
+        private void updateSpans(final double y) {
+            numNext = 0;
+            int winding = 0;
+            int left = -1;
+            for (int i = 0; i < numActive; i++) {
+                final boolean wasInside = rule.isInside(winding);
+                winding += direction[active[i]];
+                final boolean isInside = rule.isInside(winding);
+                if (!wasInside && isInside) {
+                    left = active[i];
+                } else if (wasInside && !isInside) {
+                    final int right = active[i];
+                    final int s = spanOfLeft[left];
+                    final boolean continues = s != -1 && spanRight[s] == right;
+                    nextLeft[numNext] = left;
+                    nextRight[numNext] = right;
+                    nextTop[numNext] = continues ? spanTop[s] : y;
+                    if (continues) {
+                        // the span is not closed below
+                        spanOfLeft[left] = -2;
+                    }
+                    numNext++;
+                }
+            }
+
+            for (int s = 0; s < numSpans; s++) {
+                if (spanOfLeft[spanLeft[s]] != -2) {
+                    emitTrapezoid(spanLeft[s], spanRight[s], spanTop[s], y);
+                }
+                spanOfLeft[spanLeft[s]] = -1;
+            }
+
+            final int[] l = spanLeft;
+            final int[] r = spanRight;
+            final double[] t = spanTop;
+            spanLeft = nextLeft;
+            spanRight = nextRight;
+            spanTop = nextTop;
+            nextLeft = l;
+            nextRight = r;
+            nextTop = t;
+            numSpans = numNext;
+            for (int s = 0; s < numSpans; s++) {
+                spanOfLeft[spanLeft[s]] = s;
+            }
+        }
+
+        private void emitTrapezoid(final int left, final int right, final double y0, final double y1) {
+            if (x(right, y0) <= x(left, y0) && x(right, y1) <= x(left, y1)) {
+                return;
+            }
+            final int topLeft = vertex(left, y0);
+            final int topRight = vertex(right, y0);
+            final int bottomLeft = vertex(left, y1);
+            final int bottomRight = vertex(right, y1);
+            // comparing the exact x coordinates is not enough: two edges meeting at a corner share its vertex even when
+            // rounding puts one of them slightly to the right of the other
+            if (!isSameVertex(topLeft, topRight)) {
+                indices.add(topLeft, topRight, bottomRight);
+            }
+            if (!isSameVertex(bottomLeft, bottomRight)) {
+                indices.add(topLeft, bottomRight, bottomLeft);
+            }
+        }
+
+        /**
+         * Checks whether the given vertices on the same scanline coincide. Two crossing edges create a vertex each at
+         * their intersection, which are different vertices in the same position.
+         */
+        private boolean isSameVertex(final int a, final int b) {
+            return a == b || vertices.get(2 * a) == vertices.get(2 * b);
+        }
+
+        /** Returns the vertex at the given y coordinate on the given edge, sharing the ones already created. */
+        private int vertex(final int edge, final double y) {
+            final int corner = y == topY[edge] ? topCorner[edge] : y == bottomY[edge] ? bottomCorner[edge] : -1;
+            if (corner != -1 && cornerVertex[corner] != -1) {
+                return cornerVertex[corner];
+            }
+            if (edgeVertexY[edge] == y) {
+                return edgeVertex[edge];
+            }
+            final int idx = vertices.size() / 2;
+            vertices.add((float) x(edge, y), (float) y);
+            if (corner != -1) {
+                cornerVertex[corner] = idx;
+            }
+            edgeVertexY[edge] = y;
+            edgeVertex[edge] = idx;
+            return idx;
+        }
+    }
+}
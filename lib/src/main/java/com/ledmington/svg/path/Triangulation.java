@@ -0,0 +1,98 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg.path;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An indexed list of triangles.
+ *
+ * @param vertices The coordinates of the vertices, as (x, y) pairs.
+ * @param indices The indices of the vertices of each triangle, three for each triangle. The vertex with index i has
+ *     coordinates vertices[2 * i] and vertices[2 * i + 1].
+ */
+public record Triangulation(float[] vertices, int[] indices) {
+
+    public Triangulation {
+        Objects.requireNonNull(vertices);
+        Objects.requireNonNull(indices);
+        if (vertices.length % 2 != 0) {
+            throw new IllegalArgumentException(String.format("Odd number of coordinates: %,d", vertices.length));
+        }
+        if (indices.length % 3 != 0) {
+            throw new IllegalArgumentException(
+                    String.format("Number of indices not multiple of 3: %,d", indices.length));
+        }
+    }
+
+    /**
+     * Returns the number of vertices.
+     *
+     * @return The number of vertices.
+     */
+    public int getNumVertices() {
+        return vertices.length / 2;
+    }
+
+    /**
+     * Returns the number of triangles.
+     *
+     * @return The number of triangles.
+     */
+    public int getNumTriangles() {
+        return indices.length / 3;
+    }
+
+    /**
+     * Returns true if there are no triangles.
+     *
+     * @return True if there are no triangles, false otherwise.
+     */
+    public boolean isEmpty() {
+        return indices.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Triangulation(vertices=" + getNumVertices() + ";triangles=" + getNumTriangles() + ")";
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 17;
+        h = 31 * h + Arrays.hashCode(vertices);
+        h = 31 * h + Arrays.hashCode(indices);
+        return h;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other == null) {
+            return false;
+        }
+        if (this == other) {
+            return true;
+        }
+        if (!this.getClass().equals(other.getClass())) {
+            return false;
+        }
+        final Triangulation t = (Triangulation) other;
+        return Arrays.equals(this.vertices, t.vertices) && Arrays.equals(this.indices, t.indices);
+    }
+}
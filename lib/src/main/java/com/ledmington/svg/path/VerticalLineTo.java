@@ -17,8 +17,7 @@
  */
 package com.ledmington.svg.path;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Objects;
 
 import com.ledmington.util.HashUtils;
@@ -30,15 +29,24 @@ import com.ledmington.util.HashUtils;
 public final class VerticalLineTo implements PathElement {
 
     private final boolean isRelative;
-    private final List<Double> x;
+    private final double[] y;
 
-    public VerticalLineTo(final boolean isRelative, final List<Double> x) {
+    /** The hash code, computed on first use. */
+    private int cachedHashCode;
+
+    /**
+     * Creates a new vertical lineto command with the given coordinates. The array is copied.
+     *
+     * @param isRelative True if the coordinates are relative to the current point.
+     * @param y The coordinates.
+     */
+    public VerticalLineTo(final boolean isRelative, final double... y) {
         this.isRelative = isRelative;
-        Objects.requireNonNull(x);
-        if (x.isEmpty()) {
+        Objects.requireNonNull(y);
+        if (y.length == 0) {
             throw new IllegalArgumentException("Empty list of coordinates");
         }
-        this.x = Collections.unmodifiableList(x);
+        this.y = y.clone();
     }
 
     public boolean isRelative() {
@@ -46,23 +54,46 @@ public final class VerticalLineTo implements PathElement {
     }
 
     public int getNumCoordinates() {
-        return x.size();
+        return y.length;
     }
 
     public double getCoordinate(final int idx) {
-        return x.get(idx);
+        return y[idx];
+    }
+
+    /**
+     * Returns a copy of all the coordinates.
+     *
+     * @return A new array with the coordinates.
+     */
+    public double[] getCoordinates() {
+        return y.clone();
+    }
+
+    /**
+     * Copies all the coordinates into the given array.
+     *
+     * @param dest The destination array.
+     * @param offset The index in the destination array of the first coordinate.
+     */
+    public void copyCoordinates(final double[] dest, final int offset) {
+        System.arraycopy(y, 0, dest, offset, y.length);
     }
 
     @Override
     public String toString() {
-        return "VerticalLineTo(isRelative=" + isRelative + ";coordinates=" + x + ")";
+        return "VerticalLineTo(isRelative=" + isRelative + ";coordinates=" + Arrays.toString(y) + ")";
     }
 
     @Override
     public int hashCode() {
-        int h = 17;
-        h = 31 * h + HashUtils.hash(isRelative);
-        h = 31 * h + x.hashCode();
+        int h = cachedHashCode;
+        if (h == 0) {
+            h = 17;
+            h = 31 * h + HashUtils.hash(isRelative);
+            h = 31 * h + Arrays.hashCode(y);
+            cachedHashCode = h;
+        }
         return h;
     }
 
@@ -78,6 +109,6 @@ public final class VerticalLineTo implements PathElement {
             return false;
         }
         final VerticalLineTo vlt = (VerticalLineTo) other;
-        return this.isRelative == vlt.isRelative && this.x.equals(vlt.x);
+        return this.isRelative == vlt.isRelative && Arrays.equals(this.y, vlt.y);
     }
 }
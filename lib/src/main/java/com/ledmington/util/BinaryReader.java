@@ -0,0 +1,184 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.util;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A reader of the encodings written by {@link BinaryWriter}. It reads from a {@link ByteBuffer} through absolute
+ * accesses, so the position and the limit of the buffer are never modified.
+ *
+ * <p>Every read beyond the end of the buffer and every malformed value throw an {@link IllegalArgumentException}.
+ */
+public final class BinaryReader {
+
+    private final ByteBuffer buffer;
+    private int pos;
+
+    /**
+     * Creates a new reader over the bytes between the position and the limit of the given buffer.
+     *
+     * @param buffer The buffer to be read.
+     */
+    public BinaryReader(final ByteBuffer buffer) {
+        this.buffer = Objects.requireNonNull(buffer).slice();
+        this.pos = 0;
+    }
+
+    /**
+     * Returns the number of bytes read so far.
+     *
+     * @return The current position.
+     */
+    public int position() {
+        return pos;
+    }
+
+    /**
+     * Returns true if there are still bytes to be read.
+     *
+     * @return True if there are still bytes to be read, false otherwise.
+     */
+    public boolean hasRemaining() {
+        return pos < buffer.limit();
+    }
+
+    /**
+     * Returns the number of bytes which can still be read.
+     *
+     * @return The number of remaining bytes.
+     */
+    public int remaining() {
+        return buffer.limit() - pos;
+    }
+
+    private void require(final int n) {
+        if (n > buffer.limit() - pos) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %,d more bytes at offset %,d but the data ended at %,d", n, pos, buffer.limit()));
+        }
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @return The byte read.
+     */
+    public byte readByte() {
+        require(1);
+        return buffer.get(pos++);
+    }
+
+    /**
+     * Reads a 4-byte integer.
+     *
+     * @return The integer read.
+     */
+    public int readInt() {
+        require(4);
+        final int x = buffer.getInt(pos);
+        pos += 4;
+        return x;
+    }
+
+    /**
+     * Reads an 8-byte double.
+     *
+     * @return The double read.
+     */
+    public double readDouble() {
+        require(8);
+        final double x = buffer.getDouble(pos);
+        pos += 8;
+        return x;
+    }
+
+    /**
+     * Reads a non-negative varint.
+     *
+     * @return The integer read.
+     */
+    public int readVarInt() {
+        final long x = readVarLong();
+        // a varint of 10 bytes can set the sign bit, which would make it negative
+        if (x < 0L || x > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("Varint too large at offset %,d: %,d", pos, x));
+        }
+        return (int) x;
+    }
+
+    private long readVarLong() {
+        long x = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = readByte();
+            x |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return x;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Malformed varint ending at offset %,d", pos));
+    }
+
+    /**
+     * Reads a block of coordinates.
+     *
+     * @param dst The array where the coordinates are stored.
+     * @param offset The index of the first coordinate to be stored.
+     * @param length The number of coordinates in the block.
+     */
+    public void readCoordinates(final double[] dst, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        final byte scale = readByte();
+        if (scale == BinaryWriter.UNSCALED) {
+            require(8 * length);
+            for (int i = 0; i < length; i++) {
+                dst[offset + i] = buffer.getDouble(pos);
+                pos += 8;
+            }
+            return;
+        }
+        if (scale < 0 || scale > BinaryWriter.MAX_SCALE) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid coordinate scale at offset %,d: %d", pos - 1, scale));
+        }
+        final double p = BinaryWriter.POWERS_OF_TEN[scale];
+        long previous2 = 0L;
+        long previous1 = 0L;
+        for (int i = 0; i < length; i++) {
+            final long zigzag = readVarLong();
+            final long n = previous2 + ((zigzag >>> 1) ^ -(zigzag & 1L));
+            dst[offset + i] = (double) n / p;
+            previous2 = previous1;
+            previous1 = n;
+        }
+    }
+
+    /**
+     * Returns a view of the next bytes and skips them. The content is not copied.
+     *
+     * @param length The number of bytes.
+     * @return A new buffer sharing the content of the underlying one.
+     */
+    public ByteBuffer slice(final int length) {
+        require(length);
+        final ByteBuffer s = buffer.slice(pos, length);
+        pos += length;
+        return s;
+    }
+}
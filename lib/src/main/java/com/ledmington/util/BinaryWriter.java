@@ -0,0 +1,222 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A growable big-endian byte array with the primitive encodings of the binary image format. Its counterpart is
+ * {@link BinaryReader}.
+ *
+ * <p>Sequences of coordinates are written as blocks. When every value of a block is a decimal number with at most
+ * {@value #MAX_SCALE} fractional digits (which is the case for coordinates parsed from SVG documents), the values are
+ * scaled to integers and each one is stored as the zigzag varint of its difference with the value two positions before
+ * it, so that x coordinates are subtracted from x coordinates and y coordinates from y coordinates. Otherwise, the
+ * values are stored as they are, 8 bytes each. Both forms decode to exactly the same doubles.
+ */
+public final class BinaryWriter {
+
+    /** The maximum number of fractional digits of a scaled block of coordinates. */
+    public static final int MAX_SCALE = 9;
+
+    /** The scale byte of a block of unscaled coordinates. */
+    static final byte UNSCALED = (byte) 0xff;
+
+    /** The largest magnitude of a scaled value which can be converted back to a double exactly. */
+    private static final long MAX_EXACT = 1L << 53;
+
+    static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9};
+
+    private byte[] data;
+    private int size;
+
+    /** Creates a new empty writer. */
+    public BinaryWriter() {
+        this.data = new byte[256];
+    }
+
+    private void ensureCapacity(final int extra) {
+        if (size + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+        }
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     *
+     * @return The number of bytes written.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a single byte.
+     *
+     * @param b The byte to be written.
+     */
+    public void writeByte(final int b) {
+        ensureCapacity(1);
+        data[size++] = (byte) b;
+    }
+
+    /**
+     * Appends the given bytes.
+     *
+     * @param b The array containing the bytes.
+     * @param offset The index of the first byte to be written.
+     * @param length The number of bytes to be written.
+     */
+    public void writeBytes(final byte[] b, final int offset, final int length) {
+        ensureCapacity(length);
+        System.arraycopy(b, offset, data, size, length);
+        size += length;
+    }
+
+    /**
+     * Appends a 4-byte integer.
+     *
+     * @param x The integer to be written.
+     */
+    public void writeInt(final int x) {
+        ensureCapacity(4);
+        data[size] = (byte) (x >>> 24);
+        data[size + 1] = (byte) (x >>> 16);
+        data[size + 2] = (byte) (x >>> 8);
+        data[size + 3] = (byte) x;
+        size += 4;
+    }
+
+    /**
+     * Appends an 8-byte double.
+     *
+     * @param x The double to be written.
+     */
+    public void writeDouble(final double x) {
+        final long bits = Double.doubleToRawLongBits(x);
+        writeInt((int) (bits >>> 32));
+        writeInt((int) bits);
+    }
+
+    /**
+     * Appends a non-negative integer with 7 bits per byte, least significant group first.
+     *
+     * @param x The integer to be written.
+     * @throws IllegalArgumentException If the integer is negative.
+     */
+    public void writeVarInt(final int x) {
+        if (x < 0) {
+            throw new IllegalArgumentException(String.format("Invalid varint: %,d", x));
+        }
+        writeVarLong(x);
+    }
+
+    private void writeVarLong(final long x) {
+        ensureCapacity(10);
+        long v = x;
+        while ((v & ~0x7fL) != 0L) {
+            data[size++] = (byte) ((v & 0x7fL) | 0x80L);
+            v >>>= 7;
+        }
+        data[size++] = (byte) v;
+    }
+
+    /**
+     * Appends a block of coordinates. The number of coordinates is not written.
+     *
+     * @param values The array containing the coordinates.
+     * @param offset The index of the first coordinate to be written.
+     * @param length The number of coordinates to be written.
+     */
+    public void writeCoordinates(final double[] values, final int offset, final int length) {
+        final int scale = findScale(values, offset, length);
+        if (scale < 0) {
+            writeByte(UNSCALED);
+            for (int i = 0; i < length; i++) {
+                writeDouble(values[offset + i]);
+            }
+            return;
+        }
+        writeByte(scale);
+        final double p = POWERS_OF_TEN[scale];
+        long previous2 = 0L;
+        long previous1 = 0L;
+        for (int i = 0; i < length; i++) {
+            final long n = Math.round(values[offset + i] * p);
+            final long delta = n - previous2;
+            writeVarLong((delta << 1) ^ (delta >> 63));
+            previous2 = previous1;
+            previous1 = n;
+        }
+    }
+
+    /**
+     * Returns the smallest number of fractional digits which represents all the given values exactly, or -1 if there
+     * is none.
+     */
+    private static int findScale(final double[] values, final int offset, final int length) {
+        int scale = 0;
+        for (int i = 0; i < length; i++) {
+            while (scale <= MAX_SCALE && !isExact(values[offset + i], scale)) {
+                scale++;
+            }
+            if (scale > MAX_SCALE) {
+                return -1;
+            }
+        }
+        // a larger scale can make an earlier value too large to be exact
+        for (int i = 0; i < length; i++) {
+            if (!isExact(values[offset + i], scale)) {
+                return -1;
+            }
+        }
+        return scale;
+    }
+
+    private static boolean isExact(final double x, final int scale) {
+        final double p = POWERS_OF_TEN[scale];
+        final double scaled = x * p;
+        if (!(Math.abs(scaled) <= MAX_EXACT)) {
+            return false;
+        }
+        // the reader computes exactly this, so this also rules out -0.0, NaN and infinities
+        final long n = Math.round(scaled);
+        return Double.doubleToRawLongBits((double) n / p) == Double.doubleToRawLongBits(x);
+    }
+
+    /**
+     * Returns a copy of the bytes written so far.
+     *
+     * @return A new array.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * Writes all the bytes written so far to the given stream.
+     *
+     * @param out The stream to be written.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        out.write(data, 0, size);
+    }
+}
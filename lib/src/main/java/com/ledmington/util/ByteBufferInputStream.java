@@ -0,0 +1,75 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.util;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * An {@link InputStream} reading the remaining bytes of a {@link ByteBuffer}. The buffer is read through a private
+ * duplicate, so its position and limit are never modified. Works with heap, direct and memory-mapped buffers alike
+ * without copying the whole content.
+ */
+public final class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a new stream reading the bytes between the position and the limit of the given buffer.
+     *
+     * @param buffer The buffer to be read.
+     */
+    public ByteBufferInputStream(final ByteBuffer buffer) {
+        this.buffer = Objects.requireNonNull(buffer).duplicate();
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? (buffer.get() & 0x000000ff) : -1;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        final int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(final long n) {
+        if (n <= 0L) {
+            return 0L;
+        }
+        final int k = (int) Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + k);
+        return k;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+}
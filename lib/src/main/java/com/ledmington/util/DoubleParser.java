@@ -0,0 +1,204 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A decimal-to-double converter reading directly from an array of ASCII bytes, without creating intermediate strings.
+ *
+ * <p>The accepted grammar is the one of SVG numbers: an optional sign, a non-empty decimal mantissa with an optional
+ * fractional part and an optional exponent. When the mantissa has at most 18 significant digits, fits in 53 bits and
+ * the decimal exponent is within [-22; 22], the result is computed with a single exact floating-point operation, which
+ * is correctly rounded (Clinger's fast path). All the other cases fall back to {@link Double#parseDouble(String)}, so
+ * the result is always identical to it.
+ */
+public final class DoubleParser {
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_MANTISSA_DIGITS = 18;
+    private static final int MAX_EXACT_EXPONENT = 22;
+    private static final int MAX_EXPONENT = 100_000;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19,
+        1e20, 1e21, 1e22
+    };
+
+    private DoubleParser() {}
+
+    /**
+     * Returns the index right after the end of the number starting at the given index. If there is no valid number
+     * starting at the given index, the index itself is returned.
+     *
+     * @param s The bytes to be scanned.
+     * @param start The index of the first byte of the number.
+     * @param end The index where scanning must stop (exclusive).
+     * @return The index of the first byte after the number.
+     */
+    public static int scan(final byte[] s, final int start, final int end) {
+        Objects.checkFromToIndex(start, end, s.length);
+        int i = start;
+        if (i < end && (s[i] == '+' || s[i] == '-')) {
+            i++;
+        }
+        final int integerStart = i;
+        while (i < end && isDigit(s[i])) {
+            i++;
+        }
+        boolean hasDigits = i > integerStart;
+        if (i < end && s[i] == '.') {
+            final int fractionStart = i + 1;
+            int j = fractionStart;
+            while (j < end && isDigit(s[j])) {
+                j++;
+            }
+            if (hasDigits || j > fractionStart) {
+                hasDigits = true;
+                i = j;
+            }
+        }
+        if (!hasDigits) {
+            return start;
+        }
+        if (i < end && (s[i] == 'e' || s[i] == 'E')) {
+            int j = i + 1;
+            if (j < end && (s[j] == '+' || s[j] == '-')) {
+                j++;
+            }
+            final int exponentStart = j;
+            while (j < end && isDigit(s[j])) {
+                j++;
+            }
+            // an 'e' not followed by digits does not belong to the number
+            if (j > exponentStart) {
+                i = j;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Converts the bytes in the given range into a double. The whole range must be a valid number.
+     *
+     * @param s The bytes containing the number.
+     * @param start The index of the first byte of the number (inclusive).
+     * @param end The index of the last byte of the number (exclusive).
+     * @return The double closest to the decimal value of the number.
+     * @throws NumberFormatException If the range does not contain a valid number.
+     */
+    public static double parse(final byte[] s, final int start, final int end) {
+        Objects.checkFromToIndex(start, end, s.length);
+        int i = start;
+        boolean negative = false;
+        if (i < end && (s[i] == '+' || s[i] == '-')) {
+            negative = s[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0L;
+        int digits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean hasDigits = false;
+
+        for (; i < end && isDigit(s[i]); i++) {
+            hasDigits = true;
+            final int d = s[i] - '0';
+            if (digits < MAX_MANTISSA_DIGITS) {
+                mantissa = mantissa * 10L + d;
+                if (mantissa != 0L) {
+                    digits++;
+                }
+            } else {
+                exponent++;
+                truncated |= d != 0;
+            }
+        }
+
+        if (i < end && s[i] == '.') {
+            i++;
+            for (; i < end && isDigit(s[i]); i++) {
+                hasDigits = true;
+                final int d = s[i] - '0';
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = mantissa * 10L + d;
+                    if (mantissa != 0L) {
+                        digits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated |= d != 0;
+                }
+            }
+        }
+
+        if (!hasDigits) {
+            throw invalidNumber(s, start, end);
+        }
+
+        if (i < end && (s[i] == 'e' || s[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (s[i] == '+' || s[i] == '-')) {
+                negativeExponent = s[i] == '-';
+                i++;
+            }
+            if (i >= end) {
+                throw invalidNumber(s, start, end);
+            }
+            int e = 0;
+            for (; i < end && isDigit(s[i]); i++) {
+                // saturate: such exponents overflow or underflow anyway
+                e = Math.min(e * 10 + (s[i] - '0'), MAX_EXPONENT);
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+
+        if (i != end) {
+            throw invalidNumber(s, start, end);
+        }
+
+        if (mantissa == 0L && !truncated) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        if (!truncated
+                && mantissa <= MAX_EXACT_MANTISSA
+                && exponent >= -MAX_EXACT_EXPONENT
+                && exponent <= MAX_EXACT_EXPONENT) {
+            // both operands are exact, so the single rounding of the operation gives the correct result
+            final double value = exponent >= 0
+                    ? (double) mantissa * POWERS_OF_TEN[exponent]
+                    : (double) mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+
+        return Double.parseDouble(new String(s, start, end - start, StandardCharsets.ISO_8859_1));
+    }
+
+    private static boolean isDigit(final byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static NumberFormatException invalidNumber(final byte[] s, final int start, final int end) {
+        return new NumberFormatException(String.format(
+                "Invalid number '%s'", new String(s, start, end - start, StandardCharsets.ISO_8859_1)));
+    }
+}
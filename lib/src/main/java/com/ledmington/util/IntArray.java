@@ -0,0 +1,135 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A growable array of primitive ints, which avoids boxing the indices of the triangles produced while drawing. Its
+ * content can be cleared and the array reused without giving back its memory.
+ */
+public final class IntArray {
+
+    private int[] data;
+    private int size;
+
+    /** Creates a new empty array. */
+    public IntArray() {
+        this(16);
+    }
+
+    /**
+     * Creates a new empty array which can hold the given number of values before growing.
+     *
+     * @param capacity The initial capacity.
+     */
+    public IntArray(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(String.format("Invalid capacity: %,d", capacity));
+        }
+        this.data = new int[capacity];
+    }
+
+    private void ensureCapacity(final int extra) {
+        if (size + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+        }
+    }
+
+    /**
+     * Appends the given value.
+     *
+     * @param v The value to be appended.
+     */
+    public void add(final int v) {
+        ensureCapacity(1);
+        data[size++] = v;
+    }
+
+    /**
+     * Appends the given three values, usually the indices of the vertices of a triangle.
+     *
+     * @param a The first value.
+     * @param b The second value.
+     * @param c The third value.
+     */
+    public void add(final int a, final int b, final int c) {
+        ensureCapacity(3);
+        data[size] = a;
+        data[size + 1] = b;
+        data[size + 2] = c;
+        size += 3;
+    }
+
+    /**
+     * Returns the value at the given index.
+     *
+     * @param idx The index of the value.
+     * @return The value.
+     */
+    public int get(final int idx) {
+        Objects.checkIndex(idx, size);
+        return data[idx];
+    }
+
+    /**
+     * Returns the number of values in this array.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this array has no values.
+     *
+     * @return True if this array is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Removes all the values, keeping the allocated memory. */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns a copy of the values in this array.
+     *
+     * @return A new array with exactly {@link #size()} values.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(data[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -42,7 +42,15 @@ public final class ParseUtils {
         return or(shl(parseByteHex(s.charAt(0)), 4), parseByteHex(s.charAt(1)));
     }
 
-    private static byte parseByteHex(final char ch) {
+    /**
+     * Parses the given hexadecimal digit.
+     *
+     * <p>Examples: 'a' -> 10.
+     *
+     * @param ch The hexadecimal digit to be converted.
+     * @return The value of the digit.
+     */
+    public static byte parseByteHex(final char ch) {
         return switch (ch) {
             case '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> (byte) ((ch - '0') & 0x000000ff);
             case 'a', 'b', 'c', 'd', 'e', 'f' -> (byte) ((ch - 'a' + 10) & 0x000000ff);
@@ -0,0 +1,178 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A tokenizer of SVG path data working directly on ASCII bytes. Official grammar available <a
+ * href="https://www.w3.org/TR/SVG2/paths.html#PathDataBNF">here</a>.
+ *
+ * <p>It handles all the separators allowed by the grammar (spaces, tabs, line breaks, form feeds and commas) as well
+ * as the implicit separators produced by minifiers: a sign or a second decimal point starts a new number (as in
+ * "M1.5.5-2-3") and arc flags can be written without any separator (as in "a1 1 0 0110 10").
+ */
+public final class PathTokenizer {
+
+    private final byte[] data;
+    private final int start;
+    private final int end;
+    private int pos;
+
+    /**
+     * Creates a new tokenizer over the whole given array.
+     *
+     * @param data The path data.
+     */
+    public PathTokenizer(final byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    /**
+     * Creates a new tokenizer over the given range of the array.
+     *
+     * @param data The array containing the path data.
+     * @param start The index of the first byte of the path data (inclusive).
+     * @param end The index of the last byte of the path data (exclusive).
+     */
+    public PathTokenizer(final byte[] data, final int start, final int end) {
+        this.data = Objects.requireNonNull(data);
+        Objects.checkFromToIndex(start, end, data.length);
+        this.start = start;
+        this.end = end;
+        this.pos = start;
+    }
+
+    /**
+     * Returns true if there are still bytes to be read.
+     *
+     * @return True if there are still bytes to be read, false otherwise.
+     */
+    public boolean hasNext() {
+        return pos < end;
+    }
+
+    /**
+     * Returns the current byte as a character, without consuming it.
+     *
+     * @return The current character.
+     */
+    public char current() {
+        return (char) (data[pos] & 0x000000ff);
+    }
+
+    /** Skips any whitespace. */
+    public void skipWhitespace() {
+        while (pos < end && isWhitespace(data[pos])) {
+            pos++;
+        }
+    }
+
+    /** Skips any whitespace, followed by at most one comma and any whitespace after it. */
+    public void skipCommaWhitespace() {
+        skipWhitespace();
+        if (pos < end && data[pos] == ',') {
+            pos++;
+            skipWhitespace();
+        }
+    }
+
+    /**
+     * Returns true if the current byte can start a number.
+     *
+     * @return True if a number starts at the current position.
+     */
+    public boolean isNumberStart() {
+        if (pos >= end) {
+            return false;
+        }
+        final byte b = data[pos];
+        return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.';
+    }
+
+    /**
+     * Consumes and returns the current command letter.
+     *
+     * @return The command letter.
+     */
+    public char nextCommand() {
+        final char c = current();
+        pos++;
+        skipWhitespace();
+        return c;
+    }
+
+    /**
+     * Consumes the number at the current position and the separator after it.
+     *
+     * @return The parsed number.
+     * @throws IllegalArgumentException If there is no number at the current position.
+     */
+    public double nextNumber() {
+        final int numberEnd = DoubleParser.scan(data, pos, end);
+        if (numberEnd == pos) {
+            throw error("Expected a number");
+        }
+        final double value = DoubleParser.parse(data, pos, numberEnd);
+        pos = numberEnd;
+        skipCommaWhitespace();
+        return value;
+    }
+
+    /**
+     * Consumes the arc flag at the current position and the separator after it. A flag is always a single '0' or '1'
+     * character, so it does not need to be separated from what follows.
+     *
+     * @return True if the flag is '1', false if it is '0'.
+     * @throws IllegalArgumentException If there is no flag at the current position.
+     */
+    public boolean nextFlag() {
+        if (pos >= end || (data[pos] != '0' && data[pos] != '1')) {
+            throw error("Expected a flag");
+        }
+        final boolean flag = data[pos] == '1';
+        pos++;
+        skipCommaWhitespace();
+        return flag;
+    }
+
+    /**
+     * Builds an exception describing a syntax error at the current position.
+     *
+     * @param message The description of what was expected.
+     * @return A new exception, to be thrown by the caller.
+     */
+    public IllegalArgumentException error(final String message) {
+        if (pos >= end) {
+            return new IllegalArgumentException(String.format("%s but the path data ended: '%s'", message, this));
+        }
+        return new IllegalArgumentException(String.format(
+                "%s but was '%c' (U+%04x) at index %,d of '%s'",
+                message, current(), (int) current(), pos - start, this));
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f';
+    }
+
+    @Override
+    public String toString() {
+        return new String(data, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,732 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A minimal pull tokenizer of XML documents working directly on UTF-8 bytes. It covers the subset of XML used by SVG
+ * files: elements, attributes, references in attribute values, comments, CDATA sections, processing instructions and
+ * document type declarations, the last four of which are skipped. Only the elements are reported: text content is
+ * skipped as well.
+ *
+ * <p>Internal general entities declared in the internal subset of the document type declaration, like
+ * {@code <!ENTITY ns_svg "http://www.w3.org/2000/svg">}, are expanded in attribute values with the same limits as the
+ * StAX parser of the JDK: at most {@value #MAX_ENTITY_EXPANSIONS} expansions and {@value #MAX_TOTAL_ENTITY_SIZE} bytes
+ * in total per document.
+ *
+ * <p>Unlike a full XML parser, it never resolves external entities, never validates against a DTD and does not
+ * process namespaces: element names are reported without their prefix and namespace declarations are not reported as
+ * attributes. Element and attribute names are decoded only once per tokenizer, while attribute values are decoded only
+ * when requested.
+ */
+public final class XmlTokenizer {
+
+    /** The event of the start of an element. */
+    public static final int START_ELEMENT = 1;
+
+    /** The event of the end of an element. An empty element like {@code <a/>} produces both events. */
+    public static final int END_ELEMENT = 2;
+
+    /** The event of the end of the document. */
+    public static final int END_DOCUMENT = 8;
+
+    /** The maximum number of entity references expanded in a document, the same as the StAX parser of the JDK. */
+    public static final int MAX_ENTITY_EXPANSIONS = 10_000;
+
+    /** The maximum total size, in bytes, of the entities expanded in a document. */
+    public static final int MAX_TOTAL_ENTITY_SIZE = 1_000_000;
+
+    private static final int NAME_CACHE_SIZE = 64;
+
+    /** Marks the entities declared in the internal subset whose value is external. */
+    private static final byte[] EXTERNAL_ENTITY = new byte[0];
+
+    private final byte[] data;
+    private final int end;
+    private int pos;
+
+    /** Start and end of the qualified name of the current element. */
+    private int nameStart = 0;
+
+    private int nameEnd = 0;
+
+    /** Start and end of the qualified name and start and end of the value of each attribute. */
+    private int[] attributes = new int[4 * 8];
+
+    private int attributeCount = 0;
+
+    /** Start and end of the qualified name of each open element. */
+    private int[] openElements = new int[2 * 16];
+
+    private int depth = 0;
+    private boolean pendingEnd = false;
+    private final String[] nameCache = new String[NAME_CACHE_SIZE];
+
+    /** The replacement text of each entity declared in the internal subset, if any. */
+    private Map<String, byte[]> entities = null;
+
+    /** The entities being expanded, innermost last. */
+    private final ArrayDeque<String> expanding = new ArrayDeque<>();
+
+    private int entityExpansions = 0;
+    private int entitySize = 0;
+
+    /** The bytes of the attribute value being decoded. */
+    private byte[] decoded = new byte[64];
+
+    private int decodedLength = 0;
+
+    /**
+     * Creates a new tokenizer over the whole given array.
+     *
+     * @param data The UTF-8 bytes of the document.
+     */
+    public XmlTokenizer(final byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    /**
+     * Creates a new tokenizer over the given range of the array.
+     *
+     * @param data The array containing the UTF-8 bytes of the document.
+     * @param start The index of the first byte of the document (inclusive).
+     * @param end The index of the last byte of the document (exclusive).
+     */
+    public XmlTokenizer(final byte[] data, final int start, final int end) {
+        this.data = Objects.requireNonNull(data);
+        Objects.checkFromToIndex(start, end, data.length);
+        this.end = end;
+        int p = start;
+        if (end - p >= 2
+                && ((data[p] == (byte) 0xfe && data[p + 1] == (byte) 0xff)
+                        || (data[p] == (byte) 0xff && data[p + 1] == (byte) 0xfe))) {
+            throw new IllegalArgumentException("UTF-16 documents are not supported");
+        }
+        if (end - p >= 3 && data[p] == (byte) 0xef && data[p + 1] == (byte) 0xbb && data[p + 2] == (byte) 0xbf) {
+            // UTF-8 byte order mark
+            p += 3;
+        }
+        this.pos = p;
+    }
+
+    /**
+     * Moves to the next event, skipping anything that is not the start or the end of an element.
+     *
+     * @return The type of the new event: {@link #START_ELEMENT}, {@link #END_ELEMENT} or {@link #END_DOCUMENT}.
+     * @throws IllegalArgumentException If the document is not well-formed.
+     */
+    public int next() {
+        if (pendingEnd) {
+            pendingEnd = false;
+            attributeCount = 0;
+            return END_ELEMENT;
+        }
+        attributeCount = 0;
+        while (true) {
+            if (pos >= end) {
+                if (depth > 0) {
+                    throw error(String.format(
+                            "Unexpected end of document: element '%s' is not closed",
+                            decodeName(openElements[2 * depth - 2], openElements[2 * depth - 1])));
+                }
+                return END_DOCUMENT;
+            }
+            if (data[pos] != '<') {
+                // text content
+                pos = indexOf((byte) '<', pos);
+                continue;
+            }
+            if (startsWith("<!--")) {
+                pos = skipPast("-->", pos + 4);
+            } else if (startsWith("<![CDATA[")) {
+                pos = skipPast("]]>", pos + 9);
+            } else if (startsWith("<!")) {
+                skipDeclaration();
+            } else if (startsWith("<?")) {
+                pos = skipPast("?>", pos + 2);
+            } else if (startsWith("</")) {
+                readEndTag();
+                return END_ELEMENT;
+            } else {
+                readStartTag();
+                return START_ELEMENT;
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the current element without its namespace prefix.
+     *
+     * @return The local name of the current element.
+     */
+    public String getLocalName() {
+        int s = nameStart;
+        for (int i = nameStart; i < nameEnd; i++) {
+            if (data[i] == ':') {
+                s = i + 1;
+            }
+        }
+        return decodeName(s, nameEnd);
+    }
+
+    /**
+     * Returns the number of attributes of the current element, excluding namespace declarations.
+     *
+     * @return The number of attributes.
+     */
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    /**
+     * Returns the qualified name of the attribute at the given index, including its prefix, if any.
+     *
+     * @param idx The index of the attribute.
+     * @return The name of the attribute.
+     */
+    public String getAttributeName(final int idx) {
+        Objects.checkIndex(idx, attributeCount);
+        return decodeName(attributes[4 * idx], attributes[4 * idx + 1]);
+    }
+
+    /**
+     * Returns the value of the attribute at the given index, with references resolved and whitespace normalized.
+     *
+     * @param idx The index of the attribute.
+     * @return The value of the attribute.
+     */
+    public String getAttributeValue(final int idx) {
+        Objects.checkIndex(idx, attributeCount);
+        final int s = attributes[4 * idx + 2];
+        final int e = attributes[4 * idx + 3];
+        if (!needsDecoding(s, e)) {
+            return new String(data, s, e - s, StandardCharsets.UTF_8);
+        }
+        return new String(decodeValue(s, e), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the UTF-8 bytes of the value of the attribute at the given index, with references resolved and
+     * whitespace normalized, without creating a String.
+     *
+     * @param idx The index of the attribute.
+     * @return A new array with the value of the attribute.
+     */
+    public byte[] getAttributeBytes(final int idx) {
+        Objects.checkIndex(idx, attributeCount);
+        final int s = attributes[4 * idx + 2];
+        final int e = attributes[4 * idx + 3];
+        if (!needsDecoding(s, e)) {
+            return Arrays.copyOfRange(data, s, e);
+        }
+        return decodeValue(s, e);
+    }
+
+    private void readStartTag() {
+        pos++;
+        nameStart = pos;
+        nameEnd = skipName(pos);
+        if (nameEnd == nameStart) {
+            throw error("Expected an element name");
+        }
+        pos = nameEnd;
+
+        while (true) {
+            final boolean separated = skipWhitespace();
+            if (pos >= end) {
+                throw error("Unexpected end of document inside a tag");
+            }
+            if (data[pos] == '>') {
+                pos++;
+                break;
+            }
+            if (data[pos] == '/') {
+                if (pos + 1 >= end || data[pos + 1] != '>') {
+                    throw error("Expected '>'");
+                }
+                pos += 2;
+                pendingEnd = true;
+                break;
+            }
+            if (!separated) {
+                throw error("Expected whitespace before an attribute");
+            }
+            readAttribute();
+        }
+
+        if (!pendingEnd) {
+            if (2 * depth + 2 > openElements.length) {
+                openElements = Arrays.copyOf(openElements, openElements.length * 2);
+            }
+            openElements[2 * depth] = nameStart;
+            openElements[2 * depth + 1] = nameEnd;
+            depth++;
+        }
+    }
+
+    private void readAttribute() {
+        final int attributeNameStart = pos;
+        final int attributeNameEnd = skipName(pos);
+        if (attributeNameEnd == attributeNameStart) {
+            throw error("Expected an attribute name");
+        }
+        pos = attributeNameEnd;
+        skipWhitespace();
+        if (pos >= end || data[pos] != '=') {
+            throw error("Expected '='");
+        }
+        pos++;
+        skipWhitespace();
+        if (pos >= end || (data[pos] != '"' && data[pos] != '\'')) {
+            throw error("Expected a quoted attribute value");
+        }
+        final byte quote = data[pos];
+        final int valueStart = pos + 1;
+        final int valueEnd = indexOf(quote, valueStart);
+        if (valueEnd >= end) {
+            throw error("Unterminated attribute value");
+        }
+        pos = valueEnd + 1;
+
+        if (isNamespaceDeclaration(attributeNameStart, attributeNameEnd)) {
+            return;
+        }
+        // elements have a handful of attributes, so a linear scan is cheaper than hashing their names
+        for (int i = 0; i < attributeCount; i++) {
+            if (Arrays.equals(
+                    data, attributes[4 * i], attributes[4 * i + 1], data, attributeNameStart, attributeNameEnd)) {
+                throw error(String.format(
+                        "Duplicate attribute '%s'", decodeName(attributeNameStart, attributeNameEnd)));
+            }
+        }
+        if (4 * attributeCount + 4 > attributes.length) {
+            attributes = Arrays.copyOf(attributes, attributes.length * 2);
+        }
+        attributes[4 * attributeCount] = attributeNameStart;
+        attributes[4 * attributeCount + 1] = attributeNameEnd;
+        attributes[4 * attributeCount + 2] = valueStart;
+        attributes[4 * attributeCount + 3] = valueEnd;
+        attributeCount++;
+    }
+
+    private void readEndTag() {
+        pos += 2;
+        nameStart = pos;
+        nameEnd = skipName(pos);
+        pos = nameEnd;
+        skipWhitespace();
+        if (pos >= end || data[pos] != '>') {
+            throw error("Expected '>'");
+        }
+        pos++;
+        if (depth == 0) {
+            throw error(String.format("Unexpected end tag '%s'", decodeName(nameStart, nameEnd)));
+        }
+        depth--;
+        final int openStart = openElements[2 * depth];
+        final int openEnd = openElements[2 * depth + 1];
+        if (!Arrays.equals(data, openStart, openEnd, data, nameStart, nameEnd)) {
+            throw error(String.format(
+                    "End tag '%s' does not match start tag '%s'",
+                    decodeName(nameStart, nameEnd), decodeName(openStart, openEnd)));
+        }
+    }
+
+    /**
+     * Skips a declaration like '&lt;!DOCTYPE ...&gt;'. Its internal subset, if any, is read one markup declaration at a
+     * time, so that quotes inside comments and processing instructions are not mistaken for the start of a literal.
+     */
+    private void skipDeclaration() {
+        byte quote = 0;
+        int i = pos + 2;
+        while (i < end) {
+            final byte b = data[i];
+            if (quote != 0) {
+                if (b == quote) {
+                    quote = 0;
+                }
+                i++;
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+                i++;
+            } else if (b == '[') {
+                i = readInternalSubset(i + 1);
+            } else if (b == '>') {
+                pos = i + 1;
+                return;
+            } else {
+                i++;
+            }
+        }
+        throw error("Unterminated declaration");
+    }
+
+    /** Reads the internal subset starting at the given index, returning the index right after its closing ']'. */
+    private int readInternalSubset(final int from) {
+        int i = from;
+        while (i < end) {
+            if (data[i] == ']') {
+                return i + 1;
+            }
+            if (startsWith("<!--", i)) {
+                i = skipPast("-->", i + 4);
+            } else if (startsWith("<?", i)) {
+                i = skipPast("?>", i + 2);
+            } else if (startsWith("<!ENTITY", i)) {
+                i = readEntityDeclaration(i + 8);
+            } else if (data[i] == '<') {
+                i = skipMarkupDeclaration(i + 1);
+            } else {
+                // whitespace and parameter entity references
+                i++;
+            }
+        }
+        throw error("Unterminated internal subset");
+    }
+
+    /** Returns the index right after the '&gt;' which closes a markup declaration, skipping the quoted literals. */
+    private int skipMarkupDeclaration(final int from) {
+        byte quote = 0;
+        for (int i = from; i < end; i++) {
+            final byte b = data[i];
+            if (quote != 0) {
+                if (b == quote) {
+                    quote = 0;
+                }
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            } else if (b == '>') {
+                return i + 1;
+            }
+        }
+        throw error("Unterminated markup declaration");
+    }
+
+    /**
+     * Reads an entity declaration right after '&lt;!ENTITY', returning the index right after it. Only internal general
+     * entities are kept: parameter entities are ignored, while external entities are remembered only to report a clear
+     * error when they are referenced.
+     */
+    private int readEntityDeclaration(final int from) {
+        int i = whitespaceEnd(from);
+        if (i == from || i >= end) {
+            throw error("Expected whitespace after '<!ENTITY'");
+        }
+        if (data[i] == '%') {
+            return skipMarkupDeclaration(i);
+        }
+        final int nameEnd = skipName(i);
+        if (nameEnd == i) {
+            throw error("Expected entity name");
+        }
+        final String name = new String(data, i, nameEnd - i, StandardCharsets.UTF_8);
+        i = whitespaceEnd(nameEnd);
+        final byte[] text;
+        if (i < end && (data[i] == '"' || data[i] == '\'')) {
+            final int close = indexOf(data[i], i + 1);
+            if (close >= end) {
+                throw error("Unterminated entity value");
+            }
+            text = replacementText(i + 1, close);
+            i = close + 1;
+        } else {
+            text = EXTERNAL_ENTITY;
+        }
+        if (entities == null) {
+            entities = new HashMap<>();
+        }
+        // only the first declaration of an entity is binding
+        entities.putIfAbsent(name, text);
+        return skipMarkupDeclaration(i);
+    }
+
+    /**
+     * Returns the replacement text of an entity value, in which character references are already resolved while
+     * entity references are resolved only when the entity is referenced.
+     */
+    private byte[] replacementText(final int s, final int e) {
+        decodedLength = 0;
+        int i = s;
+        while (i < e) {
+            if (data[i] == '&' && i + 1 < e && data[i + 1] == '#') {
+                final int semicolon = indexOf((byte) ';', i);
+                if (semicolon >= e) {
+                    throw error("Unterminated reference in entity value");
+                }
+                appendCodePoint(characterReference(new String(data, i + 1, semicolon - i - 1, StandardCharsets.UTF_8)));
+                i = semicolon + 1;
+            } else {
+                append(data[i]);
+                i++;
+            }
+        }
+        return Arrays.copyOf(decoded, decodedLength);
+    }
+
+    private boolean isNamespaceDeclaration(final int s, final int e) {
+        final int len = e - s;
+        return len >= 5
+                && data[s] == 'x'
+                && data[s + 1] == 'm'
+                && data[s + 2] == 'l'
+                && data[s + 3] == 'n'
+                && data[s + 4] == 's'
+                && (len == 5 || data[s + 5] == ':');
+    }
+
+    private boolean needsDecoding(final int s, final int e) {
+        for (int i = s; i < e; i++) {
+            final byte b = data[i];
+            if (b == '&' || b == '\t' || b == '\n' || b == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Resolves the references and normalizes the whitespace of an attribute value. */
+    private byte[] decodeValue(final int s, final int e) {
+        decodedLength = 0;
+        appendDecoded(data, s, e);
+        return Arrays.copyOf(decoded, decodedLength);
+    }
+
+    /**
+     * Appends an attribute value, or the replacement text of an entity referenced in one, to the decoded bytes,
+     * resolving its references and normalizing its whitespace.
+     */
+    private void appendDecoded(final byte[] src, final int s, final int e) {
+        int i = s;
+        while (i < e) {
+            final byte b = src[i];
+            if (b == '\r') {
+                // a line break "\r\n" is normalized into a single space
+                append((byte) ' ');
+                i += (i + 1 < e && src[i + 1] == '\n') ? 2 : 1;
+            } else if (b == '\t' || b == '\n') {
+                append((byte) ' ');
+                i++;
+            } else if (b == '&') {
+                int semicolon = i + 1;
+                while (semicolon < e && src[semicolon] != ';') {
+                    semicolon++;
+                }
+                if (semicolon >= e) {
+                    throw error("Unterminated reference in attribute value");
+                }
+                appendReference(new String(src, i + 1, semicolon - i - 1, StandardCharsets.UTF_8));
+                i = semicolon + 1;
+            } else if (b == '<' && !expanding.isEmpty()) {
+                throw error(String.format("'<' in the replacement text of entity '&%s;'", expanding.peekLast()));
+            } else {
+                append(b);
+                i++;
+            }
+        }
+    }
+
+    /** Appends the UTF-8 bytes of the reference between '&amp;' and ';'. */
+    private void appendReference(final String ref) {
+        switch (ref) {
+            case "lt" -> append((byte) '<');
+            case "gt" -> append((byte) '>');
+            case "amp" -> append((byte) '&');
+            case "quot" -> append((byte) '"');
+            case "apos" -> append((byte) '\'');
+            default -> {
+                if (ref.startsWith("#")) {
+                    appendCodePoint(characterReference(ref));
+                } else {
+                    appendEntity(ref);
+                }
+            }
+        }
+    }
+
+    /** Returns the code point of a character reference like '#38' or '#x26'. */
+    private int characterReference(final String ref) {
+        final int codePoint;
+        try {
+            codePoint = ref.startsWith("#x")
+                    ? Integer.parseInt(ref, 2, ref.length(), 16)
+                    : Integer.parseInt(ref, 1, ref.length(), 10);
+        } catch (final NumberFormatException nfe) {
+            throw error(String.format("Invalid character reference '&%s;'", ref));
+        }
+        if (codePoint <= 0 || !Character.isValidCodePoint(codePoint)) {
+            throw error(String.format("Invalid character reference '&%s;'", ref));
+        }
+        return codePoint;
+    }
+
+    /** Appends the replacement text of an entity declared in the internal subset, within the expansion limits. */
+    private void appendEntity(final String name) {
+        final byte[] text = entities == null ? null : entities.get(name);
+        if (text == null) {
+            throw error(String.format("Unknown entity '&%s;'", name));
+        }
+        if (text == EXTERNAL_ENTITY) {
+            throw error(String.format("External entity '&%s;' is not supported", name));
+        }
+        if (expanding.contains(name)) {
+            throw error(String.format("Recursive entity '&%s;'", name));
+        }
+        entityExpansions++;
+        if (entityExpansions > MAX_ENTITY_EXPANSIONS) {
+            throw error(String.format("More than %,d entity expansions", MAX_ENTITY_EXPANSIONS));
+        }
+        entitySize += text.length;
+        if (entitySize > MAX_TOTAL_ENTITY_SIZE) {
+            throw error(String.format("Entities larger than %,d bytes in total", MAX_TOTAL_ENTITY_SIZE));
+        }
+        expanding.addLast(name);
+        appendDecoded(text, 0, text.length);
+        expanding.removeLast();
+    }
+
+    private void append(final byte b) {
+        if (decodedLength == decoded.length) {
+            decoded = Arrays.copyOf(decoded, 2 * decoded.length);
+        }
+        decoded[decodedLength++] = b;
+    }
+
+    private void appendCodePoint(final int codePoint) {
+        for (final byte b : Character.toString(codePoint).getBytes(StandardCharsets.UTF_8)) {
+            append(b);
+        }
+    }
+
+    /** Returns the String with the given name, decoding it only the first time it is seen. */
+    private String decodeName(final int s, final int e) {
+        int h = 0;
+        for (int i = s; i < e; i++) {
+            h = 31 * h + data[i];
+        }
+        final int idx = h & (NAME_CACHE_SIZE - 1);
+        final String cached = nameCache[idx];
+        if (cached != null && equalsAscii(cached, s, e)) {
+            return cached;
+        }
+        final String name = new String(data, s, e - s, StandardCharsets.UTF_8);
+        nameCache[idx] = name;
+        return name;
+    }
+
+    private boolean equalsAscii(final String str, final int s, final int e) {
+        if (str.length() != e - s) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) != data[s + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int skipName(final int from) {
+        int i = from;
+        while (i < end && !isNameTerminator(data[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isNameTerminator(final byte b) {
+        return b == ' '
+                || b == '\t'
+                || b == '\n'
+                || b == '\r'
+                || b == '>'
+                || b == '/'
+                || b == '='
+                || b == '"'
+                || b == '\''
+                || b == '<';
+    }
+
+    /** Skips any whitespace, returning true if there was some. */
+    private boolean skipWhitespace() {
+        final int from = pos;
+        pos = whitespaceEnd(pos);
+        return pos > from;
+    }
+
+    /** Returns the index of the first byte from the given index which is not whitespace, or the end if none. */
+    private int whitespaceEnd(final int from) {
+        int i = from;
+        while (i < end && (data[i] == ' ' || data[i] == '\t' || data[i] == '\n' || data[i] == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean startsWith(final String prefix) {
+        return startsWith(prefix, pos);
+    }
+
+    private boolean startsWith(final String prefix, final int at) {
+        if (end - at < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (data[at + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns the index of the first occurrence of the given byte from the given index, or the end if none. */
+    private int indexOf(final byte b, final int from) {
+        int i = from;
+        while (i < end && data[i] != b) {
+            i++;
+        }
+        return i;
+    }
+
+    /** Returns the index right after the first occurrence of the given terminator from the given index. */
+    private int skipPast(final String terminator, final int from) {
+        final byte first = (byte) terminator.charAt(0);
+        for (int i = indexOf(first, from); i <= end - terminator.length(); i = indexOf(first, i + 1)) {
+            boolean found = true;
+            for (int j = 1; j < terminator.length(); j++) {
+                if (data[i + j] != terminator.charAt(j)) {
+                    found = false;
+                    break;
+                }
+            }
+            if (found) {
+                return i + terminator.length();
+            }
+        }
+        throw error(String.format("Expected '%s'", terminator));
+    }
+
+    private IllegalArgumentException error(final String message) {
+        return new IllegalArgumentException(String.format("%s at byte %,d", message, pos));
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.ledmington.svg.path.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public final class TestBinaryImage {
+
+    private static final byte[] DOCUMENT = ("<svg width=\"100\" height=\"50\" viewBox=\"0 0 200 100\" "
+                    + "xmlns=\"http://www.w3.org/2000/svg\">"
+                    + "<rect x=\"1.5\" y=\"-2\" width=\"3\" height=\"4\" fill=\"red\" stroke=\"#00ff0080\" "
+                    + "stroke-width=\"2\"/>"
+                    + "<g fill=\"blue\" stroke-width=\"3\">"
+                    + "<circle cx=\"5\" cy=\"6\" r=\"7.25\"/>"
+                    + "<g><polyline points=\"1,2 3,4 5,6\"/></g>"
+                    + "<path d=\"M0 0 h1 2 a1 1 0 0 1 3 3 z m1e3-1e-3 L.125 7 Z\" fill=\"black\"/>"
+                    + "<path d=\"M0 0 L10 0 L10 10 z\" fill=\"red\"/>"
+                    + "</g></svg>")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static void assertSameImage(final Image expected, final Image actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.getViewBox(), actual.getViewBox());
+        assertSameElements(expected, actual);
+    }
+
+    private static void assertSameElements(final Element expected, final Element actual) {
+        // equals() ignores 'closepath' commands, so the packed data is compared as well
+        if (expected instanceof Path pe && actual instanceof Path pa) {
+            assertEquals(pe.getPacked(), pa.getPacked());
+        } else if (expected instanceof Group ge && actual instanceof Group ga) {
+            for (int i = 0; i < ge.getNumElements(); i++) {
+                assertSameElements(ge.getElement(i), ga.getElement(i));
+            }
+        } else if (expected instanceof Image ie && actual instanceof Image ia) {
+            for (int i = 0; i < ie.getNumElements(); i++) {
+                assertSameElements(ie.getElement(i), ia.getElement(i));
+            }
+        }
+    }
+
+    @Test
+    void roundTrip() {
+        final Image expected = Parser.parseImage(DOCUMENT);
+        assertSameImage(expected, BinaryImageReader.read(BinaryImageWriter.toBytes(expected)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"arcs01.svg", "cubic01.svg", "quad01.svg", "triangle01.svg"})
+    void roundTripThroughFile(final String resource) throws IOException, URISyntaxException {
+        final ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        final Image expected = Parser.parseImage(
+                java.nio.file.Path.of(Objects.requireNonNull(cl.getResource(resource)).toURI()));
+        final java.nio.file.Path file = Files.createTempFile("image", ".svgb");
+        try {
+            BinaryImageWriter.write(expected, file);
+            assertSameImage(expected, BinaryImageReader.read(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void coordinatesWhichAreNotShortDecimalsAreKept() {
+        final Image expected = new Image(
+                new ViewBox(0.0, 0.0, 1.0 / 3.0, 1e300),
+                Math.PI,
+                Double.MIN_VALUE,
+                List.of(
+                        new Circle(-0.0, 0.1 + 0.2, Double.NaN),
+                        new Rectangle(1e-12, 123_456_789.123_456_789, 1e17, 0.5, Color.BLACK, Color.BLACK, 1.0)));
+        final Image actual = BinaryImageReader.read(BinaryImageWriter.toBytes(expected));
+        assertEquals(expected, actual);
+        final Circle c = (Circle) actual.getElement(0);
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(c.cx()));
+        assertEquals(0.1 + 0.2, c.cy());
+        assertTrue(Double.isNaN(c.r()));
+    }
+
+    @Test
+    void colorsAreStoredOnce() {
+        final StringBuilder sb =
+                new StringBuilder("<svg width=\"10\" height=\"10\" xmlns=\"http://www.w3.org/2000/svg\">");
+        for (int i = 0; i < 100; i++) {
+            sb.append("<rect x=\"").append(i).append("\" y=\"0\" width=\"1\" height=\"1\" fill=\"#123456\"/>");
+        }
+        final Image image = Parser.parseImage(sb.append("</svg>").toString().getBytes(StandardCharsets.UTF_8));
+        final byte[] encoded = BinaryImageWriter.toBytes(image);
+        // the fill is stored only in the dictionary
+        final byte[] fill = {0x12, 0x34, 0x56, (byte) 0xff};
+        int occurrences = 0;
+        for (int i = 0; i + fill.length <= encoded.length; i++) {
+            if (Arrays.equals(encoded, i, i + fill.length, fill, 0, fill.length)) {
+                occurrences++;
+            }
+        }
+        assertEquals(1, occurrences);
+        // kind, scale, 5 one-byte deltas (two for large x) and two color indices
+        assertTrue(encoded.length < 100 * 12, () -> String.format("%,d bytes", encoded.length));
+    }
+
+    @Test
+    void pathsAreDecodedOnFirstAccess() {
+        final byte[] encoded = BinaryImageWriter.toBytes(Parser.parseImage(DOCUMENT));
+        final byte[] original = encoded.clone();
+        final Image image = BinaryImageReader.read(ByteBuffer.wrap(encoded));
+        final Path path = (Path) ((Group) image.getElement(1)).getElement(3);
+
+        // the first segment of the last path is its only M command, which is replaced by an invalid letter
+        final int idx = lastIndexOf(encoded, (byte) ('M' | 0x80));
+        encoded[idx] = (byte) '!';
+        assertThrows(IllegalArgumentException.class, path::getPacked);
+
+        encoded[idx] = original[idx];
+        assertEquals(
+                ((Path) ((Group) Parser.parseImage(DOCUMENT).getElement(1)).getElement(3)).getPacked(),
+                path.getPacked());
+    }
+
+    private static int lastIndexOf(final byte[] array, final byte value) {
+        for (int i = array.length - 1; i >= 0; i--) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        throw new AssertionError("Not found");
+    }
+
+    @Test
+    void invalidDataIsRejected() {
+        final byte[] encoded = BinaryImageWriter.toBytes(Parser.parseImage(DOCUMENT));
+
+        final byte[] wrongMagic = encoded.clone();
+        wrongMagic[0] = 'X';
+        assertThrows(IllegalArgumentException.class, () -> BinaryImageReader.read(wrongMagic));
+
+        final byte[] wrongVersion = encoded.clone();
+        wrongVersion[4] = (byte) (BinaryImageWriter.VERSION + 1);
+        assertThrows(IllegalArgumentException.class, () -> BinaryImageReader.read(wrongVersion));
+
+        for (int length = 0; length < encoded.length; length++) {
+            final byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThrows(IllegalArgumentException.class, () -> BinaryImageReader.read(truncated));
+        }
+
+        final byte[] trailing = Arrays.copyOf(encoded, encoded.length + 1);
+        assertThrows(IllegalArgumentException.class, () -> BinaryImageReader.read(trailing));
+    }
+
+    private static byte[] concat(final byte[]... parts) {
+        final ByteBuffer bb = ByteBuffer.allocate(Arrays.stream(parts).mapToInt(p -> p.length).sum());
+        for (final byte[] p : parts) {
+            bb.put(p);
+        }
+        return bb.array();
+    }
+
+    @Test
+    void corruptedCountsAreRejected() {
+        final byte[] encoded = BinaryImageWriter.toBytes(Parser.parseImage(
+                ("<svg width=\"10\" height=\"10\" xmlns=\"http://www.w3.org/2000/svg\">"
+                                + "<rect x=\"0\" y=\"0\" width=\"1\" height=\"1\" fill=\"#123456\" stroke=\"#abcdef\"/>"
+                                + "</svg>")
+                        .getBytes(StandardCharsets.UTF_8)));
+        // the dictionary holds the fill and then the stroke, right after its number of colors
+        final byte[] fill = {0x12, 0x34, 0x56, (byte) 0xff};
+        int dictionary = -1;
+        for (int i = 0; i + fill.length <= encoded.length; i++) {
+            if (Arrays.equals(encoded, i, i + fill.length, fill, 0, fill.length)) {
+                dictionary = i;
+                break;
+            }
+        }
+        assertEquals(2, encoded[dictionary - 1]);
+        final byte[] header = Arrays.copyOf(encoded, dictionary - 1);
+        final byte[] body = Arrays.copyOfRange(encoded, dictionary, encoded.length);
+        // a varint of 10 bytes with the sign bit set
+        final byte[] negative = new byte[10];
+        Arrays.fill(negative, (byte) 0xff);
+        negative[9] = 0x01;
+
+        // Integer.MAX_VALUE colors would not fit in the file
+        final byte[] maxInt = {(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x07};
+        final byte[] hugeDictionary = concat(header, maxInt);
+        assertThrows(IllegalArgumentException.class, () -> BinaryImageReader.read(hugeDictionary));
+
+        final byte[] negativeDictionary = concat(header, negative, body);
+        assertThrows(IllegalArgumentException.class, () -> BinaryImageReader.read(negativeDictionary));
+
+        // the stroke index of the rectangle is the last byte
+        final byte[] negativeColor = concat(Arrays.copyOf(encoded, encoded.length - 1), negative);
+        assertThrows(IllegalArgumentException.class, () -> BinaryImageReader.read(negativeColor));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import com.ledmington.svg.path.PackedPath;
+import com.ledmington.svg.path.Path;
+import com.ledmington.svg.path.Point;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public final class TestBoundingBox {
+
+    private static final double EPSILON = 1e-9;
+
+    private static Path path(final String d) {
+        return new Path(PackedPath.parse(d), Color.BLACK, Color.TRANSPARENT, 1.0);
+    }
+
+    private static void assertBox(
+            final BoundingBox actual,
+            final double minX,
+            final double minY,
+            final double maxX,
+            final double maxY,
+            final double epsilon) {
+        assertEquals(minX, actual.minX(), epsilon, () -> "Wrong box " + actual);
+        assertEquals(minY, actual.minY(), epsilon, () -> "Wrong box " + actual);
+        assertEquals(maxX, actual.maxX(), epsilon, () -> "Wrong box " + actual);
+        assertEquals(maxY, actual.maxY(), epsilon, () -> "Wrong box " + actual);
+    }
+
+    private static Stream<Arguments> paths() {
+        return Stream.of(
+                Arguments.of("M0 0 L10 5", 0.0, 0.0, 10.0, 5.0),
+                Arguments.of("m1 1 h2 v3 z", 1.0, 1.0, 3.0, 4.0),
+                Arguments.of("M0 0 L1 1 M-5 7 L-4 8", -5.0, 0.0, 1.0, 8.0),
+                // the control points are at y=10, but the curve only reaches 7.5
+                Arguments.of("M0 0 C0 10 10 10 10 0", 0.0, 0.0, 10.0, 7.5),
+                // an S-shaped curve with extrema along x
+                Arguments.of("M0 0 C10 0 -10 10 0 10", -5.0 / Math.sqrt(3.0), 0.0, 5.0 / Math.sqrt(3.0), 10.0),
+                Arguments.of("M0 0 Q5 10 10 0", 0.0, 0.0, 10.0, 5.0),
+                Arguments.of("M0 0 Q5 10 10 0 T20 0", 0.0, -5.0, 20.0, 5.0),
+                // a straight cubic curve has a degenerate derivative
+                Arguments.of("M0 0 C1 1 2 2 3 3", 0.0, 0.0, 3.0, 3.0));
+    }
+
+    @ParameterizedTest
+    @MethodSource("paths")
+    void curveExtrema(final String d, final double minX, final double minY, final double maxX, final double maxY) {
+        assertBox(path(d).getBoundingBox(), minX, minY, maxX, maxY, EPSILON);
+    }
+
+    @Test
+    void arcExtrema() {
+        // a semicircle of radius 5 going through (5, -5)
+        assertBox(path("M0 0 A5 5 0 0 1 10 0").getBoundingBox(), 0.0, -5.0, 10.0, 0.0, 1e-5);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L})
+    void randomCubicCurvesAreBoundedTightly(final long seed) {
+        final Random rng = new Random(seed);
+        final double[] p = new double[8];
+        for (int i = 0; i < p.length; i++) {
+            p[i] = rng.nextDouble() * 200.0 - 100.0;
+        }
+        final BoundingBox box = path(String.format(
+                        Locale.US,
+                        "M%s %s C%s %s %s %s %s %s",
+                        p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]))
+                .getBoundingBox();
+
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        final int steps = 100_000;
+        for (int i = 0; i <= steps; i++) {
+            final double t = (double) i / steps;
+            final double s = 1.0 - t;
+            final double x = s * s * s * p[0] + 3 * s * s * t * p[2] + 3 * s * t * t * p[4] + t * t * t * p[6];
+            final double y = s * s * s * p[1] + 3 * s * s * t * p[3] + 3 * s * t * t * p[5] + t * t * t * p[7];
+            assertTrue(box.contains(x, y) || box.distanceSquared(x, y) < EPSILON, () -> "Point outside of " + box);
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        // sampling misses the extrema by a quadratic error in the step
+        assertBox(box, minX, minY, maxX, maxY, 1e-6);
+    }
+
+    @Test
+    void shapes() {
+        assertBox(BoundingBox.of(new Rectangle(1, 2, 3, 4, Color.BLACK, Color.BLACK, 5)), 1.0, 2.0, 4.0, 6.0, 0.0);
+        assertBox(BoundingBox.of(new Circle(1, 2, 3)), -2.0, -1.0, 4.0, 5.0, 0.0);
+        assertBox(
+                BoundingBox.of(new Polyline(List.of(new Point(1, 5), new Point(-3, 2), new Point(4, -1)))),
+                -3.0,
+                -1.0,
+                4.0,
+                5.0,
+                0.0);
+    }
+
+    @Test
+    void groupsEncloseTheirElements() {
+        final Group inner = new Group(new Style(), List.of(new Circle(10, 10, 1), path("M-1 -2 L0 0")));
+        final Group outer =
+                new Group(new Style(), List.of(inner, new Rectangle(0, 0, 1, 20, Color.BLACK, Color.BLACK, 1)));
+        assertBox(BoundingBox.of(outer), -1.0, -2.0, 11.0, 20.0, 0.0);
+        assertSame(outer.getBoundingBox(), outer.getBoundingBox());
+    }
+
+    @Test
+    void pathBoxIsCached() {
+        final Path p = path("M0 0 C0 10 10 10 10 0");
+        assertSame(p.getBoundingBox(), p.getBoundingBox());
+    }
+
+    @Test
+    void queries() {
+        final BoundingBox box = new BoundingBox(0, 0, 10, 5);
+        assertTrue(box.intersects(new BoundingBox(10, 5, 11, 6)));
+        assertFalse(box.intersects(new BoundingBox(10.5, 0, 11, 6)));
+        assertEquals(0.0, box.distanceSquared(3, 3));
+        assertEquals(25.0, box.distanceSquared(13, 9));
+        assertEquals(box, box.union(new BoundingBox(1, 1, 2, 2)));
+        assertThrows(IllegalArgumentException.class, () -> new BoundingBox(1, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BoundingBox(0, Double.NaN, 0, 0));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public final class TestColorParser {
+
+    private static Color rgba(final int r, final int g, final int b, final int a) {
+        return new Color((byte) r, (byte) g, (byte) b, (byte) a);
+    }
+
+    private static Stream<Arguments> validColors() {
+        return Stream.of(
+                Arguments.of("none", rgba(0, 0, 0, 0)),
+                Arguments.of("transparent", rgba(0, 0, 0, 0)),
+                Arguments.of("currentColor", rgba(0, 0, 0, 0xff)),
+                Arguments.of("black", rgba(0, 0, 0, 0xff)),
+                Arguments.of("yellow", rgba(0xff, 0xff, 0, 0xff)),
+                Arguments.of("aliceblue", rgba(0xf0, 0xf8, 0xff, 0xff)),
+                Arguments.of("lightgoldenrodyellow", rgba(0xfa, 0xfa, 0xd2, 0xff)),
+                Arguments.of("yellowgreen", rgba(0x9a, 0xcd, 0x32, 0xff)),
+                Arguments.of("DarkSlateGrey", rgba(0x2f, 0x4f, 0x4f, 0xff)),
+                Arguments.of(" red ", rgba(0xff, 0, 0, 0xff)),
+                Arguments.of("#fa0", rgba(0xff, 0xaa, 0x00, 0xff)),
+                Arguments.of("#fa08", rgba(0xff, 0xaa, 0x00, 0x88)),
+                Arguments.of("#12aBcD", rgba(0x12, 0xab, 0xcd, 0xff)),
+                Arguments.of("#12abcd7f", rgba(0x12, 0xab, 0xcd, 0x7f)),
+                Arguments.of("rgb(1,2,3)", rgba(1, 2, 3, 0xff)),
+                Arguments.of("rgb( 255 , 128 , 0 )", rgba(0xff, 0x80, 0, 0xff)),
+                Arguments.of("rgb(100%, 50%, 0%)", rgba(0xff, 0x80, 0, 0xff)),
+                Arguments.of("rgb(300, -20, 12.6)", rgba(0xff, 0, 13, 0xff)),
+                Arguments.of("rgba(1, 2, 3, 0.5)", rgba(1, 2, 3, 0x80)),
+                Arguments.of("RGBA(1, 2, 3, 25%)", rgba(1, 2, 3, 0x40)),
+                Arguments.of("rgb(1 2 3)", rgba(1, 2, 3, 0xff)),
+                Arguments.of("rgb(1 2 3 / .5)", rgba(1, 2, 3, 0x80)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("validColors")
+    void parseValidColors(final String input, final Color expected) {
+        assertEquals(expected, ColorParser.parse(input));
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "",
+                "reed",
+                "#",
+                "#12",
+                "#12345",
+                "#1234567",
+                "#ggg",
+                "rgb",
+                "rgb(",
+                "rgb()",
+                "rgb(1,2)",
+                "rgb(1,2,3,4,5)",
+                "rgb(1 2,3)",
+                "rgb(1,2,3 / 1)",
+                "rgb(1,2,3",
+                "rgb(a,b,c)",
+                "rgb(1..2,3,4)"
+            })
+    void rejectInvalidColors(final String input) {
+        assertThrows(IllegalArgumentException.class, () -> ColorParser.parse(input));
+    }
+
+    @Test
+    void equalColorsAreTheSameInstance() {
+        assertSame(ColorParser.parse("red"), ColorParser.parse("#ff0000"));
+        assertSame(ColorParser.parse("#f00"), ColorParser.parse("rgb(255, 0, 0)"));
+        assertSame(Color.TRANSPARENT, ColorParser.parse("none"));
+        assertSame(Color.of((byte) 1, (byte) 2, (byte) 3, (byte) 4), rgba(1, 2, 3, 4).canonical());
+    }
+
+    @Test
+    void namedColorsStayCanonical() {
+        final Color red = ColorParser.parse("red");
+        // enough distinct colors to evict every recently used one
+        for (int i = 0; i < 100_000; i++) {
+            Color.ofRGB(i * 167);
+        }
+        assertSame(red, ColorParser.parse("red"));
+        assertSame(red, ColorParser.parse("#ff0000"));
+        assertSame(Color.BLACK, ColorParser.parse("black"));
+        assertSame(Color.TRANSPARENT, Color.of((byte) 0, (byte) 0, (byte) 0, (byte) 0));
+    }
+
+    @Test
+    void namedColorsAreCanonicalWhateverTheParseOrder() {
+        final Color hex = ColorParser.parse("#ff0000");
+        assertSame(hex, ColorParser.parse("red"));
+        final Color rarelyUsed = Color.ofRGB(0xfff0f5);
+        assertSame(rarelyUsed, ColorParser.parse("LavenderBlush"));
+    }
+}
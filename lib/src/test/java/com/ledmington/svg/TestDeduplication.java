@@ -0,0 +1,93 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+
+import com.ledmington.svg.path.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public final class TestDeduplication {
+
+    private static final byte[] DOCUMENT = ("<svg width=\"10\" height=\"10\" xmlns=\"http://www.w3.org/2000/svg\">"
+                    + "<path d=\"M0 0 L1 1 C2 2 3 3 4 4\"/>"
+                    + "<path d=\"M0 0 L1 1 C2 2 3 3 4 4\"/>"
+                    + "<path d=\"M0 0 L1 1 C2 2 3 3 4 4\" fill=\"red\"/>"
+                    + "<path d=\"M0 0 L1 1 C2 2 3 3 4 4 z\"/>"
+                    + "<g fill=\"blue\"><rect x=\"1\" y=\"1\" width=\"2\" height=\"2\"/>"
+                    + "<circle cx=\"1\" cy=\"1\" r=\"1\"/></g>"
+                    + "<g fill=\"blue\"><rect x=\"1\" y=\"1\" width=\"2\" height=\"2\"/>"
+                    + "<circle cx=\"1\" cy=\"1\" r=\"1\"/></g>"
+                    + "<g fill=\"blue\"><rect x=\"1\" y=\"1\" width=\"2\" height=\"2\"/></g>"
+                    + "<polyline points=\"1,2 3,4\"/><polyline points=\"1,2 3,4\"/>"
+                    + "</svg>")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static Parser parser(final boolean lazyPaths) {
+        return new Parser(ParserOptions.defaults().withLazyPaths(lazyPaths).withDeduplication(true));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void deduplicatedImageIsEqualToTheOriginal(final boolean lazyPaths) {
+        final Image expected = Parser.parseImage(DOCUMENT);
+        final Image actual = parser(lazyPaths).parse(DOCUMENT);
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void identicalElementsAreShared(final boolean lazyPaths) {
+        final Image image = parser(lazyPaths).parse(DOCUMENT);
+        assertSame(image.getElement(0), image.getElement(1));
+        assertSame(image.getElement(4), image.getElement(5));
+        assertSame(((Group) image.getElement(4)).getStyle(), ((Group) image.getElement(6)).getStyle());
+        assertSame(((Group) image.getElement(4)).getElement(0), ((Group) image.getElement(6)).getElement(0));
+        assertSame(image.getElement(7), image.getElement(8));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void differentElementsAreNotShared(final boolean lazyPaths) {
+        final Image image = parser(lazyPaths).parse(DOCUMENT);
+        assertNotSame(image.getElement(0), image.getElement(2));
+        assertNotSame(image.getElement(4), image.getElement(6));
+
+        // equal according to the subpath view, but the 'closepath' changes how they are drawn
+        final Path open = (Path) image.getElement(0);
+        final Path closed = (Path) image.getElement(3);
+        assertEquals(open, closed);
+        assertNotSame(open, closed);
+        assertNotEquals(open.getNormalized(), closed.getNormalized());
+    }
+
+    @Test
+    void pathsWithDifferentStylesShareTheirData() {
+        final Image image = parser(false).parse(DOCUMENT);
+        assertSame(((Path) image.getElement(0)).getPacked(), ((Path) image.getElement(2)).getPacked());
+    }
+}
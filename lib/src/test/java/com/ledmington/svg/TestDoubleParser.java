@@ -0,0 +1,107 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.ledmington.util.DoubleParser;
+
+public final class TestDoubleParser {
+
+    private static Stream<String> validNumbers() {
+        final Random rng = new Random(42L);
+        final Stream<String> fixed = Stream.of(
+                "0",
+                "-0",
+                "+0",
+                "0.0",
+                "-0.0",
+                ".5",
+                "-.5",
+                "5.",
+                "1e5",
+                "1E5",
+                "1e+5",
+                "1e-5",
+                "-1.5e-3",
+                "000123.4500",
+                "0.000001",
+                "123456789012345678",
+                "1234567890123456789",
+                "12345678901234567890123",
+                "9007199254740993",
+                "0.1000000000000000055511151231257827",
+                "2.2250738585072011e-308",
+                "4.9e-324",
+                "1e-400",
+                "1.7976931348623157e308",
+                "1e400",
+                "3326.13",
+                "-790.13",
+                "4966.59");
+        final Stream<String> random = Stream.generate(() -> {
+                    final double x = (rng.nextDouble() - 0.5) * Math.pow(10.0, rng.nextInt(-10, 10));
+                    return switch (rng.nextInt(4)) {
+                        case 0 -> Double.toString(x);
+                        case 1 -> String.format(Locale.US, "%.2f", x);
+                        case 2 -> String.format(Locale.US, "%.6e", x);
+                        default -> String.format(Locale.US, "%.17f", x);
+                    };
+                })
+                .limit(2_000);
+        return Stream.concat(fixed, random);
+    }
+
+    @ParameterizedTest
+    @MethodSource("validNumbers")
+    void sameResultAsJDK(final String s) {
+        final byte[] b = s.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(b.length, DoubleParser.scan(b, 0, b.length));
+        final double expected = Double.parseDouble(s);
+        final double actual = DoubleParser.parse(b, 0, b.length);
+        assertEquals(
+                Double.doubleToRawLongBits(expected),
+                Double.doubleToRawLongBits(actual),
+                () -> String.format("Expected '%s' to be parsed into %s but was %s", s, expected, actual));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", "+", ".", "-.", "e5", "1e", "1e+", "1.2.3", "1x", "--1"})
+    void invalidNumbers(final String s) {
+        final byte[] b = s.getBytes(StandardCharsets.US_ASCII);
+        assertThrows(NumberFormatException.class, () -> DoubleParser.parse(b, 0, b.length));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1.5.5", "1-2", "1e5.5", "1ex", ".5e-2,3"})
+    void scanStopsAtTheEndOfTheNumber(final String s) {
+        final byte[] b = s.getBytes(StandardCharsets.US_ASCII);
+        final int end = DoubleParser.scan(b, 0, b.length);
+        assertEquals(Double.parseDouble(s.substring(0, end)), DoubleParser.parse(b, 0, end));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+public final class TestElementListener {
+
+    /** Records every event as a string. */
+    private static final class RecordingListener implements ElementListener {
+
+        private final List<String> events = new ArrayList<>();
+
+        private void record(final String format, final Object... args) {
+            events.add(String.format(Locale.US, format, args));
+        }
+
+        @Override
+        public void startImage(final ViewBox viewBox, final double width, final double height) {
+            record("startImage %.1f %.1f", width, height);
+        }
+
+        @Override
+        public void endImage() {
+            record("endImage");
+        }
+
+        @Override
+        public void startGroup(final Style style) {
+            record("startGroup %.1f", style.strokeWidth());
+        }
+
+        @Override
+        public void endGroup() {
+            record("endGroup");
+        }
+
+        @Override
+        public void rectangle(
+                final double x,
+                final double y,
+                final double width,
+                final double height,
+                final Color fill,
+                final Color stroke,
+                final double strokeWidth) {
+            record("rectangle %.1f %.1f %.1f %.1f", x, y, width, height);
+        }
+
+        @Override
+        public void circle(final double cx, final double cy, final double r) {
+            record("circle %.1f %.1f %.1f", cx, cy, r);
+        }
+
+        @Override
+        public void polyline(final double[] coordinates) {
+            record("polyline %s", Arrays.toString(coordinates));
+        }
+
+        @Override
+        public void startPath(final Color fill, final Color stroke, final double strokeWidth) {
+            record("startPath");
+        }
+
+        @Override
+        public void endPath() {
+            record("endPath");
+        }
+
+        @Override
+        public void moveTo(final double x, final double y, final boolean relative) {
+            record("moveTo %.1f %.1f %b", x, y, relative);
+        }
+
+        @Override
+        public void lineTo(final double x, final double y, final boolean relative) {
+            record("lineTo %.1f %.1f %b", x, y, relative);
+        }
+
+        @Override
+        public void horizontalLineTo(final double x, final boolean relative) {
+            record("horizontalLineTo %.1f %b", x, relative);
+        }
+
+        @Override
+        public void arcTo(
+                final double rx,
+                final double ry,
+                final double xAxisRotation,
+                final boolean largeArc,
+                final boolean sweep,
+                final double x,
+                final double y,
+                final boolean relative) {
+            record("arcTo %.1f %.1f %.1f %b %b %.1f %.1f %b", rx, ry, xAxisRotation, largeArc, sweep, x, y, relative);
+        }
+
+        @Override
+        public void closePath() {
+            record("closePath");
+        }
+    }
+
+    @Test
+    void eventsAreReportedInDocumentOrder() {
+        final String svg = "<svg width=\"100\" height=\"50\" xmlns=\"http://www.w3.org/2000/svg\">"
+                + "<g stroke-width=\"2\"><rect width=\"10\" height=\"20\"/><circle cx=\"1\" cy=\"2\" r=\"3\"/></g>"
+                + "<polyline points=\"0,0 1,1\"/>"
+                + "<path d=\"M1 2 3 4 h5 z l1 1 a2 2 0 1 0 7 8\"/>"
+                + "</svg>";
+        final RecordingListener listener = new RecordingListener();
+        new Parser().parse(svg.getBytes(StandardCharsets.UTF_8), listener);
+
+        assertEquals(
+                List.of(
+                        "startImage 100.0 50.0",
+                        "startGroup 2.0",
+                        "rectangle 0.0 0.0 10.0 20.0",
+                        "circle 1.0 2.0 3.0",
+                        "endGroup",
+                        "polyline [0.0, 0.0, 1.0, 1.0]",
+                        "startPath",
+                        "moveTo 1.0 2.0 false",
+                        "lineTo 3.0 4.0 false",
+                        "horizontalLineTo 5.0 true",
+                        "closePath",
+                        "moveTo 0.0 0.0 true",
+                        "lineTo 1.0 1.0 true",
+                        "arcTo 2.0 2.0 0.0 true false 7.0 8.0 true",
+                        "endPath",
+                        "endImage"),
+                listener.events);
+    }
+}
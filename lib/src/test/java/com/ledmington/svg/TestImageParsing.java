@@ -18,14 +18,28 @@
 package com.ledmington.svg;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -201,7 +215,7 @@ public final class TestImageParsing {
                                                 List.of(new SubPath(
                                                         List.of(
                                                                 new MoveTo(false, List.of(new Point(300.0, 200.0))),
-                                                                new HorizontalLineTo(true, List.of(-150.0)),
+                                                                new HorizontalLineTo(true, -150.0),
                                                                 new Arc(
                                                                         true,
                                                                         List.of(
@@ -215,7 +229,7 @@ public final class TestImageParsing {
                                                 List.of(new SubPath(
                                                         List.of(
                                                                 new MoveTo(false, List.of(new Point(275.0, 175.0))),
-                                                                new VerticalLineTo(true, List.of(-150.0)),
+                                                                new VerticalLineTo(true, -150.0),
                                                                 new Arc(
                                                                         true,
                                                                         List.of(
@@ -269,4 +283,101 @@ public final class TestImageParsing {
         final Image actual = Parser.parseImage(image);
         assertEquals(expected, actual, () -> String.format("Expected '%s' but was '%s'.", expected, actual));
     }
+
+    @ParameterizedTest
+    @MethodSource("testSVGFiles")
+    void testParsingFromMemory(final File image, final Image expected) throws IOException {
+        final byte[] bytes = Files.readAllBytes(image.toPath());
+        assertEquals(expected, Parser.parseImage(image.toPath()));
+        assertEquals(expected, Parser.parseImage(bytes));
+        assertEquals(expected, Parser.parseImage(ByteBuffer.wrap(bytes)));
+        assertEquals(expected, Parser.parseImage(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip()));
+        try (InputStream is = new ByteArrayInputStream(bytes)) {
+            assertEquals(expected, Parser.parseImage(is));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("testSVGFiles")
+    void testParsingWithTokenizer(final File image, final Image expected) throws IOException {
+        final Parser parser = new Parser(ParserOptions.defaults().withXmlBackend(XmlBackend.TOKENIZER));
+        final byte[] bytes = Files.readAllBytes(image.toPath());
+        assertEquals(expected, parser.parse(image.toPath()));
+        assertEquals(expected, parser.parse(bytes));
+        assertEquals(expected, parser.parse(ByteBuffer.wrap(bytes)));
+        assertEquals(expected, parser.parse(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip()));
+        try (InputStream is = new ByteArrayInputStream(bytes)) {
+            assertEquals(expected, parser.parse(is));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("testSVGFiles")
+    void testParsingOffHeap(final File image, final Image expected) throws IOException {
+        try (OffHeapImage actual = new Parser().parseOffHeap(image.toPath())) {
+            assertEquals(expected, actual.toImage());
+        }
+        try (OffHeapImage actual = new Parser().parseOffHeap(Files.readAllBytes(image.toPath()))) {
+            assertEquals(expected, actual.toImage());
+        }
+        try (OffHeapImage actual = OffHeapImage.of(expected)) {
+            assertEquals(expected, actual.toImage());
+        }
+    }
+
+    @Test
+    void unknownAttributesAreRejectedOnlyWhenStrict() {
+        final byte[] svg = ("<svg width=\"10\" height=\"10\" xmlns=\"http://www.w3.org/2000/svg\">"
+                        + "<rect x=\"1\" y=\"1\" width=\"2\" height=\"2\" opacity=\"0.5\"/><foo/></svg>")
+                .getBytes(StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> Parser.parseImage(svg));
+
+        final Image actual = new Parser(ParserOptions.defaults().withStrict(false)).parse(svg);
+        assertEquals(
+                new Image(
+                        new ViewBox(0.0, 0.0, 10.0, 10.0),
+                        10.0,
+                        10.0,
+                        List.of(new Rectangle(1.0, 1.0, 2.0, 2.0, new Color(), new Color(), 1.0))),
+                actual);
+    }
+
+    @Test
+    void internalSubsetEntitiesAreExpandedByBothBackends() {
+        final byte[] svg = ("<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.1//EN\" "
+                        + "\"http://www.w3.org/Graphics/SVG/1.1/DTD/svg11.dtd\" [\n"
+                        + "  <!-- Illustrator's own entities -->\n"
+                        + "  <!ENTITY ns_svg \"http://www.w3.org/2000/svg\">\n"
+                        + "  <!ENTITY size \"10\">\n"
+                        + "  <!ENTITY corner \"M0 0H&size;\">\n"
+                        + "]>\n"
+                        + "<svg width=\"&size;\" height=\"&size;\" xmlns=\"&ns_svg;\">"
+                        + "<path d=\"&corner;V&size;z\"/></svg>")
+                .getBytes(StandardCharsets.UTF_8);
+        final Image expected = Parser.parseImage(
+                ("<svg width=\"10\" height=\"10\" xmlns=\"http://www.w3.org/2000/svg\">"
+                                + "<path d=\"M0 0H10V10z\"/></svg>")
+                        .getBytes(StandardCharsets.UTF_8));
+        assertEquals(expected, Parser.parseImage(svg));
+        assertEquals(expected, new Parser(ParserOptions.defaults().withXmlBackend(XmlBackend.TOKENIZER)).parse(svg));
+    }
+
+    @Test
+    void sharedParserIsThreadSafe() throws InterruptedException, ExecutionException {
+        final Parser parser = new Parser();
+        final List<Arguments> files = testSVGFiles().toList();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final Object[] args = files.get(i % files.size()).get();
+                results.add(executor.submit(() -> parser.parse((File) args[0]).equals(args[1])));
+            }
+            for (final Future<Boolean> r : results) {
+                assertTrue(r.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public final class TestOffHeapImage {
+
+    private static final byte[] DOCUMENT = ("<svg width=\"100\" height=\"50\" viewBox=\"0 0 200 100\" "
+                    + "xmlns=\"http://www.w3.org/2000/svg\">"
+                    + "<rect x=\"1\" y=\"2\" width=\"3\" height=\"4\" fill=\"red\" stroke=\"#00ff0080\" "
+                    + "stroke-width=\"2\"/>"
+                    + "<g fill=\"blue\" stroke-width=\"3\">"
+                    + "<circle cx=\"5\" cy=\"6\" r=\"7\"/>"
+                    + "<g><polyline points=\"1,2 3,4 5,6\"/></g>"
+                    + "<path d=\"M0 0 h1 2 a1 1 0 0 1 3 3 z\" fill=\"black\"/>"
+                    + "</g></svg>")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void sameContentAsHeapImage() {
+        final Image expected = Parser.parseImage(DOCUMENT);
+        try (OffHeapImage actual = new Parser().parseOffHeap(DOCUMENT)) {
+            assertEquals(expected.getViewBox(), actual.getViewBox());
+            assertEquals(expected.getWidth(), actual.getWidth());
+            assertEquals(expected.getHeight(), actual.getHeight());
+            assertEquals(expected, actual.toImage());
+        }
+    }
+
+    @Test
+    void cursorsVisitAllElements() {
+        try (OffHeapImage image = new Parser().parseOffHeap(DOCUMENT)) {
+            final ElementCursor top = image.newCursor();
+            final ElementCursor child = image.newCursor();
+            assertEquals(2, image.getNumElements());
+
+            image.getElement(0, top);
+            assertEquals(ElementKind.RECTANGLE, top.getKind());
+            assertEquals(1.0, top.getX());
+            assertEquals(2.0, top.getY());
+            assertEquals(3.0, top.getWidth());
+            assertEquals(4.0, top.getHeight());
+            assertEquals(ColorParser.parse("red"), top.getFill());
+            assertEquals(ColorParser.parse("#00ff0080"), top.getStroke());
+            assertEquals(2.0, top.getStrokeWidth());
+
+            image.getElement(1, top);
+            assertEquals(ElementKind.GROUP, top.getKind());
+            assertEquals(3, top.getNumElements());
+            assertEquals(ColorParser.parse("blue"), top.getFill());
+            assertEquals(3.0, top.getStrokeWidth());
+
+            top.getElement(0, child);
+            assertEquals(ElementKind.CIRCLE, child.getKind());
+            assertEquals(5.0, child.getCx());
+            assertEquals(6.0, child.getCy());
+            assertEquals(7.0, child.getR());
+
+            // moving a cursor onto one of its own children
+            top.getElement(1, child).getElement(0, child);
+            assertEquals(ElementKind.POLYLINE, child.getKind());
+            assertEquals(3, child.getNumPoints());
+            assertEquals(5.0, child.getPointX(2));
+            assertEquals(6.0, child.getPointY(2));
+
+            top.getElement(2, child);
+            assertEquals(ElementKind.PATH, child.getKind());
+            assertEquals(5, child.getNumSegments());
+            assertEquals('M', child.getCommand(0));
+            assertEquals('h', child.getCommand(2));
+            assertTrue(child.startsCommand(1));
+            assertFalse(child.startsCommand(2));
+            assertEquals('z', child.getCommand(4));
+            assertEquals(2 + 2 + 7, child.getNumCoordinates());
+            assertEquals(2.0, child.getCoordinate(3));
+            assertEquals(1.0, child.getCoordinate(8));
+        }
+    }
+
+    @Test
+    void wrongKindIsRejected() {
+        try (OffHeapImage image = new Parser().parseOffHeap(DOCUMENT)) {
+            final ElementCursor cursor = image.newCursor();
+            assertThrows(IllegalStateException.class, cursor::getKind);
+            image.getElement(0, cursor);
+            assertThrows(IllegalStateException.class, cursor::getR);
+            assertThrows(IllegalStateException.class, cursor::getNumElements);
+            assertThrows(IndexOutOfBoundsException.class, () -> image.getElement(2, cursor));
+        }
+    }
+
+    @Test
+    void cursorsOfOtherImagesAreRejected() {
+        try (OffHeapImage a = new Parser().parseOffHeap(DOCUMENT);
+                OffHeapImage b = new Parser().parseOffHeap(DOCUMENT)) {
+            assertThrows(IllegalArgumentException.class, () -> a.getElement(0, b.newCursor()));
+        }
+    }
+
+    @Test
+    void closedImagesCannotBeRead() {
+        final OffHeapImage image = new Parser().parseOffHeap(DOCUMENT);
+        final ElementCursor cursor = image.getElement(0, image.newCursor());
+        image.close();
+        image.close();
+        assertThrows(IllegalStateException.class, image::getNumElements);
+        assertThrows(IllegalStateException.class, cursor::getX);
+        assertThrows(IllegalStateException.class, image::toImage);
+    }
+
+    @Test
+    void largeImagesGrowTheBuffer() {
+        final StringBuilder sb =
+                new StringBuilder("<svg width=\"10\" height=\"10\" xmlns=\"http://www.w3.org/2000/svg\">");
+        for (int i = 0; i < 1_000; i++) {
+            sb.append("<g><rect x=\"").append(i).append("\" y=\"0\" width=\"1\" height=\"1\"/></g>");
+        }
+        sb.append("</svg>");
+        final byte[] document = sb.toString().getBytes(StandardCharsets.UTF_8);
+        try (OffHeapImage image = new Parser().parseOffHeap(document)) {
+            assertEquals(1_000, image.getNumElements());
+            assertEquals(Parser.parseImage(document), image.toImage());
+            final ElementCursor cursor = image.newCursor();
+            assertEquals(999.0, image.getElement(999, cursor).getElement(0, cursor).getX());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that documents referring to external resources are parsed without ever connecting to them. Every external
+ * identifier points to a local server which counts the connections it receives.
+ */
+public final class TestOfflineParsing {
+
+    private static final Image EXPECTED = new Image(
+            new ViewBox(0.0, 0.0, 10.0, 10.0),
+            10.0,
+            10.0,
+            List.of(new Rectangle(1.0, 1.0, 2.0, 2.0, Color.TRANSPARENT, Color.TRANSPARENT, 1.0)));
+
+    private ServerSocket server;
+    private final AtomicInteger connections = new AtomicInteger(0);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        final Thread t = new Thread(() -> {
+            try {
+                while (true) {
+                    server.accept().close();
+                    connections.incrementAndGet();
+                }
+            } catch (final SocketException e) {
+                // the server was closed
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        t.setDaemon(true);
+        t.start();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    private String url(final String file) {
+        return String.format("http://127.0.0.1:%d/%s", server.getLocalPort(), file);
+    }
+
+    private static byte[] document(final String doctype, final String width) {
+        return ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" + doctype + "\n"
+                        + "<svg width=\"" + width + "\" height=\"10\" xmlns=\"http://www.w3.org/2000/svg\">"
+                        + "<rect x=\"1\" y=\"1\" width=\"2\" height=\"2\"/></svg>")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void svgDoctypeIsResolvedOffline() {
+        final byte[] svg =
+                document("<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.1//EN\" \"" + url("svg11.dtd") + "\">", "10");
+        assertEquals(EXPECTED, Parser.parseImage(svg));
+        assertEquals(0, connections.get());
+    }
+
+    @Test
+    void internalSubsetEntitiesAreExpanded() {
+        final byte[] svg = document(
+                "<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.0//EN\" \"" + url("svg10.dtd") + "\" [\n"
+                        + "  <!ENTITY size \"10\">\n"
+                        + "]>",
+                "&size;");
+        assertEquals(EXPECTED, Parser.parseImage(svg));
+        assertEquals(0, connections.get());
+    }
+
+    @Test
+    void unknownDtdIsNeverLoaded() {
+        final byte[] svg = document("<!DOCTYPE svg SYSTEM \"" + url("unknown.dtd") + "\">", "10");
+        assertThrows(RuntimeException.class, () -> Parser.parseImage(svg));
+        assertEquals(EXPECTED, new Parser(ParserOptions.defaults().withStrict(false)).parse(svg));
+        assertEquals(0, connections.get());
+    }
+
+    @Test
+    void externalEntitiesAreNeverLoaded() {
+        final byte[] svg = document(
+                "<!DOCTYPE svg [<!ENTITY ext SYSTEM \"" + url("entity.txt") + "\">]>",
+                "10\"><desc>&ext;</desc><foo x=\"");
+        try {
+            new Parser(ParserOptions.defaults().withStrict(false)).parse(svg);
+        } catch (final RuntimeException e) {
+            // rejecting the document is fine too
+        }
+        assertEquals(0, connections.get());
+    }
+
+    @Test
+    void entityExpansionIsLimited() {
+        final StringBuilder sb = new StringBuilder("<!DOCTYPE svg [<!ENTITY a0 \"aaaaaaaaaa\">");
+        for (int i = 1; i < 10; i++) {
+            sb.append(String.format("<!ENTITY a%d \"", i))
+                    .append(String.format("&a%d;", i - 1).repeat(10))
+                    .append("\">");
+        }
+        sb.append("]>");
+        final byte[] svg = document(sb.toString(), "10\"><desc>&a9;</desc><foo x=\"");
+        final Parser lenient = new Parser(ParserOptions.defaults().withStrict(false));
+        final RuntimeException e = assertThrows(RuntimeException.class, () -> lenient.parse(svg));
+        assertTrue(e.getMessage().contains("entity"), () -> String.format("Unexpected exception: %s", e));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.ledmington.svg.path.PackedPath;
+import com.ledmington.svg.path.Path;
+import com.ledmington.svg.path.PathParser;
+import com.ledmington.svg.path.SubPath;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public final class TestPackedPath {
+
+    private static Stream<String> pathData() {
+        return Stream.of(
+                "M0 0",
+                "M0 0 1 1 2 2",
+                "m0 0 l1 1 2 2 L3 3",
+                "M0 0 H1 2 v3 4 h5 V6",
+                "M0 0 C1 1 2 2 3 3 4 4 5 5 6 6 s1 1 2 2 S3 3 4 4",
+                "M0 0 Q1 1 2 2 q3 3 4 4 T5 5 6 6 t7 7",
+                "M0 0 A1 2 30 0 1 3 4 a5 6 0 1 0 7 8",
+                "M0 0 L1 1 Z M2 2 L3 3 z",
+                "M0 0 L1 1 Z L2 2",
+                "M1.5.5-2-3a1 1 0 0110 10z");
+    }
+
+    private static List<SubPath> subpaths(final String d) {
+        final byte[] data = d.getBytes(StandardCharsets.US_ASCII);
+        return PathParser.parse(data, 0, data.length);
+    }
+
+    @ParameterizedTest
+    @MethodSource("pathData")
+    void viewIsEqualToParsedSubpaths(final String d) {
+        assertEquals(subpaths(d), PackedPath.parse(d).toSubPaths());
+    }
+
+    @ParameterizedTest
+    @MethodSource("pathData")
+    void conversionFromSubpathsKeepsTheView(final String d) {
+        final List<SubPath> expected = subpaths(d);
+        assertEquals(expected, PackedPath.of(expected).toSubPaths());
+    }
+
+    @ParameterizedTest
+    @MethodSource("pathData")
+    void packedPathsAreEqualToSubpathLists(final String d) {
+        final Path fromPacked = new Path(PackedPath.parse(d), Color.BLACK, Color.TRANSPARENT, 1.0);
+        final Path fromList = new Path(subpaths(d), Color.BLACK, Color.TRANSPARENT, 1.0);
+        assertEquals(fromList, fromPacked);
+        assertEquals(fromPacked, fromList);
+        assertEquals(fromList.hashCode(), fromPacked.hashCode());
+    }
+
+    @Test
+    void segmentsAndCoordinates() {
+        final PackedPath p = PackedPath.parse("M1 2 3 4 h5 6 z");
+        assertEquals(5, p.getNumSegments());
+        assertEquals("MMhhz", String.valueOf(new char[] {
+            p.getCommand(0), p.getCommand(1), p.getCommand(2), p.getCommand(3), p.getCommand(4)
+        }));
+        assertTrue(p.startsCommand(0));
+        assertFalse(p.startsCommand(1));
+        assertTrue(p.startsCommand(2));
+        assertFalse(p.startsCommand(3));
+        assertTrue(p.startsCommand(4));
+        assertEquals(6, p.getNumCoordinates());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i + 1, p.getCoordinate(i));
+        }
+    }
+
+    @Test
+    void arcFlagsAreStoredAsNumbers() {
+        final PackedPath p = PackedPath.parse("M0 0 A1 2 30 1 0 3 4");
+        assertEquals(2 + 7, p.getNumCoordinates());
+        assertEquals(1.0, p.getCoordinate(5));
+        assertEquals(0.0, p.getCoordinate(6));
+    }
+
+    @Test
+    void differentPathsAreNotEqual() {
+        assertFalse(PackedPath.parse("M0 0 L1 1 2 2").equals(PackedPath.parse("M0 0 L1 1 L2 2")));
+        assertFalse(new Path(PackedPath.parse("M0 0 L1 1 2 2"), Color.BLACK, Color.BLACK, 1.0)
+                .equals(new Path(PackedPath.parse("M0 0 L1 1 L2 2"), Color.BLACK, Color.BLACK, 1.0)));
+        assertFalse(new Path(PackedPath.parse("M0 0 L1 1"), Color.BLACK, Color.BLACK, 1.0)
+                .equals(new Path(PackedPath.parse("M0 0 L1 2"), Color.BLACK, Color.BLACK, 1.0)));
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Stream;
+
+import com.ledmington.svg.path.PackedPath;
+import com.ledmington.svg.path.PathFlattener;
+import com.ledmington.util.FloatArray;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public final class TestPathFlattener {
+
+    /** The error added by rounding the points to floats. */
+    private static final double ROUNDING = 1e-3;
+
+    private static final int NUM_SAMPLES = 2_000;
+
+    /** Returns the largest distance between the given curve, sampled for t in [0; 1], and the given polyline. */
+    private static double maxDeviation(
+            final FloatArray polyline, final DoubleUnaryOperator curveX, final DoubleUnaryOperator curveY) {
+        double max = 0.0;
+        for (int s = 0; s <= NUM_SAMPLES; s++) {
+            final double t = (double) s / NUM_SAMPLES;
+            final double px = curveX.applyAsDouble(t);
+            final double py = curveY.applyAsDouble(t);
+            double min = Double.POSITIVE_INFINITY;
+            for (int i = 0; i + 3 < polyline.size(); i += 2) {
+                final double d = distanceToSegment(
+                        px, py, polyline.get(i), polyline.get(i + 1), polyline.get(i + 2), polyline.get(i + 3));
+                min = Math.min(min, d);
+            }
+            max = Math.max(max, min);
+        }
+        return max;
+    }
+
+    private static double distanceToSegment(
+            final double px, final double py, final double ax, final double ay, final double bx, final double by) {
+        final double dx = bx - ax;
+        final double dy = by - ay;
+        final double len = dx * dx + dy * dy;
+        final double t = len == 0.0 ? 0.0 : Math.max(0.0, Math.min(1.0, ((px - ax) * dx + (py - ay) * dy) / len));
+        return Math.hypot(px - (ax + t * dx), py - (ay + t * dy));
+    }
+
+    private static double cubic(final double p0, final double p1, final double p2, final double p3, final double t) {
+        final double mt = 1.0 - t;
+        return mt * mt * mt * p0 + 3.0 * mt * mt * t * p1 + 3.0 * mt * t * t * p2 + t * t * t * p3;
+    }
+
+    private static FloatArray start(final PathFlattener f, final double x, final double y) {
+        final FloatArray out = new FloatArray();
+        f.line(x, y, out);
+        return out;
+    }
+
+    private static Stream<Arguments> cubics() {
+        return Stream.of(
+                Arguments.of(0.25, new double[] {0, 0, 0, 100, 100, 100, 100, 0}),
+                Arguments.of(0.25, new double[] {0, 0, 300, 100, -200, 100, 100, 0}),
+                Arguments.of(0.01, new double[] {10, 10, 20, 40, 60, -30, 70, 10}),
+                Arguments.of(1.0, new double[] {0, 0, 1_000, 1_000, -1_000, 1_000, 0, 0}),
+                Arguments.of(0.1, new double[] {0, 0, 0.5, 1, 1, 1, 1.5, 0}),
+                Arguments.of(0.5, new double[] {0, 0, 10, 10, 20, 20, 30, 30}));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cubics")
+    void cubicsStayWithinTheTolerance(final double tolerance, final double[] p) {
+        final PathFlattener f = new PathFlattener(tolerance);
+        final FloatArray out = start(f, p[0], p[1]);
+        f.cubic(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7], out);
+        final double deviation =
+                maxDeviation(out, t -> cubic(p[0], p[2], p[4], p[6], t), t -> cubic(p[1], p[3], p[5], p[7], t));
+        assertTrue(deviation <= tolerance + ROUNDING, () -> "Deviation " + deviation + " for " + out);
+        assertEquals((float) p[6], out.get(out.size() - 2));
+        assertEquals((float) p[7], out.get(out.size() - 1));
+    }
+
+    @Test
+    void quadraticsStayWithinTheTolerance() {
+        final PathFlattener f = new PathFlattener(0.05);
+        final FloatArray out = start(f, 0.0, 0.0);
+        f.quadratic(0.0, 0.0, 50.0, 200.0, 100.0, 0.0, out);
+        final double deviation = maxDeviation(
+                out, t -> 2.0 * (1.0 - t) * t * 50.0 + t * t * 100.0, t -> 2.0 * (1.0 - t) * t * 200.0);
+        assertTrue(deviation <= 0.05 + ROUNDING, () -> "Deviation " + deviation);
+    }
+
+    @Test
+    void arcsStayWithinTheTolerance() {
+        final PathFlattener f = new PathFlattener(0.1);
+        final FloatArray out = start(f, 100.0, 0.0);
+        // a quarter of the circle centered in the origin, drawn towards positive angles
+        f.arc(100.0, 0.0, 100.0, 100.0, 0.0, false, true, 0.0, 100.0, out);
+        final double deviation = maxDeviation(
+                out, t -> 100.0 * Math.cos(t * Math.PI / 2.0), t -> 100.0 * Math.sin(t * Math.PI / 2.0));
+        assertTrue(deviation <= 0.1 + ROUNDING, () -> "Deviation " + deviation);
+        // every point lies on the circle
+        for (int i = 0; i < out.size(); i += 2) {
+            assertEquals(100.0, Math.hypot(out.get(i), out.get(i + 1)), ROUNDING);
+        }
+    }
+
+    @Test
+    void rotatedEllipticalArcsFollowTheirCubicApproximation() {
+        final PackedPath normalized = PackedPath.parse("M10 80 A 60 25 -30 1 0 160 40").normalize();
+        final PathFlattener f = new PathFlattener(0.2);
+        final FloatArray out = start(f, 10.0, 80.0);
+        f.arc(10.0, 80.0, 60.0, 25.0, -30.0, true, false, 160.0, 40.0, out);
+        // each cubic curve of the normalized arc is within a few thousandths from the true ellipse
+        double x = normalized.getCoordinate(0);
+        double y = normalized.getCoordinate(1);
+        int j = 2;
+        for (int i = 1; i < normalized.getNumSegments(); i++) {
+            final double x0 = x;
+            final double y0 = y;
+            final int k = j;
+            final double deviation = maxDeviation(
+                    out,
+                    t -> cubic(
+                            x0,
+                            normalized.getCoordinate(k),
+                            normalized.getCoordinate(k + 2),
+                            normalized.getCoordinate(k + 4),
+                            t),
+                    t -> cubic(
+                            y0,
+                            normalized.getCoordinate(k + 1),
+                            normalized.getCoordinate(k + 3),
+                            normalized.getCoordinate(k + 5),
+                            t));
+            assertTrue(deviation <= 0.2 + 0.01, () -> "Deviation " + deviation);
+            x = normalized.getCoordinate(j + 4);
+            y = normalized.getCoordinate(j + 5);
+            j += 6;
+        }
+    }
+
+    @Test
+    void toleranceIsMeasuredAfterTheTransformation() {
+        final double[] p = {0, 0, 0, 10, 10, 10, 10, 0};
+        final PathFlattener small = new PathFlattener(0.25);
+        final FloatArray a = start(small, p[0], p[1]);
+        small.cubic(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7], a);
+
+        final AffineTransform zoom = AffineTransform.scaling(20.0, 20.0).then(AffineTransform.flipY(500.0));
+        final PathFlattener large = new PathFlattener(0.25, zoom);
+        final FloatArray b = start(large, p[0], p[1]);
+        large.cubic(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7], b);
+
+        assertTrue(b.size() > a.size(), () -> "Zoomed in curve has " + b.size() + " coordinates, not more than " + a);
+        final double deviation = maxDeviation(
+                b,
+                t -> zoom.transformX(cubic(p[0], p[2], p[4], p[6], t), cubic(p[1], p[3], p[5], p[7], t)),
+                t -> zoom.transformY(cubic(p[0], p[2], p[4], p[6], t), cubic(p[1], p[3], p[5], p[7], t)));
+        assertTrue(deviation <= 0.25 + ROUNDING, () -> "Deviation " + deviation);
+    }
+
+    @Test
+    void smallerCurvesHaveFewerPoints() {
+        final PathFlattener f = new PathFlattener(PathFlattener.DEFAULT_TOLERANCE);
+        final FloatArray tiny = new FloatArray();
+        f.cubic(0, 0, 0, 0.3, 0.3, 0.3, 0.3, 0, tiny);
+        final FloatArray huge = new FloatArray();
+        f.cubic(0, 0, 0, 1_000, 1_000, 1_000, 1_000, 0, huge);
+        assertEquals(2, tiny.size());
+        assertTrue(huge.size() > 16 * tiny.size(), () -> "Huge curve has only " + huge.size() + " coordinates");
+        // a straight line is never split
+        final FloatArray line = new FloatArray();
+        f.cubic(0, 0, 100, 100, 200, 200, 300, 300, line);
+        assertEquals(2, line.size());
+    }
+
+    private record Flattened(float[] points, boolean closed) {}
+
+    private static List<Flattened> flatten(final PathFlattener f, final String d) {
+        final List<Flattened> result = new ArrayList<>();
+        f.flatten(PackedPath.parse(d), (points, closed) -> result.add(new Flattened(points.toArray(), closed)));
+        return result;
+    }
+
+    @Test
+    void subpathsAreReportedInOrder() {
+        final List<Flattened> subpaths =
+                flatten(new PathFlattener(0.25), "M0 0 h10 v10 z m5 5 l1 1 M20 20 M30 30 L40 40 Z l 5 0");
+        assertEquals(4, subpaths.size());
+        assertArrayEquals(new float[] {0, 0, 10, 0, 10, 10}, subpaths.get(0).points());
+        assertTrue(subpaths.get(0).closed());
+        // after a 'closepath', relative coordinates start from the beginning of the closed subpath
+        assertArrayEquals(new float[] {5, 5, 6, 6}, subpaths.get(1).points());
+        assertFalse(subpaths.get(1).closed());
+        assertArrayEquals(new float[] {30, 30, 40, 40}, subpaths.get(2).points());
+        assertTrue(subpaths.get(2).closed());
+        assertArrayEquals(new float[] {30, 30, 35, 30}, subpaths.get(3).points());
+    }
+
+    @Test
+    void smoothAndRelativeCurvesAreResolved() {
+        final PathFlattener f = new PathFlattener(0.1);
+        final FloatArray expected = start(f, 0.0, 0.0);
+        f.quadratic(0, 0, 10, 20, 20, 0, expected);
+        f.quadratic(20, 0, 30, -20, 40, 0, expected);
+        f.cubic(40, 0, 40, 10, 50, 10, 50, 0, expected);
+        f.cubic(50, 0, 50, -10, 60, -10, 60, 0, expected);
+        final List<Flattened> subpaths = flatten(f, "M0 0 q10 20 20 0 t20 0 c0 10 10 10 10 0 s10 -10 10 0");
+        assertEquals(1, subpaths.size());
+        assertArrayEquals(expected.toArray(), subpaths.get(0).points());
+    }
+
+    @Test
+    void degenerateArcs() {
+        final PathFlattener f = new PathFlattener(0.25);
+        final FloatArray out = new FloatArray();
+        f.arc(1, 2, 10, 10, 0, false, false, 1, 2, out);
+        assertTrue(out.isEmpty());
+        f.arc(1, 2, 0, 10, 0, false, false, 5, 6, out);
+        assertArrayEquals(new float[] {5, 6}, out.toArray());
+    }
+
+    @Test
+    void invalidTolerance() {
+        assertThrows(IllegalArgumentException.class, () -> new PathFlattener(0.0));
+        assertThrows(IllegalArgumentException.class, () -> new PathFlattener(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> new PathFlattener(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new PathFlattener(Double.POSITIVE_INFINITY));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import com.ledmington.svg.path.PackedPath;
+import com.ledmington.svg.path.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public final class TestPathNormalizer {
+
+    private static final double EPSILON = 1e-9;
+
+    private static void assertSamePath(final PackedPath expected, final PackedPath actual) {
+        assertEquals(expected.getNumSegments(), actual.getNumSegments(), () -> "Expected " + expected + " but was "
+                + actual);
+        for (int i = 0; i < expected.getNumSegments(); i++) {
+            assertEquals(expected.getCommand(i), actual.getCommand(i));
+            assertEquals(expected.startsCommand(i), actual.startsCommand(i));
+        }
+        assertEquals(expected.getNumCoordinates(), actual.getNumCoordinates());
+        for (int i = 0; i < expected.getNumCoordinates(); i++) {
+            assertEquals(expected.getCoordinate(i), actual.getCoordinate(i), EPSILON);
+        }
+    }
+
+    private static Stream<Arguments> paths() {
+        return Stream.of(
+                Arguments.of("M1 2", "M1 2"),
+                Arguments.of("m1 2 3 4", "M1 2 L4 6"),
+                Arguments.of("M1 2 3 4 5 6", "M1 2 L3 4 5 6"),
+                Arguments.of("m1 2 l3 4 h5 v6 H0 V0 z", "M1 2 L4 6 9 6 9 12 0 12 0 0 Z"),
+                Arguments.of("M0 0 c1 1 2 2 3 3 1 1 2 2 3 3", "M0 0 C1 1 2 2 3 3 4 4 5 5 6 6"),
+                Arguments.of("M0 0 C1 1 2 2 3 3 S5 5 6 6", "M0 0 C1 1 2 2 3 3 4 4 5 5 6 6"),
+                Arguments.of("M0 0 S1 1 2 2", "M0 0 C0 0 1 1 2 2"),
+                Arguments.of("M0 0 L1 1 S2 2 3 3", "M0 0 L1 1 C1 1 2 2 3 3"),
+                Arguments.of("M0 0 Q3 3 6 0", "M0 0 C2 2 4 2 6 0"),
+                Arguments.of("M0 0 q3 3 6 0 t6 0", "M0 0 C2 2 4 2 6 0 8 -2 10 -2 12 0"),
+                Arguments.of("M0 0 T3 0", "M0 0 C0 0 1 0 3 0"),
+                Arguments.of("M0 0 C1 1 2 2 3 3 T6 6", "M0 0 C1 1 2 2 3 3 3 3 4 4 6 6"),
+                Arguments.of("M1 1 L2 2 z l1 0", "M1 1 L2 2 Z M1 1 L2 1"),
+                Arguments.of("M1 1 L2 2 Z m1 0 l1 0", "M1 1 L2 2 Z M2 1 L3 1"),
+                Arguments.of("M0 0 A0 1 0 0 1 2 2", "M0 0 L2 2"),
+                Arguments.of("M1 1 A1 1 0 0 1 1 1 L2 2", "M1 1 L2 2"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("paths")
+    void normalize(final String d, final String expected) {
+        assertSamePath(PackedPath.parse(expected), PackedPath.parse(d).normalize());
+    }
+
+    @ParameterizedTest
+    @MethodSource("paths")
+    void normalizationIsIdempotent(final String d, final String expected) {
+        final PackedPath normalized = PackedPath.parse(d).normalize();
+        assertEquals(normalized, normalized.normalize());
+    }
+
+    private static Stream<Arguments> arcs() {
+        return Stream.of(
+                // a non-positive number of curves is not checked
+                Arguments.of("M0 0 A1 1 0 0 1 2 0", 4),
+                Arguments.of("M0 0 A1 1 0 0 0 2 0", 4),
+                Arguments.of("M0 0 a1 1 0 1 1 1 1", 6),
+                Arguments.of("M0 0 a1 1 0 0 1 1 1", 2),
+                Arguments.of("M0 0 A2 1 30 1 0 3 1", 0),
+                Arguments.of("M0 0 A0.1 0.1 0 0 1 2 0", 4),
+                Arguments.of("M0 0 A-1 -1 0 0 1 2 0", 4));
+    }
+
+    @ParameterizedTest
+    @MethodSource("arcs")
+    void arcsBecomeCubicCurves(final String d, final int expectedCurves) {
+        final PackedPath normalized = PackedPath.parse(d).normalize();
+        assertEquals('M', normalized.getCommand(0));
+        for (int i = 1; i < normalized.getNumSegments(); i++) {
+            assertEquals('C', normalized.getCommand(i));
+        }
+        if (expectedCurves > 0) {
+            assertEquals(1 + expectedCurves, normalized.getNumSegments());
+        }
+
+        // the end point is exact
+        final PackedPath original = PackedPath.parse(d);
+        final int last = original.getNumCoordinates();
+        final boolean relative = original.getCommand(1) == 'a';
+        assertEquals(
+                original.getCoordinate(last - 2) + (relative ? original.getCoordinate(0) : 0.0),
+                normalized.getCoordinate(normalized.getNumCoordinates() - 2));
+        assertEquals(
+                original.getCoordinate(last - 1) + (relative ? original.getCoordinate(1) : 0.0),
+                normalized.getCoordinate(normalized.getNumCoordinates() - 1));
+    }
+
+    @Test
+    void semicircleIsApproximatedClosely() {
+        // centered in (1, 0) with radius 1
+        final PackedPath normalized = PackedPath.parse("M0 0 A1 1 0 0 1 2 0").normalize();
+        double x0 = normalized.getCoordinate(0);
+        double y0 = normalized.getCoordinate(1);
+        for (int i = 1; i < normalized.getNumSegments(); i++) {
+            final int j = 2 + 6 * (i - 1);
+            final double x1 = normalized.getCoordinate(j);
+            final double y1 = normalized.getCoordinate(j + 1);
+            final double x2 = normalized.getCoordinate(j + 2);
+            final double y2 = normalized.getCoordinate(j + 3);
+            final double x3 = normalized.getCoordinate(j + 4);
+            final double y3 = normalized.getCoordinate(j + 5);
+            for (int s = 0; s <= 10; s++) {
+                final double t = s / 10.0;
+                final double mt = 1.0 - t;
+                final double x = mt * mt * mt * x0 + 3 * mt * mt * t * x1 + 3 * mt * t * t * x2 + t * t * t * x3;
+                final double y = mt * mt * mt * y0 + 3 * mt * mt * t * y1 + 3 * mt * t * t * y2 + t * t * t * y3;
+                assertEquals(1.0, Math.hypot(x - 1.0, y), 1e-5);
+                // clockwise in the SVG coordinate system, so above the x axis
+                assertTrue(y <= EPSILON, () -> String.format("Point (%f, %f) is on the wrong side", x, y));
+            }
+            x0 = x3;
+            y0 = y3;
+        }
+    }
+
+    @Test
+    void normalizedPathIsCached() {
+        final Path p = (Path) Parser.parseImage(("<svg width=\"10\" height=\"10\" "
+                                + "xmlns=\"http://www.w3.org/2000/svg\"><path d=\"m1 1 h2 v2 z\"/></svg>")
+                        .getBytes(StandardCharsets.UTF_8))
+                .getElement(0);
+        assertSame(p.getNormalized(), p.getNormalized());
+        assertSamePath(PackedPath.parse("M1 1 L3 1 3 3 Z"), p.getNormalized());
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.ledmington.svg.path.Arc;
+import com.ledmington.svg.path.ArcElement;
+import com.ledmington.svg.path.HorizontalLineTo;
+import com.ledmington.svg.path.LineTo;
+import com.ledmington.svg.path.MoveTo;
+import com.ledmington.svg.path.Path;
+import com.ledmington.svg.path.Point;
+import com.ledmington.svg.path.SmoothCubicBezier;
+import com.ledmington.svg.path.SmoothCubicBezierElement;
+import com.ledmington.svg.path.SubPath;
+import com.ledmington.svg.path.VerticalLineTo;
+
+public final class TestPathParsing {
+
+    private static final Parser LAZY_PARSER = new Parser(ParserOptions.defaults().withLazyPaths(true));
+
+    private static byte[] document(final String d) {
+        return ("<svg width=\"10\" height=\"10\" xmlns=\"http://www.w3.org/2000/svg\"><path d=\"" + d + "\"/></svg>")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Path parsePath(final String d) {
+        return (Path) Parser.parseImage(document(d)).getElement(0);
+    }
+
+    private static Path path(final SubPath... subpaths) {
+        return new Path(List.of(subpaths), new Color(), new Color(), 1.0);
+    }
+
+    private static Stream<Arguments> validPaths() {
+        return Stream.of(
+                Arguments.of(
+                        "M1.5.5-2-3",
+                        path(new SubPath(
+                                List.of(new MoveTo(false, List.of(new Point(1.5, 0.5), new Point(-2.0, -3.0))))))),
+                Arguments.of(
+                        "M0 0a1 1 0 0110 10",
+                        path(new SubPath(List.of(
+                                new MoveTo(false, List.of(new Point(0.0, 0.0))),
+                                new Arc(true, List.of(new ArcElement(1.0, 1.0, 0.0, 0.0, 1.0, 10.0, 10.0))))))),
+                Arguments.of(
+                        "&#9;M&#9;1&#10;2&#13;L3 ,&#9;4&#10;",
+                        path(new SubPath(List.of(
+                                new MoveTo(false, List.of(new Point(1.0, 2.0))),
+                                new LineTo(false, List.of(new Point(3.0, 4.0))))))),
+                Arguments.of(
+                        "M0,0S1,1 2,2 .5.5 1e1-1",
+                        path(new SubPath(List.of(
+                                new MoveTo(false, List.of(new Point(0.0, 0.0))),
+                                new SmoothCubicBezier(
+                                        false,
+                                        List.of(
+                                                new SmoothCubicBezierElement(new Point(1.0, 1.0), new Point(2.0, 2.0)),
+                                                new SmoothCubicBezierElement(
+                                                        new Point(0.5, 0.5), new Point(10.0, -1.0)))))))),
+                Arguments.of(
+                        "M0 0 L1 1 M5 5 L6 6",
+                        path(
+                                new SubPath(List.of(
+                                        new MoveTo(false, List.of(new Point(0.0, 0.0))),
+                                        new LineTo(false, List.of(new Point(1.0, 1.0))))),
+                                new SubPath(List.of(
+                                        new MoveTo(false, List.of(new Point(5.0, 5.0))),
+                                        new LineTo(false, List.of(new Point(6.0, 6.0))))))),
+                Arguments.of(
+                        "M0 0 L1 1 Z L2 2",
+                        path(
+                                new SubPath(List.of(
+                                        new MoveTo(false, List.of(new Point(0.0, 0.0))),
+                                        new LineTo(false, List.of(new Point(1.0, 1.0))))),
+                                new SubPath(List.of(
+                                        new MoveTo(true, List.of(new Point(0.0, 0.0))),
+                                        new LineTo(false, List.of(new Point(2.0, 2.0))))))));
+    }
+
+    @ParameterizedTest
+    @MethodSource("validPaths")
+    void parseValidPathData(final String d, final Path expected) {
+        final Path actual = parsePath(d);
+        assertEquals(expected, actual, () -> String.format("Expected '%s' but was '%s'.", expected, actual));
+    }
+
+    @ParameterizedTest
+    @MethodSource("validPaths")
+    void lazyPathsAreEqualToEagerOnes(final String d, final Path expected) {
+        final Path actual = (Path) LAZY_PARSER.parse(document(d)).getElement(0);
+        assertEquals(expected, actual, () -> String.format("Expected '%s' but was '%s'.", expected, actual));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"L1 1", "M1", "M1 2 X3", "M0 0 a1 1 0 2 0 1 1", "M0 0 L", "M0 0 L1 1 2"})
+    void rejectInvalidPathData(final String d) {
+        assertThrows(IllegalArgumentException.class, () -> parsePath(d));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"L1 1", "M1", "M1 2 X3", "M0 0 a1 1 0 2 0 1 1", "M0 0 L", "M0 0 L1 1 2"})
+    void lazyPathsReportErrorsOnFirstAccess(final String d) {
+        final Path p = (Path) LAZY_PARSER.parse(document(d)).getElement(0);
+        assertThrows(IllegalArgumentException.class, p::getNumSubpaths);
+    }
+
+    @Test
+    void lazyPathsAreParsedOnlyOnce() throws InterruptedException, ExecutionException {
+        final Path p = (Path) LAZY_PARSER.parse(document("M0 0 L1 1 M5 5 L6 6")).getElement(0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<SubPath>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> p.getSubpath(1)));
+            }
+            for (final Future<SubPath> f : results) {
+                assertSame(results.getFirst().get(), f.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void lazyPathsEstimateTheirSizeWithoutParsing() {
+        // invalid path data is not noticed until the path is parsed
+        final Path p = new Path("M0 0 L1 1 X".getBytes(StandardCharsets.UTF_8), new Color(), new Color(), 1.0);
+        assertEquals(2, p.estimateNumCoordinates());
+
+        final Path parsed = (Path) LAZY_PARSER.parse(document("M0 0 L1 1 M5 5 L6 6")).getElement(0);
+        parsed.getPacked();
+        assertEquals(8, parsed.estimateNumCoordinates());
+    }
+
+    @Test
+    void longHorizontalAndVerticalRuns() {
+        final Path p = parsePath("M0 0 h1 2 3 4 5 V-1-2-3");
+        final HorizontalLineTo h = (HorizontalLineTo) p.getSubpath(0).getElement(1);
+        final VerticalLineTo v = (VerticalLineTo) p.getSubpath(0).getElement(2);
+        assertEquals(new HorizontalLineTo(true, 1.0, 2.0, 3.0, 4.0, 5.0), h);
+        assertEquals(new VerticalLineTo(false, -1.0, -2.0, -3.0), v);
+
+        final double[] all = new double[h.getNumCoordinates() + v.getNumCoordinates()];
+        h.copyCoordinates(all, 0);
+        v.copyCoordinates(all, h.getNumCoordinates());
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0, 4.0, 5.0, -1.0, -2.0, -3.0}, all);
+    }
+
+    @Test
+    void coordinatesAreCopied() {
+        final double[] x = {1.0, 2.0};
+        final HorizontalLineTo h = new HorizontalLineTo(false, x);
+        x[0] = 99.0;
+        assertEquals(1.0, h.getCoordinate(0));
+        h.getCoordinates()[1] = 99.0;
+        assertEquals(2.0, h.getCoordinate(1));
+    }
+}
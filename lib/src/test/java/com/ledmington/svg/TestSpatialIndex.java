@@ -0,0 +1,135 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.ledmington.svg.path.Point;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public final class TestSpatialIndex {
+
+    /** Builds a random image with elements nested at various depths, and stores the non-group ones in leaves. */
+    private static Image randomImage(final Random rng, final int numElements, final List<Element> leaves) {
+        final List<Element> top = new ArrayList<>();
+        List<Element> group = null;
+        for (int i = 0; i < numElements; i++) {
+            final double x = rng.nextDouble() * 1000.0;
+            final double y = rng.nextDouble() * 1000.0;
+            final double size = rng.nextDouble() * 20.0 + 0.1;
+            final Element e = switch (rng.nextInt(3)) {
+                case 0 -> new Rectangle(x, y, size, size / 2.0, Color.BLACK, Color.BLACK, 1.0);
+                case 1 -> new Circle(x, y, size);
+                default -> new Polyline(List.of(new Point(x, y), new Point(x + size, y - size)));
+            };
+            leaves.add(e);
+            if (group == null || rng.nextInt(10) == 0) {
+                if (group != null && !group.isEmpty()) {
+                    top.add(new Group(new Style(), List.of(new Group(new Style(), group))));
+                }
+                group = rng.nextBoolean() ? new ArrayList<>() : null;
+            }
+            if (group != null) {
+                group.add(e);
+            } else {
+                top.add(e);
+            }
+        }
+        if (group != null && !group.isEmpty()) {
+            top.add(new Group(new Style(), group));
+        }
+        return new Image(new ViewBox(0, 0, 1000, 1000), 1000, 1000, top);
+    }
+
+    private static Set<Element> identitySet(final List<Element> elements) {
+        final Set<Element> s = Collections.newSetFromMap(new IdentityHashMap<>());
+        s.addAll(elements);
+        return s;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 15, 16, 17, 255, 256, 257, 5_000})
+    void searchFindsTheSameElementsAsALinearScan(final int numElements) {
+        final Random rng = new Random(numElements);
+        final List<Element> leaves = new ArrayList<>();
+        final SpatialIndex index = SpatialIndex.of(randomImage(rng, numElements, leaves));
+        assertEquals(numElements, index.size());
+
+        BoundingBox all = BoundingBox.of(leaves.get(0));
+        for (final Element e : leaves) {
+            all = all.union(BoundingBox.of(e));
+        }
+        assertEquals(all, index.getBounds());
+        assertEquals(identitySet(leaves), identitySet(index.search(all)));
+
+        for (int q = 0; q < 100; q++) {
+            final double x = rng.nextDouble() * 1100.0 - 50.0;
+            final double y = rng.nextDouble() * 1100.0 - 50.0;
+            final BoundingBox area = new BoundingBox(x, y, x + rng.nextDouble() * 200.0, y + rng.nextDouble() * 200.0);
+            final List<Element> expected = new ArrayList<>();
+            for (final Element e : leaves) {
+                if (BoundingBox.of(e).intersects(area)) {
+                    expected.add(e);
+                }
+            }
+            assertEquals(identitySet(expected), identitySet(index.search(area)), () -> "Wrong result for " + area);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 17, 300, 5_000})
+    void nearestIsTheClosestBoundingBox(final int numElements) {
+        final Random rng = new Random(-numElements);
+        final List<Element> leaves = new ArrayList<>();
+        final SpatialIndex index = SpatialIndex.of(randomImage(rng, numElements, leaves));
+        for (int q = 0; q < 200; q++) {
+            final double x = rng.nextDouble() * 1400.0 - 200.0;
+            final double y = rng.nextDouble() * 1400.0 - 200.0;
+            double best = Double.POSITIVE_INFINITY;
+            for (final Element e : leaves) {
+                best = Math.min(best, BoundingBox.of(e).distanceSquared(x, y));
+            }
+            assertEquals(best, BoundingBox.of(index.nearest(x, y)).distanceSquared(x, y));
+        }
+    }
+
+    @Test
+    void elementsAreIndexedOnce() {
+        final Circle c = new Circle(0, 0, 1);
+        final Image image = new Image(
+                new ViewBox(0, 0, 1, 1),
+                1,
+                1,
+                List.of(new Group(new Style(), List.of(new Group(new Style(), List.of(c))))));
+        final SpatialIndex index = SpatialIndex.of(image);
+        assertEquals(1, index.size());
+        assertEquals(List.of(c), index.search(new BoundingBox(-5, -5, 5, 5)));
+        assertEquals(List.of(), index.search(new BoundingBox(2, 2, 5, 5)));
+        assertEquals(c, index.nearest(100, 100));
+    }
+}
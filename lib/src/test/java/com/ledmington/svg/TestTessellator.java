@@ -0,0 +1,234 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import com.ledmington.svg.path.Tessellator;
+import com.ledmington.svg.path.Triangulation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public final class TestTessellator {
+
+    private static final float[] SQUARE = {0, 0, 10, 0, 10, 10, 0, 10};
+    private static final float[] INNER_SQUARE = {3, 3, 7, 3, 7, 7, 3, 7};
+    private static final float[] INNER_SQUARE_REVERSED = {3, 3, 3, 7, 7, 7, 7, 3};
+    private static final float[] CONCAVE = {0, 0, 10, 0, 10, 10, 5, 2, 0, 10};
+    private static final float[] PENTAGRAM = {50, 0, 79, 90, 2, 35, 98, 35, 21, 90};
+    private static final float[] BOWTIE = {0, 0, 10, 10, 10, 0, 0, 10};
+
+    private static Triangulation tessellate(final FillRule rule, final float[]... contours) {
+        final Tessellator t = new Tessellator();
+        for (final float[] c : contours) {
+            t.addContour(c, 0, c.length);
+        }
+        return t.tessellate(rule);
+    }
+
+    /** Returns the winding number of the given point with respect to the given polygons. */
+    private static int winding(final double px, final double py, final List<float[]> contours) {
+        int w = 0;
+        for (final float[] c : contours) {
+            for (int i = 0; i < c.length; i += 2) {
+                final int j = (i + 2) % c.length;
+                final double x0 = c[i];
+                final double y0 = c[i + 1];
+                final double x1 = c[j];
+                final double y1 = c[j + 1];
+                if ((y0 <= py) != (y1 <= py)) {
+                    final double x = x0 + (py - y0) * (x1 - x0) / (y1 - y0);
+                    if (x > px) {
+                        w += y1 > y0 ? 1 : -1;
+                    }
+                }
+            }
+        }
+        return w;
+    }
+
+    private static boolean covers(final Triangulation t, final double px, final double py) {
+        final float[] v = t.vertices();
+        final int[] idx = t.indices();
+        for (int i = 0; i < idx.length; i += 3) {
+            final double ax = v[2 * idx[i]];
+            final double ay = v[2 * idx[i] + 1];
+            final double bx = v[2 * idx[i + 1]];
+            final double by = v[2 * idx[i + 1] + 1];
+            final double cx = v[2 * idx[i + 2]];
+            final double cy = v[2 * idx[i + 2] + 1];
+            final double d1 = (px - bx) * (ay - by) - (ax - bx) * (py - by);
+            final double d2 = (px - cx) * (by - cy) - (bx - cx) * (py - cy);
+            final double d3 = (px - ax) * (cy - ay) - (cx - ax) * (py - ay);
+            final boolean hasNegative = d1 < 0 || d2 < 0 || d3 < 0;
+            final boolean hasPositive = d1 > 0 || d2 > 0 || d3 > 0;
+            if (!(hasNegative && hasPositive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double area(final Triangulation t) {
+        final float[] v = t.vertices();
+        final int[] idx = t.indices();
+        double sum = 0.0;
+        for (int i = 0; i < idx.length; i += 3) {
+            final double ax = v[2 * idx[i]];
+            final double ay = v[2 * idx[i] + 1];
+            final double bx = v[2 * idx[i + 1]];
+            final double by = v[2 * idx[i + 1] + 1];
+            final double cx = v[2 * idx[i + 2]];
+            final double cy = v[2 * idx[i + 2] + 1];
+            sum += Math.abs((bx - ax) * (cy - ay) - (cx - ax) * (by - ay)) / 2.0;
+        }
+        return sum;
+    }
+
+    /** Checks the triangles against the fill rule on a grid of points which never lies on an edge. */
+    private static void assertFills(final FillRule rule, final List<float[]> contours) {
+        final Triangulation t = tessellate(rule, contours.toArray(new float[0][]));
+        for (double y = -1.0 + Math.PI / 100.0; y < 101.0; y += 0.731) {
+            for (double x = -1.0 + Math.E / 100.0; x < 101.0; x += 0.677) {
+                final boolean expected = rule.isInside(winding(x, y, contours));
+                final double px = x;
+                final double py = y;
+                assertEquals(expected, covers(t, x, y), () -> rule + " at (" + px + ", " + py + ")");
+            }
+        }
+    }
+
+    private static Stream<Arguments> shapes() {
+        return Stream.of(
+                Arguments.of(List.of(SQUARE)),
+                Arguments.of(List.of(CONCAVE)),
+                Arguments.of(List.of(PENTAGRAM)),
+                Arguments.of(List.of(BOWTIE)),
+                Arguments.of(List.of(SQUARE, INNER_SQUARE)),
+                Arguments.of(List.of(SQUARE, INNER_SQUARE_REVERSED)),
+                Arguments.of(List.of(PENTAGRAM, SQUARE, new float[] {40, 20, 90, 60, 5, 70})));
+    }
+
+    @ParameterizedTest
+    @MethodSource("shapes")
+    void nonzero(final List<float[]> contours) {
+        assertFills(FillRule.NONZERO, contours);
+    }
+
+    @ParameterizedTest
+    @MethodSource("shapes")
+    void evenodd(final List<float[]> contours) {
+        assertFills(FillRule.EVENODD, contours);
+    }
+
+    @Test
+    void randomSelfIntersectingPolygons() {
+        final Random rng = new Random(42L);
+        for (int n = 3; n <= 40; n++) {
+            final float[] polygon = new float[2 * n];
+            for (int i = 0; i < polygon.length; i++) {
+                polygon[i] = rng.nextInt(100);
+            }
+            assertFills(FillRule.NONZERO, List.of(polygon));
+            assertFills(FillRule.EVENODD, List.of(polygon));
+        }
+    }
+
+    @Test
+    void noZeroAreaTriangles() {
+        final Random rng = new Random(42L);
+        for (int n = 3; n <= 40; n++) {
+            final float[] polygon = new float[2 * n];
+            for (int i = 0; i < polygon.length; i++) {
+                polygon[i] = rng.nextInt(100);
+            }
+            for (final FillRule rule : FillRule.values()) {
+                final Triangulation t = tessellate(rule, polygon);
+                final float[] v = t.vertices();
+                final int[] idx = t.indices();
+                for (int i = 0; i < idx.length; i += 3) {
+                    final double ax = v[2 * idx[i]];
+                    final double ay = v[2 * idx[i] + 1];
+                    final double bx = v[2 * idx[i + 1]];
+                    final double by = v[2 * idx[i + 1] + 1];
+                    final double cx = v[2 * idx[i + 2]];
+                    final double cy = v[2 * idx[i + 2] + 1];
+                    final double doubleArea = (bx - ax) * (cy - ay) - (cx - ax) * (by - ay);
+                    final int triangle = i / 3;
+                    assertTrue(doubleArea != 0.0, () -> rule + ": triangle " + triangle + " of " + t + " is empty");
+                }
+            }
+        }
+    }
+
+    @Test
+    void holes() {
+        // a hole drawn in the same direction as the outline is filled only with the evenodd rule
+        assertEquals(100.0, area(tessellate(FillRule.NONZERO, SQUARE, INNER_SQUARE)), 1e-9);
+        assertEquals(84.0, area(tessellate(FillRule.EVENODD, SQUARE, INNER_SQUARE)), 1e-9);
+        assertEquals(84.0, area(tessellate(FillRule.NONZERO, SQUARE, INNER_SQUARE_REVERSED)), 1e-9);
+        assertEquals(84.0, area(tessellate(FillRule.EVENODD, SQUARE, INNER_SQUARE_REVERSED)), 1e-9);
+    }
+
+    @Test
+    void concavePolygonsAreNotFilledAsFans() {
+        // the fan from the first vertex would cover the notch between (0, 10), (5, 2) and (10, 10)
+        final Triangulation t = tessellate(FillRule.NONZERO, CONCAVE);
+        assertEquals(100.0 - 40.0, area(t), 1e-9);
+        assertTrue(!covers(t, 5.0, 8.0));
+    }
+
+    @Test
+    void verticesAreSharedBetweenBands() {
+        // a hexagon is cut into three bands, which share the vertices on their boundaries
+        final Triangulation t = tessellate(FillRule.NONZERO, new float[] {5, 0, 10, 3, 10, 7, 5, 10, 0, 7, 0, 3});
+        assertEquals(6, t.getNumVertices());
+        assertEquals(4, t.getNumTriangles());
+        assertEquals(70.0, area(t), 1e-9);
+    }
+
+    @Test
+    void degenerateInput() {
+        final Tessellator t = new Tessellator();
+        assertTrue(t.tessellate(FillRule.NONZERO).isEmpty());
+        t.addContour(new float[] {0, 0, 10, 0, 20, 0}, 0, 6);
+        t.addContour(new float[] {0, 0, 10, 10}, 0, 4);
+        t.addContour(new float[] {0, 0, Float.NaN, 5, 10, 10}, 0, 6);
+        assertTrue(t.tessellate(FillRule.NONZERO).isEmpty());
+        t.clear();
+        t.addContour(SQUARE, 0, SQUARE.length);
+        assertEquals(100.0, area(t.tessellate(FillRule.EVENODD)), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> t.addContour(SQUARE, 0, 3));
+    }
+
+    @Test
+    void parseFillRule() {
+        assertEquals(FillRule.NONZERO, FillRule.parse("nonzero"));
+        assertEquals(FillRule.EVENODD, FillRule.parse(" evenodd "));
+        assertThrows(IllegalArgumentException.class, () -> FillRule.parse("even-odd"));
+    }
+}
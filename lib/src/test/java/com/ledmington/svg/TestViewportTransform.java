@@ -0,0 +1,146 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import com.ledmington.svg.PreserveAspectRatio.Alignment;
+import com.ledmington.svg.path.PackedPath;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public final class TestViewportTransform {
+
+    private static final double EPSILON = 1e-12;
+
+    private static void assertMaps(
+            final AffineTransform t, final double x, final double y, final double expectedX, final double expectedY) {
+        assertEquals(expectedX, t.transformX(x, y), EPSILON, () -> t + " maps x of (" + x + ", " + y + ") wrongly");
+        assertEquals(expectedY, t.transformY(x, y), EPSILON, () -> t + " maps y of (" + x + ", " + y + ") wrongly");
+    }
+
+    private static Stream<Arguments> alignments() {
+        // a 100x50 view box starting at (10, 20) fitted into a 400x400 viewport: the top-left and bottom-right corners
+        return Stream.of(
+                Arguments.of("none", 0.0, 0.0, 400.0, 400.0),
+                Arguments.of("xMinYMin", 0.0, 0.0, 400.0, 200.0),
+                Arguments.of("xMidYMid", 0.0, 100.0, 400.0, 300.0),
+                Arguments.of("xMaxYMax meet", 0.0, 200.0, 400.0, 400.0),
+                Arguments.of("xMinYMin slice", 0.0, 0.0, 800.0, 400.0),
+                Arguments.of("xMidYMid slice", -200.0, 0.0, 600.0, 400.0),
+                Arguments.of("xMaxYMid slice", -400.0, 0.0, 400.0, 400.0));
+    }
+
+    @ParameterizedTest
+    @MethodSource("alignments")
+    void viewBoxIsFittedIntoTheViewport(
+            final String preserveAspectRatio,
+            final double minX,
+            final double minY,
+            final double maxX,
+            final double maxY) {
+        final ViewBox vb = new ViewBox(10.0, 20.0, 100.0, 50.0, PreserveAspectRatio.parse(preserveAspectRatio));
+        final AffineTransform t = vb.toViewport(400.0, 400.0);
+        assertMaps(t, 10.0, 20.0, minX, minY);
+        assertMaps(t, 110.0, 70.0, maxX, maxY);
+    }
+
+    @Test
+    void flipIntoLibgdxCoordinates() {
+        final AffineTransform t =
+                new ViewBox(0.0, 0.0, 200.0, 100.0).toViewport(400.0, 200.0).then(AffineTransform.flipY(200.0));
+        // the top-left corner of the image goes to the top-left corner of the screen, where y is maximum
+        assertMaps(t, 0.0, 0.0, 0.0, 200.0);
+        assertMaps(t, 200.0, 100.0, 400.0, 0.0);
+        assertMaps(t, 50.0, 25.0, 100.0, 150.0);
+    }
+
+    @Test
+    void compositionAppliesThisFirst() {
+        final AffineTransform t = AffineTransform.translation(1.0, 2.0).then(AffineTransform.scaling(10.0, 100.0));
+        assertMaps(t, 0.0, 0.0, 10.0, 200.0);
+        final AffineTransform u = AffineTransform.scaling(10.0, 100.0).then(AffineTransform.translation(1.0, 2.0));
+        assertMaps(u, 1.0, 1.0, 11.0, 102.0);
+        assertEquals(t, AffineTransform.IDENTITY.then(t).then(AffineTransform.IDENTITY));
+    }
+
+    @Test
+    void bulkTransform() {
+        final AffineTransform t = new AffineTransform(1.0, 2.0, 3.0, 4.0, 5.0, 6.0);
+        final double[] src = {0.0, 0.0, 1.0, 0.0, 0.0, 1.0};
+        final float[] dst = new float[8];
+        t.transform(src, 2, dst, 1, 2);
+        assertEquals(0.0f, dst[0]);
+        assertEquals(6.0f, dst[1]);
+        assertEquals(8.0f, dst[2]);
+        assertEquals(8.0f, dst[3]);
+        assertEquals(10.0f, dst[4]);
+        final double[] inPlace = src.clone();
+        t.transform(inPlace, 0, inPlace, 0, 3);
+        assertEquals(5.0, inPlace[0]);
+        assertEquals(6.0, inPlace[1]);
+        assertEquals(10.0, inPlace[5]);
+        assertThrows(IndexOutOfBoundsException.class, () -> t.transform(src, 2, dst, 0, 3));
+    }
+
+    @Test
+    void normalizedPathsAreTransformedPointByPoint() {
+        final PackedPath packed = PackedPath.parse("M10 20 c 0 10 10 10 10 0 z");
+        final PackedPath normalized = packed.normalize();
+        final PackedPath transformed = normalized.transform(AffineTransform.flipY(100.0));
+        assertEquals(normalized.getNumSegments(), transformed.getNumSegments());
+        for (int i = 0; i < normalized.getNumCoordinates(); i++) {
+            final double c = normalized.getCoordinate(i);
+            assertEquals(i % 2 == 0 ? c : 100.0 - c, transformed.getCoordinate(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> packed.transform(AffineTransform.IDENTITY));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "xMidYMid meet slice", "xmidymid", "xMidYMid fit", "defer"})
+    void invalidPreserveAspectRatio(final String value) {
+        assertThrows(IllegalArgumentException.class, () -> PreserveAspectRatio.parse(value));
+    }
+
+    @Test
+    void preserveAspectRatioIsParsed() {
+        final Image image = Parser.parseImage(("<svg width=\"10\" height=\"10\" viewBox=\"0 0 20 10\" "
+                        + "preserveAspectRatio=\" xMaxYMin  slice \" xmlns=\"http://www.w3.org/2000/svg\">"
+                        + "<circle cx=\"1\" cy=\"1\" r=\"1\"/></svg>")
+                .getBytes(StandardCharsets.UTF_8));
+        assertEquals(
+                new PreserveAspectRatio(Alignment.X_MAX_Y_MIN, true),
+                image.getViewBox().preserveAspectRatio());
+        assertEquals(image.getViewBox(), BinaryImageReader.read(BinaryImageWriter.toBytes(image)).getViewBox());
+        assertEquals(PreserveAspectRatio.DEFAULT, new ViewBox(0, 0, 1, 1).preserveAspectRatio());
+    }
+
+    @Test
+    void emptyViewBoxesHaveNoTransform() {
+        assertThrows(IllegalArgumentException.class, () -> new ViewBox(0, 0, 0, 1).toViewport(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ViewBox(0, 0, 1, 1).toViewport(1, 0));
+    }
+}
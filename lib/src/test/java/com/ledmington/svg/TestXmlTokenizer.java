@@ -0,0 +1,162 @@
+/*
+ * svg2gdx - A converter from SVG to libGDX ShapeRenderer code.
+ * Copyright (C) 2023-2025 Filippo Barbari <filippo.barbari@gmail.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.ledmington.svg;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.ledmington.util.XmlTokenizer;
+
+public final class TestXmlTokenizer {
+
+    private static XmlTokenizer tokenizer(final String xml) {
+        return new XmlTokenizer(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns each event as a string, with the attributes of start elements. */
+    private static List<String> events(final String xml) {
+        final XmlTokenizer t = tokenizer(xml);
+        final List<String> events = new ArrayList<>();
+        while (true) {
+            switch (t.next()) {
+                case XmlTokenizer.START_ELEMENT -> {
+                    final StringBuilder sb = new StringBuilder("<" + t.getLocalName());
+                    for (int i = 0; i < t.getAttributeCount(); i++) {
+                        sb.append(' ')
+                                .append(t.getAttributeName(i))
+                                .append("=[")
+                                .append(t.getAttributeValue(i))
+                                .append(']');
+                    }
+                    events.add(sb.append('>').toString());
+                }
+                case XmlTokenizer.END_ELEMENT -> events.add("</" + t.getLocalName() + ">");
+                default -> {
+                    return events;
+                }
+            }
+        }
+    }
+
+    @Test
+    void skipEverythingButElements() {
+        final String xml = "\uFEFF<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<!DOCTYPE svg PUBLIC \"-//W3C//DTD SVG 1.1//EN\" \"svg11.dtd\" [<!ENTITY e \"]>\">]>\n"
+                + "<!-- a <comment> -->\n"
+                + "<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:x=\"urn:x\" width=\"1\">\n"
+                + "  text <![CDATA[ <notAnElement/> ]]>\n"
+                + "  <?pi <notAnElement/> ?>\n"
+                + "  <x:g x:id='a'><rect/></x:g >\n"
+                + "</svg>\n";
+        assertEquals(
+                List.of("<svg width=[1]>", "<g x:id=[a]>", "<rect>", "</rect>", "</g>", "</svg>"), events(xml));
+    }
+
+    @Test
+    void attributeValuesAreDecoded() {
+        assertEquals(
+                List.of("<a v=[<>&\"' \t\u00e8\u20ac]>", "</a>"),
+                events("<a v=\"&lt;&gt;&amp;&quot;&apos;&#32;&#9;&#xE8;\u20ac\"/>"));
+        // literal line breaks and tabs become spaces, a CRLF pair becomes a single one
+        assertEquals(List.of("<a v=[1 2 3 4]>", "</a>"), events("<a v=\"1\t2\r\n3\n4\"/>"));
+    }
+
+    @Test
+    void attributeBytesAreUtf8() {
+        final XmlTokenizer t = tokenizer("<a d=\"M0&#10;0 \u00e8\"/>");
+        t.next();
+        // character references are not normalized
+        assertArrayEquals("M0\n0 \u00e8".getBytes(StandardCharsets.UTF_8), t.getAttributeBytes(0));
+    }
+
+    @Test
+    void quotesInsideInternalSubsetCommentsAreIgnored() {
+        assertEquals(
+                List.of("<a v=[10]>", "</a>"),
+                events("<!DOCTYPE svg [ <!-- it's here --> <?pi don't?> <!ENTITY size \"10\"> ]><a v=\"&size;\"/>"));
+    }
+
+    @Test
+    void internalEntitiesAreExpanded() {
+        final String doctype = "<!DOCTYPE svg [\n"
+                + "  <!ENTITY ns_svg \"http://www.w3.org/2000/svg\">\n"
+                + "  <!ENTITY % ignored \"x\">\n"
+                + "  <!ENTITY pair '&one;\t&#50;'>\n"
+                + "  <!ENTITY one \"1\">\n"
+                + "  <!ENTITY one \"not binding\">\n"
+                + "  <!ENTITY amp2 \"&#38;#38;\">\n"
+                + "]>";
+        assertEquals(
+                List.of("<svg a=[http://www.w3.org/2000/svg] b=[1 2,1] c=[&]>", "</svg>"),
+                events(doctype + "<svg a=\"&ns_svg;\" b=\"&pair;,&one;\" c=\"&amp2;\"/>"));
+    }
+
+    @Test
+    void entityExpansionIsLimited() {
+        final StringBuilder sb = new StringBuilder("<!DOCTYPE a [<!ENTITY lol0 \"lol\">");
+        for (int i = 1; i < 10; i++) {
+            sb.append(String.format("<!ENTITY lol%d \"%s\">", i, String.format("&lol%d;", i - 1).repeat(10)));
+        }
+        final XmlTokenizer t = tokenizer(sb.append("]><a v=\"&lol9;\"/>").toString());
+        t.next();
+        assertThrows(IllegalArgumentException.class, () -> t.getAttributeValue(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "<a>",
+                "<a></b>",
+                "</a>",
+                "<a b=\"1\"c=\"2\"/>",
+                "<a b/>",
+                "<a b=1/>",
+                "<a b=\"1/>",
+                "<a b=\"&foo;\"/>",
+                "<a b=\"&#xZZ;\"/>",
+                "<a b=\"&amp\"/>",
+                "<a b=\"1\" b=\"2\"/>",
+                "<a b=\"1\" c=\"2\" b='1'/>",
+                "<!DOCTYPE a [<!ENTITY e SYSTEM \"file:///etc/passwd\">]><a b=\"&e;\"/>",
+                "<!DOCTYPE a [<!ENTITY e \"&f;\"><!ENTITY f \"&e;\">]><a b=\"&e;\"/>",
+                "<!DOCTYPE a [<!ENTITY e \"<\">]><a b=\"&e;\"/>",
+                "<!DOCTYPE a [<!ENTITY e \"1\">",
+                "<!DOCTYPE a [<!-- it's unterminated ]>",
+                "<!-- unterminated",
+                "<a/"
+            })
+    void rejectMalformedDocuments(final String xml) {
+        assertThrows(IllegalArgumentException.class, () -> {
+            final XmlTokenizer t = tokenizer(xml);
+            while (t.next() != XmlTokenizer.END_DOCUMENT) {
+                for (int i = 0; i < t.getAttributeCount(); i++) {
+                    t.getAttributeValue(i);
+                }
+            }
+        });
+    }
+}